@@ -0,0 +1,192 @@
+package com.tradingjournal.model;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Everything computed for one filter selection. The selection, its
+ * statistics and equity curve are computed up front; the results only
+ * some views show (risk, drawdowns, chart series, daily P&L, R report) are
+ * computed on first use and kept, and results that also depend on a chart control
+ * (rolling window, correlation grouping, breakdown dimension) are memoized
+ * per control setting when a view prepares them.
+ */
+public class AnalyticsSnapshot {
+    private final FilterCriteria criteria;
+    private final List<Trade> trades;
+    private final TradeStatistics statistics;
+    private final EquityCurve equityCurve;
+    private final double startingBalance;
+    private final double[] rMultiples;
+    private final FacetCounts facetCounts;
+    private final BitSet rows;
+    private final Lazy<RiskMetrics> riskMetrics;
+    private final Lazy<DrawdownReport> overallDrawdown;
+    private final Lazy<DrawdownBreakdown> drawdowns;
+    private final Lazy<ChartSeries> chartSeries;
+    private final Lazy<DailyPnL> dailyPnL;
+    private final Lazy<RMultipleReport> rMultipleReport;
+
+    private RollingMetrics rollingMetrics;
+    private final Map<CorrelationMatrix.GroupBy, CorrelationMatrix> correlations =
+            new EnumMap<>(CorrelationMatrix.GroupBy.class);
+    private final Map<StatisticsBreakdown.Dimension, StatisticsBreakdown> breakdowns =
+            new EnumMap<>(StatisticsBreakdown.Dimension.class);
+
+    public AnalyticsSnapshot(FilterCriteria criteria, List<Trade> trades, TradeStatistics statistics,
+            EquityCurve equityCurve, double startingBalance, double[] rMultiples, FacetCounts facetCounts,
+            BitSet rows, Supplier<RiskMetrics> riskMetrics, Supplier<DrawdownReport> overallDrawdown,
+            Supplier<DrawdownBreakdown> drawdowns, Supplier<ChartSeries> chartSeries,
+            Supplier<DailyPnL> dailyPnL, Supplier<RMultipleReport> rMultipleReport) {
+        this.criteria = criteria;
+        this.trades = Collections.unmodifiableList(trades);
+        this.statistics = statistics;
+        this.equityCurve = equityCurve;
+        this.startingBalance = startingBalance;
+        this.rMultiples = rMultiples;
+        this.facetCounts = facetCounts;
+        this.rows = rows;
+        this.riskMetrics = new Lazy<>(riskMetrics);
+        this.overallDrawdown = new Lazy<>(overallDrawdown);
+        this.drawdowns = new Lazy<>(drawdowns);
+        this.chartSeries = new Lazy<>(chartSeries);
+        this.dailyPnL = new Lazy<>(dailyPnL);
+        this.rMultipleReport = new Lazy<>(rMultipleReport);
+    }
+
+    public FilterCriteria getCriteria() {
+        return criteria;
+    }
+
+    /**
+     * Trades passing the filters, in repository order
+     */
+    public List<Trade> getTrades() {
+        return trades;
+    }
+
+    /**
+     * Row ids of the selected trades in the trade index they were selected from
+     */
+    public BitSet getRows() {
+        return (BitSet) rows.clone();
+    }
+
+    public TradeStatistics getStatistics() {
+        return statistics;
+    }
+
+    public EquityCurve getEquityCurve() {
+        return equityCurve;
+    }
+
+    /**
+     * Starting balance of the selected account(s)
+     */
+    public double getStartingBalance() {
+        return startingBalance;
+    }
+
+    public RiskMetrics getRiskMetrics() {
+        return riskMetrics.get();
+    }
+
+    /**
+     * Drawdown of the whole selection, without the per-strategy and per-account work
+     */
+    public DrawdownReport getOverallDrawdown() {
+        return overallDrawdown.get();
+    }
+
+    public DrawdownBreakdown getDrawdowns() {
+        return drawdowns.get();
+    }
+
+    /**
+     * Series of the distribution charts
+     */
+    public ChartSeries getChartSeries() {
+        return chartSeries.get();
+    }
+
+    /**
+     * P&L and trade count per day of close, for the calendar
+     */
+    public DailyPnL getDailyPnL() {
+        return dailyPnL.get();
+    }
+
+    /**
+     * R-multiple of each trade, aligned with {@link #getTrades()}; NaN without a usable stop
+     */
+    public double[] getRMultiples() {
+        return rMultiples;
+    }
+
+    public RMultipleReport getRMultipleReport() {
+        return rMultipleReport.get();
+    }
+
+    /**
+     * What each filter dropdown value would select next to the current selection
+     */
+    public FacetCounts getFacetCounts() {
+        return facetCounts;
+    }
+
+    /**
+     * Memoized rolling metrics, or null if none or computed for another window
+     */
+    public synchronized RollingMetrics getRollingMetrics(RollingMetrics.WindowType windowType, int windowSize) {
+        RollingMetrics cached = rollingMetrics;
+        if (cached != null && cached.getWindowType() == windowType && cached.getWindowSize() == windowSize) {
+            return cached;
+        }
+        return null;
+    }
+
+    public synchronized void setRollingMetrics(RollingMetrics rollingMetrics) {
+        this.rollingMetrics = rollingMetrics;
+    }
+
+    public synchronized CorrelationMatrix getCorrelation(CorrelationMatrix.GroupBy groupBy) {
+        return correlations.get(groupBy);
+    }
+
+    public synchronized void putCorrelation(CorrelationMatrix correlation) {
+        correlations.put(correlation.getGroupBy(), correlation);
+    }
+
+    public synchronized StatisticsBreakdown getBreakdown(StatisticsBreakdown.Dimension dimension) {
+        return breakdowns.get(dimension);
+    }
+
+    public synchronized void putBreakdown(StatisticsBreakdown breakdown) {
+        breakdowns.put(breakdown.getDimension(), breakdown);
+    }
+
+    /**
+     * A result computed by the first caller that needs it; callers of other
+     * results are not held up meanwhile
+     */
+    private static final class Lazy<T> {
+        private Supplier<T> source;
+        private T value;
+
+        Lazy(Supplier<T> source) {
+            this.source = source;
+        }
+
+        synchronized T get() {
+            if (source != null) {
+                value = source.get();
+                source = null;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.tradingjournal.model;
+
+import java.time.Month;
+
+/**
+ * Every series the distribution charts draw, aggregated together from one
+ * walk over the selected trades. Immutable; array getters return copies.
+ * Entries are bucketed by open time, closed-trade results by close time.
+ */
+public class ChartSeries {
+
+    public static final int MONTHS = 12;
+
+    private final WeekHourMatrix weekHour;
+    private final int[] entriesByHour;
+    private final int[] entriesByDay;
+    private final double[] pnlByHour;
+    private final double[] pnlByDay;
+    private final int[] entriesByMonth;
+    private final double[] pnlByMonth;
+    private final int longTrades;
+    private final int shortTrades;
+    private final double longProfit;
+    private final double shortProfit;
+
+    /**
+     * @param entriesByMonth  Trades opened per month, indexed by {@code Month.getValue() - 1}
+     * @param pnlByMonth      Net P&L per month of close, indexed the same way
+     */
+    public ChartSeries(WeekHourMatrix weekHour, int[] entriesByMonth, double[] pnlByMonth,
+            int longTrades, int shortTrades, double longProfit, double shortProfit) {
+        this.weekHour = weekHour;
+        this.entriesByHour = weekHour.getEntriesByHour();
+        this.entriesByDay = weekHour.getEntriesByDay();
+        this.pnlByHour = weekHour.getPnlByHour();
+        this.pnlByDay = weekHour.getPnlByDay();
+        this.entriesByMonth = entriesByMonth.clone();
+        this.pnlByMonth = pnlByMonth.clone();
+        this.longTrades = longTrades;
+        this.shortTrades = shortTrades;
+        this.longProfit = longProfit;
+        this.shortProfit = shortProfit;
+    }
+
+    public WeekHourMatrix getWeekHour() {
+        return weekHour;
+    }
+
+    /**
+     * Entries per hour of day
+     */
+    public int[] getEntriesByHour() {
+        return entriesByHour.clone();
+    }
+
+    /**
+     * Entries per weekday, indexed by {@code DayOfWeek.getValue() - 1}
+     */
+    public int[] getEntriesByDay() {
+        return entriesByDay.clone();
+    }
+
+    /**
+     * Net P&L per hour of close
+     */
+    public double[] getPnlByHour() {
+        return pnlByHour.clone();
+    }
+
+    /**
+     * Net P&L per weekday of close, indexed by {@code DayOfWeek.getValue() - 1}
+     */
+    public double[] getPnlByDay() {
+        return pnlByDay.clone();
+    }
+
+    public int getEntries(Month month) {
+        return entriesByMonth[month.getValue() - 1];
+    }
+
+    public double getPnl(Month month) {
+        return pnlByMonth[month.getValue() - 1];
+    }
+
+    public int getLongTrades() {
+        return longTrades;
+    }
+
+    public int getShortTrades() {
+        return shortTrades;
+    }
+
+    /**
+     * Net profit of all buy trades
+     */
+    public double getLongProfit() {
+        return longProfit;
+    }
+
+    /**
+     * Net profit of all sell trades
+     */
+    public double getShortProfit() {
+        return shortProfit;
+    }
+}
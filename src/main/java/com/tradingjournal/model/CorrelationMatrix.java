@@ -0,0 +1,83 @@
+package com.tradingjournal.model;
+
+/**
+ * Pairwise correlations of daily P&L between strategies or symbols. Pairs
+ * without variance (e.g. a group that never traded) are NaN.
+ */
+public class CorrelationMatrix {
+
+    /**
+     * Correlation coefficient
+     */
+    public enum Method {
+        PEARSON("Pearson"),
+        SPEARMAN("Spearman");
+
+        private final String displayName;
+
+        Method(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /**
+     * What each row and column of the matrix represents
+     */
+    public enum GroupBy {
+        STRATEGY("Strategy"),
+        SYMBOL("Symbol");
+
+        private final String displayName;
+
+        GroupBy(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final GroupBy groupBy;
+    private final String[] names;
+    private final int days;
+    private final double[][] pearson;
+    private final double[][] spearman;
+
+    public CorrelationMatrix(GroupBy groupBy, String[] names, int days, double[][] pearson, double[][] spearman) {
+        this.groupBy = groupBy;
+        this.names = names;
+        this.days = days;
+        this.pearson = pearson;
+        this.spearman = spearman;
+    }
+
+    public GroupBy getGroupBy() {
+        return groupBy;
+    }
+
+    public String[] getNames() {
+        return names;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Number of trading days in each P&L vector
+     */
+    public int getDays() {
+        return days;
+    }
+
+    public double[][] getValues(Method method) {
+        return method == Method.SPEARMAN ? spearman : pearson;
+    }
+}
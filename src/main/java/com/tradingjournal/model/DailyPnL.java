@@ -0,0 +1,35 @@
+package com.tradingjournal.model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Net P&L and number of closed trades per day of close. Immutable; days
+ * without a closed trade are absent.
+ */
+public class DailyPnL {
+
+    private final Map<LocalDate, Double> pnl;
+    private final Map<LocalDate, Integer> tradeCounts;
+
+    public DailyPnL(Map<LocalDate, Double> pnl, Map<LocalDate, Integer> tradeCounts) {
+        this.pnl = Collections.unmodifiableMap(pnl);
+        this.tradeCounts = Collections.unmodifiableMap(tradeCounts);
+    }
+
+    /**
+     * Net P&L of the trades closed on the date, or null if none were
+     */
+    public Double getPnL(LocalDate date) {
+        return pnl.get(date);
+    }
+
+    /**
+     * Number of trades closed on the date, 0 if none were
+     */
+    public int getTradeCount(LocalDate date) {
+        Integer count = tradeCounts.get(date);
+        return count != null ? count : 0;
+    }
+}
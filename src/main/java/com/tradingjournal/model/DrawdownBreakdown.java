@@ -0,0 +1,32 @@
+package com.tradingjournal.model;
+
+import java.util.Map;
+
+/**
+ * Drawdown reports for the whole selection and for each strategy and account
+ * in it
+ */
+public class DrawdownBreakdown {
+    private final DrawdownReport overall;
+    private final Map<String, DrawdownReport> byStrategy;
+    private final Map<String, DrawdownReport> byAccount;
+
+    public DrawdownBreakdown(DrawdownReport overall, Map<String, DrawdownReport> byStrategy,
+            Map<String, DrawdownReport> byAccount) {
+        this.overall = overall;
+        this.byStrategy = byStrategy;
+        this.byAccount = byAccount;
+    }
+
+    public DrawdownReport getOverall() {
+        return overall;
+    }
+
+    public Map<String, DrawdownReport> getByStrategy() {
+        return byStrategy;
+    }
+
+    public Map<String, DrawdownReport> getByAccount() {
+        return byAccount;
+    }
+}
@@ -0,0 +1,83 @@
+package com.tradingjournal.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A single drawdown: equity falls below a peak, bottoms at a trough and
+ * (optionally) climbs back to the peak
+ */
+public class DrawdownEpisode {
+    private final LocalDateTime peakTime;
+    private final LocalDateTime troughTime;
+    private final LocalDateTime recoveryTime;
+    private final LocalDateTime endTime;
+    private final double peakEquity;
+    private final double troughEquity;
+
+    /**
+     * @param recoveryTime Time equity regained the peak, or null if still underwater
+     * @param endTime      Recovery time, or the last observed time when not recovered
+     */
+    public DrawdownEpisode(LocalDateTime peakTime, LocalDateTime troughTime, LocalDateTime recoveryTime,
+            LocalDateTime endTime, double peakEquity, double troughEquity) {
+        this.peakTime = peakTime;
+        this.troughTime = troughTime;
+        this.recoveryTime = recoveryTime;
+        this.endTime = endTime;
+        this.peakEquity = peakEquity;
+        this.troughEquity = troughEquity;
+    }
+
+    public LocalDateTime getPeakTime() {
+        return peakTime;
+    }
+
+    public LocalDateTime getTroughTime() {
+        return troughTime;
+    }
+
+    public LocalDateTime getRecoveryTime() {
+        return recoveryTime;
+    }
+
+    public double getPeakEquity() {
+        return peakEquity;
+    }
+
+    public double getTroughEquity() {
+        return troughEquity;
+    }
+
+    public boolean isRecovered() {
+        return recoveryTime != null;
+    }
+
+    /**
+     * Depth in dollars (positive)
+     */
+    public double getDepth() {
+        return peakEquity - troughEquity;
+    }
+
+    /**
+     * Depth as a percentage of the peak, NaN when the peak is not positive
+     */
+    public double getDepthPercent() {
+        return peakEquity > 0 ? 100.0 * getDepth() / peakEquity : Double.NaN;
+    }
+
+    /**
+     * Time from the peak to recovery, or to the last observation if not recovered
+     */
+    public Duration getDuration() {
+        return Duration.between(peakTime, endTime);
+    }
+
+    /**
+     * Time from the trough back to the peak level, or null if not recovered
+     */
+    public Duration getTimeToRecover() {
+        return recoveryTime == null ? null : Duration.between(troughTime, recoveryTime);
+    }
+}
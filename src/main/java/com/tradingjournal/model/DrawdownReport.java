@@ -0,0 +1,106 @@
+package com.tradingjournal.model;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Drawdown episodes and underwater curve of one equity series (the whole
+ * selection, a strategy or an account)
+ */
+public class DrawdownReport {
+    private final String name;
+    private final long[] epochSeconds;
+    private final double[] underwater;
+    private final double[] underwaterPercent;
+    private final List<DrawdownEpisode> episodes;
+    private final double maxDrawdown;
+    private final double maxDrawdownPercent;
+
+    public DrawdownReport(String name, long[] epochSeconds, double[] underwater, double[] underwaterPercent,
+            List<DrawdownEpisode> episodes, double maxDrawdown, double maxDrawdownPercent) {
+        this.name = name;
+        this.epochSeconds = epochSeconds;
+        this.underwater = underwater;
+        this.underwaterPercent = underwaterPercent;
+        this.episodes = episodes;
+        this.maxDrawdown = maxDrawdown;
+        this.maxDrawdownPercent = maxDrawdownPercent;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Close time (UTC epoch seconds) of each point of the underwater curve
+     */
+    public long[] getEpochSeconds() {
+        return epochSeconds;
+    }
+
+    /**
+     * Equity minus running peak at each point (zero or negative)
+     */
+    public double[] getUnderwater() {
+        return underwater;
+    }
+
+    /**
+     * Underwater values as a percentage of the running peak (NaN for a series
+     * that starts without capital)
+     */
+    public double[] getUnderwaterPercent() {
+        return underwaterPercent;
+    }
+
+    public int size() {
+        return underwater.length;
+    }
+
+    public List<DrawdownEpisode> getEpisodes() {
+        return episodes;
+    }
+
+    public double getMaxDrawdown() {
+        return maxDrawdown;
+    }
+
+    public double getMaxDrawdownPercent() {
+        return maxDrawdownPercent;
+    }
+
+    /**
+     * Current distance below the peak in dollars (zero or negative)
+     */
+    public double getCurrentDrawdown() {
+        return underwater.length == 0 ? 0.0 : underwater[underwater.length - 1];
+    }
+
+    /**
+     * Longest peak-to-recovery (or peak-to-now) duration, zero without drawdowns
+     */
+    public Duration getLongestDuration() {
+        Duration longest = Duration.ZERO;
+        for (DrawdownEpisode episode : episodes) {
+            if (episode.getDuration().compareTo(longest) > 0) {
+                longest = episode.getDuration();
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Average trough-to-recovery time over recovered episodes, or null if none recovered
+     */
+    public Duration getAverageTimeToRecover() {
+        long totalSeconds = 0;
+        int recovered = 0;
+        for (DrawdownEpisode episode : episodes) {
+            if (episode.isRecovered()) {
+                totalSeconds += episode.getTimeToRecover().getSeconds();
+                recovered++;
+            }
+        }
+        return recovered == 0 ? null : Duration.ofSeconds(totalSeconds / recovered);
+    }
+}
@@ -0,0 +1,68 @@
+package com.tradingjournal.model;
+
+/**
+ * Equity curve stored as parallel primitive arrays. Point 0 is the starting
+ * balance one second before the first close; point i is the equity after the
+ * i-th closed trade.
+ */
+public class EquityCurve {
+
+    public static final EquityCurve EMPTY = new EquityCurve(new long[0], new double[0]);
+
+    private final long[] epochSeconds;
+    private final double[] equity;
+    private final double minEquity;
+    private final double maxEquity;
+
+    /**
+     * @param epochSeconds Close times as UTC epoch seconds, ascending
+     * @param equity       Equity at each time
+     */
+    public EquityCurve(long[] epochSeconds, double[] equity) {
+        this.epochSeconds = epochSeconds;
+        this.equity = equity;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : equity) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        this.minEquity = equity.length == 0 ? 0.0 : min;
+        this.maxEquity = equity.length == 0 ? 0.0 : max;
+    }
+
+    public int size() {
+        return equity.length;
+    }
+
+    public boolean isEmpty() {
+        return equity.length == 0;
+    }
+
+    /**
+     * Number of trades on the curve (points minus the starting point)
+     */
+    public int getTradeCount() {
+        return Math.max(0, equity.length - 1);
+    }
+
+    public long[] getEpochSeconds() {
+        return epochSeconds;
+    }
+
+    public double[] getEquity() {
+        return equity;
+    }
+
+    public double getMinEquity() {
+        return minEquity;
+    }
+
+    public double getMaxEquity() {
+        return maxEquity;
+    }
+
+    public double getFinalEquity() {
+        return equity.length == 0 ? 0.0 : equity[equity.length - 1];
+    }
+}
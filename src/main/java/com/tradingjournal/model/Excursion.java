@@ -0,0 +1,77 @@
+package com.tradingjournal.model;
+
+/**
+ * Maximum adverse and favorable excursion of one trade, measured from its
+ * open price over the M1 bars between open and close. Money values use the
+ * trade's own P&L per price unit and are NaN when that cannot be derived;
+ * R values are NaN for trades without a stop.
+ */
+public class Excursion {
+    private final String ticket;
+    private final double maePrice;
+    private final double mfePrice;
+    private final double maeMoney;
+    private final double mfeMoney;
+    private final double maeR;
+    private final double mfeR;
+    private final double netProfit;
+    private final int bars;
+
+    public Excursion(String ticket, double maePrice, double mfePrice, double maeMoney, double mfeMoney,
+            double maeR, double mfeR, double netProfit, int bars) {
+        this.ticket = ticket;
+        this.maePrice = maePrice;
+        this.mfePrice = mfePrice;
+        this.maeMoney = maeMoney;
+        this.mfeMoney = mfeMoney;
+        this.maeR = maeR;
+        this.mfeR = mfeR;
+        this.netProfit = netProfit;
+        this.bars = bars;
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    /**
+     * Furthest move against the position, in price units (never negative)
+     */
+    public double getMaePrice() {
+        return maePrice;
+    }
+
+    /**
+     * Furthest move in favor of the position, in price units (never negative)
+     */
+    public double getMfePrice() {
+        return mfePrice;
+    }
+
+    public double getMaeMoney() {
+        return maeMoney;
+    }
+
+    public double getMfeMoney() {
+        return mfeMoney;
+    }
+
+    public double getMaeR() {
+        return maeR;
+    }
+
+    public double getMfeR() {
+        return mfeR;
+    }
+
+    public double getNetProfit() {
+        return netProfit;
+    }
+
+    /**
+     * Number of M1 bars the trade spanned
+     */
+    public int getBars() {
+        return bars;
+    }
+}
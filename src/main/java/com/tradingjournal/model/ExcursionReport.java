@@ -0,0 +1,69 @@
+package com.tradingjournal.model;
+
+import java.util.List;
+
+/**
+ * MAE/MFE for the trades that had bar data
+ */
+public class ExcursionReport {
+    private final List<Excursion> excursions;
+    private final int tradesWithoutBars;
+    private final int cachedCount;
+    private final long elapsedMillis;
+
+    public ExcursionReport(List<Excursion> excursions, int tradesWithoutBars, int cachedCount, long elapsedMillis) {
+        this.excursions = excursions;
+        this.tradesWithoutBars = tradesWithoutBars;
+        this.cachedCount = cachedCount;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<Excursion> getExcursions() {
+        return excursions;
+    }
+
+    /**
+     * Closed trades skipped because their symbol or time window had no bars
+     */
+    public int getTradesWithoutBars() {
+        return tradesWithoutBars;
+    }
+
+    /**
+     * Excursions reused from earlier runs instead of rescanned
+     */
+    public int getCachedCount() {
+        return cachedCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Mean of the non-NaN money MAE values, or NaN if none
+     */
+    public double getAverageMaeMoney() {
+        return average(true);
+    }
+
+    /**
+     * Mean of the non-NaN money MFE values, or NaN if none
+     */
+    public double getAverageMfeMoney() {
+        return average(false);
+    }
+
+    private double average(boolean adverse) {
+        double sum = 0.0;
+        int count = 0;
+        for (Excursion excursion : excursions) {
+            double value = adverse ? excursion.getMaeMoney() : excursion.getMfeMoney();
+            if (!Double.isNaN(value)) {
+                sum += value;
+                count++;
+            }
+        }
+        return count == 0 ? Double.NaN : sum / count;
+    }
+}
@@ -0,0 +1,77 @@
+package com.tradingjournal.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Trades and net P&L each filter value would select if it were chosen while
+ * the other filters stay as they are. A facet's total is what its "All ..."
+ * choice selects. Values are keyed as the filters compare them: the strategy,
+ * account or symbol itself, the magic number as text and the TradeType name.
+ */
+public class FacetCounts {
+
+    /**
+     * Filter dropdown counted per value
+     */
+    public enum Facet {
+        STRATEGY, ACCOUNT, SYMBOL, MAGIC, TYPE
+    }
+
+    /**
+     * Trade count and summed net P&L of one value
+     */
+    public static final class Count {
+        public static final Count NONE = new Count(0, 0.0);
+
+        private final int trades;
+        private final double netProfit;
+
+        public Count(int trades, double netProfit) {
+            this.trades = trades;
+            this.netProfit = netProfit;
+        }
+
+        public int getTrades() {
+            return trades;
+        }
+
+        public double getNetProfit() {
+            return netProfit;
+        }
+    }
+
+    private final Map<Facet, Map<String, Count>> values;
+    private final Map<Facet, Count> totals;
+
+    public FacetCounts(Map<Facet, Map<String, Count>> values, Map<Facet, Count> totals) {
+        this.values = new EnumMap<>(values);
+        this.totals = new EnumMap<>(totals);
+    }
+
+    /**
+     * Count for one value, NONE if no trade would match it
+     */
+    public Count get(Facet facet, String value) {
+        Map<String, Count> counts = values.get(facet);
+        Count count = counts == null || value == null ? null : counts.get(value);
+        return count == null ? Count.NONE : count;
+    }
+
+    /**
+     * Count for the "All ..." choice of a facet
+     */
+    public Count getTotal(Facet facet) {
+        Count total = totals.get(facet);
+        return total == null ? Count.NONE : total;
+    }
+
+    /**
+     * Counts of the values that match at least one trade
+     */
+    public Map<String, Count> getValues(Facet facet) {
+        Map<String, Count> counts = values.get(facet);
+        return counts == null ? Collections.<String, Count>emptyMap() : Collections.unmodifiableMap(counts);
+    }
+}
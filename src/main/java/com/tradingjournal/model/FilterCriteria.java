@@ -0,0 +1,211 @@
+package com.tradingjournal.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * Normalized filter selection. "All ..." choices become null and the period
+ * is resolved to a concrete close-time window, so two selections that pick
+ * the same trades compare equal and can share cached analytics.
+ */
+public final class FilterCriteria {
+
+    public static final String ALL_STRATEGIES = "All Strategies";
+    public static final String ALL_ACCOUNTS = "All Accounts";
+    public static final String ALL_SYMBOLS = "All Symbols";
+    public static final String ALL_MAGIC = "All Magic";
+    public static final String ALL_TIME = "All Time";
+    public static final String ALL_TYPES = "All Types";
+    public static final String CUSTOM_RANGE = "Custom Range...";
+
+    private final String strategy;
+    private final String account;
+    private final String symbol;
+    private final String magic;
+    private final TradeType type;
+    private final boolean anyType;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final String query;
+
+    /**
+     * @param period      Period label from the time filter
+     * @param customStart Start date used by "Custom Range..."
+     * @param customEnd   End date used by "Custom Range..."
+     * @param type        "All Types", "Long Only" or "Short Only"
+     * @param query       Trade query text, or null/blank for none
+     * @param now         Reference time for relative periods
+     */
+    public FilterCriteria(String strategy, String account, String symbol, String magic, String period,
+            LocalDate customStart, LocalDate customEnd, String type, String query, LocalDateTime now) {
+        this.strategy = normalize(strategy, ALL_STRATEGIES);
+        this.account = normalize(account, ALL_ACCOUNTS);
+        this.symbol = normalize(symbol, ALL_SYMBOLS);
+        this.magic = normalize(magic, ALL_MAGIC);
+
+        String normalizedType = normalize(type, ALL_TYPES);
+        this.anyType = normalizedType == null;
+        this.type = parseType(normalizedType);
+
+        // Rolling periods are anchored to the minute so the key stays stable while flipping views
+        LocalDateTime anchor = now.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        String normalizedPeriod = normalize(period, ALL_TIME);
+        if (normalizedPeriod != null) {
+            switch (normalizedPeriod) {
+                case "Today":
+                    start = now.toLocalDate().atStartOfDay();
+                    break;
+                case "Last 7 Days":
+                    start = anchor.minusDays(7);
+                    break;
+                case "Last 30 Days":
+                    start = anchor.minusDays(30);
+                    break;
+                case "Last 90 Days":
+                    start = anchor.minusDays(90);
+                    break;
+                case "This Month":
+                    start = now.toLocalDate().withDayOfMonth(1).atStartOfDay();
+                    break;
+                case "Last Month":
+                    LocalDateTime firstOfThisMonth = now.toLocalDate().withDayOfMonth(1).atStartOfDay();
+                    start = firstOfThisMonth.minusMonths(1);
+                    end = firstOfThisMonth.minusSeconds(1);
+                    break;
+                case "This Year":
+                    start = now.toLocalDate().withDayOfYear(1).atStartOfDay();
+                    break;
+                case CUSTOM_RANGE:
+                    if (customStart != null && customEnd != null) {
+                        start = customStart.atStartOfDay();
+                        end = customEnd.atTime(23, 59, 59);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        this.from = start;
+        this.to = end;
+        this.query = query == null || query.trim().isEmpty() ? null : query.trim();
+    }
+
+    /**
+     * Direction of a type filter label: BUY for "Long Only", SELL for "Short Only", otherwise null
+     */
+    public static TradeType parseType(String label) {
+        if ("Long Only".equals(label)) {
+            return TradeType.BUY;
+        } else if ("Short Only".equals(label)) {
+            return TradeType.SELL;
+        }
+        return null;
+    }
+
+    private static String normalize(String value, String allValue) {
+        return value == null || value.equals(allValue) ? null : value;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getMagic() {
+        return magic;
+    }
+
+    /**
+     * Selected direction, or null for all types or an unrecognized type selection
+     */
+    public TradeType getType() {
+        return type;
+    }
+
+    /**
+     * True when trades of every direction pass
+     */
+    public boolean isAnyType() {
+        return anyType;
+    }
+
+    /**
+     * Inclusive lower bound on close time, or null
+     */
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    /**
+     * Inclusive upper bound on close time, or null
+     */
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    /**
+     * Trade query text applied on top of the other filters, or null
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Check whether a trade passes every filter except the query
+     */
+    public boolean matches(Trade trade) {
+        if (strategy != null && !strategy.equals(trade.getStrategy()))
+            return false;
+        if (account != null && !account.equals(trade.getAccount()))
+            return false;
+        if (symbol != null && !symbol.equals(trade.getSymbol()))
+            return false;
+        if (magic != null && !magic.equals(String.valueOf(trade.getMagicNumber())))
+            return false;
+        if (from != null || to != null) {
+            LocalDateTime closeTime = trade.getCloseTime();
+            if (closeTime == null)
+                return false;
+            if (from != null && closeTime.isBefore(from))
+                return false;
+            if (to != null && closeTime.isAfter(to))
+                return false;
+        }
+        // An unrecognized type selection matches nothing, as before
+        return anyType || (type != null && trade.getType() == type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof FilterCriteria))
+            return false;
+        FilterCriteria other = (FilterCriteria) o;
+        return anyType == other.anyType
+                && type == other.type
+                && Objects.equals(strategy, other.strategy)
+                && Objects.equals(account, other.account)
+                && Objects.equals(symbol, other.symbol)
+                && Objects.equals(magic, other.magic)
+                && Objects.equals(from, other.from)
+                && Objects.equals(to, other.to)
+                && Objects.equals(query, other.query);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(strategy, account, symbol, magic, type, anyType, from, to, query);
+    }
+}
@@ -0,0 +1,119 @@
+package com.tradingjournal.model;
+
+/**
+ * Outcome distributions of a Monte Carlo trade-sequence simulation.
+ * All per-run arrays are sorted ascending so percentiles are direct lookups.
+ */
+public class MonteCarloResult {
+    /** Percentile levels of the fan chart bands, e.g. 0.05 for the 5th percentile */
+    public static final double[] FAN_LEVELS = { 0.05, 0.25, 0.50, 0.75, 0.95 };
+
+    private final int runs;
+    private final int tradesPerRun;
+    private final double startingBalance;
+    private final double lossLimit;
+    private final double[] maxDrawdowns;
+    private final double[] finalEquities;
+    private final int[] longestLosingStreaks;
+    private final int runsHittingLossLimit;
+    private final int[] fanSteps;
+    private final double[][] fanBands;
+    private final long elapsedMillis;
+
+    public MonteCarloResult(int runs, int tradesPerRun, double startingBalance, double lossLimit,
+            double[] maxDrawdowns, double[] finalEquities, int[] longestLosingStreaks,
+            int runsHittingLossLimit, int[] fanSteps, double[][] fanBands, long elapsedMillis) {
+        this.runs = runs;
+        this.tradesPerRun = tradesPerRun;
+        this.startingBalance = startingBalance;
+        this.lossLimit = lossLimit;
+        this.maxDrawdowns = maxDrawdowns;
+        this.finalEquities = finalEquities;
+        this.longestLosingStreaks = longestLosingStreaks;
+        this.runsHittingLossLimit = runsHittingLossLimit;
+        this.fanSteps = fanSteps;
+        this.fanBands = fanBands;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public int getTradesPerRun() {
+        return tradesPerRun;
+    }
+
+    public double getStartingBalance() {
+        return startingBalance;
+    }
+
+    public double getLossLimit() {
+        return lossLimit;
+    }
+
+    public double[] getMaxDrawdowns() {
+        return maxDrawdowns;
+    }
+
+    public double[] getFinalEquities() {
+        return finalEquities;
+    }
+
+    public int[] getLongestLosingStreaks() {
+        return longestLosingStreaks;
+    }
+
+    /**
+     * Share of runs whose equity fell to startingBalance - lossLimit or below
+     */
+    public double getLossLimitProbability() {
+        return runs == 0 ? 0.0 : (double) runsHittingLossLimit / runs;
+    }
+
+    /**
+     * Trade numbers at which the fan chart bands were sampled
+     */
+    public int[] getFanSteps() {
+        return fanSteps;
+    }
+
+    /**
+     * Equity percentiles per fan step, indexed [level][step] following {@link #FAN_LEVELS}
+     */
+    public double[][] getFanBands() {
+        return fanBands;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double maxDrawdownPercentile(double level) {
+        return percentile(maxDrawdowns, level);
+    }
+
+    public double finalEquityPercentile(double level) {
+        return percentile(finalEquities, level);
+    }
+
+    public int longestLosingStreakPercentile(double level) {
+        if (longestLosingStreaks.length == 0)
+            return 0;
+        return longestLosingStreaks[index(longestLosingStreaks.length, level)];
+    }
+
+    /**
+     * Nearest-rank percentile of an ascending array
+     */
+    public static double percentile(double[] sorted, double level) {
+        if (sorted.length == 0)
+            return 0.0;
+        return sorted[index(sorted.length, level)];
+    }
+
+    private static int index(int length, double level) {
+        int i = (int) Math.ceil(level * length) - 1;
+        return Math.max(0, Math.min(length - 1, i));
+    }
+}
@@ -0,0 +1,31 @@
+package com.tradingjournal.model;
+
+import java.util.Map;
+
+/**
+ * Per-strategy equity curves plus the combined portfolio curve built from the
+ * same pass over the trades
+ */
+public class PortfolioEquity {
+    private final Map<String, EquityCurve> strategyCurves;
+    private final EquityCurve portfolioCurve;
+
+    public PortfolioEquity(Map<String, EquityCurve> strategyCurves, EquityCurve portfolioCurve) {
+        this.strategyCurves = strategyCurves;
+        this.portfolioCurve = portfolioCurve;
+    }
+
+    /**
+     * Curves for named strategies, ordered by strategy name
+     */
+    public Map<String, EquityCurve> getStrategyCurves() {
+        return strategyCurves;
+    }
+
+    /**
+     * Equity of all trades together, including trades without a strategy
+     */
+    public EquityCurve getPortfolioCurve() {
+        return portfolioCurve;
+    }
+}
@@ -0,0 +1,104 @@
+package com.tradingjournal.model;
+
+/**
+ * R-multiple statistics for a set of closed trades: the distribution of R,
+ * expectancy in R and cumulative R per strategy. Trades without a usable
+ * initial stop have no R and are only counted.
+ */
+public class RMultipleReport {
+    private final int tradeCount;
+    private final int withoutRiskCount;
+    private final double binStart;
+    private final double binWidth;
+    private final int[] binCounts;
+    private final double expectancy;
+    private final double winRate;
+    private final double averageWinR;
+    private final double averageLossR;
+    private final double totalR;
+    private final PortfolioEquity equity;
+
+    public RMultipleReport(int tradeCount, int withoutRiskCount, double binStart, double binWidth, int[] binCounts,
+            double expectancy, double winRate, double averageWinR, double averageLossR, double totalR,
+            PortfolioEquity equity) {
+        this.tradeCount = tradeCount;
+        this.withoutRiskCount = withoutRiskCount;
+        this.binStart = binStart;
+        this.binWidth = binWidth;
+        this.binCounts = binCounts;
+        this.expectancy = expectancy;
+        this.winRate = winRate;
+        this.averageWinR = averageWinR;
+        this.averageLossR = averageLossR;
+        this.totalR = totalR;
+        this.equity = equity;
+    }
+
+    /**
+     * Closed trades with an R-multiple
+     */
+    public int getTradeCount() {
+        return tradeCount;
+    }
+
+    /**
+     * Closed trades left out because their initial risk is unknown
+     */
+    public int getWithoutRiskCount() {
+        return withoutRiskCount;
+    }
+
+    /**
+     * Lower edge of the first histogram bin, in R
+     */
+    public double getBinStart() {
+        return binStart;
+    }
+
+    public double getBinWidth() {
+        return binWidth;
+    }
+
+    /**
+     * Trades per bin; the first and last bins also hold everything beyond them
+     */
+    public int[] getBinCounts() {
+        return binCounts;
+    }
+
+    /**
+     * Mean R per trade, or NaN if no trade has an R-multiple
+     */
+    public double getExpectancy() {
+        return expectancy;
+    }
+
+    public double getWinRate() {
+        return winRate;
+    }
+
+    /**
+     * Mean R of winning trades, or NaN if none
+     */
+    public double getAverageWinR() {
+        return averageWinR;
+    }
+
+    /**
+     * Mean R of losing trades (negative), or NaN if none
+     */
+    public double getAverageLossR() {
+        return averageLossR;
+    }
+
+    public double getTotalR() {
+        return totalR;
+    }
+
+    /**
+     * Cumulative R per strategy and for all trades together, starting from 0
+     */
+    public PortfolioEquity getEquity() {
+        return equity;
+    }
+}
@@ -0,0 +1,91 @@
+package com.tradingjournal.model;
+
+/**
+ * Annualized risk-adjusted metrics derived from a daily equity series.
+ * Ratios that cannot be computed (too few days, non-positive equity) are NaN.
+ */
+public class RiskMetrics {
+
+    /** Trading days per year used for annualization */
+    public static final int TRADING_DAYS_PER_YEAR = 252;
+
+    private final long[] epochDays;
+    private final double[] dailyEquity;
+    private final double[] dailyReturns;
+    private final double annualizedReturn;
+    private final double annualizedVolatility;
+    private final double sharpeRatio;
+    private final double sortinoRatio;
+    private final double calmarRatio;
+    private final double ulcerIndex;
+    private final double maxDrawdownPercent;
+
+    public RiskMetrics(long[] epochDays, double[] dailyEquity, double[] dailyReturns, double annualizedReturn,
+            double annualizedVolatility, double sharpeRatio, double sortinoRatio, double calmarRatio,
+            double ulcerIndex, double maxDrawdownPercent) {
+        this.epochDays = epochDays;
+        this.dailyEquity = dailyEquity;
+        this.dailyReturns = dailyReturns;
+        this.annualizedReturn = annualizedReturn;
+        this.annualizedVolatility = annualizedVolatility;
+        this.sharpeRatio = sharpeRatio;
+        this.sortinoRatio = sortinoRatio;
+        this.calmarRatio = calmarRatio;
+        this.ulcerIndex = ulcerIndex;
+        this.maxDrawdownPercent = maxDrawdownPercent;
+    }
+
+    /**
+     * Day of each equity value as {@link java.time.LocalDate#toEpochDay()}
+     */
+    public long[] getEpochDays() {
+        return epochDays;
+    }
+
+    /**
+     * End-of-day equity, one value per trading day
+     */
+    public double[] getDailyEquity() {
+        return dailyEquity;
+    }
+
+    /**
+     * Simple return of each day against the previous day's equity (the
+     * starting balance for the first day)
+     */
+    public double[] getDailyReturns() {
+        return dailyReturns;
+    }
+
+    public int getTradingDays() {
+        return dailyEquity.length;
+    }
+
+    public double getAnnualizedReturn() {
+        return annualizedReturn;
+    }
+
+    public double getAnnualizedVolatility() {
+        return annualizedVolatility;
+    }
+
+    public double getSharpeRatio() {
+        return sharpeRatio;
+    }
+
+    public double getSortinoRatio() {
+        return sortinoRatio;
+    }
+
+    public double getCalmarRatio() {
+        return calmarRatio;
+    }
+
+    public double getUlcerIndex() {
+        return ulcerIndex;
+    }
+
+    public double getMaxDrawdownPercent() {
+        return maxDrawdownPercent;
+    }
+}
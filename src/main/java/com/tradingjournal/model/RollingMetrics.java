@@ -0,0 +1,95 @@
+package com.tradingjournal.model;
+
+/**
+ * Rolling performance metrics, one value per closed trade in close-time order.
+ * Undefined values (e.g. profit factor without losses) are stored as NaN.
+ */
+public class RollingMetrics {
+
+    /**
+     * Metrics available as rolling series
+     */
+    public enum Metric {
+        WIN_RATE("Win Rate %"),
+        PROFIT_FACTOR("Profit Factor"),
+        EXPECTANCY("Expectancy $"),
+        AVERAGE_WIN("Avg Win $"),
+        AVERAGE_LOSS("Avg Loss $"),
+        SHARPE("Sharpe (per trade)");
+
+        private final String displayName;
+
+        Metric(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /**
+     * How the window is measured
+     */
+    public enum WindowType {
+        TRADES("Last N Trades"),
+        DAYS("Last N Days");
+
+        private final String displayName;
+
+        WindowType(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final WindowType windowType;
+    private final int windowSize;
+    private final int[] tradeNumbers;
+    private final int[] windowCounts;
+    private final double[][] values;
+
+    public RollingMetrics(WindowType windowType, int windowSize, int[] tradeNumbers, int[] windowCounts,
+            double[][] values) {
+        this.windowType = windowType;
+        this.windowSize = windowSize;
+        this.tradeNumbers = tradeNumbers;
+        this.windowCounts = windowCounts;
+        this.values = values;
+    }
+
+    public WindowType getWindowType() {
+        return windowType;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int size() {
+        return tradeNumbers.length;
+    }
+
+    /**
+     * 1-based number of the trade that closes each window
+     */
+    public int[] getTradeNumbers() {
+        return tradeNumbers;
+    }
+
+    /**
+     * Number of trades inside each window
+     */
+    public int[] getWindowCounts() {
+        return windowCounts;
+    }
+
+    public double[] getSeries(Metric metric) {
+        return values[metric.ordinal()];
+    }
+}
@@ -0,0 +1,166 @@
+package com.tradingjournal.model;
+
+/**
+ * Result of replaying the same trades under a grid of position-sizing
+ * parameters. Rows follow the lot cap values and columns the sizing values;
+ * cells that cannot be rated (e.g. no drawdown) are NaN.
+ */
+public class SizingGridResult {
+
+    /**
+     * How the size of each replayed trade is chosen
+     */
+    public enum Rule {
+        FIXED_LOTS("Fixed Lots", "Lots"),
+        FIXED_FRACTIONAL("Fixed Fractional", "Risk %");
+
+        private final String displayName;
+        private final String parameterName;
+
+        Rule(String displayName, String parameterName) {
+            this.displayName = displayName;
+            this.parameterName = parameterName;
+        }
+
+        /**
+         * Label of the sizing parameter swept along the columns
+         */
+        public String getParameterName() {
+            return parameterName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /**
+     * Value shown by the heatmap
+     */
+    public enum Metric {
+        FINAL_EQUITY("Final Equity", true),
+        MAX_DRAWDOWN("Max Drawdown %", false),
+        RETURN_TO_DRAWDOWN("Return / Drawdown", true);
+
+        private final String displayName;
+        private final boolean higherIsBetter;
+
+        Metric(String displayName, boolean higherIsBetter) {
+            this.displayName = displayName;
+            this.higherIsBetter = higherIsBetter;
+        }
+
+        public boolean isHigherBetter() {
+            return higherIsBetter;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final Rule rule;
+    private final double[] sizeValues;
+    private final double[] capValues;
+    private final double startingBalance;
+    private final int tradeCount;
+    private final int tradesWithoutStop;
+    private final double[][] finalEquity;
+    private final double[][] maxDrawdownPercent;
+    private final double[][] returnToDrawdown;
+    private final long elapsedMillis;
+
+    public SizingGridResult(Rule rule, double[] sizeValues, double[] capValues, double startingBalance,
+            int tradeCount, int tradesWithoutStop, double[][] finalEquity, double[][] maxDrawdownPercent,
+            double[][] returnToDrawdown, long elapsedMillis) {
+        this.rule = rule;
+        this.sizeValues = sizeValues;
+        this.capValues = capValues;
+        this.startingBalance = startingBalance;
+        this.tradeCount = tradeCount;
+        this.tradesWithoutStop = tradesWithoutStop;
+        this.finalEquity = finalEquity;
+        this.maxDrawdownPercent = maxDrawdownPercent;
+        this.returnToDrawdown = returnToDrawdown;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Sizing parameter per column: lots, or percent of equity risked
+     */
+    public double[] getSizeValues() {
+        return sizeValues;
+    }
+
+    /**
+     * Maximum lots per position per row
+     */
+    public double[] getCapValues() {
+        return capValues;
+    }
+
+    public double getStartingBalance() {
+        return startingBalance;
+    }
+
+    public int getTradeCount() {
+        return tradeCount;
+    }
+
+    /**
+     * Trades without a usable stop; fixed fractional sizing keeps their recorded size
+     */
+    public int getTradesWithoutStop() {
+        return tradesWithoutStop;
+    }
+
+    public int getCombinationCount() {
+        return sizeValues.length * capValues.length;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Values indexed [cap row][size column]
+     */
+    public double[][] getValues(Metric metric) {
+        switch (metric) {
+            case MAX_DRAWDOWN:
+                return maxDrawdownPercent;
+            case RETURN_TO_DRAWDOWN:
+                return returnToDrawdown;
+            default:
+                return finalEquity;
+        }
+    }
+
+    /**
+     * Row and column of the best cell for the metric, or null if every cell is NaN
+     */
+    public int[] best(Metric metric) {
+        double[][] values = getValues(metric);
+        int[] best = null;
+        double bestValue = Double.NaN;
+        for (int row = 0; row < values.length; row++) {
+            for (int col = 0; col < values[row].length; col++) {
+                double value = values[row][col];
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                if (best == null || (metric.isHigherBetter() ? value > bestValue : value < bestValue)) {
+                    best = new int[] { row, col };
+                    bestValue = value;
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,69 @@
+package com.tradingjournal.model;
+
+import java.util.List;
+
+/**
+ * Trade statistics for each value of one grouping dimension
+ */
+public class StatisticsBreakdown {
+
+    /**
+     * What each row of the breakdown represents
+     */
+    public enum Dimension {
+        SYMBOL("Symbol"),
+        STRATEGY("Strategy"),
+        MAGIC("Magic Number");
+
+        private final String displayName;
+
+        Dimension(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /**
+     * Statistics for one group
+     */
+    public static class Row {
+        private final String name;
+        private final TradeStatistics statistics;
+
+        public Row(String name, TradeStatistics statistics) {
+            this.name = name;
+            this.statistics = statistics;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public TradeStatistics getStatistics() {
+            return statistics;
+        }
+    }
+
+    private final Dimension dimension;
+    private final List<Row> rows;
+
+    public StatisticsBreakdown(Dimension dimension, List<Row> rows) {
+        this.dimension = dimension;
+        this.rows = rows;
+    }
+
+    public Dimension getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Rows ordered by group name
+     */
+    public List<Row> getRows() {
+        return rows;
+    }
+}
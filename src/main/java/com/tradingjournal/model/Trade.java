@@ -1,12 +1,20 @@
 package com.tradingjournal.model;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.Objects;
 
 /**
  * Represents a single trade from MT5
  */
 public class Trade {
+
+    /**
+     * Order of closed trades by close time, ties broken by ticket
+     */
+    public static final Comparator<Trade> CLOSE_TIME_ORDER = Comparator.comparing(Trade::getCloseTime)
+            .thenComparing(Trade::getTicket, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
     private String ticket;
     private LocalDateTime openTime;
     private LocalDateTime closeTime;
@@ -0,0 +1,142 @@
+package com.tradingjournal.model;
+
+import java.time.DayOfWeek;
+
+/**
+ * Trade activity by weekday and hour, stored as flat primitive arrays indexed
+ * {@code (day - 1) * 24 + hour} with Monday as day 1. Entries are bucketed by
+ * open time; closed-trade results by close time.
+ */
+public class WeekHourMatrix {
+
+    public static final int DAYS = 7;
+    public static final int HOURS = 24;
+
+    /**
+     * Value shown by the heatmap
+     */
+    public enum Metric {
+        TOTAL_PNL("Total P&L"),
+        AVERAGE_PNL("Average P&L"),
+        TRADES("Trades"),
+        WIN_RATE("Win Rate");
+
+        private final String displayName;
+
+        Metric(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final int[] entries;
+    private final int[] trades;
+    private final int[] wins;
+    private final double[] pnl;
+
+    public WeekHourMatrix(int[] entries, int[] trades, int[] wins, double[] pnl) {
+        this.entries = entries;
+        this.trades = trades;
+        this.wins = wins;
+        this.pnl = pnl;
+    }
+
+    public static int index(DayOfWeek day, int hour) {
+        return (day.getValue() - 1) * HOURS + hour;
+    }
+
+    /**
+     * Trades opened in the cell
+     */
+    public int getEntries(DayOfWeek day, int hour) {
+        return entries[index(day, hour)];
+    }
+
+    /**
+     * Trades closed in the cell
+     */
+    public int getTrades(DayOfWeek day, int hour) {
+        return trades[index(day, hour)];
+    }
+
+    public int getWins(DayOfWeek day, int hour) {
+        return wins[index(day, hour)];
+    }
+
+    public double getPnl(DayOfWeek day, int hour) {
+        return pnl[index(day, hour)];
+    }
+
+    /**
+     * Average net P&L per trade closed in the cell, or NaN if none
+     */
+    public double getAveragePnl(DayOfWeek day, int hour) {
+        int i = index(day, hour);
+        return trades[i] == 0 ? Double.NaN : pnl[i] / trades[i];
+    }
+
+    /**
+     * Value for the heatmap; NaN for averages and win rates of empty cells
+     */
+    public double getValue(Metric metric, DayOfWeek day, int hour) {
+        int i = index(day, hour);
+        switch (metric) {
+            case AVERAGE_PNL:
+                return trades[i] == 0 ? Double.NaN : pnl[i] / trades[i];
+            case TRADES:
+                return trades[i];
+            case WIN_RATE:
+                return trades[i] == 0 ? Double.NaN : (double) wins[i] / trades[i];
+            default:
+                return pnl[i];
+        }
+    }
+
+    /**
+     * Entries per hour of day, summed over weekdays
+     */
+    public int[] getEntriesByHour() {
+        int[] result = new int[HOURS];
+        for (int i = 0; i < entries.length; i++) {
+            result[i % HOURS] += entries[i];
+        }
+        return result;
+    }
+
+    /**
+     * Entries per weekday, indexed by {@code DayOfWeek.getValue() - 1}
+     */
+    public int[] getEntriesByDay() {
+        int[] result = new int[DAYS];
+        for (int i = 0; i < entries.length; i++) {
+            result[i / HOURS] += entries[i];
+        }
+        return result;
+    }
+
+    /**
+     * Net P&L per hour of close, summed over weekdays
+     */
+    public double[] getPnlByHour() {
+        double[] result = new double[HOURS];
+        for (int i = 0; i < pnl.length; i++) {
+            result[i % HOURS] += pnl[i];
+        }
+        return result;
+    }
+
+    /**
+     * Net P&L per weekday of close, indexed by {@code DayOfWeek.getValue() - 1}
+     */
+    public double[] getPnlByDay() {
+        double[] result = new double[DAYS];
+        for (int i = 0; i < pnl.length; i++) {
+            result[i / HOURS] += pnl[i];
+        }
+        return result;
+    }
+}
@@ -23,6 +23,7 @@ public class AccountRepository {
     private static final String ACCOUNTS_FILE = "accounts.json";
     private final File file;
     private final Gson gson;
+    private long version;
 
     public AccountRepository() {
         this.file = new File(ACCOUNTS_FILE);
@@ -63,6 +64,7 @@ public class AccountRepository {
      * Save all accounts
      */
     public void saveAll(List<Account> accounts) {
+        version++;
         try (FileWriter writer = new FileWriter(file)) {
             // Sort accounts alphabetically
             List<Account> sortedAccounts = new ArrayList<>(accounts);
@@ -75,6 +77,13 @@ public class AccountRepository {
         }
     }
 
+    /**
+     * Get a counter that changes whenever accounts are saved
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Add a new account
      */
@@ -0,0 +1,210 @@
+package com.tradingjournal.repository;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Locally exported M1 bars, one file per symbol in the bar directory.
+ * {@code SYMBOL.bin} files are memory-mapped directly; a {@code SYMBOL.csv}
+ * export (MT4/MT5 style: date, time, open, high, low, close, ...) is
+ * converted to the binary format once and the result is mapped. Each
+ * conversion goes to a new {@code SYMBOL.csv-<modified>.bin} file: Java 8
+ * cannot unmap a file, and Windows will not delete or overwrite one that is
+ * mapped, so a re-exported CSV never has to replace a file in use. Older
+ * conversions are deleted once nothing maps them any more, at the latest on
+ * the next start. Bar times are taken as broker time, like trade times.
+ */
+public class BarRepository {
+
+    private static final String DEFAULT_DIRECTORY = "bars";
+
+    private final File directory;
+    /** Mapped series by symbol, with the file each was mapped from */
+    private final Map<String, BarSeries> series = new HashMap<>();
+    private final Map<String, File> mappedFiles = new HashMap<>();
+
+    public BarRepository() {
+        this(DEFAULT_DIRECTORY);
+    }
+
+    public BarRepository(String directory) {
+        this.directory = new File(directory);
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Bars for the symbol, or null if there is no usable bar file
+     */
+    public synchronized BarSeries find(String symbol) {
+        if (symbol == null || symbol.trim().isEmpty()) {
+            return null;
+        }
+
+        File binary = new File(directory, symbol + ".bin");
+        File csv = new File(directory, symbol + ".csv");
+        try {
+            if (csv.exists() && (!binary.exists() || csv.lastModified() > binary.lastModified())) {
+                binary = new File(directory, symbol + ".csv-" + csv.lastModified() + ".bin");
+                if (!binary.exists()) {
+                    convertCsv(csv, binary);
+                }
+            }
+            if (!binary.exists()) {
+                return null;
+            }
+
+            BarSeries cached = series.get(symbol);
+            if (cached != null && binary.equals(mappedFiles.get(symbol))
+                    && cached.getLastModified() == binary.lastModified()) {
+                return cached;
+            }
+            BarSeries mapped = map(symbol, binary);
+            series.put(symbol, mapped);
+            mappedFiles.put(symbol, binary);
+            deleteOldConversions(symbol, binary);
+            return mapped;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error loading bars for " + symbol + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Remove a symbol's superseded CSV conversions; one still mapped (on
+     * Windows, until its buffer is collected) is left for a later call
+     */
+    private void deleteOldConversions(String symbol, File current) {
+        Pattern conversion = Pattern.compile(Pattern.quote(symbol) + "\\.csv-\\d+\\.bin(\\.tmp)?");
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!file.equals(current) && conversion.matcher(file.getName()).matches()) {
+                file.delete();
+            }
+        }
+    }
+
+    private BarSeries map(String symbol, File binary) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(binary, "r");
+                FileChannel channel = file.getChannel()) {
+            long length = channel.size();
+            if (length < BarSeries.HEADER_BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Unsupported bar file size " + length);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (buffer.getInt(0) != BarSeries.MAGIC || buffer.getInt(4) != BarSeries.RECORD_BYTES) {
+                throw new IOException("Not a bar file: " + binary.getName());
+            }
+            long count = buffer.getLong(8);
+            if (BarSeries.HEADER_BYTES + count * BarSeries.RECORD_BYTES > length) {
+                throw new IOException("Truncated bar file: " + binary.getName());
+            }
+            return new BarSeries(symbol, buffer, (int) count, binary.lastModified());
+        }
+    }
+
+    /**
+     * Convert a CSV export to the binary format, sorted by bar time
+     */
+    private void convertCsv(File csv, File binary) throws IOException {
+        long[] times = new long[1 << 16];
+        double[] highs = new double[times.length];
+        double[] lows = new double[times.length];
+        int count = 0;
+        boolean sorted = true;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(csv))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.trim().split("[,;\\t]");
+                if (fields.length < 5) {
+                    continue;
+                }
+                try {
+                    // Date and time are either one field or two
+                    int next;
+                    LocalDateTime time;
+                    if (fields[0].trim().indexOf(' ') > 0 || fields[0].indexOf('T') > 0) {
+                        String[] parts = fields[0].trim().split("[ T]");
+                        time = LocalDateTime.of(parseDate(parts[0]), LocalTime.parse(parts[1]));
+                        next = 1;
+                    } else {
+                        time = LocalDateTime.of(parseDate(fields[0]), LocalTime.parse(fields[1].trim()));
+                        next = 2;
+                    }
+                    double high = Double.parseDouble(fields[next + 1].trim());
+                    double low = Double.parseDouble(fields[next + 2].trim());
+
+                    if (count == times.length) {
+                        times = Arrays.copyOf(times, count * 2);
+                        highs = Arrays.copyOf(highs, count * 2);
+                        lows = Arrays.copyOf(lows, count * 2);
+                    }
+                    times[count] = time.toEpochSecond(ZoneOffset.UTC);
+                    highs[count] = high;
+                    lows[count] = low;
+                    if (count > 0 && times[count] < times[count - 1]) {
+                        sorted = false;
+                    }
+                    count++;
+                } catch (RuntimeException e) {
+                    // Header or malformed line
+                }
+            }
+        }
+
+        Integer[] order = null;
+        if (!sorted) {
+            order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            final long[] keys = times;
+            Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+        }
+
+        File temp = new File(binary.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temp), 1 << 16))) {
+            out.writeInt(BarSeries.MAGIC);
+            out.writeInt(BarSeries.RECORD_BYTES);
+            out.writeLong(count);
+            for (int i = 0; i < count; i++) {
+                int j = order == null ? i : order[i];
+                out.writeLong(times[j]);
+                out.writeDouble(highs[j]);
+                out.writeDouble(lows[j]);
+            }
+        }
+        // The target is a new name, so nothing can have it mapped
+        if (!temp.renameTo(binary)) {
+            throw new IOException("Cannot write " + binary.getName());
+        }
+    }
+
+    private static LocalDate parseDate(String text) {
+        return LocalDate.parse(text.trim().replace('.', '-').replace('/', '-'));
+    }
+}
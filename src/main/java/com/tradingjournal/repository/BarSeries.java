@@ -0,0 +1,72 @@
+package com.tradingjournal.repository;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only view of a symbol's M1 bars in the binary bar format: a 16-byte
+ * header followed by fixed-size records of bar open time (UTC epoch seconds),
+ * high and low, sorted by time. Only absolute reads are used, so one series
+ * can be shared by concurrent readers.
+ */
+public class BarSeries {
+
+    static final int MAGIC = 0x544A4231; // "TJB1"
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 24;
+
+    private final String symbol;
+    private final ByteBuffer buffer;
+    private final int count;
+    private final long lastModified;
+
+    BarSeries(String symbol, ByteBuffer buffer, int count, long lastModified) {
+        this.symbol = symbol;
+        this.buffer = buffer;
+        this.count = count;
+        this.lastModified = lastModified;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Modification time of the backing file, used to invalidate derived results
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public long getTime(int index) {
+        return buffer.getLong(HEADER_BYTES + index * RECORD_BYTES);
+    }
+
+    public double getHigh(int index) {
+        return buffer.getDouble(HEADER_BYTES + index * RECORD_BYTES + 8);
+    }
+
+    public double getLow(int index) {
+        return buffer.getDouble(HEADER_BYTES + index * RECORD_BYTES + 16);
+    }
+
+    /**
+     * Index of the first bar opening at or after the time, or {@link #size()} if none
+     */
+    public int firstAtOrAfter(long epochSecond) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (getTime(mid) < epochSecond) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
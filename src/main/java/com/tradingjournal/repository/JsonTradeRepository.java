@@ -19,9 +19,17 @@ import java.util.stream.Collectors;
 public class JsonTradeRepository implements TradeRepository {
 
     private static final String DEFAULT_FILE = "trades.json";
+    private static final int REBUILD_THRESHOLD = 64;
     private final String filePath;
     private final Gson gson;
     private Map<String, Trade> trades;
+    private long version;
+
+    /** Closed trades kept sorted by close time so readers never have to sort */
+    private final List<Trade> closeOrder = new ArrayList<>();
+    /** Close time each ticket was indexed under; trades can be edited in place before save */
+    private final Map<String, LocalDateTime> indexedCloseTimes = new HashMap<>();
+    private final TradeDictionary dictionary = new TradeDictionary();
 
     public JsonTradeRepository() {
         this(DEFAULT_FILE);
@@ -35,6 +43,10 @@ public class JsonTradeRepository implements TradeRepository {
                 .create();
         this.trades = new HashMap<>();
         loadTrades();
+        for (Trade trade : trades.values()) {
+            dictionary.add(trade);
+        }
+        rebuildCloseOrder();
     }
 
     @Override
@@ -43,6 +55,9 @@ public class JsonTradeRepository implements TradeRepository {
             throw new IllegalArgumentException("Trade and ticket cannot be null");
         }
         trades.put(trade.getTicket(), trade);
+        dictionary.add(trade);
+        reindex(trade);
+        version++;
         saveTrades();
     }
 
@@ -54,8 +69,20 @@ public class JsonTradeRepository implements TradeRepository {
         for (Trade trade : tradeList) {
             if (trade != null && trade.getTicket() != null) {
                 trades.put(trade.getTicket(), trade);
+                dictionary.add(trade);
             }
         }
+        // Re-sorting once beats many shifting inserts for large imports
+        if (tradeList.size() > REBUILD_THRESHOLD) {
+            rebuildCloseOrder();
+        } else {
+            for (Trade trade : tradeList) {
+                if (trade != null && trade.getTicket() != null) {
+                    reindex(trade);
+                }
+            }
+        }
+        version++;
         saveTrades();
     }
 
@@ -69,6 +96,18 @@ public class JsonTradeRepository implements TradeRepository {
         return new ArrayList<>(trades.values());
     }
 
+    @Override
+    public List<Trade> findAllByCloseTime() {
+        List<Trade> result = new ArrayList<>(trades.size());
+        result.addAll(closeOrder);
+        for (Trade trade : trades.values()) {
+            if (!indexedCloseTimes.containsKey(trade.getTicket())) {
+                result.add(trade);
+            }
+        }
+        return result;
+    }
+
     @Override
     public List<Trade> findBySymbol(String symbol) {
         if (symbol == null)
@@ -83,6 +122,9 @@ public class JsonTradeRepository implements TradeRepository {
     public boolean delete(String ticket) {
         boolean removed = trades.remove(ticket) != null;
         if (removed) {
+            unindex(ticket);
+            dictionary.remove(ticket);
+            version++;
             saveTrades();
         }
         return removed;
@@ -91,6 +133,10 @@ public class JsonTradeRepository implements TradeRepository {
     @Override
     public void deleteAll() {
         trades.clear();
+        closeOrder.clear();
+        indexedCloseTimes.clear();
+        dictionary.clear();
+        version++;
         saveTrades();
     }
 
@@ -104,6 +150,69 @@ public class JsonTradeRepository implements TradeRepository {
         return trades.size();
     }
 
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public TradeDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Move a saved trade to its place in the close-time order
+     */
+    private void reindex(Trade trade) {
+        unindex(trade.getTicket());
+        if (trade.isClosed()) {
+            int index = Collections.binarySearch(closeOrder, trade, Trade.CLOSE_TIME_ORDER);
+            closeOrder.add(index < 0 ? -index - 1 : index, trade);
+            indexedCloseTimes.put(trade.getTicket(), trade.getCloseTime());
+        }
+    }
+
+    /**
+     * Remove a ticket from the close-time order, locating it by the close time it was indexed under
+     */
+    private void unindex(String ticket) {
+        LocalDateTime closeTime = indexedCloseTimes.get(ticket);
+        if (closeTime == null) {
+            return;
+        }
+        int lo = 0;
+        int hi = closeOrder.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            Trade probe = closeOrder.get(mid);
+            int cmp = indexedCloseTimes.get(probe.getTicket()).compareTo(closeTime);
+            if (cmp == 0) {
+                cmp = probe.getTicket().compareTo(ticket);
+            }
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        if (lo < closeOrder.size() && ticket.equals(closeOrder.get(lo).getTicket())) {
+            closeOrder.remove(lo);
+        }
+        indexedCloseTimes.remove(ticket);
+    }
+
+    private void rebuildCloseOrder() {
+        closeOrder.clear();
+        indexedCloseTimes.clear();
+        for (Trade trade : trades.values()) {
+            if (trade.isClosed()) {
+                closeOrder.add(trade);
+                indexedCloseTimes.put(trade.getTicket(), trade.getCloseTime());
+            }
+        }
+        closeOrder.sort(Trade.CLOSE_TIME_ORDER);
+    }
+
     /**
      * Load trades from JSON file
      */
@@ -0,0 +1,103 @@
+package com.tradingjournal.repository;
+
+import com.tradingjournal.model.Trade;
+import com.tradingjournal.util.StringDictionary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-journal dictionary of the repeated trade strings. Trades are interned
+ * when they enter the repository, so every trade with the same symbol,
+ * strategy or account shares one String and one int code. The sorted
+ * catalogs of values in use are maintained as trades are saved and deleted,
+ * so filter lists never scan the trades. Symbols and strategies are
+ * word-indexed for search; a value's words are indexed once, when it first
+ * appears, and a deleted trade simply stops referencing it. Comments are
+ * mostly unique free text and would only pile up here as they are edited,
+ * so they are not interned; TradeColumns keeps them per trade list.
+ */
+public class TradeDictionary {
+
+    private final StringDictionary symbols = new StringDictionary(true, true);
+    private final StringDictionary strategies = new StringDictionary(true, true);
+    private final StringDictionary accounts = new StringDictionary(true, false);
+    /** Magic number to the number of trades using it */
+    private final TreeMap<Long, Integer> magicNumbers = new TreeMap<>();
+    /** Values each ticket was added with; trades can be edited in place before save */
+    private final Map<String, Filed> filed = new HashMap<>();
+
+    /**
+     * Intern a trade's strings and count its values in the catalogs,
+     * replacing whatever the ticket was added with before
+     */
+    public void add(Trade trade) {
+        remove(trade.getTicket());
+        Filed entry = new Filed();
+        entry.symbol = symbols.acquire(trade.getSymbol());
+        entry.strategy = strategies.acquire(trade.getStrategy());
+        entry.account = accounts.acquire(trade.getAccount());
+        entry.magicNumber = trade.getMagicNumber();
+        magicNumbers.merge(entry.magicNumber, 1, Integer::sum);
+        trade.setSymbol(symbols.decode(entry.symbol));
+        trade.setStrategy(strategies.decode(entry.strategy));
+        trade.setAccount(accounts.decode(entry.account));
+        filed.put(trade.getTicket(), entry);
+    }
+
+    /**
+     * Drop a ticket's values from the catalogs
+     */
+    public void remove(String ticket) {
+        Filed entry = filed.remove(ticket);
+        if (entry == null) {
+            return;
+        }
+        symbols.release(entry.symbol);
+        strategies.release(entry.strategy);
+        accounts.release(entry.account);
+        if (magicNumbers.merge(entry.magicNumber, -1, Integer::sum) == 0) {
+            magicNumbers.remove(entry.magicNumber);
+        }
+    }
+
+    /**
+     * Empty all catalogs; codes already handed out stay valid
+     */
+    public void clear() {
+        filed.clear();
+        symbols.clearReferences();
+        strategies.clearReferences();
+        accounts.clearReferences();
+        magicNumbers.clear();
+    }
+
+    public StringDictionary getSymbols() {
+        return symbols;
+    }
+
+    public StringDictionary getStrategies() {
+        return strategies;
+    }
+
+    public StringDictionary getAccounts() {
+        return accounts;
+    }
+
+    /**
+     * Magic numbers in use, in numeric order
+     */
+    public List<Long> getMagicNumbers() {
+        return new ArrayList<>(magicNumbers.keySet());
+    }
+
+    private static class Filed {
+        int symbol;
+        int strategy;
+        int account;
+        long magicNumber;
+    }
+}
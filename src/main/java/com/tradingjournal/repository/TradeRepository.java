@@ -29,6 +29,12 @@ public interface TradeRepository {
      */
     List<Trade> findAll();
 
+    /**
+     * Get all trades: closed trades in close-time order (see
+     * {@link Trade#CLOSE_TIME_ORDER}) followed by open trades
+     */
+    List<Trade> findAllByCloseTime();
+
     /**
      * Find trades by symbol
      */
@@ -53,4 +59,14 @@ public interface TradeRepository {
      * Get count of all trades
      */
     int count();
+
+    /**
+     * Get a counter that changes whenever trades are saved or deleted
+     */
+    long getVersion();
+
+    /**
+     * Get the interned strings and distinct-value catalogs of the stored trades
+     */
+    TradeDictionary getDictionary();
 }
@@ -0,0 +1,51 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.AnalyticsSnapshot;
+import com.tradingjournal.model.FilterCriteria;
+import com.tradingjournal.util.LruCache;
+
+/**
+ * LRU cache of analytics snapshots keyed by filter selection. Entries are
+ * only valid for the repository versions they were computed from; any
+ * trade or account change empties the cache.
+ */
+public class AnalyticsCache {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final LruCache<FilterCriteria, AnalyticsSnapshot> snapshots;
+    private long tradeVersion = -1;
+    private long accountVersion = -1;
+
+    public AnalyticsCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public AnalyticsCache(int capacity) {
+        this.snapshots = new LruCache<>(capacity);
+    }
+
+    /**
+     * Cached snapshot for the selection, or null if absent or stale
+     */
+    public AnalyticsSnapshot get(FilterCriteria criteria, long tradeVersion, long accountVersion) {
+        if (tradeVersion != this.tradeVersion || accountVersion != this.accountVersion) {
+            snapshots.clear();
+            this.tradeVersion = tradeVersion;
+            this.accountVersion = accountVersion;
+            return null;
+        }
+        return snapshots.get(criteria);
+    }
+
+    /**
+     * Store a snapshot computed at the versions last passed to {@link #get}
+     */
+    public void put(AnalyticsSnapshot snapshot) {
+        snapshots.put(snapshot.getCriteria(), snapshot);
+    }
+
+    public void clear() {
+        snapshots.clear();
+    }
+}
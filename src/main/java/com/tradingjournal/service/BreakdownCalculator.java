@@ -0,0 +1,52 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.StatisticsBreakdown;
+import com.tradingjournal.model.StatisticsBreakdown.Dimension;
+import com.tradingjournal.model.Trade;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-group trade statistics from a single hash group-by: each trade is
+ * folded into its group's {@link StatisticsAccumulator} as it is visited,
+ * so the cost does not grow with the number of groups.
+ */
+public class BreakdownCalculator {
+
+    /**
+     * Group the trades by the dimension and compute statistics for every group
+     */
+    public StatisticsBreakdown calculate(List<Trade> trades, Dimension dimension) {
+        Map<String, StatisticsAccumulator> groups = new HashMap<>();
+        for (Trade trade : trades) {
+            String key = groupKey(trade, dimension);
+            StatisticsAccumulator accumulator = groups.get(key);
+            if (accumulator == null) {
+                accumulator = new StatisticsAccumulator();
+                groups.put(key, accumulator);
+            }
+            accumulator.add(trade);
+        }
+
+        List<StatisticsBreakdown.Row> rows = new ArrayList<>(groups.size());
+        for (Map.Entry<String, StatisticsAccumulator> entry : new TreeMap<>(groups).entrySet()) {
+            rows.add(new StatisticsBreakdown.Row(entry.getKey(), entry.getValue().toStatistics()));
+        }
+        return new StatisticsBreakdown(dimension, rows);
+    }
+
+    private static String groupKey(Trade trade, Dimension dimension) {
+        switch (dimension) {
+            case STRATEGY:
+                return DrawdownAnalyzer.groupKey(trade.getStrategy(), DrawdownAnalyzer.NO_STRATEGY);
+            case MAGIC:
+                return String.valueOf(trade.getMagicNumber());
+            default:
+                return DrawdownAnalyzer.groupKey(trade.getSymbol(), CorrelationCalculator.NO_SYMBOL);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.ChartSeries;
+import com.tradingjournal.model.DailyPnL;
+import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.TradeType;
+import com.tradingjournal.model.WeekHourMatrix;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates every distribution chart's series in a single pass
+ */
+public class ChartSeriesCalculator {
+
+    /**
+     * Fill the weekday x hour matrices, the monthly series and the long/short
+     * totals from one walk over the trades
+     */
+    public ChartSeries calculate(List<Trade> trades) {
+        int cells = WeekHourMatrix.DAYS * WeekHourMatrix.HOURS;
+        int[] entries = new int[cells];
+        int[] closed = new int[cells];
+        int[] wins = new int[cells];
+        double[] pnl = new double[cells];
+        int[] entriesByMonth = new int[ChartSeries.MONTHS];
+        double[] pnlByMonth = new double[ChartSeries.MONTHS];
+        int longTrades = 0;
+        int shortTrades = 0;
+        double longProfit = 0.0;
+        double shortProfit = 0.0;
+
+        if (trades != null) {
+            for (Trade trade : trades) {
+                double netProfit = trade.getNetProfit();
+                LocalDateTime openTime = trade.getOpenTime();
+                if (openTime != null) {
+                    entries[WeekHourMatrix.index(openTime.getDayOfWeek(), openTime.getHour())]++;
+                    entriesByMonth[openTime.getMonthValue() - 1]++;
+                }
+                LocalDateTime closeTime = trade.getCloseTime();
+                if (closeTime != null) {
+                    int i = WeekHourMatrix.index(closeTime.getDayOfWeek(), closeTime.getHour());
+                    closed[i]++;
+                    pnl[i] += netProfit;
+                    if (netProfit > 0) {
+                        wins[i]++;
+                    }
+                    pnlByMonth[closeTime.getMonthValue() - 1] += netProfit;
+                }
+                if (trade.getType() == TradeType.BUY) {
+                    longTrades++;
+                    longProfit += netProfit;
+                } else if (trade.getType() == TradeType.SELL) {
+                    shortTrades++;
+                    shortProfit += netProfit;
+                }
+            }
+        }
+
+        return new ChartSeries(new WeekHourMatrix(entries, closed, wins, pnl), entriesByMonth, pnlByMonth,
+                longTrades, shortTrades, longProfit, shortProfit);
+    }
+
+    /**
+     * Sum the net P&L and count the trades closed on each day, for the calendar
+     */
+    public DailyPnL calculateDaily(List<Trade> trades) {
+        Map<LocalDate, Double> pnl = new HashMap<>();
+        Map<LocalDate, Integer> counts = new HashMap<>();
+        if (trades != null) {
+            for (Trade trade : trades) {
+                if (trade.getCloseTime() != null) {
+                    LocalDate closeDate = trade.getCloseTime().toLocalDate();
+                    pnl.merge(closeDate, trade.getNetProfit(), Double::sum);
+                    counts.merge(closeDate, 1, Integer::sum);
+                }
+            }
+        }
+        return new DailyPnL(pnl, counts);
+    }
+}
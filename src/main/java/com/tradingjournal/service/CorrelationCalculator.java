@@ -0,0 +1,256 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.CorrelationMatrix;
+import com.tradingjournal.model.CorrelationMatrix.GroupBy;
+import com.tradingjournal.model.Trade;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Service for correlating daily P&L between strategies or symbols. Daily P&L
+ * vectors are built once; each vector is then centered and scaled to unit
+ * length (and rank-transformed for Spearman), so every correlation is a
+ * plain dot product. The upper triangle is split into row ranges holding
+ * equal numbers of cells and computed in parallel.
+ */
+public class CorrelationCalculator {
+
+    public static final String NO_SYMBOL = "(No Symbol)";
+
+    /** Upper-triangle cells computed by one fork/join leaf task */
+    private static final long CELLS_PER_TASK = 64;
+
+    private final ForkJoinPool pool;
+
+    public CorrelationCalculator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public CorrelationCalculator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Calculate Pearson and Spearman correlation matrices of daily P&L
+     *
+     * @param trades  Trades to analyze; open trades are ignored
+     * @param groupBy Correlate strategies or symbols
+     */
+    public CorrelationMatrix calculate(List<Trade> trades, GroupBy groupBy) {
+        List<Trade> closed = new ArrayList<>();
+        if (trades != null) {
+            for (Trade trade : trades) {
+                if (trade.isClosed()) {
+                    closed.add(trade);
+                }
+            }
+        }
+
+        // Group codes and the day range in one pass
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] groupOf = new int[closed.size()];
+        long[] dayOf = new long[closed.size()];
+        long firstDay = Long.MAX_VALUE;
+        long lastDay = Long.MIN_VALUE;
+        for (int i = 0; i < closed.size(); i++) {
+            Trade trade = closed.get(i);
+            String key = groupBy == GroupBy.SYMBOL ? DrawdownAnalyzer.groupKey(trade.getSymbol(), NO_SYMBOL)
+                    : DrawdownAnalyzer.groupKey(trade.getStrategy(), DrawdownAnalyzer.NO_STRATEGY);
+            Integer code = codes.get(key);
+            if (code == null) {
+                code = names.size();
+                codes.put(key, code);
+                names.add(key);
+            }
+            groupOf[i] = code;
+            dayOf[i] = trade.getCloseTime().toLocalDate().toEpochDay();
+            firstDay = Math.min(firstDay, dayOf[i]);
+            lastDay = Math.max(lastDay, dayOf[i]);
+        }
+
+        int groups = names.size();
+        if (groups == 0) {
+            return new CorrelationMatrix(groupBy, new String[0], 0, new double[0][0], new double[0][0]);
+        }
+
+        // Only days on which something closed take part; a calendar of idle
+        // weekends would add shared zeros and inflate every correlation
+        int span = (int) (lastDay - firstDay + 1);
+        int[] column = new int[span];
+        Arrays.fill(column, -1);
+        for (long day : dayOf) {
+            column[(int) (day - firstDay)] = 0;
+        }
+        int days = 0;
+        for (int d = 0; d < span; d++) {
+            if (column[d] == 0) {
+                column[d] = days++;
+            }
+        }
+
+        double[][] pnl = new double[groups][days];
+        for (int i = 0; i < closed.size(); i++) {
+            pnl[groupOf[i]][column[(int) (dayOf[i] - firstDay)]] += closed.get(i).getNetProfit();
+        }
+
+        double[][] pearsonVectors = new double[groups][];
+        double[][] spearmanVectors = new double[groups][];
+        for (int g = 0; g < groups; g++) {
+            pearsonVectors[g] = normalize(pnl[g]);
+            spearmanVectors[g] = normalize(ranks(pnl[g]));
+        }
+
+        double[][] pearson = new double[groups][groups];
+        double[][] spearman = new double[groups][groups];
+        pool.invoke(new RowTask(pearsonVectors, spearmanVectors, pearson, spearman, 0, groups));
+
+        return new CorrelationMatrix(groupBy, names.toArray(new String[0]), days, pearson, spearman);
+    }
+
+    /**
+     * Center the vector and scale it to unit length; null when it has no variance
+     */
+    private static double[] normalize(double[] values) {
+        int n = values.length;
+        double mean = 0.0;
+        for (double v : values) {
+            mean += v;
+        }
+        mean /= n;
+
+        double[] centered = new double[n];
+        double sumSquares = 0.0;
+        for (int i = 0; i < n; i++) {
+            double c = values[i] - mean;
+            centered[i] = c;
+            sumSquares += c * c;
+        }
+        if (sumSquares == 0.0) {
+            return null;
+        }
+
+        double scale = 1.0 / Math.sqrt(sumSquares);
+        for (int i = 0; i < n; i++) {
+            centered[i] *= scale;
+        }
+        return centered;
+    }
+
+    /**
+     * 1-based ranks with ties sharing their average rank
+     */
+    private static double[] ranks(double[] values) {
+        int n = values.length;
+        double[] sorted = new double[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = values[i] + 0.0; // fold -0.0 into 0.0 so equal values tie
+        }
+        double[] normalized = sorted.clone();
+        Arrays.sort(sorted);
+
+        double[] ranks = new double[n];
+        for (int i = 0; i < n; i++) {
+            int first = lowerBound(sorted, normalized[i]);
+            int last = upperBound(sorted, normalized[i]) - 1;
+            ranks[i] = (first + last) / 2.0 + 1.0;
+        }
+        return ranks;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    private static int upperBound(double[] sorted, double value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= value)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    private static double dot(double[] a, double[] b) {
+        if (a == null || b == null) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        // Rounding can push a perfect correlation just past +/-1
+        return Math.max(-1.0, Math.min(1.0, sum));
+    }
+
+    /**
+     * Computes the upper triangle of a row range and mirrors it; each task
+     * writes disjoint cells. Row i holds n - i cells, so ranges are split
+     * where the cell count halves rather than at the middle row.
+     */
+    private static class RowTask extends RecursiveAction {
+        private final double[][] pearsonVectors;
+        private final double[][] spearmanVectors;
+        private final double[][] pearson;
+        private final double[][] spearman;
+        private final int from;
+        private final int to;
+
+        RowTask(double[][] pearsonVectors, double[][] spearmanVectors, double[][] pearson, double[][] spearman,
+                int from, int to) {
+            this.pearsonVectors = pearsonVectors;
+            this.spearmanVectors = spearmanVectors;
+            this.pearson = pearson;
+            this.spearman = spearman;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int n = pearsonVectors.length;
+            long cells = (long) (to - from) * n - (long) (from + to - 1) * (to - from) / 2;
+            if (to - from == 1 || cells <= CELLS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    for (int j = i; j < n; j++) {
+                        double p = dot(pearsonVectors[i], pearsonVectors[j]);
+                        double s = dot(spearmanVectors[i], spearmanVectors[j]);
+                        pearson[i][j] = p;
+                        pearson[j][i] = p;
+                        spearman[i][j] = s;
+                        spearman[j][i] = s;
+                    }
+                }
+                return;
+            }
+
+            int mid = from;
+            long leftCells = 0;
+            while (mid < to - 1 && leftCells < cells / 2) {
+                leftCells += n - mid;
+                mid++;
+            }
+            invokeAll(new RowTask(pearsonVectors, spearmanVectors, pearson, spearman, from, mid),
+                    new RowTask(pearsonVectors, spearmanVectors, pearson, spearman, mid, to));
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.DrawdownBreakdown;
+import com.tradingjournal.model.DrawdownEpisode;
+import com.tradingjournal.model.DrawdownReport;
+import com.tradingjournal.model.EquityCurve;
+import com.tradingjournal.model.Trade;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service for drawdown analysis. A single O(n) scan over an equity series
+ * tracks the running peak and emits every drawdown episode together with the
+ * underwater curve.
+ */
+public class DrawdownAnalyzer {
+
+    public static final String NO_STRATEGY = "(No Strategy)";
+    public static final String NO_ACCOUNT = "(No Account)";
+
+    /**
+     * Analyze an equity series given as primitive arrays
+     *
+     * @param name            Label for the report
+     * @param epochSeconds    Close time (UTC epoch seconds) of each point, ascending
+     * @param equity          Equity after each point
+     * @param startingBalance Equity before the first point; the initial peak
+     */
+    public DrawdownReport analyze(String name, long[] epochSeconds, double[] equity, double startingBalance) {
+        Tracker tracker = new Tracker(name, startingBalance, equity.length);
+        for (int i = 0; i < equity.length; i++) {
+            tracker.add(epochSeconds[i], equity[i]);
+        }
+        return tracker.finish();
+    }
+
+    /**
+     * Analyze an equity curve re-based to start from the given balance,
+     * without going back to the trades
+     */
+    public DrawdownReport analyze(EquityCurve curve, double startingBalance) {
+        Tracker tracker = new Tracker("All Trades", startingBalance, Math.max(curve.size() - 1, 0));
+        if (!curve.isEmpty()) {
+            long[] epochSeconds = curve.getEpochSeconds();
+            double[] equity = curve.getEquity();
+            // Point 0 is the curve's own starting balance
+            double offset = startingBalance - equity[0];
+            for (int i = 1; i < equity.length; i++) {
+                tracker.add(epochSeconds[i], equity[i] + offset);
+            }
+        }
+        return tracker.finish();
+    }
+
+    /**
+     * Analyze the equity curve of the closed trades
+     */
+    public DrawdownReport analyze(List<Trade> trades, double startingBalance) {
+        List<Trade> sorted = sortClosed(trades);
+        Tracker tracker = new Tracker("All Trades", startingBalance, sorted.size());
+        double equity = startingBalance;
+        for (Trade trade : sorted) {
+            equity += trade.getNetProfit();
+            tracker.add(epochSeconds(trade), equity);
+        }
+        return tracker.finish();
+    }
+
+    /**
+     * Analyze the whole selection, every strategy and every account in one pass
+     * over the trades in close-time order
+     *
+     * @param trades                   Trades to analyze, in any order
+     * @param startingBalance          Initial equity of the whole selection and of each strategy
+     * @param accountStartingBalances  Initial equity per account name (missing accounts start at 0)
+     */
+    public DrawdownBreakdown analyzeByGroup(List<Trade> trades, double startingBalance,
+            Map<String, Double> accountStartingBalances) {
+        List<Trade> sorted = sortClosed(trades);
+        Tracker overall = new Tracker("All Trades", startingBalance, sorted.size());
+        Map<String, Tracker> strategies = new HashMap<>();
+        Map<String, Tracker> accounts = new HashMap<>();
+        double equity = startingBalance;
+
+        for (Trade trade : sorted) {
+            long time = epochSeconds(trade);
+            double profit = trade.getNetProfit();
+            equity += profit;
+            overall.add(time, equity);
+
+            String strategy = groupKey(trade.getStrategy(), NO_STRATEGY);
+            Tracker strategyTracker = strategies.get(strategy);
+            if (strategyTracker == null) {
+                strategyTracker = new Tracker(strategy, startingBalance, 16);
+                strategies.put(strategy, strategyTracker);
+            }
+            strategyTracker.addProfit(time, profit);
+
+            String account = groupKey(trade.getAccount(), NO_ACCOUNT);
+            Tracker accountTracker = accounts.get(account);
+            if (accountTracker == null) {
+                Double balance = accountStartingBalances == null ? null : accountStartingBalances.get(account);
+                accountTracker = new Tracker(account, balance == null ? 0.0 : balance, 16);
+                accounts.put(account, accountTracker);
+            }
+            accountTracker.addProfit(time, profit);
+        }
+
+        return new DrawdownBreakdown(overall.finish(), finishAll(strategies), finishAll(accounts));
+    }
+
+    private Map<String, DrawdownReport> finishAll(Map<String, Tracker> trackers) {
+        Map<String, DrawdownReport> reports = new TreeMap<>();
+        for (Map.Entry<String, Tracker> entry : trackers.entrySet()) {
+            reports.put(entry.getKey(), entry.getValue().finish());
+        }
+        return reports;
+    }
+
+    private List<Trade> sortClosed(List<Trade> trades) {
+        if (trades == null) {
+            return Collections.emptyList();
+        }
+        return trades.stream()
+                .filter(Trade::isClosed)
+                .sorted(Comparator.comparing(Trade::getCloseTime))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Name a trade is grouped under: the value, or the fallback when it is blank
+     */
+    static String groupKey(String value, String fallback) {
+        return value == null || value.trim().isEmpty() ? fallback : value;
+    }
+
+    private static long epochSeconds(Trade trade) {
+        return trade.getCloseTime().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSeconds) {
+        return LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Incremental peak/trough state of one equity series
+     */
+    private static class Tracker {
+        private final String name;
+        private final boolean hasCapital;
+        private long[] times;
+        private double[] underwater;
+        private double[] underwaterPercent;
+        private int size;
+        private final List<DrawdownEpisode> episodes = new ArrayList<>();
+
+        private double equity;
+        private double peak;
+        private long peakTime;
+        private boolean inDrawdown;
+        private double trough;
+        private long troughTime;
+        private double maxDrawdown;
+        private double maxDrawdownPercent;
+
+        Tracker(String name, double startingBalance, int capacity) {
+            this.name = name;
+            // Percentages are only meaningful against real capital, not a series starting at zero
+            this.hasCapital = startingBalance > 0;
+            this.maxDrawdownPercent = hasCapital ? 0.0 : Double.NaN;
+            this.equity = startingBalance;
+            this.peak = startingBalance;
+            int initial = Math.max(capacity, 1);
+            this.times = new long[initial];
+            this.underwater = new double[initial];
+            this.underwaterPercent = new double[initial];
+        }
+
+        void addProfit(long time, double profit) {
+            add(time, equity + profit);
+        }
+
+        void add(long time, double value) {
+            equity = value;
+            if (size == 0) {
+                // The starting balance counts as a peak reached at the first observation
+                peakTime = time;
+            }
+
+            if (value >= peak) {
+                if (inDrawdown) {
+                    episodes.add(episode(time, time, true));
+                    inDrawdown = false;
+                }
+                peak = value;
+                peakTime = time;
+            } else if (!inDrawdown) {
+                inDrawdown = true;
+                trough = value;
+                troughTime = time;
+            } else if (value < trough) {
+                trough = value;
+                troughTime = time;
+            }
+
+            double drawdown = value - peak;
+            double drawdownPercent = hasCapital && peak > 0 ? 100.0 * drawdown / peak : Double.NaN;
+            maxDrawdown = Math.max(maxDrawdown, -drawdown);
+            if (!Double.isNaN(drawdownPercent)) {
+                maxDrawdownPercent = Math.max(maxDrawdownPercent, -drawdownPercent);
+            }
+
+            if (size == times.length) {
+                int capacity = size * 2;
+                times = Arrays.copyOf(times, capacity);
+                underwater = Arrays.copyOf(underwater, capacity);
+                underwaterPercent = Arrays.copyOf(underwaterPercent, capacity);
+            }
+            times[size] = time;
+            underwater[size] = drawdown;
+            underwaterPercent[size] = drawdownPercent;
+            size++;
+        }
+
+        private DrawdownEpisode episode(long recoveryTime, long endTime, boolean recovered) {
+            return new DrawdownEpisode(toDateTime(peakTime), toDateTime(troughTime),
+                    recovered ? toDateTime(recoveryTime) : null, toDateTime(endTime), peak, trough);
+        }
+
+        DrawdownReport finish() {
+            if (inDrawdown) {
+                episodes.add(episode(0, times[size - 1], false));
+            }
+            return new DrawdownReport(name, Arrays.copyOf(times, size), Arrays.copyOf(underwater, size),
+                    Arrays.copyOf(underwaterPercent, size), episodes, maxDrawdown, maxDrawdownPercent);
+        }
+    }
+}
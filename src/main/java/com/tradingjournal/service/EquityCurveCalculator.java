@@ -1,13 +1,12 @@
 package com.tradingjournal.service;
 
-import com.tradingjournal.model.EquityPoint;
+import com.tradingjournal.model.EquityCurve;
 import com.tradingjournal.model.Trade;
 
+import java.time.ZoneOffset;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.time.LocalDateTime;
 
 /**
  * Service for calculating equity curve data
@@ -15,64 +14,66 @@ import java.time.LocalDateTime;
 public class EquityCurveCalculator {
 
     /**
-     * Calculate equity curve from list of trades with starting balance
-     * 
+     * Calculate equity curve from list of trades with starting balance. Trades
+     * from the repository's close-time order (and any filtered subsequence of
+     * it) are used as-is; only out-of-order input is sorted.
+     *
      * @param trades          The list of trades to analyze
      * @param startingBalance The initial account balance (default 0)
-     * @return List of equity points
+     * @return Equity curve with a starting point plus one point per closed trade
      */
-    public List<EquityPoint> calculateEquityCurve(List<Trade> trades, double startingBalance) {
-        List<EquityPoint> equityCurve = new ArrayList<>();
-
+    public EquityCurve calculateEquityCurve(List<Trade> trades, double startingBalance) {
         if (trades == null || trades.isEmpty()) {
-            return equityCurve;
+            return EquityCurve.EMPTY;
         }
 
-        // Filter and sort closed trades by close time
-        List<Trade> sortedTrades = trades.stream()
-                .filter(Trade::isClosed)
-                .sorted(Comparator.comparing(Trade::getCloseTime))
-                .collect(Collectors.toList());
-
-        if (sortedTrades.isEmpty()) {
-            return equityCurve;
+        List<Trade> ordered = inCloseTimeOrder(trades) ? trades
+                : trades.stream()
+                        .filter(Trade::isClosed)
+                        .sorted(Trade.CLOSE_TIME_ORDER)
+                        .collect(Collectors.toList());
+
+        int closed = 0;
+        for (Trade trade : ordered) {
+            if (trade.isClosed()) {
+                closed++;
+            }
         }
-
-        double currentEquity = startingBalance;
-
-        // Add starting point just before the first trade
-        if (!sortedTrades.isEmpty()) {
-            LocalDateTime startTime = sortedTrades.get(0).getCloseTime().minusSeconds(1);
-            equityCurve.add(new EquityPoint(startTime, startingBalance, 0, "Start"));
+        if (closed == 0) {
+            return EquityCurve.EMPTY;
         }
 
-        for (int i = 0; i < sortedTrades.size(); i++) {
-            Trade trade = sortedTrades.get(i);
+        // Prefix sum of net profits; point 0 is the starting balance just before the first close
+        long[] times = new long[closed + 1];
+        double[] equity = new double[closed + 1];
+        double currentEquity = startingBalance;
+        int i = 0;
+        for (Trade trade : ordered) {
+            if (!trade.isClosed()) {
+                continue;
+            }
             currentEquity += trade.getNetProfit();
-
-            EquityPoint point = new EquityPoint(
-                    trade.getCloseTime(),
-                    currentEquity,
-                    i + 1,
-                    trade.getTicket());
-
-            equityCurve.add(point);
+            i++;
+            times[i] = trade.getCloseTime().toEpochSecond(ZoneOffset.UTC);
+            equity[i] = currentEquity;
         }
+        times[0] = times[1] - 1;
+        equity[0] = startingBalance;
 
-        return equityCurve;
+        return new EquityCurve(times, equity);
     }
 
     /**
      * Calculate equity curve from list of trades (default 0 balance)
      */
-    public List<EquityPoint> calculateEquityCurve(List<Trade> trades) {
+    public EquityCurve calculateEquityCurve(List<Trade> trades) {
         return calculateEquityCurve(trades, 0.0);
     }
 
     /**
      * Calculate equity curve filtered by strategy
      */
-    public List<EquityPoint> calculateEquityCurveByStrategy(List<Trade> trades, String strategy) {
+    public EquityCurve calculateEquityCurveByStrategy(List<Trade> trades, String strategy) {
         if (strategy == null || strategy.trim().isEmpty()) {
             return calculateEquityCurve(trades);
         }
@@ -87,7 +88,7 @@ public class EquityCurveCalculator {
     /**
      * Calculate equity curve filtered by account
      */
-    public List<EquityPoint> calculateEquityCurveByAccount(List<Trade> trades, String account) {
+    public EquityCurve calculateEquityCurveByAccount(List<Trade> trades, String account) {
         if (account == null || account.trim().isEmpty()) {
             return calculateEquityCurve(trades);
         }
@@ -99,6 +100,23 @@ public class EquityCurveCalculator {
         return calculateEquityCurve(filteredTrades);
     }
 
+    /**
+     * Check in one pass whether the closed trades already appear in close-time order
+     */
+    private boolean inCloseTimeOrder(List<Trade> trades) {
+        Trade previous = null;
+        for (Trade trade : trades) {
+            if (!trade.isClosed()) {
+                continue;
+            }
+            if (previous != null && Trade.CLOSE_TIME_ORDER.compare(previous, trade) > 0) {
+                return false;
+            }
+            previous = trade;
+        }
+        return true;
+    }
+
     /**
      * Get list of unique strategies from trades
      */
@@ -0,0 +1,222 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.Excursion;
+import com.tradingjournal.model.ExcursionReport;
+import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.TradeType;
+import com.tradingjournal.repository.BarRepository;
+import com.tradingjournal.repository.BarSeries;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Maximum adverse/favorable excursion from local M1 bars. Each trade's bar
+ * window is found by binary search in its symbol's memory-mapped series and
+ * scanned for the extreme high and low; trades are processed in parallel and
+ * results are cached per ticket until the trade or the bar file changes.
+ */
+public class ExcursionAnalyzer {
+
+    /** Trades scanned by one fork/join leaf task */
+    private static final int TRADES_PER_TASK = 32;
+
+    private final BarRepository barRepository;
+    private final ForkJoinPool pool;
+    private final Map<String, CachedExcursion> cache = new ConcurrentHashMap<>();
+
+    public ExcursionAnalyzer(BarRepository barRepository) {
+        this(barRepository, ForkJoinPool.commonPool());
+    }
+
+    public ExcursionAnalyzer(BarRepository barRepository, ForkJoinPool pool) {
+        this.barRepository = barRepository;
+        this.pool = pool;
+    }
+
+    public BarRepository getBarRepository() {
+        return barRepository;
+    }
+
+    /**
+     * Compute MAE/MFE for the closed trades that have bar data
+     */
+    public ExcursionReport analyze(List<Trade> trades) {
+        long start = System.nanoTime();
+
+        // Map each symbol once up front; the parallel stage only reads
+        List<Trade> closed = new ArrayList<>();
+        Map<String, BarSeries> seriesBySymbol = new HashMap<>();
+        for (Trade trade : trades) {
+            if (!trade.isClosed() || trade.getOpenTime() == null) {
+                continue;
+            }
+            closed.add(trade);
+            String symbol = trade.getSymbol();
+            if (symbol != null && !seriesBySymbol.containsKey(symbol)) {
+                seriesBySymbol.put(symbol, barRepository.find(symbol));
+            }
+        }
+
+        Trade[] array = closed.toArray(new Trade[0]);
+        BarSeries[] series = new BarSeries[array.length];
+        for (int i = 0; i < array.length; i++) {
+            series[i] = array[i].getSymbol() == null ? null : seriesBySymbol.get(array[i].getSymbol());
+        }
+        Excursion[] results = new Excursion[array.length];
+        boolean[] cached = new boolean[array.length];
+        pool.invoke(new TradeTask(array, series, results, cached, 0, array.length));
+
+        List<Excursion> excursions = new ArrayList<>();
+        int missing = 0;
+        int reused = 0;
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                missing++;
+            } else {
+                excursions.add(results[i]);
+                if (cached[i]) {
+                    reused++;
+                }
+            }
+        }
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return new ExcursionReport(excursions, missing, reused, elapsed);
+    }
+
+    /**
+     * Cached excursion for the trade if it still matches, otherwise a fresh scan
+     */
+    private Excursion lookup(Trade trade, BarSeries series, boolean[] cached, int index) {
+        long open = trade.getOpenTime().toEpochSecond(ZoneOffset.UTC);
+        long close = trade.getCloseTime().toEpochSecond(ZoneOffset.UTC);
+        CachedExcursion entry = trade.getTicket() == null ? null : cache.get(trade.getTicket());
+        if (entry != null && entry.matches(trade, open, close, series.getLastModified())) {
+            cached[index] = true;
+            return entry.excursion;
+        }
+
+        Excursion excursion = scan(trade, series, open, close);
+        if (excursion != null && trade.getTicket() != null) {
+            cache.put(trade.getTicket(),
+                    new CachedExcursion(excursion, trade, open, close, series.getLastModified()));
+        }
+        return excursion;
+    }
+
+    /**
+     * Scan the bars from the one containing the open time through the close
+     */
+    private static Excursion scan(Trade trade, BarSeries series, long open, long close) {
+        int from = series.firstAtOrAfter(open - Math.floorMod(open, 60L));
+        int to = series.firstAtOrAfter(close + 1);
+        if (from >= to) {
+            return null;
+        }
+
+        double high = Double.NEGATIVE_INFINITY;
+        double low = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            high = Math.max(high, series.getHigh(i));
+            low = Math.min(low, series.getLow(i));
+        }
+
+        double openPrice = trade.getOpenPrice();
+        boolean sell = trade.getType() == TradeType.SELL;
+        double mae = Math.max(0.0, sell ? high - openPrice : openPrice - low);
+        double mfe = Math.max(0.0, sell ? openPrice - low : high - openPrice);
+
+        // Money per price unit for the whole position, from the trade's own result
+        double move = (trade.getClosePrice() - openPrice) * (sell ? -1.0 : 1.0);
+        double moneyPerUnit = move != 0 && trade.getProfit() != 0 ? trade.getProfit() / move : Double.NaN;
+        if (!(moneyPerUnit > 0)) {
+            moneyPerUnit = Double.NaN;
+        }
+
+        double stopDistance = trade.getStopLoss() > 0 ? Math.abs(openPrice - trade.getStopLoss()) : 0.0;
+        double maeR = stopDistance > 0 ? mae / stopDistance : Double.NaN;
+        double mfeR = stopDistance > 0 ? mfe / stopDistance : Double.NaN;
+
+        return new Excursion(trade.getTicket(), mae, mfe, mae * moneyPerUnit, mfe * moneyPerUnit, maeR, mfeR,
+                trade.getNetProfit(), to - from);
+    }
+
+    /**
+     * Excursion together with the trade and bar file state it was computed from
+     */
+    private static class CachedExcursion {
+        final Excursion excursion;
+        /** Type picks which side of the range is adverse; symbol picks the bar series */
+        final TradeType type;
+        final String symbol;
+        final long open;
+        final long close;
+        final double openPrice;
+        final double closePrice;
+        final double stopLoss;
+        final double profit;
+        final long barsModified;
+
+        CachedExcursion(Excursion excursion, Trade trade, long open, long close, long barsModified) {
+            this.excursion = excursion;
+            this.type = trade.getType();
+            this.symbol = trade.getSymbol();
+            this.open = open;
+            this.close = close;
+            this.openPrice = trade.getOpenPrice();
+            this.closePrice = trade.getClosePrice();
+            this.stopLoss = trade.getStopLoss();
+            this.profit = trade.getProfit();
+            this.barsModified = barsModified;
+        }
+
+        boolean matches(Trade trade, long open, long close, long barsModified) {
+            return type == trade.getType() && Objects.equals(symbol, trade.getSymbol())
+                    && this.open == open && this.close == close && this.barsModified == barsModified
+                    && openPrice == trade.getOpenPrice() && closePrice == trade.getClosePrice()
+                    && stopLoss == trade.getStopLoss() && profit == trade.getProfit();
+        }
+    }
+
+    private class TradeTask extends RecursiveAction {
+        private final Trade[] trades;
+        private final BarSeries[] series;
+        private final Excursion[] results;
+        private final boolean[] cached;
+        private final int from;
+        private final int to;
+
+        TradeTask(Trade[] trades, BarSeries[] series, Excursion[] results, boolean[] cached, int from, int to) {
+            this.trades = trades;
+            this.series = series;
+            this.results = results;
+            this.cached = cached;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= TRADES_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    if (series[i] != null) {
+                        results[i] = lookup(trades[i], series[i], cached, i);
+                    }
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new TradeTask(trades, series, results, cached, from, mid),
+                    new TradeTask(trades, series, results, cached, mid, to));
+        }
+    }
+}
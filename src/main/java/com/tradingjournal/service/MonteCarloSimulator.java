@@ -0,0 +1,261 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.MonteCarloResult;
+import com.tradingjournal.model.Trade;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte Carlo simulation of trade sequences. Each run replays the net profits
+ * of the given trades in a random order (or a bootstrap resample of them)
+ * starting from the account balance.
+ */
+public class MonteCarloSimulator {
+
+    /**
+     * How each run draws its sequence of trade results
+     */
+    public enum Mode {
+        SHUFFLE("Reshuffle"),
+        BOOTSTRAP("Bootstrap");
+
+        private final String displayName;
+
+        Mode(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /** Runs that contribute to the fan chart bands */
+    private static final int FAN_RUNS = 5000;
+    /** Number of fan chart sample points along the trade axis */
+    private static final int FAN_STEPS = 60;
+    /** Runs simulated by one fork/join leaf task */
+    private static final int RUNS_PER_TASK = 256;
+
+    private final ForkJoinPool pool;
+
+    public MonteCarloSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Simulate trade sequences built from the closed trades' net profits
+     *
+     * @param trades          Trades whose results are resampled
+     * @param startingBalance Equity at the start of every run
+     * @param runs            Number of simulated sequences
+     * @param mode            Reshuffle (permutation) or bootstrap (with replacement)
+     * @param lossLimit       Dollar loss from the starting balance counted as ruin
+     * @param seed            Seed for reproducible results
+     */
+    public MonteCarloResult simulate(List<Trade> trades, double startingBalance, int runs, Mode mode,
+            double lossLimit, long seed) {
+        long start = System.nanoTime();
+
+        double[] profits = trades == null ? new double[0]
+                : trades.stream()
+                        .filter(Trade::isClosed)
+                        .mapToDouble(Trade::getNetProfit)
+                        .toArray();
+
+        if (profits.length == 0 || runs <= 0) {
+            return new MonteCarloResult(0, 0, startingBalance, lossLimit, new double[0], new double[0],
+                    new int[0], 0, new int[0], new double[MonteCarloResult.FAN_LEVELS.length][0], 0);
+        }
+
+        int n = profits.length;
+        int steps = Math.min(n + 1, FAN_STEPS + 1);
+        int[] fanSteps = new int[steps];
+        for (int j = 0; j < steps; j++) {
+            fanSteps[j] = (int) Math.round((double) j * n / (steps - 1));
+        }
+
+        Simulation sim = new Simulation(profits, startingBalance, startingBalance - lossLimit, mode, runs,
+                fanSteps, Math.min(runs, FAN_RUNS));
+        pool.invoke(new RunTask(sim, 0, runs, new SplittableRandom(seed)));
+
+        int hits = 0;
+        for (boolean hit : sim.hitLossLimit) {
+            if (hit)
+                hits++;
+        }
+
+        Arrays.sort(sim.maxDrawdowns);
+        Arrays.sort(sim.finalEquities);
+        Arrays.sort(sim.longestStreaks);
+
+        double[] levels = MonteCarloResult.FAN_LEVELS;
+        double[][] bands = new double[levels.length][steps];
+        for (int j = 0; j < steps; j++) {
+            double[] column = sim.fanEquity[j];
+            Arrays.sort(column);
+            for (int l = 0; l < levels.length; l++) {
+                bands[l][j] = MonteCarloResult.percentile(column, levels[l]);
+            }
+        }
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return new MonteCarloResult(runs, n, startingBalance, lossLimit, sim.maxDrawdowns, sim.finalEquities,
+                sim.longestStreaks, hits, fanSteps, bands, elapsed);
+    }
+
+    /**
+     * Shared inputs and per-run output arrays; each task writes a disjoint run range
+     */
+    private static class Simulation {
+        final double[] profits;
+        final int[] lossFlags;
+        final double startingBalance;
+        final double ruinLevel;
+        final Mode mode;
+        final int[] fanSteps;
+        final int fanRuns;
+
+        final double[] maxDrawdowns;
+        final double[] finalEquities;
+        final int[] longestStreaks;
+        final boolean[] hitLossLimit;
+        final double[][] fanEquity;
+
+        Simulation(double[] profits, double startingBalance, double ruinLevel, Mode mode, int runs,
+                int[] fanSteps, int fanRuns) {
+            this.profits = profits;
+            this.lossFlags = new int[profits.length];
+            for (int i = 0; i < profits.length; i++) {
+                lossFlags[i] = profits[i] < 0 ? 1 : 0;
+            }
+            this.startingBalance = startingBalance;
+            this.ruinLevel = ruinLevel;
+            this.mode = mode;
+            this.fanSteps = fanSteps;
+            this.fanRuns = fanRuns;
+            this.maxDrawdowns = new double[runs];
+            this.finalEquities = new double[runs];
+            this.longestStreaks = new int[runs];
+            this.hitLossLimit = new boolean[runs];
+            this.fanEquity = new double[fanSteps.length][fanRuns];
+        }
+
+        void run(int from, int to, SplittableRandom random) {
+            double[] profits = this.profits;
+            int[] lossFlags = this.lossFlags;
+            int n = profits.length;
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+
+            // Indices of the drawn trades; the metric loop reads through them
+            int[] path = mode == Mode.SHUFFLE ? order : new int[n];
+
+            for (int r = from; r < to; r++) {
+                if (mode == Mode.SHUFFLE) {
+                    for (int i = n - 1; i > 0; i--) {
+                        int j = nextIndex(random, i + 1);
+                        int tmp = order[j];
+                        order[j] = order[i];
+                        order[i] = tmp;
+                    }
+                } else {
+                    for (int i = 0; i < n; i++) {
+                        path[i] = nextIndex(random, n);
+                    }
+                }
+
+                double equity = startingBalance;
+                double peak = startingBalance;
+                double maxDrawdown = 0.0;
+                double lowest = startingBalance;
+                int streak = 0;
+                int longestStreak = 0;
+
+                // Win/loss signs are random, so keep this loop free of
+                // unpredictable branches: the streak resets by multiplication
+                for (int i = 0; i < n; i++) {
+                    int t = path[i];
+                    equity += profits[t];
+                    peak = equity > peak ? equity : peak;
+                    double drawdown = peak - equity;
+                    maxDrawdown = drawdown > maxDrawdown ? drawdown : maxDrawdown;
+                    lowest = equity < lowest ? equity : lowest;
+                    streak = (streak + 1) * lossFlags[t];
+                    longestStreak = streak > longestStreak ? streak : longestStreak;
+                }
+
+                maxDrawdowns[r] = maxDrawdown;
+                finalEquities[r] = equity;
+                longestStreaks[r] = longestStreak;
+                hitLossLimit[r] = lowest <= ruinLevel;
+
+                if (r < fanRuns) {
+                    recordFan(r, path);
+                }
+            }
+        }
+
+        private void recordFan(int run, int[] path) {
+            double equity = startingBalance;
+            int step = 0;
+            fanEquity[0][run] = equity;
+            for (int j = 1; j < fanSteps.length; j++) {
+                for (; step < fanSteps[j]; step++) {
+                    equity += profits[path[step]];
+                }
+                fanEquity[j][run] = equity;
+            }
+        }
+    }
+
+    /**
+     * Uniform index in [0, bound) by multiply-shift instead of a modulo; the
+     * bias is below bound / 2^32 and irrelevant at journal sizes
+     */
+    private static int nextIndex(SplittableRandom random, int bound) {
+        return (int) (((random.nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Splits the run range in halves; the random stream is split alongside, so
+     * results depend on the seed only and not on scheduling
+     */
+    private static class RunTask extends RecursiveAction {
+        private final Simulation sim;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        RunTask(Simulation sim, int from, int to, SplittableRandom random) {
+            this.sim = sim;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= RUNS_PER_TASK) {
+                sim.run(from, to, random);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            RunTask right = new RunTask(sim, mid, to, random.split());
+            RunTask left = new RunTask(sim, from, mid, random);
+            invokeAll(left, right);
+        }
+    }
+}
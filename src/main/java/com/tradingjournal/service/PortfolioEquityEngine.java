@@ -0,0 +1,181 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.EquityCurve;
+import com.tradingjournal.model.PortfolioEquity;
+import com.tradingjournal.model.Trade;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Builds every strategy's equity curve and the portfolio curve from one
+ * partitioning pass. Strategy streams inherit the close-time order of the
+ * input, so the portfolio curve is a k-way merge of already sorted streams
+ * rather than a re-sort of all trades.
+ */
+public class PortfolioEquityEngine {
+
+    /**
+     * One strategy's closed trades in close-time order
+     */
+    private static class Stream {
+        final List<Trade> trades = new ArrayList<>();
+        final String account;
+        boolean sorted = true;
+        int cursor;
+
+        Stream(String account) {
+            this.account = account;
+        }
+
+        void add(Trade trade) {
+            if (sorted && !trades.isEmpty()
+                    && Trade.CLOSE_TIME_ORDER.compare(trades.get(trades.size() - 1), trade) > 0) {
+                sorted = false;
+            }
+            trades.add(trade);
+        }
+
+        Trade head() {
+            return trades.get(cursor);
+        }
+    }
+
+    /**
+     * Build strategy and portfolio curves. Each strategy starts from the balance
+     * of the account of its first trade; the portfolio starts from the summed
+     * balances of the distinct accounts traded.
+     *
+     * @param trades          Trades, ideally in close-time order
+     * @param accountBalances Starting balance by account name
+     */
+    public PortfolioEquity build(List<Trade> trades, Map<String, Double> accountBalances) {
+        Map<String, Stream> streams = new HashMap<>();
+        Stream unassigned = null;
+        Set<String> accounts = new HashSet<>();
+
+        for (Trade trade : trades) {
+            if (!trade.isClosed()) {
+                continue;
+            }
+            String strategy = trade.getStrategy();
+            Stream stream;
+            if (strategy == null || strategy.trim().isEmpty()) {
+                if (unassigned == null) {
+                    unassigned = new Stream(null);
+                }
+                stream = unassigned;
+            } else {
+                stream = streams.get(strategy);
+                if (stream == null) {
+                    stream = new Stream(trade.getAccount());
+                    streams.put(strategy, stream);
+                }
+            }
+            stream.add(trade);
+            if (trade.getAccount() != null) {
+                accounts.add(trade.getAccount());
+            }
+        }
+
+        Map<String, EquityCurve> strategyCurves = new LinkedHashMap<>();
+        for (Map.Entry<String, Stream> entry : new TreeMap<>(streams).entrySet()) {
+            Stream stream = entry.getValue();
+            if (!stream.sorted) {
+                stream.trades.sort(Trade.CLOSE_TIME_ORDER);
+            }
+            strategyCurves.put(entry.getKey(), prefixSum(stream.trades, balanceOf(stream.account, accountBalances)));
+        }
+        if (unassigned != null && !unassigned.sorted) {
+            unassigned.trades.sort(Trade.CLOSE_TIME_ORDER);
+        }
+
+        List<Stream> all = new ArrayList<>(streams.values());
+        if (unassigned != null) {
+            all.add(unassigned);
+        }
+        double portfolioBalance = 0.0;
+        for (String account : accounts) {
+            portfolioBalance += balanceOf(account, accountBalances);
+        }
+        return new PortfolioEquity(strategyCurves, merge(all, portfolioBalance));
+    }
+
+    /**
+     * Prefix sum of net profits over trades already in close-time order
+     */
+    private EquityCurve prefixSum(List<Trade> ordered, double startingBalance) {
+        int n = ordered.size();
+        long[] times = new long[n + 1];
+        double[] equity = new double[n + 1];
+        double currentEquity = startingBalance;
+        for (int i = 0; i < n; i++) {
+            Trade trade = ordered.get(i);
+            currentEquity += trade.getNetProfit();
+            times[i + 1] = trade.getCloseTime().toEpochSecond(ZoneOffset.UTC);
+            equity[i + 1] = currentEquity;
+        }
+        times[0] = times[1] - 1;
+        equity[0] = startingBalance;
+        return new EquityCurve(times, equity);
+    }
+
+    /**
+     * K-way merge of the sorted strategy streams into one portfolio curve
+     */
+    private EquityCurve merge(List<Stream> streams, double startingBalance) {
+        int total = 0;
+        for (Stream stream : streams) {
+            total += stream.trades.size();
+        }
+        if (total == 0) {
+            return EquityCurve.EMPTY;
+        }
+
+        // A stream's head only changes while it is out of the queue, so the ordering stays valid
+        PriorityQueue<Stream> heads = new PriorityQueue<>(Math.max(1, streams.size()),
+                (a, b) -> Trade.CLOSE_TIME_ORDER.compare(a.head(), b.head()));
+        for (Stream stream : streams) {
+            stream.cursor = 0;
+            if (!stream.trades.isEmpty()) {
+                heads.add(stream);
+            }
+        }
+
+        long[] times = new long[total + 1];
+        double[] equity = new double[total + 1];
+        double currentEquity = startingBalance;
+        int i = 0;
+        while (!heads.isEmpty()) {
+            Stream stream = heads.poll();
+            Trade trade = stream.head();
+            currentEquity += trade.getNetProfit();
+            i++;
+            times[i] = trade.getCloseTime().toEpochSecond(ZoneOffset.UTC);
+            equity[i] = currentEquity;
+            stream.cursor++;
+            if (stream.cursor < stream.trades.size()) {
+                heads.add(stream);
+            }
+        }
+        times[0] = times[1] - 1;
+        equity[0] = startingBalance;
+        return new EquityCurve(times, equity);
+    }
+
+    private double balanceOf(String account, Map<String, Double> accountBalances) {
+        if (account == null || account.isEmpty()) {
+            return 0.0;
+        }
+        Double balance = accountBalances.get(account);
+        return balance != null ? balance : 0.0;
+    }
+}
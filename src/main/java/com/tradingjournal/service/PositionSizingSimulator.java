@@ -0,0 +1,205 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.SizingGridResult;
+import com.tradingjournal.model.Trade;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * What-if replay of trades under alternative position sizing. Each trade's
+ * net P&L is rescaled per lot, then the sequence is replayed for every
+ * combination of sizing parameter and lot cap in parallel.
+ */
+public class PositionSizingSimulator {
+
+    /** Smallest tradable increment; sizes are rounded down to it */
+    private static final double LOT_STEP = 0.01;
+    private static final double STEPS_PER_LOT = 1.0 / LOT_STEP;
+    /** Grid cells replayed by one fork/join leaf task */
+    private static final int CELLS_PER_TASK = 64;
+
+    private final ForkJoinPool pool;
+
+    public PositionSizingSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public PositionSizingSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Evenly spaced values from {@code from} to {@code to} inclusive
+     */
+    public static double[] range(double from, double to, int steps) {
+        if (steps <= 1) {
+            return new double[] { from };
+        }
+        double[] values = new double[steps];
+        for (int i = 0; i < steps; i++) {
+            values[i] = from + (to - from) * i / (steps - 1);
+        }
+        return values;
+    }
+
+    /**
+     * Replay the closed trades for every sizing/cap combination
+     *
+     * @param trades          Trades to replay, in close-time order
+     * @param startingBalance Equity at the start of every replay
+     * @param rule            Sizing rule
+     * @param sizeValues      Lots (fixed lots) or percent of equity risked per trade (fixed fractional)
+     * @param capValues       Maximum lots per position, applied to every symbol
+     */
+    public SizingGridResult simulate(List<Trade> trades, double startingBalance, SizingGridResult.Rule rule,
+            double[] sizeValues, double[] capValues) {
+        long start = System.nanoTime();
+
+        List<Trade> closed = new ArrayList<>();
+        for (Trade trade : trades) {
+            if (trade.isClosed() && trade.getSize() > 0) {
+                closed.add(trade);
+            }
+        }
+        closed.sort(Trade.CLOSE_TIME_ORDER);
+
+        int n = closed.size();
+        double[] pnlPerLot = new double[n];
+        double[] riskPerLot = new double[n];
+        double[] recordedLots = new double[n];
+        int withoutStop = 0;
+        for (int i = 0; i < n; i++) {
+            Trade trade = closed.get(i);
+            pnlPerLot[i] = trade.getNetProfit() / trade.getSize();
+            recordedLots[i] = trade.getSize();
+            riskPerLot[i] = riskPerLot(trade);
+            if (Double.isNaN(riskPerLot[i])) {
+                withoutStop++;
+            }
+        }
+
+        int rows = capValues.length;
+        int cols = sizeValues.length;
+        Grid grid = new Grid(rule, pnlPerLot, riskPerLot, recordedLots, startingBalance, sizeValues, capValues);
+        pool.invoke(new CellTask(grid, 0, rows * cols));
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return new SizingGridResult(rule, sizeValues, capValues, startingBalance, n, withoutStop, grid.finalEquity,
+                grid.maxDrawdownPercent, grid.returnToDrawdown, elapsed);
+    }
+
+    /**
+     * Dollars lost per lot if the stop is hit; NaN when the initial risk is unknown
+     */
+    private static double riskPerLot(Trade trade) {
+        return RMultipleCalculator.initialRisk(trade) / trade.getSize();
+    }
+
+    /**
+     * Shared inputs and per-cell output arrays; each task writes a disjoint cell range
+     */
+    private static class Grid {
+        final SizingGridResult.Rule rule;
+        final double[] pnlPerLot;
+        /** Inverse of the dollar risk per lot, 0 for trades without a stop */
+        final double[] lotsPerRiskDollar;
+        final double[] recordedLots;
+        final double startingBalance;
+        final double[] sizeValues;
+        final double[] capValues;
+
+        final double[][] finalEquity;
+        final double[][] maxDrawdownPercent;
+        final double[][] returnToDrawdown;
+
+        Grid(SizingGridResult.Rule rule, double[] pnlPerLot, double[] riskPerLot, double[] recordedLots,
+                double startingBalance, double[] sizeValues, double[] capValues) {
+            this.rule = rule;
+            this.pnlPerLot = pnlPerLot;
+            this.lotsPerRiskDollar = new double[riskPerLot.length];
+            for (int i = 0; i < riskPerLot.length; i++) {
+                lotsPerRiskDollar[i] = Double.isNaN(riskPerLot[i]) ? 0.0 : 1.0 / riskPerLot[i];
+            }
+            this.recordedLots = recordedLots;
+            this.startingBalance = startingBalance;
+            this.sizeValues = sizeValues;
+            this.capValues = capValues;
+            this.finalEquity = new double[capValues.length][sizeValues.length];
+            this.maxDrawdownPercent = new double[capValues.length][sizeValues.length];
+            this.returnToDrawdown = new double[capValues.length][sizeValues.length];
+        }
+
+        /**
+         * Replay every trade for one sizing/cap combination
+         */
+        void replay(int row, int col) {
+            double cap = capValues[row];
+            double size = sizeValues[col];
+            double riskFraction = size / 100.0;
+            boolean fractional = rule == SizingGridResult.Rule.FIXED_FRACTIONAL;
+
+            double equity = startingBalance;
+            double peak = startingBalance;
+            double maxDrawdown = 0.0;
+            for (int i = 0; i < pnlPerLot.length; i++) {
+                double lots;
+                if (!fractional) {
+                    lots = size;
+                } else if (lotsPerRiskDollar[i] == 0) {
+                    lots = recordedLots[i];
+                } else {
+                    lots = equity * riskFraction * lotsPerRiskDollar[i];
+                }
+                lots = Math.floor(Math.min(lots, cap) * STEPS_PER_LOT + 1e-9) * LOT_STEP;
+
+                equity += pnlPerLot[i] * lots;
+                if (equity > peak) {
+                    peak = equity;
+                } else if (equity < peak * (1.0 - maxDrawdown) && peak > 0) {
+                    // Only divide when the drawdown actually deepens
+                    maxDrawdown = (peak - equity) / peak;
+                }
+                if (equity <= 0) {
+                    // Ruined: the account cannot keep trading
+                    equity = 0;
+                    maxDrawdown = 1.0;
+                    break;
+                }
+            }
+
+            finalEquity[row][col] = equity;
+            maxDrawdownPercent[row][col] = peak > 0 ? maxDrawdown * 100 : Double.NaN;
+            double totalReturn = startingBalance > 0 ? (equity - startingBalance) / startingBalance : Double.NaN;
+            returnToDrawdown[row][col] = maxDrawdown > 0 ? totalReturn / maxDrawdown : Double.NaN;
+        }
+    }
+
+    private static class CellTask extends RecursiveAction {
+        private final Grid grid;
+        private final int from;
+        private final int to;
+
+        CellTask(Grid grid, int from, int to) {
+            this.grid = grid;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CELLS_PER_TASK) {
+                int cols = grid.sizeValues.length;
+                for (int cell = from; cell < to; cell++) {
+                    grid.replay(cell / cols, cell % cols);
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new CellTask(grid, from, mid), new CellTask(grid, mid, to));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.EquityCurve;
+import com.tradingjournal.model.PortfolioEquity;
+import com.tradingjournal.model.RMultipleReport;
+import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.TradeType;
+
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * R-multiples: net P&L as a multiple of the money at risk between the open
+ * price and the stop. The R column is derived once per load in
+ * {@link TradeColumns} and reused by every snapshot; reports are built from
+ * it without touching the stop again.
+ */
+public class RMultipleCalculator {
+
+    /** Histogram bin width in R */
+    public static final double BIN_WIDTH = 0.5;
+    /** Histogram range; trades beyond it land in the outermost bins */
+    private static final double MIN_R = -5.0;
+    private static final double MAX_R = 10.0;
+
+    /**
+     * Money lost if the stop had been hit, from the distance between open price
+     * and stop times the trade's own P&L per price unit and lot. NaN when there
+     * is no stop, the stop is not on the losing side of the entry (moved to
+     * break-even or trailed, so the initial risk is gone), or the trade closed
+     * at its open price and the value per unit cannot be derived.
+     */
+    public static double initialRisk(Trade trade) {
+        double stop = trade.getStopLoss();
+        double openPrice = trade.getOpenPrice();
+        double direction = trade.getType() == TradeType.SELL ? -1.0 : 1.0;
+        double stopDistance = (openPrice - stop) * direction;
+        double move = (trade.getClosePrice() - openPrice) * direction;
+        if (stop <= 0 || !(stopDistance > 0) || move == 0 || trade.getProfit() == 0 || trade.getSize() <= 0) {
+            return Double.NaN;
+        }
+        double valuePerUnitPerLot = trade.getProfit() / (move * trade.getSize());
+        if (!(valuePerUnitPerLot > 0)) {
+            return Double.NaN;
+        }
+        return stopDistance * trade.getSize() * valuePerUnitPerLot;
+    }
+
+    /**
+     * Net P&L in units of initial risk, or NaN for open trades and trades without a usable stop
+     */
+    public static double rMultiple(Trade trade) {
+        if (!trade.isClosed()) {
+            return Double.NaN;
+        }
+        double risk = initialRisk(trade);
+        return Double.isNaN(risk) ? Double.NaN : trade.getNetProfit() / risk;
+    }
+
+    /**
+     * Histogram, expectancy and per-strategy R curves in one pass
+     *
+     * @param trades      Trades in close-time order
+     * @param rMultiples  R column aligned with the trades
+     */
+    public RMultipleReport analyze(List<Trade> trades, double[] rMultiples) {
+        int withR = 0;
+        int withoutRisk = 0;
+        int wins = 0;
+        int losses = 0;
+        double total = 0.0;
+        double winSum = 0.0;
+        double lossSum = 0.0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        Map<String, CurveBuilder> strategies = new TreeMap<>();
+        CurveBuilder portfolio = new CurveBuilder();
+
+        for (int i = 0; i < rMultiples.length; i++) {
+            Trade trade = trades.get(i);
+            if (!trade.isClosed()) {
+                continue;
+            }
+            double r = rMultiples[i];
+            if (Double.isNaN(r)) {
+                withoutRisk++;
+                continue;
+            }
+
+            withR++;
+            total += r;
+            min = Math.min(min, r);
+            max = Math.max(max, r);
+            if (r > 0) {
+                wins++;
+                winSum += r;
+            } else if (r < 0) {
+                losses++;
+                lossSum += r;
+            }
+
+            long time = trade.getCloseTime().toEpochSecond(ZoneOffset.UTC);
+            portfolio.add(time, r);
+            String strategy = trade.getStrategy();
+            if (strategy == null || strategy.trim().isEmpty()) {
+                strategy = DrawdownAnalyzer.NO_STRATEGY;
+            }
+            CurveBuilder builder = strategies.get(strategy);
+            if (builder == null) {
+                builder = new CurveBuilder();
+                strategies.put(strategy, builder);
+            }
+            builder.add(time, r);
+        }
+
+        // Bin edges snap to the bin width and are clipped to the display range
+        double binStart = 0.0;
+        int[] bins = new int[0];
+        if (withR > 0) {
+            binStart = Math.max(MIN_R, Math.floor(min / BIN_WIDTH) * BIN_WIDTH);
+            double binEnd = Math.min(MAX_R, Math.ceil(max / BIN_WIDTH) * BIN_WIDTH);
+            bins = new int[Math.max(1, (int) Math.round((binEnd - binStart) / BIN_WIDTH))];
+            for (int i = 0; i < rMultiples.length; i++) {
+                double r = rMultiples[i];
+                if (!Double.isNaN(r) && trades.get(i).isClosed()) {
+                    int bin = (int) Math.floor((r - binStart) / BIN_WIDTH);
+                    bins[Math.max(0, Math.min(bins.length - 1, bin))]++;
+                }
+            }
+        }
+
+        Map<String, EquityCurve> curves = new LinkedHashMap<>();
+        for (Map.Entry<String, CurveBuilder> entry : strategies.entrySet()) {
+            curves.put(entry.getKey(), entry.getValue().build());
+        }
+
+        return new RMultipleReport(withR, withoutRisk, binStart, BIN_WIDTH, bins,
+                withR == 0 ? Double.NaN : total / withR,
+                withR == 0 ? 0.0 : (double) wins / withR,
+                wins == 0 ? Double.NaN : winSum / wins,
+                losses == 0 ? Double.NaN : lossSum / losses,
+                total, new PortfolioEquity(curves, portfolio.build()));
+    }
+
+    /**
+     * Cumulative R curve grown in close-time order, starting at 0 one second before the first close
+     */
+    private static class CurveBuilder {
+        long[] times = new long[16];
+        double[] values = new double[16];
+        int size;
+
+        void add(long time, double r) {
+            if (size == 0) {
+                times[0] = time - 1;
+                values[0] = 0.0;
+                size = 1;
+            }
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            times[size] = time;
+            values[size] = values[size - 1] + r;
+            size++;
+        }
+
+        EquityCurve build() {
+            return size == 0 ? EquityCurve.EMPTY
+                    : new EquityCurve(Arrays.copyOf(times, size), Arrays.copyOf(values, size));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.RiskMetrics;
+import com.tradingjournal.model.Trade;
+import com.tradingjournal.util.CompensatedSum;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Service for calculating risk-adjusted ratios. The closed trades are bucketed
+ * into one daily equity series, and every ratio is then read from that series
+ * in a single pass over the daily returns.
+ */
+public class RiskMetricsCalculator {
+
+    /**
+     * Calculate annualized Sharpe, Sortino, Calmar, Ulcer index and volatility
+     *
+     * @param trades          Trades to analyze, in any order; open trades are ignored
+     * @param startingBalance Account equity before the first trade
+     */
+    public RiskMetrics calculate(List<Trade> trades, double startingBalance) {
+        // Find the day range so profits can be bucketed without sorting
+        long firstDay = Long.MAX_VALUE;
+        long lastDay = Long.MIN_VALUE;
+        if (trades != null) {
+            for (Trade trade : trades) {
+                if (trade.isClosed()) {
+                    long day = trade.getCloseTime().toLocalDate().toEpochDay();
+                    firstDay = Math.min(firstDay, day);
+                    lastDay = Math.max(lastDay, day);
+                }
+            }
+        }
+        if (firstDay > lastDay) {
+            return empty();
+        }
+
+        int span = (int) (lastDay - firstDay + 1);
+        CompensatedSum[] dayProfits = new CompensatedSum[span];
+        for (Trade trade : trades) {
+            if (trade.isClosed()) {
+                int slot = (int) (trade.getCloseTime().toLocalDate().toEpochDay() - firstDay);
+                if (dayProfits[slot] == null) {
+                    dayProfits[slot] = new CompensatedSum();
+                }
+                dayProfits[slot].add(trade.getNetProfit());
+            }
+        }
+
+        // Weekdays form the trading calendar; weekend days appear only if a trade closed on them
+        long[] epochDays = new long[span];
+        double[] dailyEquity = new double[span];
+        CompensatedSum equity = new CompensatedSum();
+        equity.add(startingBalance);
+        int days = 0;
+        DayOfWeek dayOfWeek = LocalDate.ofEpochDay(firstDay).getDayOfWeek();
+        for (int slot = 0; slot < span; slot++) {
+            boolean weekend = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+            dayOfWeek = dayOfWeek.plus(1);
+            if (dayProfits[slot] == null && weekend) {
+                continue;
+            }
+            if (dayProfits[slot] != null) {
+                equity.merge(dayProfits[slot]);
+            }
+            epochDays[days] = firstDay + slot;
+            dailyEquity[days] = equity.value();
+            days++;
+        }
+        epochDays = Arrays.copyOf(epochDays, days);
+        dailyEquity = Arrays.copyOf(dailyEquity, days);
+
+        return fromDailyEquity(epochDays, dailyEquity, startingBalance);
+    }
+
+    /**
+     * Derive every ratio from the daily equity series in one pass
+     */
+    private RiskMetrics fromDailyEquity(long[] epochDays, double[] dailyEquity, double startingBalance) {
+        int days = dailyEquity.length;
+        double[] dailyReturns = new double[days];
+
+        CompensatedSum returnSum = new CompensatedSum();
+        CompensatedSum returnSquares = new CompensatedSum();
+        CompensatedSum downsideSquares = new CompensatedSum();
+        CompensatedSum drawdownSquares = new CompensatedSum();
+        double previous = startingBalance;
+        double peak = startingBalance;
+        double maxDrawdownPercent = 0.0;
+        boolean solvent = startingBalance > 0;
+
+        for (int i = 0; i < days; i++) {
+            double current = dailyEquity[i];
+            if (previous <= 0) {
+                // Returns are undefined once the account is wiped out
+                solvent = false;
+            }
+            double r = solvent ? (current - previous) / previous : Double.NaN;
+            dailyReturns[i] = r;
+            if (solvent) {
+                returnSum.add(r);
+                returnSquares.add(r * r);
+                if (r < 0) {
+                    downsideSquares.add(r * r);
+                }
+            }
+
+            peak = Math.max(peak, current);
+            double drawdownPercent = peak > 0 ? 100.0 * (peak - current) / peak : 0.0;
+            drawdownSquares.add(drawdownPercent * drawdownPercent);
+            maxDrawdownPercent = Math.max(maxDrawdownPercent, drawdownPercent);
+            previous = current;
+        }
+
+        double annualizedReturn = Double.NaN;
+        double volatility = Double.NaN;
+        double sharpe = Double.NaN;
+        double sortino = Double.NaN;
+        double calmar = Double.NaN;
+        double ulcer = days > 0 ? Math.sqrt(drawdownSquares.value() / days) : Double.NaN;
+        double annualization = Math.sqrt(RiskMetrics.TRADING_DAYS_PER_YEAR);
+
+        if (solvent && days > 0) {
+            double growth = dailyEquity[days - 1] / startingBalance;
+            annualizedReturn = growth > 0
+                    ? Math.pow(growth, (double) RiskMetrics.TRADING_DAYS_PER_YEAR / days) - 1.0
+                    : -1.0;
+            if (maxDrawdownPercent > 0) {
+                calmar = annualizedReturn / (maxDrawdownPercent / 100.0);
+            }
+
+            double mean = returnSum.value() / days;
+            if (days > 1) {
+                double variance = (returnSquares.value() - mean * returnSum.value()) / (days - 1);
+                if (variance > 0) {
+                    double deviation = Math.sqrt(variance);
+                    volatility = deviation * annualization;
+                    sharpe = mean / deviation * annualization;
+                }
+            }
+            double downsideDeviation = Math.sqrt(downsideSquares.value() / days);
+            if (downsideDeviation > 0) {
+                sortino = mean / downsideDeviation * annualization;
+            }
+        }
+
+        return new RiskMetrics(epochDays, dailyEquity, dailyReturns, annualizedReturn, volatility, sharpe, sortino,
+                calmar, ulcer, maxDrawdownPercent);
+    }
+
+    private RiskMetrics empty() {
+        return new RiskMetrics(new long[0], new double[0], new double[0], Double.NaN, Double.NaN, Double.NaN,
+                Double.NaN, Double.NaN, Double.NaN, 0.0);
+    }
+}
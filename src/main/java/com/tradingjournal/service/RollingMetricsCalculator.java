@@ -0,0 +1,154 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.RollingMetrics;
+import com.tradingjournal.model.RollingMetrics.Metric;
+import com.tradingjournal.model.RollingMetrics.WindowType;
+import com.tradingjournal.model.Trade;
+import com.tradingjournal.util.CompensatedSum;
+
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service for calculating rolling-window metrics. The window slides one trade
+ * at a time: the entering trade is added to running sums and the leaving trades
+ * are retracted, so a full series costs O(n) instead of O(n * window).
+ */
+public class RollingMetricsCalculator {
+
+    private static final long SECONDS_PER_DAY = 24L * 60 * 60;
+
+    /**
+     * Calculate rolling metrics over closed trades
+     *
+     * @param trades     Trades to analyze, in any order
+     * @param windowType Window measured in trades or in calendar days
+     * @param windowSize Number of trades or days in each window
+     */
+    public RollingMetrics calculate(List<Trade> trades, WindowType windowType, int windowSize) {
+        List<Trade> sorted = trades == null ? Collections.<Trade>emptyList()
+                : trades.stream()
+                        .filter(Trade::isClosed)
+                        .sorted(Comparator.comparing(Trade::getCloseTime))
+                        .collect(Collectors.toList());
+
+        int n = sorted.size();
+        double[] profits = new double[n];
+        long[] closeSeconds = new long[n];
+        for (int i = 0; i < n; i++) {
+            Trade trade = sorted.get(i);
+            profits[i] = trade.getNetProfit();
+            closeSeconds[i] = trade.getCloseTime().toEpochSecond(ZoneOffset.UTC);
+        }
+
+        // Trade windows only report once they are full; day windows report from the first trade
+        int first = windowType == WindowType.TRADES ? Math.max(0, windowSize - 1) : 0;
+        int points = Math.max(0, n - first);
+
+        int[] tradeNumbers = new int[points];
+        int[] windowCounts = new int[points];
+        double[][] values = new double[Metric.values().length][points];
+
+        Window window = new Window();
+        int left = 0;
+        long daySpan = windowSize * SECONDS_PER_DAY;
+
+        for (int i = 0; i < n; i++) {
+            window.add(profits[i]);
+
+            if (windowType == WindowType.TRADES) {
+                if (i - left + 1 > windowSize) {
+                    window.remove(profits[left++]);
+                }
+            } else {
+                while (closeSeconds[left] <= closeSeconds[i] - daySpan) {
+                    window.remove(profits[left++]);
+                }
+            }
+
+            if (i < first) {
+                continue;
+            }
+
+            int p = i - first;
+            tradeNumbers[p] = i + 1;
+            windowCounts[p] = window.count;
+            values[Metric.WIN_RATE.ordinal()][p] = window.winRate();
+            values[Metric.PROFIT_FACTOR.ordinal()][p] = window.profitFactor();
+            values[Metric.EXPECTANCY.ordinal()][p] = window.expectancy();
+            values[Metric.AVERAGE_WIN.ordinal()][p] = window.averageWin();
+            values[Metric.AVERAGE_LOSS.ordinal()][p] = window.averageLoss();
+            values[Metric.SHARPE.ordinal()][p] = window.sharpe();
+        }
+
+        return new RollingMetrics(windowType, windowSize, tradeNumbers, windowCounts, values);
+    }
+
+    /**
+     * Running sums of the trades currently inside the window
+     */
+    private static class Window {
+        int count;
+        int wins;
+        int losses;
+        final CompensatedSum winSum = new CompensatedSum();
+        final CompensatedSum lossSum = new CompensatedSum();
+        final CompensatedSum sum = new CompensatedSum();
+        final CompensatedSum sumSquares = new CompensatedSum();
+
+        void add(double profit) {
+            update(profit, 1);
+        }
+
+        void remove(double profit) {
+            update(profit, -1);
+        }
+
+        private void update(double profit, int delta) {
+            double signed = delta * profit;
+            count += delta;
+            sum.add(signed);
+            sumSquares.add(signed * profit);
+            if (profit > 0) {
+                wins += delta;
+                winSum.add(signed);
+            } else if (profit < 0) {
+                losses += delta;
+                lossSum.add(signed);
+            }
+        }
+
+        double winRate() {
+            return count == 0 ? Double.NaN : 100.0 * wins / count;
+        }
+
+        double profitFactor() {
+            double loss = Math.abs(lossSum.value());
+            return losses == 0 ? Double.NaN : winSum.value() / loss;
+        }
+
+        double expectancy() {
+            return count == 0 ? Double.NaN : sum.value() / count;
+        }
+
+        double averageWin() {
+            return wins == 0 ? Double.NaN : winSum.value() / wins;
+        }
+
+        double averageLoss() {
+            return losses == 0 ? Double.NaN : lossSum.value() / losses;
+        }
+
+        double sharpe() {
+            if (count < 2) {
+                return Double.NaN;
+            }
+            double mean = sum.value() / count;
+            double variance = (sumSquares.value() - mean * sum.value()) / (count - 1);
+            return variance <= 0 ? Double.NaN : mean / Math.sqrt(variance);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.TradeStatistics;
+import com.tradingjournal.util.CompensatedSum;
+
+/**
+ * Mergeable partial aggregate behind {@link TradeStatistics}
+ */
+public class StatisticsAccumulator {
+    private int closedTrades;
+    private int winningTrades;
+    private int losingTrades;
+    private final CompensatedSum winSum = new CompensatedSum();
+    private final CompensatedSum lossSum = new CompensatedSum();
+    private double largestWin;
+    private double largestLoss;
+
+    /**
+     * Add a single trade; open trades are ignored
+     */
+    public void add(Trade trade) {
+        if (trade.isClosed()) {
+            add(trade.getNetProfit());
+        }
+    }
+
+    /**
+     * Add the net profit of a single closed trade
+     */
+    public void add(double netProfit) {
+        closedTrades++;
+        if (netProfit > 0) {
+            winningTrades++;
+            winSum.add(netProfit);
+            if (netProfit > largestWin) {
+                largestWin = netProfit;
+            }
+        } else if (netProfit < 0) {
+            losingTrades++;
+            lossSum.add(netProfit);
+            if (netProfit < largestLoss) {
+                largestLoss = netProfit;
+            }
+        }
+    }
+
+    /**
+     * Fold another partial aggregate into this one
+     */
+    public void merge(StatisticsAccumulator other) {
+        closedTrades += other.closedTrades;
+        winningTrades += other.winningTrades;
+        losingTrades += other.losingTrades;
+        winSum.merge(other.winSum);
+        lossSum.merge(other.lossSum);
+        largestWin = Math.max(largestWin, other.largestWin);
+        largestLoss = Math.min(largestLoss, other.largestLoss);
+    }
+
+    public int getClosedTrades() {
+        return closedTrades;
+    }
+
+    public TradeStatistics toStatistics() {
+        TradeStatistics stats = new TradeStatistics();
+        stats.setTotalTrades(closedTrades);
+
+        if (closedTrades == 0) {
+            return stats;
+        }
+
+        double totalProfit = winSum.value();
+        double totalLoss = Math.abs(lossSum.value());
+
+        stats.setWinningTrades(winningTrades);
+        stats.setLosingTrades(losingTrades);
+        stats.setTotalProfit(totalProfit);
+        stats.setTotalLoss(totalLoss);
+        stats.setNetProfit(totalProfit - totalLoss);
+        stats.setWinRate((double) winningTrades / closedTrades);
+
+        double profitFactor = totalLoss == 0 ? (totalProfit > 0 ? Double.POSITIVE_INFINITY : 0)
+                : totalProfit / totalLoss;
+        stats.setProfitFactor(profitFactor);
+
+        stats.setAverageWin(winningTrades == 0 ? 0 : totalProfit / winningTrades);
+        stats.setAverageLoss(losingTrades == 0 ? 0 : lossSum.value() / losingTrades);
+        stats.setLargestWin(largestWin);
+        stats.setLargestLoss(largestLoss);
+
+        return stats;
+    }
+}
@@ -4,6 +4,8 @@ import com.tradingjournal.model.Trade;
 import com.tradingjournal.model.TradeStatistics;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.stream.Collectors;
 
 /**
@@ -12,83 +14,132 @@ import java.util.stream.Collectors;
 public class TradeAnalyzer {
 
     /**
-     * Calculate comprehensive statistics from a list of trades
+     * Trade count at which statistics switch to the fork/join pool, overridable
+     * with {@code -Dtradingjournal.stats.parallelThreshold}. The crossover
+     * depends on the core count and memory bandwidth of the machine; the
+     * default is conservative, so that small journals never pay for task
+     * scheduling. Run {@code com.tradingjournal.bench.StatisticsBenchmark} on
+     * the target machine and set the property to the size it reports.
      */
-    public TradeStatistics calculateStatistics(List<Trade> trades) {
-        TradeStatistics stats = new TradeStatistics();
-
-        if (trades == null || trades.isEmpty()) {
-            return stats;
-        }
-
-        // Filter only closed trades for statistics
-        List<Trade> closedTrades = trades.stream()
-                .filter(Trade::isClosed)
-                .collect(Collectors.toList());
-
-        stats.setTotalTrades(closedTrades.size());
+    public static final int PARALLEL_THRESHOLD =
+            Integer.getInteger("tradingjournal.stats.parallelThreshold", 100_000);
 
-        if (closedTrades.isEmpty()) {
-            return stats;
-        }
-
-        // Separate winning and losing trades
-        List<Trade> winners = closedTrades.stream()
-                .filter(Trade::isWinner)
-                .collect(Collectors.toList());
+    /**
+     * Leaf size of the summation tree, overridable with
+     * {@code -Dtradingjournal.stats.leafSize}. The tree is split by trade count
+     * only, so sequential and parallel runs with the same leaf size add the
+     * same numbers in the same order. Leaves of a few thousand trades keep a
+     * leaf's work well above the cost of forking it; the benchmark above also
+     * reports the parallel time per leaf size.
+     */
+    public static final int LEAF_SIZE =
+            Integer.getInteger("tradingjournal.stats.leafSize", 4096);
 
-        List<Trade> losers = closedTrades.stream()
-                .filter(Trade::isLoser)
-                .collect(Collectors.toList());
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final int leafSize;
 
-        stats.setWinningTrades(winners.size());
-        stats.setLosingTrades(losers.size());
+    public TradeAnalyzer() {
+        this(ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
 
-        // Calculate profit metrics
-        double totalProfit = winners.stream()
-                .mapToDouble(Trade::getNetProfit)
-                .sum();
+    public TradeAnalyzer(ForkJoinPool pool, int parallelThreshold) {
+        this(pool, parallelThreshold, LEAF_SIZE);
+    }
 
-        double totalLoss = Math.abs(losers.stream()
-                .mapToDouble(Trade::getNetProfit)
-                .sum());
+    public TradeAnalyzer(ForkJoinPool pool, int parallelThreshold, int leafSize) {
+        if (leafSize < 1) {
+            throw new IllegalArgumentException("Leaf size must be positive: " + leafSize);
+        }
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+        this.leafSize = leafSize;
+    }
 
-        stats.setTotalProfit(totalProfit);
-        stats.setTotalLoss(totalLoss);
-        stats.setNetProfit(totalProfit - totalLoss);
+    /**
+     * Calculate comprehensive statistics from a list of trades, in parallel
+     * when the list is above the size threshold
+     */
+    public TradeStatistics calculateStatistics(List<Trade> trades) {
+        if (trades == null || trades.isEmpty()) {
+            return new TradeStatistics();
+        }
 
-        // Calculate win rate
-        double winRate = closedTrades.isEmpty() ? 0 : (double) winners.size() / closedTrades.size();
-        stats.setWinRate(winRate);
+        Trade[] array = trades.toArray(new Trade[0]);
+        StatisticsAccumulator result = array.length >= parallelThreshold
+                ? pool.invoke(new StatisticsTask(array, 0, array.length, leafSize))
+                : accumulate(array, 0, array.length, leafSize);
+        return result.toStatistics();
+    }
 
-        // Calculate profit factor
-        double profitFactor = totalLoss == 0 ? (totalProfit > 0 ? Double.POSITIVE_INFINITY : 0)
-                : totalProfit / totalLoss;
-        stats.setProfitFactor(profitFactor);
+    /**
+     * Calculate statistics on the calling thread regardless of size
+     */
+    public TradeStatistics calculateStatisticsSequential(List<Trade> trades) {
+        if (trades == null || trades.isEmpty()) {
+            return new TradeStatistics();
+        }
 
-        // Calculate average win/loss
-        double avgWin = winners.isEmpty() ? 0 : winners.stream().mapToDouble(Trade::getNetProfit).average().orElse(0);
+        Trade[] array = trades.toArray(new Trade[0]);
+        return accumulate(array, 0, array.length, leafSize).toStatistics();
+    }
 
-        double avgLoss = losers.isEmpty() ? 0 : losers.stream().mapToDouble(Trade::getNetProfit).average().orElse(0);
+    /**
+     * Calculate statistics on the fork/join pool regardless of size
+     */
+    public TradeStatistics calculateStatisticsParallel(List<Trade> trades) {
+        if (trades == null || trades.isEmpty()) {
+            return new TradeStatistics();
+        }
 
-        stats.setAverageWin(avgWin);
-        stats.setAverageLoss(avgLoss);
+        Trade[] array = trades.toArray(new Trade[0]);
+        return pool.invoke(new StatisticsTask(array, 0, array.length, leafSize)).toStatistics();
+    }
 
-        // Find largest win/loss
-        double largestWin = winners.stream()
-                .mapToDouble(Trade::getNetProfit)
-                .max()
-                .orElse(0);
+    /**
+     * Sequential walk of the same tree {@link StatisticsTask} forks over
+     */
+    private static StatisticsAccumulator accumulate(Trade[] trades, int from, int to, int leafSize) {
+        if (to - from <= leafSize) {
+            StatisticsAccumulator acc = new StatisticsAccumulator();
+            for (int i = from; i < to; i++) {
+                acc.add(trades[i]);
+            }
+            return acc;
+        }
 
-        double largestLoss = losers.stream()
-                .mapToDouble(Trade::getNetProfit)
-                .min()
-                .orElse(0);
+        int mid = (from + to) >>> 1;
+        StatisticsAccumulator left = accumulate(trades, from, mid, leafSize);
+        left.merge(accumulate(trades, mid, to, leafSize));
+        return left;
+    }
 
-        stats.setLargestWin(largestWin);
-        stats.setLargestLoss(largestLoss);
+    private static class StatisticsTask extends RecursiveTask<StatisticsAccumulator> {
+        private final Trade[] trades;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        StatisticsTask(Trade[] trades, int from, int to, int leafSize) {
+            this.trades = trades;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
 
-        return stats;
+        @Override
+        protected StatisticsAccumulator compute() {
+            if (to - from <= leafSize) {
+                return accumulate(trades, from, to, leafSize);
+            }
+
+            int mid = (from + to) >>> 1;
+            StatisticsTask right = new StatisticsTask(trades, mid, to, leafSize);
+            right.fork();
+            StatisticsAccumulator left = new StatisticsTask(trades, from, mid, leafSize).compute();
+            left.merge(right.join());
+            return left;
+        }
     }
 
     /**
@@ -0,0 +1,214 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.Trade;
+import com.tradingjournal.repository.TradeDictionary;
+import com.tradingjournal.util.TokenIndex;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Column-wise copy of a trade list: one primitive or string array per
+ * attribute, indexed by row (position in the list). Queries and filters
+ * scan these arrays instead of calling getters on every trade. Times are
+ * UTC epoch seconds with {@link #NO_TIME} for a missing time; numbers that
+ * do not apply (hold time of an open trade, R without a stop) are NaN.
+ * Symbol, strategy and account are stored as codes of the journal's
+ * {@link TradeDictionary}, so comparing them is an int compare. Comments are
+ * kept as strings with a word index keyed by row, which goes away with the
+ * columns when the trades are reloaded.
+ */
+public class TradeColumns {
+
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private final int size;
+    private final TradeDictionary dictionary;
+    private final String[] tickets;
+    private final int[] symbolCodes;
+    private final int[] strategyCodes;
+    private final int[] accountCodes;
+    private final String[] comments;
+    private final TokenIndex commentWords = new TokenIndex();
+    /** TradeType ordinal, -1 when unknown */
+    private final int[] types;
+    private final long[] magicNumbers;
+    private final long[] openTimes;
+    private final long[] closeTimes;
+    private final double[] holdSeconds;
+    private final double[] sizes;
+    private final double[] openPrices;
+    private final double[] closePrices;
+    private final double[] stopLosses;
+    private final double[] takeProfits;
+    private final double[] profits;
+    private final double[] commissions;
+    private final double[] swaps;
+    private final double[] netProfits;
+    private final double[] rMultiples;
+
+    public TradeColumns(List<Trade> trades, TradeDictionary dictionary) {
+        this.size = trades.size();
+        this.dictionary = dictionary;
+        this.tickets = new String[size];
+        this.symbolCodes = new int[size];
+        this.strategyCodes = new int[size];
+        this.accountCodes = new int[size];
+        this.comments = new String[size];
+        this.types = new int[size];
+        this.magicNumbers = new long[size];
+        this.openTimes = new long[size];
+        this.closeTimes = new long[size];
+        this.holdSeconds = new double[size];
+        this.sizes = new double[size];
+        this.openPrices = new double[size];
+        this.closePrices = new double[size];
+        this.stopLosses = new double[size];
+        this.takeProfits = new double[size];
+        this.profits = new double[size];
+        this.commissions = new double[size];
+        this.swaps = new double[size];
+        this.netProfits = new double[size];
+        this.rMultiples = new double[size];
+        for (int row = 0; row < size; row++) {
+            set(row, trades.get(row));
+        }
+    }
+
+    /**
+     * Copy a trade's current values into a row
+     */
+    public void set(int row, Trade trade) {
+        tickets[row] = trade.getTicket();
+        symbolCodes[row] = dictionary.getSymbols().encode(trade.getSymbol());
+        strategyCodes[row] = dictionary.getStrategies().encode(trade.getStrategy());
+        accountCodes[row] = dictionary.getAccounts().encode(trade.getAccount());
+        if (comments[row] != null) {
+            commentWords.remove(row, comments[row]);
+        }
+        comments[row] = trade.getComment();
+        commentWords.add(row, comments[row]);
+        types[row] = trade.getType() == null ? -1 : trade.getType().ordinal();
+        magicNumbers[row] = trade.getMagicNumber();
+        openTimes[row] = epochSecond(trade.getOpenTime());
+        closeTimes[row] = epochSecond(trade.getCloseTime());
+        holdSeconds[row] = openTimes[row] == NO_TIME || closeTimes[row] == NO_TIME ? Double.NaN
+                : closeTimes[row] - openTimes[row];
+        sizes[row] = trade.getSize();
+        openPrices[row] = trade.getOpenPrice();
+        closePrices[row] = trade.getClosePrice();
+        stopLosses[row] = trade.getStopLoss();
+        takeProfits[row] = trade.getTakeProfit();
+        profits[row] = trade.getProfit();
+        commissions[row] = trade.getCommission();
+        swaps[row] = trade.getSwap();
+        netProfits[row] = trade.getNetProfit();
+        rMultiples[row] = RMultipleCalculator.rMultiple(trade);
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time == null ? NO_TIME : time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String[] getTickets() {
+        return tickets;
+    }
+
+    public TradeDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Symbol codes, see {@link TradeDictionary#getSymbols()}; NO_CODE when missing
+     */
+    public int[] getSymbolCodes() {
+        return symbolCodes;
+    }
+
+    public int[] getStrategyCodes() {
+        return strategyCodes;
+    }
+
+    public int[] getAccountCodes() {
+        return accountCodes;
+    }
+
+    public String[] getComments() {
+        return comments;
+    }
+
+    /**
+     * Word index of the comments, by row
+     */
+    public TokenIndex getCommentWords() {
+        return commentWords;
+    }
+
+    public int[] getTypes() {
+        return types;
+    }
+
+    public long[] getMagicNumbers() {
+        return magicNumbers;
+    }
+
+    public long[] getOpenTimes() {
+        return openTimes;
+    }
+
+    public long[] getCloseTimes() {
+        return closeTimes;
+    }
+
+    public double[] getHoldSeconds() {
+        return holdSeconds;
+    }
+
+    public double[] getSizes() {
+        return sizes;
+    }
+
+    public double[] getOpenPrices() {
+        return openPrices;
+    }
+
+    public double[] getClosePrices() {
+        return closePrices;
+    }
+
+    public double[] getStopLosses() {
+        return stopLosses;
+    }
+
+    public double[] getTakeProfits() {
+        return takeProfits;
+    }
+
+    public double[] getProfits() {
+        return profits;
+    }
+
+    public double[] getCommissions() {
+        return commissions;
+    }
+
+    public double[] getSwaps() {
+        return swaps;
+    }
+
+    public double[] getNetProfits() {
+        return netProfits;
+    }
+
+    /**
+     * R-multiples derived at load, see {@link RMultipleCalculator#rMultiple(Trade)}
+     */
+    public double[] getRMultiples() {
+        return rMultiples;
+    }
+}
@@ -0,0 +1,387 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.FacetCounts;
+import com.tradingjournal.model.FacetCounts.Facet;
+import com.tradingjournal.model.FilterCriteria;
+import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.TradeType;
+import com.tradingjournal.repository.TradeDictionary;
+import com.tradingjournal.util.StringDictionary;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bitmap index over a trade list for the filter dimensions. Each distinct
+ * value of a dimension owns a bitset of the rows (positions in the list)
+ * holding it, so a filter selection is a few word-wise ANDs. Strategy,
+ * account and symbol bitmaps are indexed by their {@link TradeDictionary}
+ * code. Built once per load and kept current for in-place edits through
+ * {@link #update(Trade)}. Trades listed in close-time order (closed trades
+ * first, as {@code findAllByCloseTime} returns them) let a period resolve to
+ * a contiguous row range by binary search over the close-time column.
+ */
+public class TradeIndex {
+
+    private static final BitSet EMPTY = new BitSet();
+    /** Selected facet code when the dimension is not filtered */
+    private static final int ANY = Integer.MIN_VALUE;
+    /** Selected facet code when the filter value is held by no row */
+    private static final int MISSING = Integer.MIN_VALUE + 1;
+
+    private final List<Trade> trades;
+    private final Map<String, Integer> rowByTicket = new HashMap<>();
+    private final List<BitSet> strategyBitmaps = new ArrayList<>();
+    private final List<BitSet> accountBitmaps = new ArrayList<>();
+    private final List<BitSet> symbolBitmaps = new ArrayList<>();
+    private final List<BitSet> magicBitmaps = new ArrayList<>();
+    /** Magic numbers by dense code, so magic bitmaps and counts are arrays like the others */
+    private final List<Long> magicValues = new ArrayList<>();
+    private final Map<Long, Integer> magicCodes = new HashMap<>();
+    private final int[] magicRowCodes;
+    private final BitSet[] typeBitmaps = new BitSet[TradeType.values().length];
+    private final TradeColumns columns;
+    /** Close-time column of the trades, epoch seconds */
+    private final long[] closeTimes;
+    private final BitSet all;
+    /** Leading rows that are closed and in close-time order */
+    private final int closedCount;
+    /** True while rows past closedCount are all open, so periods are row ranges */
+    private boolean timeOrdered;
+
+    public TradeIndex(List<Trade> trades, TradeDictionary dictionary) {
+        this.trades = trades;
+        this.columns = new TradeColumns(trades, dictionary);
+        this.closeTimes = columns.getCloseTimes();
+        this.magicRowCodes = new int[trades.size()];
+        this.all = new BitSet(trades.size());
+        all.set(0, trades.size());
+        for (int type = 0; type < typeBitmaps.length; type++) {
+            typeBitmaps[type] = new BitSet();
+        }
+        for (int row = 0; row < trades.size(); row++) {
+            Trade trade = trades.get(row);
+            if (trade.getTicket() != null) {
+                rowByTicket.put(trade.getTicket(), row);
+            }
+            file(row, true);
+        }
+
+        int closed = 0;
+        while (closed < closeTimes.length && closeTimes[closed] != TradeColumns.NO_TIME
+                && (closed == 0 || closeTimes[closed] >= closeTimes[closed - 1])) {
+            closed++;
+        }
+        boolean ordered = true;
+        for (int row = closed; row < closeTimes.length && ordered; row++) {
+            ordered = closeTimes[row] == TradeColumns.NO_TIME;
+        }
+        this.closedCount = closed;
+        this.timeOrdered = ordered;
+    }
+
+    public int size() {
+        return trades.size();
+    }
+
+    /**
+     * The indexed trades; row ids are positions in this list
+     */
+    public List<Trade> getTrades() {
+        return trades;
+    }
+
+    /**
+     * Column-wise values of the trades, by the same row ids
+     */
+    public TradeColumns getColumns() {
+        return columns;
+    }
+
+    /**
+     * Re-file a trade that was edited in place, e.g. a new strategy or account.
+     * Rewrites bitmaps and columns without locking, so it must run on the
+     * thread that reads the index.
+     */
+    public void update(Trade trade) {
+        Integer row = trade.getTicket() == null ? null : rowByTicket.get(trade.getTicket());
+        if (row == null) {
+            return;
+        }
+        file(row, false);
+        long closeTime = closeTimes[row];
+        columns.set(row, trades.get(row));
+        file(row, true);
+        if (closeTimes[row] != closeTime) {
+            // A moved close time breaks the row order; fall back to checking each row
+            timeOrdered = false;
+        }
+    }
+
+    /**
+     * Rows passing every filter of the selection
+     */
+    public BitSet select(FilterCriteria criteria) {
+        // An unrecognized type selection matches nothing
+        if (!criteria.isAnyType() && criteria.getType() == null) {
+            return new BitSet();
+        }
+        TradeDictionary dictionary = columns.getDictionary();
+        BitSet result = null;
+        if (criteria.getStrategy() != null) {
+            result = and(result, coded(strategyBitmaps, dictionary.getStrategies().code(criteria.getStrategy())));
+        }
+        if (criteria.getAccount() != null) {
+            result = and(result, coded(accountBitmaps, dictionary.getAccounts().code(criteria.getAccount())));
+        }
+        if (criteria.getSymbol() != null) {
+            result = and(result, coded(symbolBitmaps, dictionary.getSymbols().code(criteria.getSymbol())));
+        }
+        if (criteria.getMagic() != null) {
+            result = and(result, coded(magicBitmaps, magicCode(criteria.getMagic())));
+        }
+        if (!criteria.isAnyType()) {
+            result = and(result, typeBitmaps[criteria.getType().ordinal()]);
+        }
+        return restrictToPeriod(result, criteria);
+    }
+
+    /**
+     * Rows inside the selection's period, ignoring its other filters
+     */
+    public BitSet selectPeriod(FilterCriteria criteria) {
+        return restrictToPeriod(null, criteria);
+    }
+
+    /**
+     * Narrow a selection to the period; null stands for all rows
+     */
+    private BitSet restrictToPeriod(BitSet result, FilterCriteria criteria) {
+        LocalDateTime from = criteria.getFrom();
+        LocalDateTime to = criteria.getTo();
+        if (from == null && to == null) {
+            return result == null ? (BitSet) all.clone() : result;
+        }
+
+        long lower = from == null ? Long.MIN_VALUE : from.toEpochSecond(ZoneOffset.UTC);
+        long upper = to == null ? Long.MAX_VALUE - 1 : to.toEpochSecond(ZoneOffset.UTC);
+        if (timeOrdered) {
+            // The period is the row range [lo, hi); clearing outside it keeps the other filters
+            int lo = lowerBound(lower);
+            int hi = lowerBound(upper + 1);
+            if (result == null) {
+                result = new BitSet(hi);
+                result.set(lo, hi);
+            } else {
+                result.clear(0, lo);
+                result.clear(hi, Math.max(hi, result.length()));
+            }
+            return result;
+        }
+
+        if (result == null) {
+            result = (BitSet) all.clone();
+        }
+        for (int row = result.nextSetBit(0); row >= 0; row = result.nextSetBit(row + 1)) {
+            long closeTime = closeTimes[row];
+            if (closeTime == TradeColumns.NO_TIME || closeTime < lower || closeTime > upper) {
+                result.clear(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Trades and net P&L per value of every filter dimension, each counted
+     * with the other dimensions' filters applied, in one pass over the rows.
+     * A row failing exactly one dimension still counts toward that
+     * dimension's values; a row failing none counts everywhere.
+     *
+     * @param rows  Rows passing the filters that apply to every facet (period, query)
+     */
+    public FacetCounts countFacets(FilterCriteria criteria, BitSet rows) {
+        TradeDictionary dictionary = columns.getDictionary();
+        Facet[] facets = Facet.values();
+        int[][] rowCodes = new int[facets.length][];
+        int[] selected = new int[facets.length];
+        int[] sizes = new int[facets.length];
+        rowCodes[Facet.STRATEGY.ordinal()] = columns.getStrategyCodes();
+        rowCodes[Facet.ACCOUNT.ordinal()] = columns.getAccountCodes();
+        rowCodes[Facet.SYMBOL.ordinal()] = columns.getSymbolCodes();
+        rowCodes[Facet.MAGIC.ordinal()] = magicRowCodes;
+        rowCodes[Facet.TYPE.ordinal()] = columns.getTypes();
+        selected[Facet.STRATEGY.ordinal()] = selectedCode(criteria.getStrategy(), dictionary.getStrategies());
+        selected[Facet.ACCOUNT.ordinal()] = selectedCode(criteria.getAccount(), dictionary.getAccounts());
+        selected[Facet.SYMBOL.ordinal()] = selectedCode(criteria.getSymbol(), dictionary.getSymbols());
+        selected[Facet.MAGIC.ordinal()] = criteria.getMagic() == null ? ANY : magicCode(criteria.getMagic());
+        selected[Facet.TYPE.ordinal()] = criteria.isAnyType() ? ANY
+                : criteria.getType() == null ? StringDictionary.NO_CODE : criteria.getType().ordinal();
+        sizes[Facet.STRATEGY.ordinal()] = dictionary.getStrategies().size();
+        sizes[Facet.ACCOUNT.ordinal()] = dictionary.getAccounts().size();
+        sizes[Facet.SYMBOL.ordinal()] = dictionary.getSymbols().size();
+        sizes[Facet.MAGIC.ordinal()] = magicValues.size();
+        sizes[Facet.TYPE.ordinal()] = TradeType.values().length;
+        for (int f = 0; f < facets.length; f++) {
+            // A selected value no row holds fails every row, including rows without a value
+            if (selected[f] == StringDictionary.NO_CODE) {
+                selected[f] = MISSING;
+            }
+        }
+
+        int[][] counts = new int[facets.length][];
+        double[][] nets = new double[facets.length][];
+        for (int f = 0; f < facets.length; f++) {
+            counts[f] = new int[sizes[f]];
+            nets[f] = new double[sizes[f]];
+        }
+        int[] totalCounts = new int[facets.length];
+        double[] totalNets = new double[facets.length];
+        double[] netProfits = columns.getNetProfits();
+
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            int misses = 0;
+            int missed = -1;
+            for (int f = 0; f < facets.length && misses < 2; f++) {
+                if (selected[f] != ANY && rowCodes[f][row] != selected[f]) {
+                    misses++;
+                    missed = f;
+                }
+            }
+            if (misses > 1) {
+                continue;
+            }
+            double net = netProfits[row];
+            for (int f = misses == 0 ? 0 : missed; f < facets.length; f++) {
+                int code = rowCodes[f][row];
+                if (code >= 0) {
+                    counts[f][code]++;
+                    nets[f][code] += net;
+                }
+                totalCounts[f]++;
+                totalNets[f] += net;
+                if (misses == 1) {
+                    break;
+                }
+            }
+        }
+
+        Map<Facet, Map<String, FacetCounts.Count>> values = new EnumMap<>(Facet.class);
+        Map<Facet, FacetCounts.Count> totals = new EnumMap<>(Facet.class);
+        for (Facet facet : facets) {
+            int f = facet.ordinal();
+            Map<String, FacetCounts.Count> byValue = new HashMap<>();
+            for (int code = 0; code < sizes[f]; code++) {
+                if (counts[f][code] > 0) {
+                    byValue.put(facetKey(facet, code, dictionary), new FacetCounts.Count(counts[f][code], nets[f][code]));
+                }
+            }
+            values.put(facet, byValue);
+            totals.put(facet, new FacetCounts.Count(totalCounts[f], totalNets[f]));
+        }
+        return new FacetCounts(values, totals);
+    }
+
+    private static int selectedCode(String value, StringDictionary values) {
+        return value == null ? ANY : values.code(value);
+    }
+
+    private String facetKey(Facet facet, int code, TradeDictionary dictionary) {
+        switch (facet) {
+            case STRATEGY:
+                return dictionary.getStrategies().decode(code);
+            case ACCOUNT:
+                return dictionary.getAccounts().decode(code);
+            case SYMBOL:
+                return dictionary.getSymbols().decode(code);
+            case MAGIC:
+                return String.valueOf(magicValues.get(code));
+            default:
+                return TradeType.values()[code].name();
+        }
+    }
+
+    /**
+     * Code of a magic number filter value; NO_CODE if no row holds it or it is not a number
+     */
+    private int magicCode(String magic) {
+        try {
+            Integer code = magicCodes.get(Long.parseLong(magic.trim()));
+            return code == null ? StringDictionary.NO_CODE : code;
+        } catch (NumberFormatException e) {
+            return StringDictionary.NO_CODE;
+        }
+    }
+
+    /**
+     * First closed row whose close time is at or after the given epoch second
+     */
+    private int lowerBound(long epochSecond) {
+        int lo = 0;
+        int hi = closedCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (closeTimes[mid] < epochSecond) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Narrow the running selection to one bitmap; null stands for a value no row holds
+     */
+    private static BitSet and(BitSet result, BitSet bits) {
+        if (bits == null) {
+            bits = EMPTY;
+        }
+        if (result == null) {
+            return (BitSet) bits.clone();
+        }
+        result.and(bits);
+        return result;
+    }
+
+    private static BitSet coded(List<BitSet> bitmaps, int code) {
+        return code >= 0 && code < bitmaps.size() ? bitmaps.get(code) : null;
+    }
+
+    /**
+     * Set or clear a row's bits under the values currently in its columns
+     */
+    private void file(int row, boolean value) {
+        put(strategyBitmaps, columns.getStrategyCodes()[row], row, value);
+        put(accountBitmaps, columns.getAccountCodes()[row], row, value);
+        put(symbolBitmaps, columns.getSymbolCodes()[row], row, value);
+        long magic = columns.getMagicNumbers()[row];
+        Integer magicCode = magicCodes.get(magic);
+        if (magicCode == null) {
+            magicCode = magicValues.size();
+            magicValues.add(magic);
+            magicCodes.put(magic, magicCode);
+        }
+        magicRowCodes[row] = magicCode;
+        put(magicBitmaps, magicCode, row, value);
+        int type = columns.getTypes()[row];
+        if (type >= 0) {
+            typeBitmaps[type].set(row, value);
+        }
+    }
+
+    private static void put(List<BitSet> bitmaps, int code, int row, boolean value) {
+        if (code == StringDictionary.NO_CODE) {
+            return;
+        }
+        while (bitmaps.size() <= code) {
+            bitmaps.add(new BitSet());
+        }
+        bitmaps.get(code).set(row, value);
+    }
+}
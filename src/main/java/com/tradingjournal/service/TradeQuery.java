@@ -0,0 +1,796 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.TradeType;
+import com.tradingjournal.repository.TradeDictionary;
+import com.tradingjournal.util.StringDictionary;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Trade query compiled once from text such as
+ * {@code symbol in (EURUSD, GBPUSD) and net < -100 and hour(open) between 8 and 12 and hold > 2h}.
+ * <p>
+ * Conditions combine with {@code and}, {@code or}, {@code not} and
+ * parentheses. Each condition compiles to a node bound to one column type
+ * (number, time or text) that filters a row bitset by scanning that column of
+ * {@link TradeColumns}; {@code and} narrows the rows the next condition sees.
+ * <p>
+ * Number fields: net, profit, commission, swap, size (lots), open_price,
+ * close_price, sl, tp, r, magic, hold (with a unit: 30s, 15m, 2h, 1d, 1w).
+ * Time fields: open, close, compared with dates like 2024-01-15 or
+ * 2024-01-15T08:30, and hour(), weekday(), month(), year() of either.
+ * Text fields: symbol, strategy, account, comment, ticket, type (buy, sell),
+ * compared case-insensitively with =, !=, in (...) or contains.
+ */
+public final class TradeQuery {
+
+    private final String text;
+    private final Node root;
+
+    private TradeQuery(String text, Node root) {
+        this.text = text;
+        this.root = root;
+    }
+
+    /**
+     * Parse and compile a query
+     *
+     * @throws IllegalArgumentException with the position of the first error
+     */
+    public static TradeQuery compile(String text) {
+        Parser parser = new Parser(text);
+        Node root = parser.parseQuery();
+        return new TradeQuery(text.trim(), root);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * The subset of the given rows that matches the query
+     */
+    public BitSet filter(TradeColumns columns, BitSet rows) {
+        return root.filter(columns, rows);
+    }
+
+    // ---------------------------------------------------------------------
+    // Compiled nodes
+
+    private interface Node {
+        /**
+         * Matching rows among {@code rows}; never modifies {@code rows}
+         */
+        BitSet filter(TradeColumns columns, BitSet rows);
+    }
+
+    private static final class And implements Node {
+        final Node left;
+        final Node right;
+
+        And(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public BitSet filter(TradeColumns columns, BitSet rows) {
+            return right.filter(columns, left.filter(columns, rows));
+        }
+    }
+
+    private static final class Or implements Node {
+        final Node left;
+        final Node right;
+
+        Or(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public BitSet filter(TradeColumns columns, BitSet rows) {
+            BitSet matched = left.filter(columns, rows);
+            BitSet rest = (BitSet) rows.clone();
+            rest.andNot(matched);
+            matched.or(right.filter(columns, rest));
+            return matched;
+        }
+    }
+
+    private static final class Not implements Node {
+        final Node child;
+
+        Not(Node child) {
+            this.child = child;
+        }
+
+        @Override
+        public BitSet filter(TradeColumns columns, BitSet rows) {
+            BitSet result = (BitSet) rows.clone();
+            result.andNot(child.filter(columns, rows));
+            return result;
+        }
+    }
+
+    /**
+     * Condition on a double column; NaN values never match
+     */
+    private static final class NumberCondition implements Node {
+        final Function<TradeColumns, double[]> column;
+        final DoublePredicate test;
+
+        NumberCondition(Function<TradeColumns, double[]> column, DoublePredicate test) {
+            this.column = column;
+            this.test = test;
+        }
+
+        @Override
+        public BitSet filter(TradeColumns columns, BitSet rows) {
+            double[] values = column.apply(columns);
+            BitSet result = new BitSet();
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (test.test(values[row])) {
+                    result.set(row);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Condition on a long column (times, magic number), optionally through a
+     * part extractor such as hour of day; missing times never match
+     */
+    private static final class LongCondition implements Node {
+        final Function<TradeColumns, long[]> column;
+        final LongUnaryOperator part;
+        final DoublePredicate test;
+
+        LongCondition(Function<TradeColumns, long[]> column, LongUnaryOperator part, DoublePredicate test) {
+            this.column = column;
+            this.part = part;
+            this.test = test;
+        }
+
+        @Override
+        public BitSet filter(TradeColumns columns, BitSet rows) {
+            long[] values = column.apply(columns);
+            BitSet result = new BitSet();
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                long value = values[row];
+                if (value != TradeColumns.NO_TIME && test.test(part == null ? value : part.applyAsLong(value))) {
+                    result.set(row);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Case-insensitive condition on a string or dictionary-coded column; null values never match
+     */
+    private static final class TextCondition implements Node {
+        final Field field;
+        final TreeSet<String> values;
+        final boolean contains;
+
+        TextCondition(Field field, List<String> values, boolean contains) {
+            this.field = field;
+            this.values = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            this.values.addAll(values);
+            this.contains = contains;
+        }
+
+        @Override
+        public BitSet filter(TradeColumns columns, BitSet rows) {
+            BitSet result = new BitSet();
+            if (field.codes == null) {
+                String[] strings = field.texts.apply(columns);
+                for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                    if (accepts(strings[row])) {
+                        result.set(row);
+                    }
+                }
+                return result;
+            }
+
+            // Match each distinct value once, then compare codes per row
+            StringDictionary dictionary = field.dictionary.apply(columns.getDictionary());
+            boolean[] accepted = new boolean[dictionary.size()];
+            for (int code = 0; code < accepted.length; code++) {
+                accepted[code] = accepts(dictionary.decode(code));
+            }
+            int[] codes = field.codes.apply(columns);
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                int code = codes[row];
+                if (code != StringDictionary.NO_CODE && accepted[code]) {
+                    result.set(row);
+                }
+            }
+            return result;
+        }
+
+        private boolean accepts(String value) {
+            return value != null && (contains ? containsIgnoreCase(value, values.first()) : values.contains(value));
+        }
+
+        private static boolean containsIgnoreCase(String value, String needle) {
+            for (int i = 0; i + needle.length() <= value.length(); i++) {
+                if (value.regionMatches(true, i, needle, 0, needle.length())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Direction condition on the type ordinal column
+     */
+    private static final class TypeCondition implements Node {
+        final boolean[] accepted = new boolean[TradeType.values().length];
+
+        @Override
+        public BitSet filter(TradeColumns columns, BitSet rows) {
+            int[] types = columns.getTypes();
+            BitSet result = new BitSet();
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (types[row] >= 0 && accepted[types[row]]) {
+                    result.set(row);
+                }
+            }
+            return result;
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Fields
+
+    private enum Kind {
+        NUMBER, INTEGER, DURATION, TIME, TEXT, TYPE
+    }
+
+    private static final class Field {
+        final String name;
+        final Kind kind;
+        final Function<TradeColumns, double[]> numbers;
+        final Function<TradeColumns, long[]> longs;
+        final Function<TradeColumns, String[]> texts;
+        final Function<TradeColumns, int[]> codes;
+        final Function<TradeDictionary, StringDictionary> dictionary;
+
+        Field(String name, Kind kind, Function<TradeColumns, double[]> numbers,
+                Function<TradeColumns, long[]> longs, Function<TradeColumns, String[]> texts) {
+            this(name, kind, numbers, longs, texts, null, null);
+        }
+
+        Field(String name, Kind kind, Function<TradeColumns, double[]> numbers,
+                Function<TradeColumns, long[]> longs, Function<TradeColumns, String[]> texts,
+                Function<TradeColumns, int[]> codes, Function<TradeDictionary, StringDictionary> dictionary) {
+            this.name = name;
+            this.kind = kind;
+            this.numbers = numbers;
+            this.longs = longs;
+            this.texts = texts;
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+    }
+
+    private static final Map<String, Field> FIELDS = new HashMap<>();
+
+    private static void number(Function<TradeColumns, double[]> column, String... names) {
+        for (String name : names) {
+            FIELDS.put(name, new Field(names[0], Kind.NUMBER, column, null, null));
+        }
+    }
+
+    private static void text(Function<TradeColumns, String[]> column, String... names) {
+        for (String name : names) {
+            FIELDS.put(name, new Field(names[0], Kind.TEXT, null, null, column));
+        }
+    }
+
+    private static void coded(Function<TradeColumns, int[]> codes,
+            Function<TradeDictionary, StringDictionary> dictionary, String name) {
+        FIELDS.put(name, new Field(name, Kind.TEXT, null, null, null, codes, dictionary));
+    }
+
+    private static void time(Function<TradeColumns, long[]> column, String... names) {
+        for (String name : names) {
+            FIELDS.put(name, new Field(names[0], Kind.TIME, null, column, null));
+        }
+    }
+
+    static {
+        number(TradeColumns::getNetProfits, "net", "pnl");
+        number(TradeColumns::getProfits, "profit", "gross");
+        number(TradeColumns::getCommissions, "commission");
+        number(TradeColumns::getSwaps, "swap");
+        number(TradeColumns::getSizes, "size", "lots");
+        number(TradeColumns::getOpenPrices, "open_price", "entry");
+        number(TradeColumns::getClosePrices, "close_price", "exit");
+        number(TradeColumns::getStopLosses, "sl", "stop");
+        number(TradeColumns::getTakeProfits, "tp", "target");
+        number(TradeColumns::getRMultiples, "r");
+        FIELDS.put("hold", new Field("hold", Kind.DURATION, TradeColumns::getHoldSeconds, null, null));
+        time(TradeColumns::getOpenTimes, "open");
+        time(TradeColumns::getCloseTimes, "close");
+        coded(TradeColumns::getSymbolCodes, TradeDictionary::getSymbols, "symbol");
+        coded(TradeColumns::getStrategyCodes, TradeDictionary::getStrategies, "strategy");
+        coded(TradeColumns::getAccountCodes, TradeDictionary::getAccounts, "account");
+        text(TradeColumns::getComments, "comment");
+        text(TradeColumns::getTickets, "ticket");
+        FIELDS.put("type", new Field("type", Kind.TYPE, null, null, null));
+        FIELDS.put("magic", new Field("magic", Kind.INTEGER, null, TradeColumns::getMagicNumbers, null));
+    }
+
+    private static final long DAY = 86400L;
+
+    /**
+     * Part extractors for hour(open), weekday(close) and so on; weekday is 1 (Monday) to 7
+     */
+    private static LongUnaryOperator part(String function) {
+        switch (function) {
+            case "hour":
+                return t -> Math.floorMod(t, DAY) / 3600;
+            case "weekday":
+            case "dow":
+                // 1970-01-01 was a Thursday
+                return t -> Math.floorMod(Math.floorDiv(t, DAY) + 3, 7) + 1;
+            case "month":
+                return t -> LocalDate.ofEpochDay(Math.floorDiv(t, DAY)).getMonthValue();
+            case "year":
+                return t -> LocalDate.ofEpochDay(Math.floorDiv(t, DAY)).getYear();
+            default:
+                return null;
+        }
+    }
+
+    private static final String[] WEEKDAYS = { "mon", "tue", "wed", "thu", "fri", "sat", "sun" };
+    private static final String[] MONTHS = { "jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct",
+            "nov", "dec" };
+
+    // ---------------------------------------------------------------------
+    // Lexer
+
+    private enum TokenType {
+        WORD, NUMBER, DURATION, DATE, STRING, OPERATOR, LEFT, RIGHT, COMMA, END
+    }
+
+    private static final class Token {
+        final TokenType type;
+        final String text;
+        final int position;
+        /** Number value, duration in seconds, or date-time start as epoch seconds */
+        final double value;
+        /** Last second covered by a date literal (end of day for date-only) */
+        final double dateEnd;
+
+        Token(TokenType type, String text, int position, double value, double dateEnd) {
+            this.type = type;
+            this.text = text;
+            this.position = position;
+            this.value = value;
+            this.dateEnd = dateEnd;
+        }
+
+        boolean isWord(String word) {
+            return type == TokenType.WORD && text.equalsIgnoreCase(word);
+        }
+    }
+
+    private static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int n = text.length();
+        while (i < n) {
+            char c = text.charAt(i);
+            int start = i;
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(') {
+                tokens.add(new Token(TokenType.LEFT, "(", start, 0, 0));
+                i++;
+            } else if (c == ')') {
+                tokens.add(new Token(TokenType.RIGHT, ")", start, 0, 0));
+                i++;
+            } else if (c == ',') {
+                tokens.add(new Token(TokenType.COMMA, ",", start, 0, 0));
+                i++;
+            } else if (c == '<' || c == '>' || c == '=' || c == '!') {
+                i++;
+                if (i < n && (text.charAt(i) == '=' || (c == '<' && text.charAt(i) == '>'))) {
+                    i++;
+                }
+                String op = text.substring(start, i);
+                if (op.equals("!")) {
+                    throw error("Expected !=", start);
+                }
+                tokens.add(new Token(TokenType.OPERATOR, op, start, 0, 0));
+            } else if (c == '\'' || c == '"') {
+                int end = text.indexOf(c, i + 1);
+                if (end < 0) {
+                    throw error("Unterminated string", start);
+                }
+                tokens.add(new Token(TokenType.STRING, text.substring(i + 1, end), start, 0, 0));
+                i = end + 1;
+            } else if (Character.isDigit(c) || ((c == '-' || c == '.') && i + 1 < n
+                    && (Character.isDigit(text.charAt(i + 1)) || text.charAt(i + 1) == '.'))) {
+                i++;
+                while (i < n && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '.'
+                        || text.charAt(i) == '-' || text.charAt(i) == ':')) {
+                    i++;
+                }
+                tokens.add(literal(text.substring(start, i), start));
+            } else if (Character.isLetter(c) || c == '_' || c == '#') {
+                i++;
+                while (i < n && (Character.isLetterOrDigit(text.charAt(i)) || "_.#/-".indexOf(text.charAt(i)) >= 0)) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.WORD, text.substring(start, i), start, 0, 0));
+            } else {
+                throw error("Unexpected '" + c + "'", start);
+            }
+        }
+        tokens.add(new Token(TokenType.END, "end of query", n, 0, 0));
+        return tokens;
+    }
+
+    /**
+     * Number, duration such as 2h, or date such as 2024-01-15 / 2024-01-15T08:30
+     */
+    private static Token literal(String text, int position) {
+        if (text.length() >= 10 && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            try {
+                if (text.length() == 10) {
+                    long start = LocalDate.parse(text).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+                    return new Token(TokenType.DATE, text, position, start, start + DAY - 1);
+                }
+                long start = LocalDateTime.parse(text.replace(' ', 'T')).toEpochSecond(ZoneOffset.UTC);
+                return new Token(TokenType.DATE, text, position, start, start);
+            } catch (RuntimeException e) {
+                throw error("Invalid date '" + text + "'", position);
+            }
+        }
+
+        int unitStart = text.length();
+        while (unitStart > 0 && Character.isLetter(text.charAt(unitStart - 1))) {
+            unitStart--;
+        }
+        double number;
+        try {
+            number = Double.parseDouble(text.substring(0, unitStart));
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + text + "'", position);
+        }
+        if (unitStart == text.length()) {
+            return new Token(TokenType.NUMBER, text, position, number, 0);
+        }
+
+        String unit = text.substring(unitStart).toLowerCase(Locale.ROOT);
+        double seconds;
+        switch (unit) {
+            case "s":
+                seconds = 1;
+                break;
+            case "m":
+            case "min":
+                seconds = 60;
+                break;
+            case "h":
+                seconds = 3600;
+                break;
+            case "d":
+                seconds = DAY;
+                break;
+            case "w":
+                seconds = 7 * DAY;
+                break;
+            default:
+                throw error("Unknown unit '" + unit + "' (use s, m, h, d or w)", position);
+        }
+        return new Token(TokenType.DURATION, text, position, number * seconds, 0);
+    }
+
+    private static IllegalArgumentException error(String message, int position) {
+        return new IllegalArgumentException(message + " at position " + (position + 1));
+    }
+
+    // ---------------------------------------------------------------------
+    // Parser
+
+    private static final class Parser {
+        private final List<Token> tokens;
+        private int index;
+
+        Parser(String text) {
+            this.tokens = tokenize(text);
+        }
+
+        Node parseQuery() {
+            if (peek().type == TokenType.END) {
+                throw error("Empty query", 0);
+            }
+            Node node = parseOr();
+            if (peek().type != TokenType.END) {
+                throw error("Unexpected '" + peek().text + "'", peek().position);
+            }
+            return node;
+        }
+
+        private Node parseOr() {
+            Node node = parseAnd();
+            while (peek().isWord("or")) {
+                index++;
+                node = new Or(node, parseAnd());
+            }
+            return node;
+        }
+
+        private Node parseAnd() {
+            Node node = parseUnary();
+            while (peek().isWord("and")) {
+                index++;
+                node = new And(node, parseUnary());
+            }
+            return node;
+        }
+
+        private Node parseUnary() {
+            if (peek().isWord("not")) {
+                index++;
+                return new Not(parseUnary());
+            }
+            if (peek().type == TokenType.LEFT) {
+                index++;
+                Node node = parseOr();
+                expect(TokenType.RIGHT, ")");
+                return node;
+            }
+            return parseCondition();
+        }
+
+        /**
+         * field op value | field [not] in (values) | field [not] between a and b | field [not] contains text
+         */
+        private Node parseCondition() {
+            Token fieldToken = next();
+            if (fieldToken.type != TokenType.WORD) {
+                throw error("Expected a field name but found '" + fieldToken.text + "'", fieldToken.position);
+            }
+            String name = fieldToken.text.toLowerCase(Locale.ROOT);
+            LongUnaryOperator part = null;
+            if (peek().type == TokenType.LEFT) {
+                part = part(name);
+                if (part == null) {
+                    throw error("Unknown function '" + fieldToken.text + "'", fieldToken.position);
+                }
+                index++;
+                Token argument = next();
+                name = argument.text.toLowerCase(Locale.ROOT);
+                if (!"open".equals(name) && !"close".equals(name)) {
+                    throw error(fieldToken.text + "() takes open or close", argument.position);
+                }
+                expect(TokenType.RIGHT, ")");
+            }
+            Field field = FIELDS.get(name);
+            if (field == null) {
+                throw error("Unknown field '" + fieldToken.text + "'", fieldToken.position);
+            }
+            String partName = part == null ? null : fieldToken.text.toLowerCase(Locale.ROOT);
+
+            boolean negate = false;
+            if (peek().isWord("not")) {
+                index++;
+                negate = true;
+                if (!peek().isWord("in") && !peek().isWord("between") && !peek().isWord("contains")) {
+                    throw error("Expected in, between or contains after not", peek().position);
+                }
+            }
+
+            Token operator = next();
+            Node node;
+            if (operator.isWord("in")) {
+                expect(TokenType.LEFT, "(");
+                List<Token> values = new ArrayList<>();
+                values.add(next());
+                while (peek().type == TokenType.COMMA) {
+                    index++;
+                    values.add(next());
+                }
+                expect(TokenType.RIGHT, ")");
+                node = in(field, partName, part, values);
+            } else if (operator.isWord("between")) {
+                Token low = next();
+                if (!peek().isWord("and")) {
+                    throw error("Expected and in between", peek().position);
+                }
+                index++;
+                Token high = next();
+                node = between(field, partName, part, low, high);
+            } else if (operator.isWord("contains")) {
+                if (field.kind != Kind.TEXT) {
+                    throw error("contains only applies to text fields", operator.position);
+                }
+                node = new TextCondition(field, Arrays.asList(text(next())), true);
+            } else if (operator.type == TokenType.OPERATOR) {
+                node = compare(field, partName, part, operator, next());
+            } else {
+                throw error("Expected a comparison after " + fieldToken.text, operator.position);
+            }
+            return negate ? new Not(node) : node;
+        }
+
+        private Node compare(Field field, String partName, LongUnaryOperator part, Token operator, Token value) {
+            String op = operator.text;
+            if (field.kind == Kind.TEXT || field.kind == Kind.TYPE) {
+                if (!op.equals("=") && !op.equals("==") && !op.equals("!=") && !op.equals("<>")) {
+                    throw error(field.name + " only supports =, !=, in and contains", operator.position);
+                }
+                Node node = in(field, partName, part, Arrays.asList(value));
+                return op.equals("=") || op.equals("==") ? node : new Not(node);
+            }
+
+            double low;
+            double high;
+            if (value.type == TokenType.DATE && part == null && field.kind == Kind.TIME) {
+                // A date covers its whole day, so "close = 2024-01-15" means any time that day
+                low = value.value;
+                high = value.dateEnd;
+            } else {
+                low = number(field, partName, value);
+                high = low;
+            }
+            DoublePredicate test;
+            switch (op) {
+                case "=":
+                case "==":
+                    test = v -> v >= low && v <= high;
+                    break;
+                case "!=":
+                case "<>":
+                    test = v -> v < low || v > high;
+                    break;
+                case "<":
+                    test = v -> v < low;
+                    break;
+                case "<=":
+                    test = v -> v <= high;
+                    break;
+                case ">":
+                    test = v -> v > high;
+                    break;
+                case ">=":
+                    test = v -> v >= low;
+                    break;
+                default:
+                    throw error("Unknown operator '" + op + "'", operator.position);
+            }
+            return condition(field, part, test);
+        }
+
+        private Node between(Field field, String partName, LongUnaryOperator part, Token lowToken,
+                Token highToken) {
+            if (field.kind == Kind.TEXT || field.kind == Kind.TYPE) {
+                throw error("between only applies to numbers and times", lowToken.position);
+            }
+            double low = number(field, partName, lowToken);
+            double high = highToken.type == TokenType.DATE && part == null ? highToken.dateEnd
+                    : number(field, partName, highToken);
+            return condition(field, part, v -> v >= low && v <= high);
+        }
+
+        private Node in(Field field, String partName, LongUnaryOperator part, List<Token> values) {
+            if (field.kind == Kind.TEXT) {
+                List<String> strings = new ArrayList<>();
+                for (Token value : values) {
+                    strings.add(text(value));
+                }
+                return new TextCondition(field, strings, false);
+            }
+            if (field.kind == Kind.TYPE) {
+                TypeCondition condition = new TypeCondition();
+                for (Token value : values) {
+                    String text = text(value).toLowerCase(Locale.ROOT);
+                    if (text.equals("buy") || text.equals("long")) {
+                        condition.accepted[TradeType.BUY.ordinal()] = true;
+                    } else if (text.equals("sell") || text.equals("short")) {
+                        condition.accepted[TradeType.SELL.ordinal()] = true;
+                    } else {
+                        throw error("type is buy or sell, not '" + value.text + "'", value.position);
+                    }
+                }
+                return condition;
+            }
+            double[] accepted = new double[values.size()];
+            for (int i = 0; i < accepted.length; i++) {
+                accepted[i] = number(field, partName, values.get(i));
+            }
+            Arrays.sort(accepted);
+            return condition(field, part, v -> Arrays.binarySearch(accepted, v) >= 0);
+        }
+
+        private Node condition(Field field, LongUnaryOperator part, DoublePredicate test) {
+            if (field.kind == Kind.TIME || field.kind == Kind.INTEGER) {
+                return new LongCondition(field.longs, part, test);
+            }
+            return new NumberCondition(field.numbers, test);
+        }
+
+        /**
+         * Numeric value of a literal for the field: seconds for hold, epoch
+         * seconds for times, and names for weekdays and months
+         */
+        private double number(Field field, String partName, Token value) {
+            if (partName != null && value.type == TokenType.WORD) {
+                String word = value.text.toLowerCase(Locale.ROOT);
+                String[] names = "month".equals(partName) ? MONTHS : WEEKDAYS;
+                if (word.length() >= 3 && !"hour".equals(partName) && !"year".equals(partName)) {
+                    for (int i = 0; i < names.length; i++) {
+                        if (word.startsWith(names[i])) {
+                            return i + 1;
+                        }
+                    }
+                }
+            }
+            if (field.kind == Kind.DURATION) {
+                if (value.type != TokenType.DURATION) {
+                    throw error("hold needs a unit, e.g. 30m or 2h", value.position);
+                }
+                return value.value;
+            }
+            if (field.kind == Kind.TIME && partName == null) {
+                if (value.type != TokenType.DATE) {
+                    throw error(field.name + " is compared with a date like 2024-01-15", value.position);
+                }
+                return value.value;
+            }
+            if (value.type != TokenType.NUMBER) {
+                throw error("Expected a number but found '" + value.text + "'", value.position);
+            }
+            return value.value;
+        }
+
+        private String text(Token value) {
+            if (value.type == TokenType.LEFT || value.type == TokenType.RIGHT || value.type == TokenType.COMMA
+                    || value.type == TokenType.OPERATOR || value.type == TokenType.END) {
+                throw error("Expected a value but found '" + value.text + "'", value.position);
+            }
+            return value.text;
+        }
+
+        private Token peek() {
+            return tokens.get(index);
+        }
+
+        private Token next() {
+            Token token = tokens.get(index);
+            if (token.type != TokenType.END) {
+                index++;
+            }
+            return token;
+        }
+
+        private void expect(TokenType type, String text) {
+            Token token = next();
+            if (token.type != type) {
+                throw error("Expected '" + text + "' but found '" + token.text + "'", token.position);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.repository.TradeDictionary;
+import com.tradingjournal.util.StringDictionary;
+import com.tradingjournal.util.TokenIndex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Free-text search over trade comments, strategies and symbols, such as
+ * {@code brea "stop hunt"}. Words match by prefix ("brea" finds "breakout");
+ * quoted words match as a phrase, the last word by prefix while the quote is
+ * still open. Every term has to match one of the three fields.
+ * <p>
+ * Terms resolve through the word indexes of the journal's
+ * {@link TradeDictionary} to sets of strategy and symbol codes, and through
+ * the comment word index of {@link TradeColumns} to rows, so narrowing the
+ * rows is a bit or int check per row and no comment text is scanned.
+ */
+public class TradeSearch {
+
+    private final String text;
+    private final List<Term> terms;
+
+    private TradeSearch(String text, List<Term> terms) {
+        this.text = text;
+        this.terms = terms;
+    }
+
+    /**
+     * Split search box text into terms; text without words matches everything
+     */
+    public static TradeSearch compile(String text) {
+        List<Term> terms = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"') {
+                int end = text.indexOf('"', i + 1);
+                boolean closed = end >= 0;
+                addTerm(terms, text.substring(i + 1, closed ? end : text.length()), !closed);
+                i = closed ? end + 1 : text.length();
+            } else {
+                int end = i;
+                while (end < text.length() && !Character.isWhitespace(text.charAt(end)) && text.charAt(end) != '"') {
+                    end++;
+                }
+                addTerm(terms, text.substring(i, end), true);
+                i = end;
+            }
+        }
+        return new TradeSearch(text, terms);
+    }
+
+    private static void addTerm(List<Term> terms, String text, boolean prefixLast) {
+        List<String> tokens = TokenIndex.tokenize(text);
+        if (!tokens.isEmpty()) {
+            terms.add(new Term(tokens, prefixLast));
+        }
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * True when the text held no words, so every row passes
+     */
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+
+    /**
+     * Rows among the given ones matching every term
+     */
+    public BitSet filter(TradeColumns columns, BitSet rows) {
+        BitSet result = (BitSet) rows.clone();
+        TradeDictionary dictionary = columns.getDictionary();
+        String[] comments = columns.getComments();
+        int[] strategyCodes = columns.getStrategyCodes();
+        int[] symbolCodes = columns.getSymbolCodes();
+        StringDictionary strategyValues = dictionary.getStrategies();
+        StringDictionary symbolValues = dictionary.getSymbols();
+        for (Term term : terms) {
+            BitSet commented = term.matches(columns.getCommentWords(), row -> comments[row], result);
+            BitSet strategies = term.matches(strategyValues.getTokens(), strategyValues::decode, null);
+            BitSet symbols = term.matches(symbolValues.getTokens(), symbolValues::decode, null);
+            for (int row = result.nextSetBit(0); row >= 0; row = result.nextSetBit(row + 1)) {
+                if (!commented.get(row) && !has(strategies, strategyCodes[row]) && !has(symbols, symbolCodes[row])) {
+                    result.clear(row);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean has(BitSet codes, int code) {
+        return code != StringDictionary.NO_CODE && codes.get(code);
+    }
+
+    /**
+     * One word or phrase, as lower-cased tokens
+     */
+    private static final class Term {
+        final List<String> tokens;
+        final boolean prefixLast;
+
+        Term(List<String> tokens, boolean prefixLast) {
+            this.tokens = Collections.unmodifiableList(tokens);
+            this.prefixLast = prefixLast;
+        }
+
+        /**
+         * Codes (dictionary codes or rows) of the indexed texts containing this term
+         *
+         * @param text    Current text of a code, to check the word order of phrases
+         * @param within  Codes that can still match, or null for all
+         */
+        BitSet matches(TokenIndex index, IntFunction<String> text, BitSet within) {
+            int last = tokens.size() - 1;
+            BitSet codes = prefixLast ? index.prefix(tokens.get(last)) : index.exact(tokens.get(last));
+            if (within != null) {
+                codes.and(within);
+            }
+            for (int i = 0; i < last && !codes.isEmpty(); i++) {
+                codes.and(index.exact(tokens.get(i)));
+            }
+            if (last > 0) {
+                // Every word is present; keep the texts where they are adjacent and in order
+                for (int code = codes.nextSetBit(0); code >= 0; code = codes.nextSetBit(code + 1)) {
+                    if (!TokenIndex.containsPhrase(TokenIndex.tokenize(text.apply(code)), tokens, prefixLast)) {
+                        codes.clear(code);
+                    }
+                }
+            }
+            return codes;
+        }
+    }
+}
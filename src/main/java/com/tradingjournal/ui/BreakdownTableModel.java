@@ -0,0 +1,97 @@
+package com.tradingjournal.ui;
+
+import com.tradingjournal.model.StatisticsBreakdown;
+import com.tradingjournal.model.TradeStatistics;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Table model for a statistics breakdown, one row per symbol, strategy or
+ * magic number
+ */
+public class BreakdownTableModel extends AbstractTableModel {
+
+    private final String[] columnNames = {
+            "Name", "Trades", "Win Rate %", "Net Profit", "Profit Factor", "Avg Win", "Avg Loss",
+            "Largest Win", "Largest Loss"
+    };
+
+    private final Class<?>[] columnClasses = {
+            String.class, Integer.class, Double.class, Double.class, Double.class, Double.class, Double.class,
+            Double.class, Double.class
+    };
+
+    private String nameColumn = "Name";
+    private List<StatisticsBreakdown.Row> rows = new ArrayList<>();
+
+    public void setBreakdown(StatisticsBreakdown breakdown) {
+        this.rows = breakdown != null ? new ArrayList<>(breakdown.getRows()) : new ArrayList<>();
+        String name = breakdown != null ? breakdown.getDimension().toString() : "Name";
+        if (!name.equals(nameColumn)) {
+            nameColumn = name;
+            fireTableStructureChanged();
+        } else {
+            fireTableDataChanged();
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return column == 0 ? nameColumn : columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columnClasses[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        if (rowIndex < 0 || rowIndex >= rows.size()) {
+            return null;
+        }
+
+        StatisticsBreakdown.Row row = rows.get(rowIndex);
+        TradeStatistics stats = row.getStatistics();
+
+        switch (columnIndex) {
+            case 0:
+                return row.getName();
+            case 1:
+                return stats.getTotalTrades();
+            case 2:
+                return round(stats.getWinRate() * 100);
+            case 3:
+                return round(stats.getNetProfit());
+            case 4:
+                double profitFactor = stats.getProfitFactor();
+                return Double.isInfinite(profitFactor) ? profitFactor : round(profitFactor);
+            case 5:
+                return round(stats.getAverageWin());
+            case 6:
+                return round(stats.getAverageLoss());
+            case 7:
+                return round(stats.getLargestWin());
+            case 8:
+                return round(stats.getLargestLoss());
+            default:
+                return null;
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.tradingjournal.ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Chart panel that renders into a cached offscreen image. The chart is
+ * redrawn only after {@link #chartChanged()} or a change of size; every
+ * other repaint (scrolling, window exposure, tooltips closing over the
+ * chart) copies the image. The images of all charts share a soft memory
+ * limit: past it, the charts painted least recently drop their image and
+ * render again the next time they are painted.
+ */
+public abstract class CachedChartPanel extends JPanel {
+
+    /** Total image memory kept for all charts; the chart being painted always keeps its image */
+    static final long SOFT_LIMIT_BYTES = 64L * 1024 * 1024;
+
+    /** Images by chart, least recently painted first; EDT only */
+    private static final LinkedHashMap<CachedChartPanel, BufferedImage> LAYERS =
+            new LinkedHashMap<>(32, 0.75f, true);
+    private static long layerBytes;
+
+    private boolean layerValid;
+
+    /**
+     * Draw the whole chart; called only when the cached image is out of date
+     */
+    protected abstract void paintChart(Graphics g);
+
+    /**
+     * Mark the cached image out of date after the chart's data or settings changed, and repaint
+     */
+    protected void chartChanged() {
+        layerValid = false;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        // Render at device resolution so scaled displays stay sharp
+        Graphics2D screen = (Graphics2D) g;
+        AffineTransform transform = screen.getTransform();
+        int imageWidth = (int) Math.ceil(width * transform.getScaleX());
+        int imageHeight = (int) Math.ceil(height * transform.getScaleY());
+
+        BufferedImage layer = LAYERS.get(this);
+        if (layer == null || !layerValid || layer.getWidth() != imageWidth || layer.getHeight() != imageHeight) {
+            if (layer == null || layer.getWidth() != imageWidth || layer.getHeight() != imageHeight) {
+                layer = new BufferedImage(imageWidth, imageHeight,
+                        isOpaque() ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+            }
+            Graphics2D g2 = layer.createGraphics();
+            try {
+                g2.setRenderingHints(screen.getRenderingHints());
+                if (!isOpaque()) {
+                    g2.setComposite(AlphaComposite.Clear);
+                    g2.fillRect(0, 0, imageWidth, imageHeight);
+                    g2.setComposite(AlphaComposite.SrcOver);
+                }
+                g2.scale((double) imageWidth / width, (double) imageHeight / height);
+                g2.setClip(0, 0, width, height);
+                g2.setFont(getFont());
+                g2.setColor(getForeground());
+                super.paintComponent(g2);
+                paintChart(g2);
+            } finally {
+                g2.dispose();
+            }
+            layerValid = true;
+            keep(this, layer);
+        }
+        g.drawImage(layer, 0, 0, width, height, null);
+    }
+
+    /**
+     * Cache a chart's image, dropping the least recently painted others while over the limit
+     */
+    private static void keep(CachedChartPanel chart, BufferedImage layer) {
+        BufferedImage previous = LAYERS.put(chart, layer);
+        layerBytes += bytes(layer) - bytes(previous);
+        Iterator<Map.Entry<CachedChartPanel, BufferedImage>> eldest = LAYERS.entrySet().iterator();
+        while (layerBytes > SOFT_LIMIT_BYTES && eldest.hasNext()) {
+            Map.Entry<CachedChartPanel, BufferedImage> entry = eldest.next();
+            if (entry.getKey() != chart) {
+                layerBytes -= bytes(entry.getValue());
+                entry.getKey().layerValid = false;
+                eldest.remove();
+            }
+        }
+    }
+
+    private static long bytes(BufferedImage image) {
+        return image == null ? 0 : 4L * image.getWidth() * image.getHeight();
+    }
+}
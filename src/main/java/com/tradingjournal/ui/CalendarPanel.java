@@ -1,6 +1,6 @@
 package com.tradingjournal.ui;
 
-import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.DailyPnL;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -9,7 +9,6 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.List;
 
 /**
  * Calendar panel showing monthly view with daily P&L and weekly summary
@@ -24,9 +23,7 @@ public class CalendarPanel extends JPanel {
     private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MMMM yyyy");
 
     private YearMonth currentMonth;
-    private List<Trade> trades;
-    private Map<LocalDate, Double> dailyPnL;
-    private Map<LocalDate, Integer> dailyTradeCounts;
+    private DailyPnL dailyPnL;
 
     private JLabel monthLabel;
     private JPanel calendarGridPanel;
@@ -34,9 +31,7 @@ public class CalendarPanel extends JPanel {
 
     public CalendarPanel() {
         this.currentMonth = YearMonth.now();
-        this.trades = new ArrayList<>();
-        this.dailyPnL = new HashMap<>();
-        this.dailyTradeCounts = new HashMap<>();
+        this.dailyPnL = new DailyPnL(new HashMap<>(), new HashMap<>());
 
         initializeUI();
         updateCalendar();
@@ -106,32 +101,13 @@ public class CalendarPanel extends JPanel {
     }
 
     /**
-     * Set trades data and refresh calendar
+     * Show daily results computed off the EDT and refresh the calendar
      */
-    public void setTrades(List<Trade> trades) {
-        this.trades = trades != null ? trades : new ArrayList<>();
-        calculateDailyData();
+    public void setDailyPnL(DailyPnL dailyPnL) {
+        this.dailyPnL = dailyPnL != null ? dailyPnL : new DailyPnL(new HashMap<>(), new HashMap<>());
         updateCalendar();
     }
 
-    /**
-     * Calculate daily P&L and trade counts from trades
-     */
-    private void calculateDailyData() {
-        dailyPnL.clear();
-        dailyTradeCounts.clear();
-
-        for (Trade trade : trades) {
-            if (trade.getCloseTime() != null) {
-                LocalDate closeDate = trade.getCloseTime().toLocalDate();
-                double pnl = trade.getNetProfit();
-
-                dailyPnL.merge(closeDate, pnl, Double::sum);
-                dailyTradeCounts.merge(closeDate, 1, Integer::sum);
-            }
-        }
-    }
-
     /**
      * Update the calendar display for current month
      */
@@ -199,8 +175,8 @@ public class CalendarPanel extends JPanel {
         cell.setBorder(BorderFactory.createLineBorder(BORDER_COLOR));
         cell.setPreferredSize(new Dimension(80, 70));
 
-        Double pnl = dailyPnL.get(date);
-        Integer tradeCount = dailyTradeCounts.get(date);
+        Double pnl = dailyPnL.getPnL(date);
+        int tradeCount = dailyPnL.getTradeCount(date);
 
         // Set background color based on P&L
         if (pnl != null) {
@@ -314,7 +290,7 @@ public class CalendarPanel extends JPanel {
             LocalDate date = currentMonth.atDay(day);
             int dayOfWeek = date.getDayOfWeek().getValue() % 7;
 
-            Double pnl = dailyPnL.get(date);
+            Double pnl = dailyPnL.getPnL(date);
             if (pnl != null) {
                 weekTotal += pnl;
             }
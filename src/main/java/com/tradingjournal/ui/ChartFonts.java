@@ -0,0 +1,23 @@
+package com.tradingjournal.ui;
+
+import java.awt.Font;
+
+/**
+ * Fonts shared by the chart panels, created once instead of on every paint
+ */
+public final class ChartFonts {
+
+    public static final Font PLAIN_9 = new Font("Arial", Font.PLAIN, 9);
+    public static final Font PLAIN_10 = new Font("Arial", Font.PLAIN, 10);
+    public static final Font PLAIN_11 = new Font("Arial", Font.PLAIN, 11);
+    public static final Font PLAIN_12 = new Font("Arial", Font.PLAIN, 12);
+    public static final Font PLAIN_14 = new Font("Arial", Font.PLAIN, 14);
+    public static final Font BOLD_10 = new Font("Arial", Font.BOLD, 10);
+    public static final Font BOLD_11 = new Font("Arial", Font.BOLD, 11);
+    public static final Font BOLD_12 = new Font("Arial", Font.BOLD, 12);
+    public static final Font BOLD_14 = new Font("Arial", Font.BOLD, 14);
+    public static final Font BOLD_16 = new Font("Arial", Font.BOLD, 16);
+
+    private ChartFonts() {
+    }
+}
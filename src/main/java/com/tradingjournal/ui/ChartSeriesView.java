@@ -0,0 +1,15 @@
+package com.tradingjournal.ui;
+
+import com.tradingjournal.model.ChartSeries;
+
+/**
+ * A chart drawn from precomputed series; it renders and does no aggregation
+ * of its own
+ */
+public interface ChartSeriesView {
+
+    /**
+     * Show the series; called on the EDT
+     */
+    void setSeries(ChartSeries series);
+}
@@ -1,22 +1,31 @@
 package com.tradingjournal.ui;
 
-import com.tradingjournal.model.EquityPoint;
+import com.tradingjournal.model.EquityCurve;
+import com.tradingjournal.model.PortfolioEquity;
+import com.tradingjournal.util.CurveDownsampler;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
 import java.text.SimpleDateFormat;
-import java.time.ZoneId;
 import java.util.*;
 import java.util.List;
 
 /**
  * Panel for displaying multiple strategy equity curves on a single chart
  */
-public class CombinedEquityChartPanel extends JPanel {
+public class CombinedEquityChartPanel extends CachedChartPanel {
 
-    private Map<String, List<EquityPoint>> strategyCurves;
+    private Map<String, EquityCurve> strategyCurves;
+    private EquityCurve portfolioCurve;
     private Map<String, Color> strategyColors;
+    /** Points drawn per strategy at the cached width, reduced to the lowest and highest per pixel column */
+    private final Map<String, int[]> drawnPoints = new HashMap<>();
+    /** Points drawn of the portfolio curve, kept apart so no strategy name can collide with it */
+    private int[] portfolioPoints;
+    private int drawnWidth = -1;
+    private final String title;
+    private final String valueFormat;
     private static final Color[] DEFAULT_COLORS = {
             new Color(50, 100, 200), // Blue
             new Color(255, 150, 50), // Orange
@@ -29,17 +38,42 @@ public class CombinedEquityChartPanel extends JPanel {
     };
 
     public CombinedEquityChartPanel() {
+        this("Strategy Equity Comparison", "$%.0f");
+    }
+
+    /**
+     * @param title       Chart title
+     * @param valueFormat Format of the value axis labels, e.g. {@code "%.1fR"}
+     */
+    public CombinedEquityChartPanel(String title, String valueFormat) {
+        this.title = title;
+        this.valueFormat = valueFormat;
         this.strategyCurves = new HashMap<>();
         this.strategyColors = new HashMap<>();
         setPreferredSize(new Dimension(800, 400));
         setBackground(Color.WHITE);
     }
 
+    private static final Color PORTFOLIO_COLOR = new Color(40, 40, 40);
+    private static final String PORTFOLIO_LABEL = "Portfolio";
+
+    /**
+     * Set the strategy curves together with the combined portfolio curve
+     */
+    public void setPortfolioEquity(PortfolioEquity portfolio) {
+        setStrategyCurves(portfolio.getStrategyCurves());
+        this.portfolioCurve = portfolio.getPortfolioCurve();
+        this.portfolioPoints = null;
+    }
+
     /**
      * Set the equity curves for multiple strategies
      */
-    public void setStrategyCurves(Map<String, List<EquityPoint>> curves) {
+    public void setStrategyCurves(Map<String, EquityCurve> curves) {
         this.strategyCurves = curves;
+        this.portfolioCurve = null;
+        drawnPoints.clear();
+        portfolioPoints = null;
 
         // Assign colors to strategies
         strategyColors.clear();
@@ -49,12 +83,11 @@ public class CombinedEquityChartPanel extends JPanel {
             colorIndex++;
         }
 
-        repaint();
+        chartChanged();
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    protected void paintChart(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
@@ -78,23 +111,27 @@ public class CombinedEquityChartPanel extends JPanel {
 
         // Find global min/max values across all strategies
         double minEquity = Double.MAX_VALUE;
-        double maxEquity = Double.MIN_VALUE;
+        double maxEquity = -Double.MAX_VALUE;
         long minTime = Long.MAX_VALUE;
         long maxTime = Long.MIN_VALUE;
 
-        for (List<EquityPoint> curve : strategyCurves.values()) {
+        // The portfolio is drawn last so it sits on top of the strategies
+        boolean showPortfolio = portfolioCurve != null && !portfolioCurve.isEmpty();
+        List<EquityCurve> curves = new ArrayList<>(strategyCurves.values());
+        if (showPortfolio) {
+            curves.add(portfolioCurve);
+        }
+
+        for (EquityCurve curve : curves) {
             if (curve.isEmpty())
                 continue;
 
-            for (EquityPoint point : curve) {
-                double equity = point.getCumulativeProfit();
-                minEquity = Math.min(minEquity, equity);
-                maxEquity = Math.max(maxEquity, equity);
-
-                long time = point.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
-                minTime = Math.min(minTime, time);
-                maxTime = Math.max(maxTime, time);
-            }
+            // Curves are time-ordered, so the first and last points bound the time axis
+            long[] times = curve.getEpochSeconds();
+            minEquity = Math.min(minEquity, curve.getMinEquity());
+            maxEquity = Math.max(maxEquity, curve.getMaxEquity());
+            minTime = Math.min(minTime, times[0] * 1000L);
+            maxTime = Math.max(maxTime, times[times.length - 1] * 1000L);
         }
 
         // Handle edge cases
@@ -126,7 +163,7 @@ public class CombinedEquityChartPanel extends JPanel {
 
             // Y-axis label
             double value = minEquity + (i * (maxEquity - minEquity) / numYGridLines);
-            String label = String.format("$%.0f", value);
+            String label = String.format(valueFormat, value);
             g2.setColor(Color.BLACK);
             g2.drawString(label, chartX - 50, y + 5);
             g2.setColor(Color.LIGHT_GRAY);
@@ -135,6 +172,7 @@ public class CombinedEquityChartPanel extends JPanel {
         // Draw X-axis labels (time)
         g2.setColor(Color.BLACK);
         SimpleDateFormat sdf = new SimpleDateFormat("MMM yyyy");
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
         int numXLabels = 6;
         for (int i = 0; i <= numXLabels; i++) {
             long time = minTime + (i * (maxTime - minTime) / numXLabels);
@@ -149,66 +187,94 @@ public class CombinedEquityChartPanel extends JPanel {
 
         // Draw equity curves for each strategy
         g2.setStroke(new BasicStroke(2));
-        for (Map.Entry<String, List<EquityPoint>> entry : strategyCurves.entrySet()) {
+        if (drawnWidth != chartWidth) {
+            drawnPoints.clear();
+            portfolioPoints = null;
+            drawnWidth = chartWidth;
+        }
+        for (Map.Entry<String, EquityCurve> entry : strategyCurves.entrySet()) {
             String strategy = entry.getKey();
-            List<EquityPoint> curve = entry.getValue();
+            EquityCurve curve = entry.getValue();
 
             if (curve.isEmpty())
                 continue;
 
-            Color color = strategyColors.get(strategy);
-            g2.setColor(color);
-
-            // Draw line
-            for (int i = 0; i < curve.size() - 1; i++) {
-                EquityPoint p1 = curve.get(i);
-                EquityPoint p2 = curve.get(i + 1);
-
-                long t1 = p1.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
-                long t2 = p2.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
-
-                double x1 = chartX + ((t1 - minTime) / (double) (maxTime - minTime)) * chartWidth;
-                double y1 = chartY + chartHeight
-                        - ((p1.getCumulativeProfit() - minEquity) / (maxEquity - minEquity)) * chartHeight;
-                double x2 = chartX + ((t2 - minTime) / (double) (maxTime - minTime)) * chartWidth;
-                double y2 = chartY + chartHeight
-                        - ((p2.getCumulativeProfit() - minEquity) / (maxEquity - minEquity)) * chartHeight;
-
-                g2.draw(new Line2D.Double(x1, y1, x2, y2));
+            g2.setColor(strategyColors.get(strategy));
+            int[] points = drawnPoints.get(strategy);
+            if (points == null) {
+                points = CurveDownsampler.minMax(curve.getEpochSeconds(), minTime / 1000L, maxTime / 1000L,
+                        curve.getEquity(), chartWidth);
+                drawnPoints.put(strategy, points);
             }
+            g2.draw(path(curve, points, chartX, chartY, chartWidth, chartHeight, minTime, maxTime,
+                    minEquity, maxEquity));
+        }
+        if (showPortfolio) {
+            g2.setColor(PORTFOLIO_COLOR);
+            if (portfolioPoints == null) {
+                portfolioPoints = CurveDownsampler.minMax(portfolioCurve.getEpochSeconds(), minTime / 1000L,
+                        maxTime / 1000L, portfolioCurve.getEquity(), chartWidth);
+            }
+            g2.draw(path(portfolioCurve, portfolioPoints, chartX, chartY, chartWidth, chartHeight, minTime,
+                    maxTime, minEquity, maxEquity));
         }
 
         // Draw legend
         int legendX = chartX + chartWidth - 150;
         int legendY = chartY + 20;
         int legendItemHeight = 20;
+        int legendItems = strategyCurves.size() + (showPortfolio ? 1 : 0);
 
         g2.setColor(new Color(255, 255, 255, 200));
-        g2.fillRect(legendX - 5, legendY - 15, 145, strategyCurves.size() * legendItemHeight + 10);
+        g2.fillRect(legendX - 5, legendY - 15, 145, legendItems * legendItemHeight + 10);
         g2.setColor(Color.BLACK);
-        g2.drawRect(legendX - 5, legendY - 15, 145, strategyCurves.size() * legendItemHeight + 10);
+        g2.drawRect(legendX - 5, legendY - 15, 145, legendItems * legendItemHeight + 10);
 
         int index = 0;
         for (String strategy : strategyCurves.keySet()) {
-            Color color = strategyColors.get(strategy);
-
-            // Draw color box
-            g2.setColor(color);
-            g2.fillRect(legendX, legendY + index * legendItemHeight, 15, 15);
-            g2.setColor(Color.BLACK);
-            g2.drawRect(legendX, legendY + index * legendItemHeight, 15, 15);
-
-            // Draw strategy name
-            g2.drawString(strategy, legendX + 20, legendY + index * legendItemHeight + 12);
-
+            drawLegendItem(g2, strategy, strategyColors.get(strategy), legendX, legendY + index * legendItemHeight);
             index++;
         }
+        if (showPortfolio) {
+            drawLegendItem(g2, PORTFOLIO_LABEL, PORTFOLIO_COLOR, legendX, legendY + index * legendItemHeight);
+        }
 
         // Draw title
-        g2.setFont(new Font("Arial", Font.BOLD, 16));
-        String title = "Strategy Equity Comparison";
+        g2.setFont(ChartFonts.BOLD_16);
         FontMetrics fm = g2.getFontMetrics();
         int titleWidth = fm.stringWidth(title);
         g2.drawString(title, (getWidth() - titleWidth) / 2, 30);
     }
+
+    /**
+     * Line through the drawn points of a curve in chart coordinates
+     */
+    private Path2D.Double path(EquityCurve curve, int[] points, int chartX, int chartY, int chartWidth,
+            int chartHeight, long minTime, long maxTime, double minEquity, double maxEquity) {
+        long[] times = curve.getEpochSeconds();
+        double[] equity = curve.getEquity();
+        Path2D.Double path = new Path2D.Double();
+        for (int k = 0; k < points.length; k++) {
+            int i = points[k];
+            double x = chartX + ((times[i] * 1000L - minTime) / (double) (maxTime - minTime)) * chartWidth;
+            double y = chartY + chartHeight - ((equity[i] - minEquity) / (maxEquity - minEquity)) * chartHeight;
+            if (k == 0) {
+                path.moveTo(x, y);
+            } else {
+                path.lineTo(x, y);
+            }
+        }
+        return path;
+    }
+
+    private void drawLegendItem(Graphics2D g2, String label, Color color, int x, int y) {
+        // Draw color box
+        g2.setColor(color);
+        g2.fillRect(x, y, 15, 15);
+        g2.setColor(Color.BLACK);
+        g2.drawRect(x, y, 15, 15);
+
+        // Draw series name
+        g2.drawString(label, x + 20, y + 12);
+    }
 }
@@ -0,0 +1,139 @@
+package com.tradingjournal.ui;
+
+import com.tradingjournal.model.CorrelationMatrix;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+
+/**
+ * Panel for displaying a correlation matrix as a heatmap: blue for negative,
+ * white for none, red for positive correlation
+ */
+public class CorrelationMatrixPanel extends CachedChartPanel {
+
+    private CorrelationMatrix matrix;
+    private CorrelationMatrix.Method method = CorrelationMatrix.Method.PEARSON;
+    private static final Color UNDEFINED_COLOR = new Color(220, 220, 220);
+    private static final int LABEL_WIDTH = 130;
+    private static final int TOP_PADDING = 40;
+    private static final int MAX_LABEL_CHARS = 18;
+    private static final Color BORDER_COLOR = new Color(200, 200, 200);
+
+    /** Value and label fonts for the cell size they were derived for */
+    private int fontCell = -1;
+    private Font valueFont;
+    private Font labelFont;
+
+    public CorrelationMatrixPanel() {
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(600, 400));
+        ToolTipManager.sharedInstance().registerComponent(this);
+    }
+
+    public void setMatrix(CorrelationMatrix matrix) {
+        this.matrix = matrix;
+        chartChanged();
+    }
+
+    public void setMethod(CorrelationMatrix.Method method) {
+        this.method = method;
+        chartChanged();
+    }
+
+    @Override
+    protected void paintChart(Graphics g) {
+
+        if (matrix == null || matrix.size() < 2) {
+            g.setColor(Color.GRAY);
+            g.drawString("Need at least two groups to correlate", getWidth() / 2 - 100, getHeight() / 2);
+            return;
+        }
+
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        int n = matrix.size();
+        double[][] values = matrix.getValues(method);
+        String[] names = matrix.getNames();
+        int cell = cellSize();
+
+        // Title
+        g2.setColor(Color.BLACK);
+        g2.setFont(ChartFonts.BOLD_14);
+        String title = method + " Correlation of Daily P&L by " + matrix.getGroupBy() + " (" + matrix.getDays()
+                + " days)";
+        FontMetrics fm = g2.getFontMetrics();
+        g2.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 25);
+
+        // Cells, with values when there is room for them
+        if (cell != fontCell) {
+            valueFont = ChartFonts.PLAIN_11.deriveFont((float) Math.min(11, Math.max(8, cell / 4)));
+            labelFont = ChartFonts.PLAIN_11.deriveFont((float) Math.min(11, Math.max(8, cell - 2)));
+            fontCell = cell;
+        }
+        g2.setFont(valueFont);
+        fm = g2.getFontMetrics();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int x = LABEL_WIDTH + j * cell;
+                int y = TOP_PADDING + i * cell;
+                g2.setColor(colorFor(values[i][j]));
+                g2.fillRect(x, y, cell, cell);
+                if (cell >= 28 && !Double.isNaN(values[i][j])) {
+                    String text = String.format("%.2f", values[i][j]);
+                    g2.setColor(Math.abs(values[i][j]) > 0.6 ? Color.WHITE : Color.BLACK);
+                    g2.drawString(text, x + (cell - fm.stringWidth(text)) / 2, y + (cell + fm.getAscent()) / 2 - 2);
+                }
+            }
+        }
+
+        // Row labels; columns follow the same order
+        g2.setColor(Color.BLACK);
+        g2.setFont(labelFont);
+        fm = g2.getFontMetrics();
+        for (int i = 0; i < n; i++) {
+            String label = shorten(names[i]);
+            g2.drawString(label, LABEL_WIDTH - fm.stringWidth(label) - 5,
+                    TOP_PADDING + i * cell + (cell + fm.getAscent()) / 2 - 2);
+        }
+        g2.setColor(BORDER_COLOR);
+        g2.drawRect(LABEL_WIDTH, TOP_PADDING, n * cell, n * cell);
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        if (matrix == null || matrix.size() < 2) {
+            return null;
+        }
+        int cell = cellSize();
+        int col = (event.getX() - LABEL_WIDTH) / cell;
+        int row = (event.getY() - TOP_PADDING) / cell;
+        if (event.getX() < LABEL_WIDTH || event.getY() < TOP_PADDING || row >= matrix.size()
+                || col >= matrix.size()) {
+            return null;
+        }
+        double value = matrix.getValues(method)[row][col];
+        return matrix.getNames()[row] + " / " + matrix.getNames()[col] + ": "
+                + (Double.isNaN(value) ? "n/a" : String.format("%.3f", value));
+    }
+
+    private int cellSize() {
+        int n = matrix.size();
+        int available = Math.min(getWidth() - LABEL_WIDTH - 20, getHeight() - TOP_PADDING - 20);
+        return Math.max(4, available / n);
+    }
+
+    private String shorten(String name) {
+        return name.length() <= MAX_LABEL_CHARS ? name : name.substring(0, MAX_LABEL_CHARS - 3) + "...";
+    }
+
+    private Color colorFor(double value) {
+        if (Double.isNaN(value)) {
+            return UNDEFINED_COLOR;
+        }
+        // Blend from white towards red (positive) or blue (negative)
+        int fade = (int) Math.round(255 * (1.0 - Math.min(1.0, Math.abs(value))));
+        return value >= 0 ? new Color(255, fade, fade) : new Color(fade, fade, 255);
+    }
+}
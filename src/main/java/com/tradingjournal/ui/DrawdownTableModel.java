@@ -0,0 +1,87 @@
+package com.tradingjournal.ui;
+
+import com.tradingjournal.model.DrawdownReport;
+
+import javax.swing.table.AbstractTableModel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Table model summarizing drawdown reports, one row per strategy or account
+ */
+public class DrawdownTableModel extends AbstractTableModel {
+
+    private final String[] columnNames = {
+            "Name", "Max DD $", "Max DD %", "Episodes", "Longest DD (days)", "Avg Recovery (days)", "Current DD $"
+    };
+
+    private final Class<?>[] columnClasses = {
+            String.class, Double.class, Double.class, Integer.class, Long.class, Long.class, Double.class
+    };
+
+    private List<DrawdownReport> reports = new ArrayList<>();
+
+    public void setReports(List<DrawdownReport> reports) {
+        this.reports = reports != null ? new ArrayList<>(reports) : new ArrayList<>();
+        fireTableDataChanged();
+    }
+
+    public DrawdownReport getReport(int row) {
+        return reports.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return reports.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columnClasses[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        if (rowIndex < 0 || rowIndex >= reports.size()) {
+            return null;
+        }
+
+        DrawdownReport report = reports.get(rowIndex);
+
+        switch (columnIndex) {
+            case 0:
+                return report.getName();
+            case 1:
+                return round(report.getMaxDrawdown());
+            case 2:
+                double percent = report.getMaxDrawdownPercent();
+                return Double.isNaN(percent) ? null : round(percent);
+            case 3:
+                return report.getEpisodes().size();
+            case 4:
+                return report.getLongestDuration().toDays();
+            case 5:
+                Duration recovery = report.getAverageTimeToRecover();
+                return recovery == null ? null : recovery.toDays();
+            case 6:
+                return round(report.getCurrentDrawdown());
+            default:
+                return null;
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
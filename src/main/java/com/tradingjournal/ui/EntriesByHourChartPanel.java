@@ -1,51 +1,37 @@
 package com.tradingjournal.ui;
 
-import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.ChartSeries;
+import com.tradingjournal.model.WeekHourMatrix;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Panel for displaying trade entries by hour of day as a bar chart
  */
-public class EntriesByHourChartPanel extends JPanel {
+public class EntriesByHourChartPanel extends CachedChartPanel implements ChartSeriesView {
 
-    private Map<Integer, Integer> entriesByHour = new HashMap<>();
+    private int[] entriesByHour = new int[WeekHourMatrix.HOURS];
     private static final Color BAR_COLOR = new Color(56, 189, 248); // Blue
     private static final int PADDING = 60;
 
     public EntriesByHourChartPanel() {
         setBackground(Color.WHITE);
         setPreferredSize(new Dimension(600, 250));
-        initializeHours();
     }
 
-    private void initializeHours() {
-        for (int hour = 0; hour < 24; hour++) {
-            entriesByHour.put(hour, 0);
-        }
-    }
-
-    public void setTrades(List<Trade> trades) {
-        initializeHours();
-
-        if (trades != null) {
-            for (Trade trade : trades) {
-                int hour = trade.getOpenTime().getHour();
-                entriesByHour.put(hour, entriesByHour.get(hour) + 1);
-            }
-        }
-
-        repaint();
+    /**
+     * Show the hour-of-entry marginal of the weekday x hour matrix
+     */
+    @Override
+    public void setSeries(ChartSeries series) {
+        entriesByHour = series.getEntriesByHour();
+        chartChanged();
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    protected void paintChart(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
@@ -55,9 +41,10 @@ public class EntriesByHourChartPanel extends JPanel {
         int chartY = PADDING;
 
         // Find max value
-        int maxEntries = entriesByHour.values().stream().max(Integer::compare).orElse(1);
-        if (maxEntries == 0)
-            maxEntries = 1;
+        int maxEntries = 1;
+        for (int count : entriesByHour) {
+            maxEntries = Math.max(maxEntries, count);
+        }
 
         // Draw X-axis only (bottom line)
         g2.setColor(Color.BLACK);
@@ -68,14 +55,14 @@ public class EntriesByHourChartPanel extends JPanel {
         // Draw bars
         int barWidth = chartWidth / 24;
         for (int hour = 0; hour < 24; hour++) {
-            int count = entriesByHour.get(hour);
+            int count = entriesByHour[hour];
             int barX = chartX + (hour * barWidth);
             drawBar(g2, barX, zeroY, barWidth - 2, count, maxEntries, chartHeight);
         }
 
         // Draw ALL hour labels (0-23) on the X-axis
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.PLAIN, 10));
+        g2.setFont(ChartFonts.PLAIN_10);
         FontMetrics fm = g2.getFontMetrics();
         for (int h = 0; h < 24; h++) {
             int barX = chartX + (h * barWidth);
@@ -87,7 +74,7 @@ public class EntriesByHourChartPanel extends JPanel {
 
         // Draw title
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.BOLD, 16));
+        g2.setFont(ChartFonts.BOLD_16);
         String title = "Entries by hours";
         fm = g2.getFontMetrics();
         int titleWidth = fm.stringWidth(title);
@@ -105,7 +92,7 @@ public class EntriesByHourChartPanel extends JPanel {
             g2.draw(bar);
 
             // Draw count on top of bar
-            g2.setFont(new Font("Arial", Font.BOLD, 11));
+            g2.setFont(ChartFonts.BOLD_11);
             String valueText = String.valueOf(count);
             FontMetrics fm = g2.getFontMetrics();
             int textWidth = fm.stringWidth(valueText);
@@ -1,19 +1,18 @@
 package com.tradingjournal.ui;
 
-import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.ChartSeries;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.time.Month;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
  * Panel for displaying trade entries by month as a bar chart
  */
-public class EntriesByMonthChartPanel extends JPanel {
+public class EntriesByMonthChartPanel extends CachedChartPanel implements ChartSeriesView {
 
     private Map<Month, Integer> entriesByMonth = new HashMap<>();
     private static final Color BAR_COLOR = new Color(56, 189, 248); // Blue
@@ -37,22 +36,19 @@ public class EntriesByMonthChartPanel extends JPanel {
         }
     }
 
-    public void setTrades(List<Trade> trades) {
-        initializeMonths();
-
-        if (trades != null) {
-            for (Trade trade : trades) {
-                Month month = trade.getOpenTime().getMonth();
-                entriesByMonth.put(month, entriesByMonth.get(month) + 1);
-            }
+    /**
+     * Show the entries per month of open
+     */
+    @Override
+    public void setSeries(ChartSeries series) {
+        for (Month month : MONTHS) {
+            entriesByMonth.put(month, series.getEntries(month));
         }
-
-        repaint();
+        chartChanged();
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    protected void paintChart(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
@@ -92,7 +88,7 @@ public class EntriesByMonthChartPanel extends JPanel {
                 g2.draw(bar);
 
                 // Draw count on top of bar
-                g2.setFont(new Font("Arial", Font.BOLD, 11));
+                g2.setFont(ChartFonts.BOLD_11);
                 String valueText = String.valueOf(count);
                 FontMetrics fm = g2.getFontMetrics();
                 int textWidth = fm.stringWidth(valueText);
@@ -103,7 +99,7 @@ public class EntriesByMonthChartPanel extends JPanel {
             }
 
             // Month label
-            g2.setFont(new Font("Arial", Font.PLAIN, 10));
+            g2.setFont(ChartFonts.PLAIN_10);
             String label = MONTH_LABELS[i];
             FontMetrics fm = g2.getFontMetrics();
             int textWidth = fm.stringWidth(label);
@@ -115,7 +111,7 @@ public class EntriesByMonthChartPanel extends JPanel {
 
         // Title
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.BOLD, 14));
+        g2.setFont(ChartFonts.BOLD_14);
         String title = "Entries by months";
         FontMetrics fm = g2.getFontMetrics();
         g2.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 20);
@@ -1,21 +1,19 @@
 package com.tradingjournal.ui;
 
-import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.ChartSeries;
+import com.tradingjournal.model.WeekHourMatrix;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.time.DayOfWeek;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Panel for displaying trade entries by weekday as a bar chart
  */
-public class EntriesByWeekdayChartPanel extends JPanel {
+public class EntriesByWeekdayChartPanel extends CachedChartPanel implements ChartSeriesView {
 
-    private Map<DayOfWeek, Integer> entriesByDay = new HashMap<>();
+    private int[] entriesByDay = new int[WeekHourMatrix.DAYS];
     private static final Color BAR_COLOR = new Color(34, 197, 94); // Green
     private static final int PADDING = 60;
 
@@ -24,36 +22,24 @@ public class EntriesByWeekdayChartPanel extends JPanel {
             DayOfWeek.THURSDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY, DayOfWeek.SUNDAY
     };
 
-    private static final String[] DAY_LABELS = { "Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat" };
+    private static final String[] DAY_LABELS = { "Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun" };
 
     public EntriesByWeekdayChartPanel() {
         setBackground(Color.WHITE);
         setPreferredSize(new Dimension(500, 250));
-        initializeDays();
     }
 
-    private void initializeDays() {
-        for (DayOfWeek day : DAYS) {
-            entriesByDay.put(day, 0);
-        }
-    }
-
-    public void setTrades(List<Trade> trades) {
-        initializeDays();
-
-        if (trades != null) {
-            for (Trade trade : trades) {
-                DayOfWeek day = trade.getOpenTime().getDayOfWeek();
-                entriesByDay.put(day, entriesByDay.get(day) + 1);
-            }
-        }
-
-        repaint();
+    /**
+     * Show the weekday-of-entry marginal of the weekday x hour matrix
+     */
+    @Override
+    public void setSeries(ChartSeries series) {
+        entriesByDay = series.getEntriesByDay();
+        chartChanged();
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    protected void paintChart(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
@@ -62,9 +48,10 @@ public class EntriesByWeekdayChartPanel extends JPanel {
         int chartX = PADDING;
         int chartY = PADDING;
 
-        int maxEntries = entriesByDay.values().stream().max(Integer::compare).orElse(1);
-        if (maxEntries == 0)
-            maxEntries = 1;
+        int maxEntries = 1;
+        for (int count : entriesByDay) {
+            maxEntries = Math.max(maxEntries, count);
+        }
 
         // Draw X-axis only (bottom line)
         g2.setColor(Color.BLACK);
@@ -78,7 +65,7 @@ public class EntriesByWeekdayChartPanel extends JPanel {
 
         for (int i = 0; i < DAYS.length; i++) {
             DayOfWeek day = DAYS[i];
-            int count = entriesByDay.get(day);
+            int count = entriesByDay[day.getValue() - 1];
 
             if (count > 0) {
                 int barHeight = (int) ((count / (double) maxEntries) * chartHeight);
@@ -93,7 +80,7 @@ public class EntriesByWeekdayChartPanel extends JPanel {
                 g2.draw(bar);
 
                 // Draw count on top of bar
-                g2.setFont(new Font("Arial", Font.BOLD, 11));
+                g2.setFont(ChartFonts.BOLD_11);
                 String valueText = String.valueOf(count);
                 FontMetrics fm = g2.getFontMetrics();
                 int textWidth = fm.stringWidth(valueText);
@@ -104,7 +91,7 @@ public class EntriesByWeekdayChartPanel extends JPanel {
             }
 
             // Draw day label
-            g2.setFont(new Font("Arial", Font.PLAIN, 11));
+            g2.setFont(ChartFonts.PLAIN_11);
             String label = DAY_LABELS[i];
             FontMetrics fm = g2.getFontMetrics();
             int textWidth = fm.stringWidth(label);
@@ -114,7 +101,7 @@ public class EntriesByWeekdayChartPanel extends JPanel {
 
         // Title
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.BOLD, 14));
+        g2.setFont(ChartFonts.BOLD_14);
         String title = "Entries by weekdays";
         FontMetrics fm = g2.getFontMetrics();
         g2.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 20);
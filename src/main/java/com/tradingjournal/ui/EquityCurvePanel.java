@@ -1,19 +1,22 @@
 package com.tradingjournal.ui;
 
-import com.tradingjournal.model.EquityPoint;
+import com.tradingjournal.model.EquityCurve;
+import com.tradingjournal.util.CurveDownsampler;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
 import java.text.DecimalFormat;
-import java.util.List;
 
 /**
  * Panel for displaying equity curve chart
  */
-public class EquityCurvePanel extends JPanel {
+public class EquityCurvePanel extends CachedChartPanel {
 
-    private List<EquityPoint> equityCurve;
+    private EquityCurve equityCurve;
+    /** Points drawn at the cached width, reduced to the lowest and highest per pixel column */
+    private int[] drawnPoints;
+    private int drawnWidth = -1;
     private static final DecimalFormat MONEY_FORMAT = new DecimalFormat("$#,##0.00");
     private static final int PADDING = 60;
 
@@ -22,14 +25,14 @@ public class EquityCurvePanel extends JPanel {
         setPreferredSize(new Dimension(600, 300));
     }
 
-    public void setEquityCurve(List<EquityPoint> equityCurve) {
+    public void setEquityCurve(EquityCurve equityCurve) {
         this.equityCurve = equityCurve;
-        repaint();
+        this.drawnPoints = null;
+        chartChanged();
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    protected void paintChart(Graphics g) {
 
         if (equityCurve == null || equityCurve.isEmpty()) {
             g.setColor(Color.GRAY);
@@ -44,12 +47,8 @@ public class EquityCurvePanel extends JPanel {
         int height = getHeight() - 2 * PADDING;
 
         // Find min and max profit for scaling
-        double minProfit = equityCurve.stream()
-                .mapToDouble(EquityPoint::getCumulativeProfit)
-                .min().orElse(0);
-        double maxProfit = equityCurve.stream()
-                .mapToDouble(EquityPoint::getCumulativeProfit)
-                .max().orElse(0);
+        double minProfit = equityCurve.getMinEquity();
+        double maxProfit = equityCurve.getMaxEquity();
 
         // Add some padding to the range
         double range = maxProfit - minProfit;
@@ -72,7 +71,7 @@ public class EquityCurvePanel extends JPanel {
 
         // Draw Y-axis labels
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.PLAIN, 10));
+        g2.setFont(ChartFonts.PLAIN_10);
         for (int i = 0; i <= 5; i++) {
             double value = minProfit + (maxProfit - minProfit) * i / 5.0;
             int y = getHeight() - PADDING - (i * height / 5);
@@ -87,38 +86,40 @@ public class EquityCurvePanel extends JPanel {
         g2.setColor(new Color(0, 120, 215));
         g2.setStroke(new BasicStroke(2.0f));
 
-        for (int i = 0; i < equityCurve.size() - 1; i++) {
-            EquityPoint p1 = equityCurve.get(i);
-            EquityPoint p2 = equityCurve.get(i + 1);
-
-            int x1 = PADDING + (i * width / (equityCurve.size() - 1));
-            int y1 = getHeight() - PADDING
-                    - (int) ((p1.getCumulativeProfit() - minProfit) / (maxProfit - minProfit) * height);
-
-            int x2 = PADDING + ((i + 1) * width / (equityCurve.size() - 1));
-            int y2 = getHeight() - PADDING
-                    - (int) ((p2.getCumulativeProfit() - minProfit) / (maxProfit - minProfit) * height);
-
-            g2.draw(new Line2D.Double(x1, y1, x2, y2));
+        double[] equity = equityCurve.getEquity();
+        if (drawnPoints == null || drawnWidth != width) {
+            drawnPoints = CurveDownsampler.minMax(equity, width);
+            drawnWidth = width;
+        }
+        double last = Math.max(1, equity.length - 1);
+        Path2D.Double path = new Path2D.Double();
+        for (int k = 0; k < drawnPoints.length; k++) {
+            int i = drawnPoints[k];
+            double x = PADDING + i / last * width;
+            double y = getHeight() - PADDING - (equity[i] - minProfit) / (maxProfit - minProfit) * height;
+            if (k == 0) {
+                path.moveTo(x, y);
+            } else {
+                path.lineTo(x, y);
+            }
         }
+        g2.draw(path);
 
         // Draw title
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.BOLD, 14));
+        g2.setFont(ChartFonts.BOLD_14);
         g2.drawString("Equity Curve", getWidth() / 2 - 40, 30);
 
-        // Draw trade count (equity curve has +1 point for starting balance, so subtract
-        // 1)
-        g2.setFont(new Font("Arial", Font.PLAIN, 11));
-        int actualTradeCount = equityCurve.size() > 0 ? equityCurve.size() - 1 : 0;
-        g2.drawString("Trades: " + actualTradeCount, PADDING, getHeight() - 10);
+        // Draw trade count (the curve's first point is the starting balance)
+        g2.setFont(ChartFonts.PLAIN_11);
+        g2.drawString("Trades: " + equityCurve.getTradeCount(), PADDING, getHeight() - 10);
 
         // Draw final P&L
-        EquityPoint lastPoint = equityCurve.get(equityCurve.size() - 1);
-        String finalPL = "Final P&L: " + MONEY_FORMAT.format(lastPoint.getCumulativeProfit());
-        Color plColor = lastPoint.getCumulativeProfit() >= 0 ? new Color(0, 150, 0) : new Color(200, 0, 0);
+        double finalEquity = equityCurve.getFinalEquity();
+        String finalPL = "Final P&L: " + MONEY_FORMAT.format(finalEquity);
+        Color plColor = finalEquity >= 0 ? new Color(0, 150, 0) : new Color(200, 0, 0);
         g2.setColor(plColor);
-        g2.setFont(new Font("Arial", Font.BOLD, 12));
+        g2.setFont(ChartFonts.BOLD_12);
         g2.drawString(finalPL, getWidth() - PADDING - 150, getHeight() - 10);
     }
 }
@@ -0,0 +1,171 @@
+package com.tradingjournal.ui;
+
+import com.tradingjournal.model.Excursion;
+import com.tradingjournal.model.ExcursionReport;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.util.List;
+
+/**
+ * Scatter plot of maximum adverse excursion (x) against maximum favorable
+ * excursion (y), one dot per trade, green for winners and red for losers
+ */
+public class ExcursionScatterPanel extends CachedChartPanel {
+
+    private ExcursionReport report;
+    private boolean inR;
+    private static final Color WIN_COLOR = new Color(34, 197, 94, 170);
+    private static final Color LOSS_COLOR = new Color(239, 68, 68, 170);
+    private static final int PADDING = 55;
+    private static final int DOT = 5;
+    private static final int GRID_LINES = 5;
+
+    public ExcursionScatterPanel() {
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(600, 350));
+        ToolTipManager.sharedInstance().registerComponent(this);
+    }
+
+    public void setReport(ExcursionReport report) {
+        this.report = report;
+        chartChanged();
+    }
+
+    /**
+     * Plot in multiples of the initial risk instead of money
+     */
+    public void setInR(boolean inR) {
+        this.inR = inR;
+        chartChanged();
+    }
+
+    @Override
+    protected void paintChart(Graphics g) {
+
+        double[] range = range();
+        if (range == null) {
+            g.setColor(Color.GRAY);
+            String message = report == null ? "Analyze trades against local M1 bars to see MAE/MFE"
+                    : "No trades with " + (inR ? "a stop and " : "") + "bar data";
+            g.drawString(message, getWidth() / 2 - 140, getHeight() / 2);
+            return;
+        }
+
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        int plotWidth = getWidth() - 2 * PADDING;
+        int plotHeight = getHeight() - 2 * PADDING;
+        double maxX = range[0];
+        double maxY = range[1];
+
+        // Grid and labels
+        g2.setFont(ChartFonts.PLAIN_10);
+        FontMetrics fm = g2.getFontMetrics();
+        for (int i = 0; i <= GRID_LINES; i++) {
+            int x = PADDING + i * plotWidth / GRID_LINES;
+            int y = getHeight() - PADDING - i * plotHeight / GRID_LINES;
+            g2.setColor(new Color(230, 230, 230));
+            g2.drawLine(x, PADDING, x, getHeight() - PADDING);
+            g2.drawLine(PADDING, y, getWidth() - PADDING, y);
+            g2.setColor(Color.BLACK);
+            String xLabel = format(maxX * i / GRID_LINES);
+            String yLabel = format(maxY * i / GRID_LINES);
+            g2.drawString(xLabel, x - fm.stringWidth(xLabel) / 2, getHeight() - PADDING + 14);
+            g2.drawString(yLabel, PADDING - fm.stringWidth(yLabel) - 5, y + 4);
+        }
+        g2.drawLine(PADDING, PADDING, PADDING, getHeight() - PADDING);
+        g2.drawLine(PADDING, getHeight() - PADDING, getWidth() - PADDING, getHeight() - PADDING);
+        String xTitle = "MAE" + (inR ? " (R)" : " ($)");
+        g2.drawString(xTitle, PADDING + (plotWidth - fm.stringWidth(xTitle)) / 2, getHeight() - PADDING + 30);
+        g2.drawString("MFE" + (inR ? " (R)" : " ($)"), 5, PADDING - 10);
+
+        // Dots
+        for (Excursion excursion : report.getExcursions()) {
+            double mae = inR ? excursion.getMaeR() : excursion.getMaeMoney();
+            double mfe = inR ? excursion.getMfeR() : excursion.getMfeMoney();
+            if (Double.isNaN(mae) || Double.isNaN(mfe)) {
+                continue;
+            }
+            int x = PADDING + (int) (mae / maxX * plotWidth);
+            int y = getHeight() - PADDING - (int) (mfe / maxY * plotHeight);
+            g2.setColor(excursion.getNetProfit() > 0 ? WIN_COLOR : LOSS_COLOR);
+            g2.fillOval(x - DOT / 2, y - DOT / 2, DOT, DOT);
+        }
+
+        g2.setColor(Color.BLACK);
+        g2.setFont(ChartFonts.BOLD_14);
+        fm = g2.getFontMetrics();
+        String title = "Maximum Adverse vs Favorable Excursion";
+        g2.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 25);
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        double[] range = range();
+        if (range == null) {
+            return null;
+        }
+        int plotWidth = getWidth() - 2 * PADDING;
+        int plotHeight = getHeight() - 2 * PADDING;
+
+        Excursion nearest = null;
+        int nearestDistance = DOT * DOT * 4;
+        for (Excursion excursion : report.getExcursions()) {
+            double mae = inR ? excursion.getMaeR() : excursion.getMaeMoney();
+            double mfe = inR ? excursion.getMfeR() : excursion.getMfeMoney();
+            if (Double.isNaN(mae) || Double.isNaN(mfe)) {
+                continue;
+            }
+            int dx = PADDING + (int) (mae / range[0] * plotWidth) - event.getX();
+            int dy = getHeight() - PADDING - (int) (mfe / range[1] * plotHeight) - event.getY();
+            int distance = dx * dx + dy * dy;
+            if (distance < nearestDistance) {
+                nearest = excursion;
+                nearestDistance = distance;
+            }
+        }
+        if (nearest == null) {
+            return null;
+        }
+        return String.format("<html>Ticket %s<br>MAE: $%,.2f (%s R)<br>MFE: $%,.2f (%s R)<br>Net P&L: $%,.2f</html>",
+                nearest.getTicket(), nearest.getMaeMoney(), formatR(nearest.getMaeR()), nearest.getMfeMoney(),
+                formatR(nearest.getMfeR()), nearest.getNetProfit());
+    }
+
+    /**
+     * Axis maxima {x, y}, or null when nothing can be plotted
+     */
+    private double[] range() {
+        if (report == null) {
+            return null;
+        }
+        List<Excursion> excursions = report.getExcursions();
+        double maxX = 0;
+        double maxY = 0;
+        boolean any = false;
+        for (Excursion excursion : excursions) {
+            double mae = inR ? excursion.getMaeR() : excursion.getMaeMoney();
+            double mfe = inR ? excursion.getMfeR() : excursion.getMfeMoney();
+            if (Double.isNaN(mae) || Double.isNaN(mfe)) {
+                continue;
+            }
+            any = true;
+            maxX = Math.max(maxX, mae);
+            maxY = Math.max(maxY, mfe);
+        }
+        if (!any) {
+            return null;
+        }
+        return new double[] { maxX > 0 ? maxX * 1.05 : 1.0, maxY > 0 ? maxY * 1.05 : 1.0 };
+    }
+
+    private String format(double value) {
+        return inR ? String.format("%.1f", value) : String.format("$%,.0f", value);
+    }
+
+    private static String formatR(double value) {
+        return Double.isNaN(value) ? "n/a" : String.format("%.2f", value);
+    }
+}
@@ -1,18 +1,16 @@
 package com.tradingjournal.ui;
 
-import com.tradingjournal.model.Trade;
-import com.tradingjournal.model.TradeType;
+import com.tradingjournal.model.ChartSeries;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.text.DecimalFormat;
-import java.util.List;
 
 /**
  * Panel for displaying Long vs Short profit bar chart
  */
-public class LongShortProfitChartPanel extends JPanel {
+public class LongShortProfitChartPanel extends CachedChartPanel implements ChartSeriesView {
 
     private double longProfit = 0.0;
     private double shortProfit = 0.0;
@@ -27,29 +25,17 @@ public class LongShortProfitChartPanel extends JPanel {
     }
 
     /**
-     * Set trade data and calculate Long/Short profit
+     * Show the Long/Short profit totals
      */
-    public void setTrades(List<Trade> trades) {
-        longProfit = 0.0;
-        shortProfit = 0.0;
-
-        if (trades != null) {
-            for (Trade trade : trades) {
-                double profit = trade.getNetProfit();
-                if (trade.getType() == TradeType.BUY) {
-                    longProfit += profit;
-                } else if (trade.getType() == TradeType.SELL) {
-                    shortProfit += profit;
-                }
-            }
-        }
-
-        repaint();
+    @Override
+    public void setSeries(ChartSeries series) {
+        longProfit = series.getLongProfit();
+        shortProfit = series.getShortProfit();
+        chartChanged();
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    protected void paintChart(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
@@ -75,7 +61,7 @@ public class LongShortProfitChartPanel extends JPanel {
         g2.drawLine(chartX, zeroY, chartX + chartWidth, zeroY); // X-axis (at zero line)
 
         // Draw Y-axis labels and grid lines
-        g2.setFont(new Font("Arial", Font.PLAIN, 10));
+        g2.setFont(ChartFonts.PLAIN_10);
         g2.setColor(Color.LIGHT_GRAY);
         g2.setStroke(new BasicStroke(1));
 
@@ -107,7 +93,7 @@ public class LongShortProfitChartPanel extends JPanel {
 
         // Draw title
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.BOLD, 16));
+        g2.setFont(ChartFonts.BOLD_16);
         String title = "P/L / Order Type";
         FontMetrics fm = g2.getFontMetrics();
         int titleWidth = fm.stringWidth(title);
@@ -140,7 +126,7 @@ public class LongShortProfitChartPanel extends JPanel {
         g2.draw(bar);
 
         // Draw value on top of bar
-        g2.setFont(new Font("Arial", Font.BOLD, 12));
+        g2.setFont(ChartFonts.BOLD_12);
         String valueText = MONEY_FORMAT.format(value);
         FontMetrics fm = g2.getFontMetrics();
         int textWidth = fm.stringWidth(valueText);
@@ -150,7 +136,7 @@ public class LongShortProfitChartPanel extends JPanel {
         g2.drawString(valueText, textX, textY);
 
         // Draw label below X-axis
-        g2.setFont(new Font("Arial", Font.PLAIN, 11));
+        g2.setFont(ChartFonts.PLAIN_11);
         fm = g2.getFontMetrics();
         textWidth = fm.stringWidth(label);
         textX = x + (width - textWidth) / 2;
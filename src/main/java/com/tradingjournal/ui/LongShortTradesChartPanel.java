@@ -1,18 +1,16 @@
 package com.tradingjournal.ui;
 
-import com.tradingjournal.model.Trade;
-import com.tradingjournal.model.TradeType;
+import com.tradingjournal.model.ChartSeries;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Arc2D;
 import java.awt.geom.Rectangle2D;
-import java.util.List;
 
 /**
  * Panel for displaying Long vs Short trades distribution as a pie chart
  */
-public class LongShortTradesChartPanel extends JPanel {
+public class LongShortTradesChartPanel extends CachedChartPanel implements ChartSeriesView {
 
     private int longCount = 0;
     private int shortCount = 0;
@@ -25,28 +23,17 @@ public class LongShortTradesChartPanel extends JPanel {
     }
 
     /**
-     * Set trade data and calculate Long/Short counts
+     * Show the Long/Short trade counts
      */
-    public void setTrades(List<Trade> trades) {
-        longCount = 0;
-        shortCount = 0;
-
-        if (trades != null) {
-            for (Trade trade : trades) {
-                if (trade.getType() == TradeType.BUY) {
-                    longCount++;
-                } else if (trade.getType() == TradeType.SELL) {
-                    shortCount++;
-                }
-            }
-        }
-
-        repaint();
+    @Override
+    public void setSeries(ChartSeries series) {
+        longCount = series.getLongTrades();
+        shortCount = series.getShortTrades();
+        chartChanged();
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    protected void paintChart(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
@@ -55,7 +42,7 @@ public class LongShortTradesChartPanel extends JPanel {
         if (totalTrades == 0) {
             // Draw "No data" message
             g2.setColor(Color.GRAY);
-            g2.setFont(new Font("Arial", Font.PLAIN, 14));
+            g2.setFont(ChartFonts.PLAIN_14);
             String msg = "No trades to display";
             FontMetrics fm = g2.getFontMetrics();
             int msgWidth = fm.stringWidth(msg);
@@ -93,7 +80,7 @@ public class LongShortTradesChartPanel extends JPanel {
 
         // Draw title
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.BOLD, 16));
+        g2.setFont(ChartFonts.BOLD_16);
         String title = "Long vs Short Trades";
         FontMetrics fm = g2.getFontMetrics();
         int titleWidth = fm.stringWidth(title);
@@ -124,11 +111,11 @@ public class LongShortTradesChartPanel extends JPanel {
         g2.draw(box);
 
         // Draw label
-        g2.setFont(new Font("Arial", Font.PLAIN, 12));
+        g2.setFont(ChartFonts.PLAIN_12);
         g2.drawString(label, x + 25, y + 15);
 
         // Draw percentage below
-        g2.setFont(new Font("Arial", Font.BOLD, 12));
+        g2.setFont(ChartFonts.BOLD_12);
         g2.drawString(percentage, x + 25, y + 30);
     }
 }
@@ -2,29 +2,72 @@ package com.tradingjournal.ui;
 
 import com.tradingjournal.model.Trade;
 import com.tradingjournal.model.TradeType;
+import com.tradingjournal.model.WeekHourMatrix;
 import com.tradingjournal.model.TradeStatistics;
 import com.tradingjournal.model.Account;
-import com.tradingjournal.model.EquityPoint;
+import com.tradingjournal.model.AnalyticsSnapshot;
+import com.tradingjournal.model.CorrelationMatrix;
+import com.tradingjournal.model.DrawdownBreakdown;
+import com.tradingjournal.model.DrawdownReport;
+import com.tradingjournal.model.EquityCurve;
+import com.tradingjournal.model.ExcursionReport;
+import com.tradingjournal.model.FacetCounts;
+import com.tradingjournal.model.FacetCounts.Facet;
+import com.tradingjournal.model.FilterCriteria;
+import com.tradingjournal.model.MonteCarloResult;
+import com.tradingjournal.model.PortfolioEquity;
+import com.tradingjournal.model.RollingMetrics;
+import com.tradingjournal.model.SizingGridResult;
+import com.tradingjournal.model.StatisticsBreakdown;
+import com.tradingjournal.model.RiskMetrics;
+import com.tradingjournal.repository.BarRepository;
 import com.tradingjournal.repository.StrategyRepository;
 import com.tradingjournal.repository.AccountRepository;
 import com.tradingjournal.repository.TradeRepository;
+import com.tradingjournal.repository.TradeDictionary;
 import com.tradingjournal.repository.NoteRepository;
+import com.tradingjournal.service.AnalyticsCache;
+import com.tradingjournal.service.BreakdownCalculator;
+import com.tradingjournal.service.ChartSeriesCalculator;
+import com.tradingjournal.service.CorrelationCalculator;
+import com.tradingjournal.service.DrawdownAnalyzer;
+import com.tradingjournal.service.ExcursionAnalyzer;
+import com.tradingjournal.service.RMultipleCalculator;
+import com.tradingjournal.service.TradeIndex;
+import com.tradingjournal.service.TradeQuery;
+import com.tradingjournal.service.TradeSearch;
 import com.tradingjournal.service.EquityCurveCalculator;
+import com.tradingjournal.service.MonteCarloSimulator;
+import com.tradingjournal.service.PortfolioEquityEngine;
+import com.tradingjournal.service.PositionSizingSimulator;
+import com.tradingjournal.service.RiskMetricsCalculator;
+import com.tradingjournal.service.RollingMetricsCalculator;
 import com.tradingjournal.service.TradeAnalyzer;
 import com.tradingjournal.service.TradeBuddyTxtImportService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.plaf.basic.BasicComboPopup;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Main window of the application
@@ -38,6 +81,29 @@ public class MainWindow extends JFrame {
     private final TradeAnalyzer analyzer;
     private final EquityCurveCalculator equityCalculator;
     private final TradeBuddyTxtImportService importService;
+    private final MonteCarloSimulator monteCarloSimulator;
+    private final RiskMetricsCalculator riskMetricsCalculator;
+    private final DrawdownAnalyzer drawdownAnalyzer;
+    private final CorrelationCalculator correlationCalculator;
+    private final AnalyticsCache analyticsCache;
+    /** Runs filter and analytics computations off the EDT, one at a time */
+    private final ExecutorService analyticsExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "analytics");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Generation of the latest filter request; older computations stop and are never published */
+    private final AtomicLong analyticsGeneration = new AtomicLong();
+    private Future<?> pendingAnalytics;
+    /** Tabs, charts and metric panels showing the current snapshot, updated once visible */
+    private final SnapshotConsumers snapshotConsumers = new SnapshotConsumers(analyticsExecutor);
+    private final RollingMetricsCalculator rollingMetricsCalculator;
+    private final PortfolioEquityEngine portfolioEngine;
+    private final PositionSizingSimulator positionSizingSimulator;
+    private final ChartSeriesCalculator chartSeriesCalculator;
+    private final BreakdownCalculator breakdownCalculator;
+    private ExcursionAnalyzer excursionAnalyzer;
+    private final RMultipleCalculator rMultipleCalculator;
 
     private TradeTableModel tableModel;
     private JTable tradeTable;
@@ -62,8 +128,8 @@ public class MainWindow extends JFrame {
     private JLabel metricsMaxProfitLabel;
     private JLabel metricsMaxLossLabel;
 
-    // Analytics tab metrics labels (15 total: 10 standard + 5 time-based)
-    private JLabel[] analyticsMetricsLabels = new JLabel[15];
+    // Analytics tab metrics labels (21 total: 10 standard + 5 time-based + 6 risk)
+    private JLabel[] analyticsMetricsLabels = new JLabel[21];
 
     private JComboBox<String> strategyFilter;
     private JComboBox<String> accountFilter;
@@ -74,6 +140,8 @@ public class MainWindow extends JFrame {
     private EquityCurvePanel equityCurvePanel;
     private EquityCurvePanel analyticsEquityCurvePanel; // Second equity curve for Analytics tab
     private CombinedEquityChartPanel combinedEquityChartPanel;
+    /** Bumped per combined chart refresh so only the latest portfolio reaches the chart */
+    private final AtomicLong portfolioGeneration = new AtomicLong();
     private LongShortProfitChartPanel longShortProfitChartPanel;
     private LongShortTradesChartPanel longShortTradesChartPanel;
     private PnLByDayChartPanel pnlByDayChartPanel;
@@ -82,10 +150,62 @@ public class MainWindow extends JFrame {
     private EntriesByMonthChartPanel entriesByMonthChartPanel;
     private PnLByHourChartPanel pnlByHourChartPanel;
     private PnLByMonthChartPanel pnlByMonthChartPanel;
+    private RollingMetricsChartPanel rollingMetricsChartPanel;
+    private JComboBox<RollingMetrics.Metric> rollingMetricCombo;
+    private JComboBox<RollingMetrics.WindowType> rollingWindowTypeCombo;
+    private JSpinner rollingWindowSizeSpinner;
+    private UnderwaterChartPanel underwaterChartPanel;
+    private DrawdownTableModel drawdownTableModel;
+    private JTable drawdownTable;
+    private JComboBox<String> drawdownGroupCombo;
+    private DrawdownBreakdown drawdownBreakdown;
+    private CorrelationMatrixPanel correlationMatrixPanel;
+    private JComboBox<CorrelationMatrix.GroupBy> correlationGroupCombo;
+    private JComboBox<CorrelationMatrix.Method> correlationMethodCombo;
+    private MonteCarloFanChartPanel monteCarloFanChartPanel;
+    private JComboBox<Integer> monteCarloRunsCombo;
+    private JComboBox<MonteCarloSimulator.Mode> monteCarloModeCombo;
+    private JTextField monteCarloLossLimitField;
+    private JButton monteCarloRunButton;
+    private JLabel monteCarloSummaryLabel;
+    private PositionSizingHeatmapPanel sizingHeatmapPanel;
+    private JComboBox<SizingGridResult.Rule> sizingRuleCombo;
+    private JComboBox<SizingGridResult.Metric> sizingMetricCombo;
+    private JComboBox<Integer> sizingStepsCombo;
+    private JTextField sizingFromField;
+    private JTextField sizingToField;
+    private JTextField sizingCapFromField;
+    private JTextField sizingCapToField;
+    private JButton sizingRunButton;
+    private JLabel sizingSummaryLabel;
+    private WeekHourHeatmapPanel weekHourHeatmapPanel;
+    private BreakdownTableModel breakdownTableModel;
+    private JComboBox<StatisticsBreakdown.Dimension> breakdownDimensionCombo;
+    private ExcursionScatterPanel excursionScatterPanel;
+    private JTextField barDirectoryField;
+    private JButton excursionRunButton;
+    private JLabel excursionSummaryLabel;
+    private RMultipleHistogramPanel rMultipleHistogramPanel;
+    private CombinedEquityChartPanel rEquityChartPanel;
     private NotesPanel notesPanel;
     private CalendarPanel calendarPanel;
     private List<Trade> allTrades;
+    /** Filter bitmaps and columns over allTrades, rebuilt per load and patched on table edits */
+    private TradeIndex tradeIndex = new TradeIndex(new ArrayList<Trade>(), new TradeDictionary());
+    /** Compiled query from the query bar, or null */
+    private TradeQuery activeQuery;
+    private JTextField queryField;
+    private JLabel queryStatusLabel;
+    /** Search box terms narrowing the trade table, or null */
+    private TradeSearch activeSearch;
+    /** Bumped per table refresh so only the latest search result reaches the table */
+    private final AtomicLong searchGeneration = new AtomicLong();
+    private JTextField searchField;
+    private JLabel searchStatusLabel;
     private List<Trade> filteredTrades;
+    private AnalyticsSnapshot currentSnapshot;
+    /** Index the current snapshot was selected from; its row ids are positions in this index */
+    private TradeIndex snapshotIndex;
 
     private boolean isUpdatingFilters = false;
 
@@ -101,11 +221,22 @@ public class MainWindow extends JFrame {
         this.importService = new TradeBuddyTxtImportService();
         this.analyzer = new TradeAnalyzer();
         this.equityCalculator = new EquityCurveCalculator();
+        this.monteCarloSimulator = new MonteCarloSimulator();
+        this.riskMetricsCalculator = new RiskMetricsCalculator();
+        this.drawdownAnalyzer = new DrawdownAnalyzer();
+        this.correlationCalculator = new CorrelationCalculator();
+        this.analyticsCache = new AnalyticsCache();
+        this.rollingMetricsCalculator = new RollingMetricsCalculator();
+        this.portfolioEngine = new PortfolioEquityEngine();
+        this.positionSizingSimulator = new PositionSizingSimulator();
+        this.chartSeriesCalculator = new ChartSeriesCalculator();
+        this.breakdownCalculator = new BreakdownCalculator();
+        this.excursionAnalyzer = new ExcursionAnalyzer(new BarRepository());
+        this.rMultipleCalculator = new RMultipleCalculator();
         this.allTrades = new ArrayList<>();
 
         initializeUI();
         loadTrades();
-        updateStatistics();
     }
 
     private void initializeUI() {
@@ -145,6 +276,10 @@ public class MainWindow extends JFrame {
         // Top: Trades table with buttons
         JPanel topPanel = new JPanel(new BorderLayout());
         JScrollPane tableScrollPane = createTradeTable();
+        JPanel bars = new JPanel(new GridLayout(2, 1));
+        bars.add(createQueryBar());
+        bars.add(createSearchBar());
+        topPanel.add(bars, BorderLayout.NORTH);
         topPanel.add(tableScrollPane, BorderLayout.CENTER);
         topPanel.add(createButtonPanel(), BorderLayout.SOUTH);
         splitPane.setTopComponent(topPanel);
@@ -152,12 +287,15 @@ public class MainWindow extends JFrame {
         // Bottom: Equity curve (left) and metrics panel (right)
         JPanel bottomPanel = new JPanel(new BorderLayout());
         equityCurvePanel = new EquityCurvePanel();
+        snapshotConsumers.register(equityCurvePanel,
+                snapshot -> equityCurvePanel.setEquityCurve(snapshot.getEquityCurve()));
         JScrollPane mainEquityScrollPane = new JScrollPane(equityCurvePanel);
         mainEquityScrollPane.setBorder(BorderFactory.createTitledBorder("Equity Curve"));
         bottomPanel.add(mainEquityScrollPane, BorderLayout.CENTER);
 
         // Key metrics panel on the right
         JPanel metricsPanel = createKeyMetricsPanel();
+        snapshotConsumers.register(metricsPanel, snapshot -> snapshot::getOverallDrawdown, this::updateKeyMetrics);
         bottomPanel.add(metricsPanel, BorderLayout.EAST);
 
         splitPane.setBottomComponent(bottomPanel);
@@ -171,6 +309,7 @@ public class MainWindow extends JFrame {
 
         // Add mouse wheel listener recursively to all components
         addMouseWheelListenerRecursively(mainViewTab, mainScrollPane);
+        snapshotConsumers.watch(mainScrollPane);
 
         tabbedPane.addTab("Trades & Equity", mainScrollPane);
 
@@ -184,11 +323,23 @@ public class MainWindow extends JFrame {
         row1Split.setResizeWeight(0.75);
 
         analyticsEquityCurvePanel = new EquityCurvePanel();
+        snapshotConsumers.register(analyticsEquityCurvePanel,
+                snapshot -> analyticsEquityCurvePanel.setEquityCurve(snapshot.getEquityCurve()));
         JScrollPane equityCurveScrollPane2 = new JScrollPane(analyticsEquityCurvePanel);
         equityCurveScrollPane2.setBorder(BorderFactory.createTitledBorder("Equity Curve"));
-        row1Split.setLeftComponent(equityCurveScrollPane2);
+
+        // Rolling metrics chart under the equity curve
+        JSplitPane equityRollingSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT);
+        equityRollingSplit.setResizeWeight(0.6);
+        equityRollingSplit.setTopComponent(equityCurveScrollPane2);
+        equityRollingSplit.setBottomComponent(createRollingMetricsPanel());
+        row1Split.setLeftComponent(equityRollingSplit);
 
         JPanel analyticsMetricsPanel = createAnalyticsKeyMetricsPanel();
+        snapshotConsumers.register(analyticsMetricsPanel, snapshot -> snapshot::getRiskMetrics, snapshot -> {
+            updateAnalyticsKeyMetrics(snapshot);
+            updateRiskMetrics(snapshot.getRiskMetrics());
+        });
         JScrollPane metricsScrollPane = new JScrollPane(analyticsMetricsPanel);
         metricsScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         metricsScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
@@ -200,11 +351,13 @@ public class MainWindow extends JFrame {
         row2Split.setResizeWeight(0.5);
 
         longShortTradesChartPanel = new LongShortTradesChartPanel();
+        registerChart(longShortTradesChartPanel);
         JScrollPane tradesDistScrollPane = new JScrollPane(longShortTradesChartPanel);
         tradesDistScrollPane.setBorder(BorderFactory.createTitledBorder("Trade Distribution"));
         row2Split.setLeftComponent(tradesDistScrollPane);
 
         longShortProfitChartPanel = new LongShortProfitChartPanel();
+        registerChart(longShortProfitChartPanel);
         JScrollPane profitScrollPane = new JScrollPane(longShortProfitChartPanel);
         profitScrollPane.setBorder(BorderFactory.createTitledBorder("Long vs Short Performance"));
         row2Split.setRightComponent(profitScrollPane);
@@ -214,11 +367,13 @@ public class MainWindow extends JFrame {
         row3Split.setResizeWeight(0.5);
 
         entriesByHourChartPanel = new EntriesByHourChartPanel();
+        registerChart(entriesByHourChartPanel);
         JScrollPane entriesHourScrollPane = new JScrollPane(entriesByHourChartPanel);
         entriesHourScrollPane.setBorder(BorderFactory.createTitledBorder("Entries by Hour"));
         row3Split.setLeftComponent(entriesHourScrollPane);
 
         pnlByHourChartPanel = new PnLByHourChartPanel();
+        registerChart(pnlByHourChartPanel);
         JScrollPane pnlHourScrollPane = new JScrollPane(pnlByHourChartPanel);
         pnlHourScrollPane.setBorder(BorderFactory.createTitledBorder("P/L by Hour"));
         row3Split.setRightComponent(pnlHourScrollPane);
@@ -228,11 +383,13 @@ public class MainWindow extends JFrame {
         row4Split.setResizeWeight(0.5);
 
         entriesByWeekdayChartPanel = new EntriesByWeekdayChartPanel();
+        registerChart(entriesByWeekdayChartPanel);
         JScrollPane entriesWeekdayScrollPane = new JScrollPane(entriesByWeekdayChartPanel);
         entriesWeekdayScrollPane.setBorder(BorderFactory.createTitledBorder("Entries by Weekday"));
         row4Split.setLeftComponent(entriesWeekdayScrollPane);
 
         pnlByDayChartPanel = new PnLByDayChartPanel();
+        registerChart(pnlByDayChartPanel);
         JScrollPane pnlDayScrollPane = new JScrollPane(pnlByDayChartPanel);
         pnlDayScrollPane.setBorder(BorderFactory.createTitledBorder("Wins/Losses by Weekday"));
         row4Split.setRightComponent(pnlDayScrollPane);
@@ -242,11 +399,13 @@ public class MainWindow extends JFrame {
         row5Split.setResizeWeight(0.5);
 
         entriesByMonthChartPanel = new EntriesByMonthChartPanel();
+        registerChart(entriesByMonthChartPanel);
         JScrollPane entriesMonthScrollPane = new JScrollPane(entriesByMonthChartPanel);
         entriesMonthScrollPane.setBorder(BorderFactory.createTitledBorder("Entries by Month"));
         row5Split.setLeftComponent(entriesMonthScrollPane);
 
         pnlByMonthChartPanel = new PnLByMonthChartPanel();
+        registerChart(pnlByMonthChartPanel);
         JScrollPane pnlMonthScrollPane = new JScrollPane(pnlByMonthChartPanel);
         pnlMonthScrollPane.setBorder(BorderFactory.createTitledBorder("P/L by Month"));
         row5Split.setRightComponent(pnlMonthScrollPane);
@@ -275,7 +434,81 @@ public class MainWindow extends JFrame {
         mainVertSplit.setTopComponent(rows1234Split);
         mainVertSplit.setBottomComponent(row5Split);
 
-        analyticsTab.add(mainVertSplit, BorderLayout.CENTER);
+        // Row 6: Drawdown analysis
+        JSplitPane drawdownSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT);
+        drawdownSplit.setResizeWeight(0.85);
+        drawdownSplit.setTopComponent(mainVertSplit);
+        drawdownSplit.setBottomComponent(createDrawdownPanel());
+
+        // Row 7: Correlation matrix
+        JSplitPane correlationSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT);
+        correlationSplit.setResizeWeight(0.85);
+        correlationSplit.setTopComponent(drawdownSplit);
+        correlationSplit.setBottomComponent(createCorrelationPanel());
+
+        // Row 8: Strategy equity comparison with the portfolio curve
+        combinedEquityChartPanel = new CombinedEquityChartPanel();
+        JScrollPane combinedEquityScrollPane = new JScrollPane(combinedEquityChartPanel);
+        combinedEquityScrollPane.setBorder(BorderFactory.createTitledBorder("Strategy Equity Comparison"));
+        JSplitPane combinedEquitySplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT);
+        combinedEquitySplit.setResizeWeight(0.85);
+        combinedEquitySplit.setTopComponent(correlationSplit);
+        combinedEquitySplit.setBottomComponent(combinedEquityScrollPane);
+
+        // Row 9: Monte Carlo simulation
+        JSplitPane monteCarloSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT);
+        monteCarloSplit.setResizeWeight(0.85);
+        monteCarloSplit.setTopComponent(combinedEquitySplit);
+        monteCarloSplit.setBottomComponent(createMonteCarloPanel());
+
+        // Row 10: Position sizing what-if grid
+        JSplitPane sizingSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT);
+        sizingSplit.setResizeWeight(0.85);
+        sizingSplit.setTopComponent(monteCarloSplit);
+        sizingSplit.setBottomComponent(createPositionSizingPanel());
+
+        // Row 11: Weekday x hour heatmap
+        JSplitPane weekHourSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT);
+        weekHourSplit.setResizeWeight(0.85);
+        weekHourSplit.setTopComponent(sizingSplit);
+        weekHourSplit.setBottomComponent(createWeekHourPanel());
+
+        // Row 12: Statistics breakdown by symbol, strategy or magic number
+        JSplitPane breakdownSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT);
+        breakdownSplit.setResizeWeight(0.85);
+        breakdownSplit.setTopComponent(weekHourSplit);
+        breakdownSplit.setBottomComponent(createBreakdownPanel());
+
+        // Row 13: MAE/MFE from local M1 bars
+        JSplitPane excursionSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT);
+        excursionSplit.setResizeWeight(0.85);
+        excursionSplit.setTopComponent(breakdownSplit);
+        excursionSplit.setBottomComponent(createExcursionPanel());
+
+        // Row 14: R-multiple distribution (left) + cumulative R per strategy (right)
+        JSplitPane row14Split = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
+        row14Split.setResizeWeight(0.5);
+
+        rMultipleHistogramPanel = new RMultipleHistogramPanel();
+        snapshotConsumers.register(rMultipleHistogramPanel, snapshot -> snapshot::getRMultipleReport,
+                snapshot -> rMultipleHistogramPanel.setReport(snapshot.getRMultipleReport()));
+        JScrollPane rHistogramScrollPane = new JScrollPane(rMultipleHistogramPanel);
+        rHistogramScrollPane.setBorder(BorderFactory.createTitledBorder("R-Multiples"));
+        row14Split.setLeftComponent(rHistogramScrollPane);
+
+        rEquityChartPanel = new CombinedEquityChartPanel("Strategy Equity in R", "%.1fR");
+        snapshotConsumers.register(rEquityChartPanel, snapshot -> snapshot::getRMultipleReport,
+                snapshot -> rEquityChartPanel.setPortfolioEquity(snapshot.getRMultipleReport().getEquity()));
+        JScrollPane rEquityScrollPane = new JScrollPane(rEquityChartPanel);
+        rEquityScrollPane.setBorder(BorderFactory.createTitledBorder("Cumulative R by Strategy"));
+        row14Split.setRightComponent(rEquityScrollPane);
+
+        JSplitPane rMultipleSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT);
+        rMultipleSplit.setResizeWeight(0.85);
+        rMultipleSplit.setTopComponent(excursionSplit);
+        rMultipleSplit.setBottomComponent(row14Split);
+
+        analyticsTab.add(rMultipleSplit, BorderLayout.CENTER);
 
         // Wrap in scroll pane for vertical scrolling
         JScrollPane analyticsScrollPane = new JScrollPane(analyticsTab);
@@ -286,10 +519,15 @@ public class MainWindow extends JFrame {
         // Add mouse wheel listener recursively to all components
         addMouseWheelListenerRecursively(analyticsTab, analyticsScrollPane);
 
+        // Charts scrolled into view catch up with the current selection
+        snapshotConsumers.watch(analyticsScrollPane);
+
         tabbedPane.addTab("Analytics", analyticsScrollPane);
 
         // Tab 3: Calendar
         calendarPanel = new CalendarPanel();
+        snapshotConsumers.register(calendarPanel, snapshot -> snapshot::getDailyPnL,
+                snapshot -> calendarPanel.setDailyPnL(snapshot.getDailyPnL()));
         JScrollPane calendarScrollPane = new JScrollPane(calendarPanel);
         calendarScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         calendarScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
@@ -335,7 +573,6 @@ public class MainWindow extends JFrame {
         JMenuItem refreshItem = new JMenuItem("Refresh");
         refreshItem.addActionListener(e -> {
             loadTrades();
-            updateStatistics();
         });
         viewMenu.add(refreshItem);
 
@@ -509,8 +746,8 @@ public class MainWindow extends JFrame {
         panel.setBorder(BorderFactory.createCompoundBorder(
                 BorderFactory.createTitledBorder("Key Metrics"),
                 BorderFactory.createEmptyBorder(10, 10, 10, 10)));
-        panel.setPreferredSize(new Dimension(380, 200)); // Wider
-        panel.setMinimumSize(new Dimension(380, 200));
+        panel.setPreferredSize(new Dimension(380, 260)); // Wider
+        panel.setMinimumSize(new Dimension(380, 260));
 
         Font labelFont = new Font("Arial", Font.PLAIN, 11); // Smaller font
 
@@ -530,6 +767,12 @@ public class MainWindow extends JFrame {
         analyticsMetricsLabels[12] = new JLabel("Avg. Long Hold: 0h");
         analyticsMetricsLabels[13] = new JLabel("Avg. Profit Hold: 0h");
         analyticsMetricsLabels[14] = new JLabel("Avg. Loss Hold: 0h");
+        analyticsMetricsLabels[15] = new JLabel("Sharpe Ratio: n/a");
+        analyticsMetricsLabels[16] = new JLabel("Sortino Ratio: n/a");
+        analyticsMetricsLabels[17] = new JLabel("Calmar Ratio: n/a");
+        analyticsMetricsLabels[18] = new JLabel("Ulcer Index: n/a");
+        analyticsMetricsLabels[19] = new JLabel("Ann. Volatility: n/a");
+        analyticsMetricsLabels[20] = new JLabel("Ann. Return: n/a");
 
         // Apply font to all labels and add to panel
         for (JLabel label : analyticsMetricsLabels) {
@@ -540,6 +783,589 @@ public class MainWindow extends JFrame {
         return panel;
     }
 
+    /**
+     * Create rolling metrics panel with window controls and chart
+     */
+    private JPanel createRollingMetricsPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder("Rolling Metrics"));
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(new JLabel("Metric:"));
+        rollingMetricCombo = new JComboBox<RollingMetrics.Metric>(RollingMetrics.Metric.values());
+        rollingMetricCombo.addActionListener(
+                e -> rollingMetricsChartPanel.setMetric((RollingMetrics.Metric) rollingMetricCombo.getSelectedItem()));
+        controls.add(rollingMetricCombo);
+
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(new JLabel("Window:"));
+        rollingWindowSizeSpinner = new JSpinner(new SpinnerNumberModel(50, 2, 100000, 10));
+        rollingWindowSizeSpinner.addChangeListener(e -> snapshotConsumers.invalidate(rollingMetricsChartPanel));
+        controls.add(rollingWindowSizeSpinner);
+
+        rollingWindowTypeCombo = new JComboBox<RollingMetrics.WindowType>(RollingMetrics.WindowType.values());
+        rollingWindowTypeCombo.addActionListener(e -> snapshotConsumers.invalidate(rollingMetricsChartPanel));
+        controls.add(rollingWindowTypeCombo);
+
+        rollingMetricsChartPanel = new RollingMetricsChartPanel();
+        snapshotConsumers.register(rollingMetricsChartPanel, snapshot -> {
+            RollingMetrics.WindowType windowType = (RollingMetrics.WindowType) rollingWindowTypeCombo.getSelectedItem();
+            int windowSize = (Integer) rollingWindowSizeSpinner.getValue();
+            return () -> rollingFor(snapshot, windowType, windowSize);
+        }, snapshot -> rollingMetricsChartPanel.setMetrics(rollingFor(snapshot,
+                (RollingMetrics.WindowType) rollingWindowTypeCombo.getSelectedItem(),
+                (Integer) rollingWindowSizeSpinner.getValue())));
+
+        panel.add(controls, BorderLayout.NORTH);
+        panel.add(rollingMetricsChartPanel, BorderLayout.CENTER);
+        return panel;
+    }
+
+    /**
+     * Rolling metrics of a snapshot for a window, computed once per window; the
+     * view prepares them on the analytics thread, so showing them is a memo hit
+     */
+    private RollingMetrics rollingFor(AnalyticsSnapshot snapshot, RollingMetrics.WindowType windowType,
+            int windowSize) {
+        RollingMetrics metrics = snapshot.getRollingMetrics(windowType, windowSize);
+        if (metrics == null) {
+            metrics = rollingMetricsCalculator.calculate(snapshot.getTrades(), windowType, windowSize);
+            snapshot.setRollingMetrics(metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Create drawdown panel with underwater chart and per-strategy/account table
+     */
+    private JPanel createDrawdownPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder("Drawdowns"));
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(new JLabel("Group:"));
+        drawdownGroupCombo = new JComboBox<String>(new String[] { "By Strategy", "By Account" });
+        drawdownGroupCombo.addActionListener(e -> showDrawdownGroups());
+        controls.add(drawdownGroupCombo);
+        controls.add(new JLabel("Select a row to show its underwater curve"));
+
+        underwaterChartPanel = new UnderwaterChartPanel();
+
+        drawdownTableModel = new DrawdownTableModel();
+        drawdownTable = new JTable(drawdownTableModel);
+        drawdownTable.setAutoCreateRowSorter(true);
+        drawdownTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        drawdownTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showSelectedDrawdown();
+            }
+        });
+        JScrollPane tableScrollPane = new JScrollPane(drawdownTable);
+        tableScrollPane.setPreferredSize(new Dimension(450, 220));
+
+        JSplitPane split = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
+        split.setResizeWeight(0.6);
+        split.setLeftComponent(underwaterChartPanel);
+        split.setRightComponent(tableScrollPane);
+
+        panel.add(controls, BorderLayout.NORTH);
+        panel.add(split, BorderLayout.CENTER);
+        snapshotConsumers.register(panel, snapshot -> snapshot::getDrawdowns,
+                snapshot -> updateDrawdowns(snapshot.getDrawdowns()));
+        return panel;
+    }
+
+    private void updateDrawdowns(DrawdownBreakdown breakdown) {
+        if (drawdownTableModel == null) {
+            return;
+        }
+
+        drawdownBreakdown = breakdown;
+        showDrawdownGroups();
+    }
+
+    private void showDrawdownGroups() {
+        if (drawdownBreakdown == null) {
+            return;
+        }
+
+        Map<String, DrawdownReport> groups = drawdownGroupCombo.getSelectedIndex() == 1
+                ? drawdownBreakdown.getByAccount()
+                : drawdownBreakdown.getByStrategy();
+        drawdownTableModel.setReports(new ArrayList<>(groups.values()));
+        underwaterChartPanel.setReport(drawdownBreakdown.getOverall());
+    }
+
+    private void showSelectedDrawdown() {
+        if (drawdownBreakdown == null) {
+            return;
+        }
+
+        int viewRow = drawdownTable.getSelectedRow();
+        if (viewRow < 0) {
+            underwaterChartPanel.setReport(drawdownBreakdown.getOverall());
+        } else {
+            underwaterChartPanel.setReport(drawdownTableModel.getReport(drawdownTable.convertRowIndexToModel(viewRow)));
+        }
+    }
+
+    private JPanel createCorrelationPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder("Correlation Matrix"));
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(new JLabel("Group:"));
+        correlationGroupCombo = new JComboBox<CorrelationMatrix.GroupBy>(CorrelationMatrix.GroupBy.values());
+        correlationGroupCombo.addActionListener(e -> snapshotConsumers.invalidate(correlationMatrixPanel));
+        controls.add(correlationGroupCombo);
+
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(new JLabel("Method:"));
+        correlationMethodCombo = new JComboBox<CorrelationMatrix.Method>(CorrelationMatrix.Method.values());
+        correlationMethodCombo.addActionListener(e -> correlationMatrixPanel
+                .setMethod((CorrelationMatrix.Method) correlationMethodCombo.getSelectedItem()));
+        controls.add(correlationMethodCombo);
+
+        correlationMatrixPanel = new CorrelationMatrixPanel();
+        snapshotConsumers.register(correlationMatrixPanel, snapshot -> {
+            CorrelationMatrix.GroupBy groupBy = (CorrelationMatrix.GroupBy) correlationGroupCombo.getSelectedItem();
+            return () -> correlationFor(snapshot, groupBy);
+        }, snapshot -> correlationMatrixPanel.setMatrix(correlationFor(snapshot,
+                (CorrelationMatrix.GroupBy) correlationGroupCombo.getSelectedItem())));
+
+        panel.add(controls, BorderLayout.NORTH);
+        panel.add(correlationMatrixPanel, BorderLayout.CENTER);
+        return panel;
+    }
+
+    /**
+     * Correlation matrix of a snapshot for a grouping, computed once per grouping
+     */
+    private CorrelationMatrix correlationFor(AnalyticsSnapshot snapshot, CorrelationMatrix.GroupBy groupBy) {
+        CorrelationMatrix matrix = snapshot.getCorrelation(groupBy);
+        if (matrix == null) {
+            matrix = correlationCalculator.calculate(snapshot.getTrades(), groupBy);
+            snapshot.putCorrelation(matrix);
+        }
+        return matrix;
+    }
+
+    private JPanel createBreakdownPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder("Breakdown"));
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(new JLabel("Group by:"));
+        breakdownDimensionCombo = new JComboBox<StatisticsBreakdown.Dimension>(
+                StatisticsBreakdown.Dimension.values());
+        controls.add(breakdownDimensionCombo);
+
+        breakdownTableModel = new BreakdownTableModel();
+        JTable breakdownTable = new JTable(breakdownTableModel);
+        breakdownTable.setAutoCreateRowSorter(true);
+        breakdownTable.setRowHeight(22);
+        JScrollPane tableScroll = new JScrollPane(breakdownTable);
+        tableScroll.setPreferredSize(new Dimension(600, 250));
+
+        breakdownDimensionCombo.addActionListener(e -> snapshotConsumers.invalidate(tableScroll));
+        snapshotConsumers.register(tableScroll, snapshot -> {
+            StatisticsBreakdown.Dimension dimension =
+                    (StatisticsBreakdown.Dimension) breakdownDimensionCombo.getSelectedItem();
+            return () -> breakdownFor(snapshot, dimension);
+        }, snapshot -> breakdownTableModel.setBreakdown(breakdownFor(snapshot,
+                (StatisticsBreakdown.Dimension) breakdownDimensionCombo.getSelectedItem())));
+
+        panel.add(controls, BorderLayout.NORTH);
+        panel.add(tableScroll, BorderLayout.CENTER);
+        return panel;
+    }
+
+    /**
+     * Breakdown of a snapshot by a dimension, computed once per dimension
+     */
+    private StatisticsBreakdown breakdownFor(AnalyticsSnapshot snapshot, StatisticsBreakdown.Dimension dimension) {
+        StatisticsBreakdown breakdown = snapshot.getBreakdown(dimension);
+        if (breakdown == null) {
+            breakdown = breakdownCalculator.calculate(snapshot.getTrades(), dimension);
+            snapshot.putBreakdown(breakdown);
+        }
+        return breakdown;
+    }
+
+    private JPanel createExcursionPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder("MAE / MFE"));
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(new JLabel("M1 bar folder:"));
+        barDirectoryField = new JTextField(excursionAnalyzer.getBarRepository().getDirectory().getAbsolutePath(), 25);
+        controls.add(barDirectoryField);
+
+        JButton browseButton = new JButton("Browse...");
+        browseButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser(barDirectoryField.getText().trim());
+            chooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+            if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+                barDirectoryField.setText(chooser.getSelectedFile().getAbsolutePath());
+            }
+        });
+        controls.add(browseButton);
+
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(new JLabel("Units:"));
+        JComboBox<String> unitCombo = new JComboBox<String>(new String[] { "Money", "R" });
+        unitCombo.addActionListener(e -> excursionScatterPanel.setInR("R".equals(unitCombo.getSelectedItem())));
+        controls.add(unitCombo);
+
+        excursionRunButton = new JButton("Analyze");
+        excursionRunButton.addActionListener(e -> runExcursionAnalysis());
+        controls.add(excursionRunButton);
+
+        excursionSummaryLabel = new JLabel("Bars are read from SYMBOL.csv or SYMBOL.bin files in the folder");
+        excursionSummaryLabel.setFont(new Font("Arial", Font.PLAIN, 11));
+        excursionSummaryLabel.setBorder(new EmptyBorder(0, 5, 5, 5));
+
+        excursionScatterPanel = new ExcursionScatterPanel();
+
+        panel.add(controls, BorderLayout.NORTH);
+        panel.add(excursionScatterPanel, BorderLayout.CENTER);
+        panel.add(excursionSummaryLabel, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    /**
+     * Compute MAE/MFE for the filtered trades against the bar folder in the background
+     */
+    private void runExcursionAnalysis() {
+        List<Trade> trades = filteredTrades != null ? new ArrayList<>(filteredTrades) : new ArrayList<>();
+        if (trades.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No trades to analyze with the current filters.",
+                    "MAE / MFE", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        // A different folder means different bars; keep the per-ticket cache otherwise
+        String directory = barDirectoryField.getText().trim();
+        if (!new java.io.File(directory).getAbsoluteFile()
+                .equals(excursionAnalyzer.getBarRepository().getDirectory().getAbsoluteFile())) {
+            excursionAnalyzer = new ExcursionAnalyzer(new BarRepository(directory));
+        }
+        ExcursionAnalyzer analyzer = excursionAnalyzer;
+
+        excursionRunButton.setEnabled(false);
+        excursionSummaryLabel.setText("Scanning bars...");
+
+        SwingWorker<ExcursionReport, Void> worker = new SwingWorker<ExcursionReport, Void>() {
+            @Override
+            protected ExcursionReport doInBackground() {
+                return analyzer.analyze(trades);
+            }
+
+            @Override
+            protected void done() {
+                excursionRunButton.setEnabled(true);
+                try {
+                    ExcursionReport report = get();
+                    excursionScatterPanel.setReport(report);
+                    excursionSummaryLabel.setText(String.format(
+                            "<html>%d trades analyzed (%d cached), %d without bar data, in %d ms &nbsp;|&nbsp; "
+                                    + "Average MAE: %s &nbsp;|&nbsp; Average MFE: %s</html>",
+                            report.getExcursions().size(), report.getCachedCount(), report.getTradesWithoutBars(),
+                            report.getElapsedMillis(), formatMoney(report.getAverageMaeMoney()),
+                            formatMoney(report.getAverageMfeMoney())));
+                } catch (Exception e) {
+                    excursionSummaryLabel.setText("Analysis failed: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        };
+
+        worker.execute();
+    }
+
+    private static String formatMoney(double value) {
+        return Double.isNaN(value) ? "n/a" : String.format("$%,.2f", value);
+    }
+
+    /**
+     * Create Monte Carlo simulation panel with controls and fan chart
+     */
+    private JPanel createMonteCarloPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder("Monte Carlo Simulation"));
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(new JLabel("Runs:"));
+        monteCarloRunsCombo = new JComboBox<Integer>(new Integer[] { 10000, 25000, 50000, 100000 });
+        monteCarloRunsCombo.setSelectedItem(50000);
+        controls.add(monteCarloRunsCombo);
+
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(new JLabel("Mode:"));
+        monteCarloModeCombo = new JComboBox<MonteCarloSimulator.Mode>(MonteCarloSimulator.Mode.values());
+        controls.add(monteCarloModeCombo);
+
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(new JLabel("Loss Limit ($):"));
+        monteCarloLossLimitField = new JTextField("1000", 8);
+        controls.add(monteCarloLossLimitField);
+
+        monteCarloRunButton = new JButton("Run Simulation");
+        monteCarloRunButton.addActionListener(e -> runMonteCarlo());
+        controls.add(monteCarloRunButton);
+
+        monteCarloSummaryLabel = new JLabel(" ");
+        monteCarloSummaryLabel.setFont(new Font("Arial", Font.PLAIN, 11));
+        monteCarloSummaryLabel.setBorder(new EmptyBorder(0, 5, 5, 5));
+
+        monteCarloFanChartPanel = new MonteCarloFanChartPanel();
+
+        panel.add(controls, BorderLayout.NORTH);
+        panel.add(monteCarloFanChartPanel, BorderLayout.CENTER);
+        panel.add(monteCarloSummaryLabel, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    /**
+     * Run a Monte Carlo simulation over the filtered trades in the background
+     */
+    private void runMonteCarlo() {
+        List<Trade> trades = filteredTrades != null ? new ArrayList<>(filteredTrades) : new ArrayList<>();
+        if (trades.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No trades to simulate with the current filters.",
+                    "Monte Carlo Simulation", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        double lossLimit;
+        try {
+            lossLimit = Double.parseDouble(monteCarloLossLimitField.getText().trim());
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Loss limit must be a number.",
+                    "Monte Carlo Simulation", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        int runs = (Integer) monteCarloRunsCombo.getSelectedItem();
+        MonteCarloSimulator.Mode mode = (MonteCarloSimulator.Mode) monteCarloModeCombo.getSelectedItem();
+        double startingBalance = getSelectedStartingBalance();
+
+        monteCarloRunButton.setEnabled(false);
+        monteCarloSummaryLabel.setText("Simulating...");
+
+        SwingWorker<MonteCarloResult, Void> worker = new SwingWorker<MonteCarloResult, Void>() {
+            @Override
+            protected MonteCarloResult doInBackground() {
+                return monteCarloSimulator.simulate(trades, startingBalance, runs, mode, Math.abs(lossLimit),
+                        System.nanoTime());
+            }
+
+            @Override
+            protected void done() {
+                monteCarloRunButton.setEnabled(true);
+                try {
+                    MonteCarloResult result = get();
+                    monteCarloFanChartPanel.setResult(result);
+                    monteCarloSummaryLabel.setText(String.format(
+                            "<html>Final equity: median $%.2f, 5th pct $%.2f, 95th pct $%.2f &nbsp;|&nbsp; "
+                                    + "Max drawdown: median $%.2f, 95th pct $%.2f &nbsp;|&nbsp; "
+                                    + "Longest losing streak: median %d, 95th pct %d &nbsp;|&nbsp; "
+                                    + "P(loss limit): %.2f%%</html>",
+                            result.finalEquityPercentile(0.50), result.finalEquityPercentile(0.05),
+                            result.finalEquityPercentile(0.95), result.maxDrawdownPercentile(0.50),
+                            result.maxDrawdownPercentile(0.95), result.longestLosingStreakPercentile(0.50),
+                            result.longestLosingStreakPercentile(0.95), result.getLossLimitProbability() * 100));
+                } catch (Exception e) {
+                    monteCarloSummaryLabel.setText("Simulation failed: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        };
+
+        worker.execute();
+    }
+
+    private JPanel createWeekHourPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder("Weekday x Hour"));
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(new JLabel("Show:"));
+        JComboBox<WeekHourMatrix.Metric> metricCombo = new JComboBox<WeekHourMatrix.Metric>(
+                WeekHourMatrix.Metric.values());
+        controls.add(metricCombo);
+
+        weekHourHeatmapPanel = new WeekHourHeatmapPanel();
+        registerChart(weekHourHeatmapPanel);
+        metricCombo.addActionListener(e -> {
+            weekHourHeatmapPanel.setMetric((WeekHourMatrix.Metric) metricCombo.getSelectedItem());
+        });
+
+        panel.add(controls, BorderLayout.NORTH);
+        panel.add(weekHourHeatmapPanel, BorderLayout.CENTER);
+        return panel;
+    }
+
+    /**
+     * Feed a distribution chart the snapshot's chart series once it is visible
+     */
+    private <T extends JComponent & ChartSeriesView> void registerChart(T chart) {
+        snapshotConsumers.register(chart, snapshot -> snapshot::getChartSeries,
+                snapshot -> chart.setSeries(snapshot.getChartSeries()));
+    }
+
+    private JPanel createPositionSizingPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder("Position Sizing What-If"));
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(new JLabel("Rule:"));
+        sizingRuleCombo = new JComboBox<SizingGridResult.Rule>(SizingGridResult.Rule.values());
+        sizingRuleCombo.addActionListener(e -> resetSizingRange());
+        controls.add(sizingRuleCombo);
+
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(new JLabel("Size from:"));
+        sizingFromField = new JTextField(5);
+        controls.add(sizingFromField);
+        controls.add(new JLabel("to:"));
+        sizingToField = new JTextField(5);
+        controls.add(sizingToField);
+
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(new JLabel("Lot cap from:"));
+        sizingCapFromField = new JTextField("0.5", 5);
+        controls.add(sizingCapFromField);
+        controls.add(new JLabel("to:"));
+        sizingCapToField = new JTextField("10", 5);
+        controls.add(sizingCapToField);
+
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(new JLabel("Steps:"));
+        sizingStepsCombo = new JComboBox<Integer>(new Integer[] { 10, 25, 50, 100 });
+        sizingStepsCombo.setSelectedItem(50);
+        controls.add(sizingStepsCombo);
+
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(new JLabel("Show:"));
+        sizingMetricCombo = new JComboBox<SizingGridResult.Metric>(SizingGridResult.Metric.values());
+        sizingMetricCombo.setSelectedItem(SizingGridResult.Metric.RETURN_TO_DRAWDOWN);
+        sizingMetricCombo.addActionListener(e -> {
+            sizingHeatmapPanel.setMetric((SizingGridResult.Metric) sizingMetricCombo.getSelectedItem());
+        });
+        controls.add(sizingMetricCombo);
+
+        sizingRunButton = new JButton("Run Grid");
+        sizingRunButton.addActionListener(e -> runPositionSizing());
+        controls.add(sizingRunButton);
+
+        sizingSummaryLabel = new JLabel(" ");
+        sizingSummaryLabel.setFont(new Font("Arial", Font.PLAIN, 11));
+        sizingSummaryLabel.setBorder(new EmptyBorder(0, 5, 5, 5));
+
+        sizingHeatmapPanel = new PositionSizingHeatmapPanel();
+        resetSizingRange();
+
+        panel.add(controls, BorderLayout.NORTH);
+        panel.add(sizingHeatmapPanel, BorderLayout.CENTER);
+        panel.add(sizingSummaryLabel, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    /**
+     * Default sizing range for the selected rule
+     */
+    private void resetSizingRange() {
+        if (sizingRuleCombo.getSelectedItem() == SizingGridResult.Rule.FIXED_FRACTIONAL) {
+            sizingFromField.setText("0.25");
+            sizingToField.setText("5");
+        } else {
+            sizingFromField.setText("0.01");
+            sizingToField.setText("1");
+        }
+    }
+
+    /**
+     * Replay the filtered trades over the sizing grid in the background
+     */
+    private void runPositionSizing() {
+        List<Trade> trades = filteredTrades != null ? new ArrayList<>(filteredTrades) : new ArrayList<>();
+        if (trades.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No trades to replay with the current filters.",
+                    "Position Sizing What-If", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        double sizeFrom;
+        double sizeTo;
+        double capFrom;
+        double capTo;
+        try {
+            sizeFrom = Double.parseDouble(sizingFromField.getText().trim());
+            sizeTo = Double.parseDouble(sizingToField.getText().trim());
+            capFrom = Double.parseDouble(sizingCapFromField.getText().trim());
+            capTo = Double.parseDouble(sizingCapToField.getText().trim());
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Size and lot cap ranges must be numbers.",
+                    "Position Sizing What-If", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (sizeFrom <= 0 || sizeTo <= 0 || capFrom <= 0 || capTo <= 0) {
+            JOptionPane.showMessageDialog(this, "Size and lot cap ranges must be positive.",
+                    "Position Sizing What-If", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        double startingBalance = getSelectedStartingBalance();
+        if (startingBalance <= 0) {
+            JOptionPane.showMessageDialog(this, "Set a starting balance for the selected account(s) first.",
+                    "Position Sizing What-If", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        SizingGridResult.Rule rule = (SizingGridResult.Rule) sizingRuleCombo.getSelectedItem();
+        int steps = (Integer) sizingStepsCombo.getSelectedItem();
+        double[] sizeValues = PositionSizingSimulator.range(sizeFrom, sizeTo, steps);
+        double[] capValues = PositionSizingSimulator.range(capFrom, capTo, steps);
+
+        sizingRunButton.setEnabled(false);
+        sizingSummaryLabel.setText("Replaying " + (steps * steps) + " combinations...");
+
+        SwingWorker<SizingGridResult, Void> worker = new SwingWorker<SizingGridResult, Void>() {
+            @Override
+            protected SizingGridResult doInBackground() {
+                return positionSizingSimulator.simulate(trades, startingBalance, rule, sizeValues, capValues);
+            }
+
+            @Override
+            protected void done() {
+                sizingRunButton.setEnabled(true);
+                try {
+                    SizingGridResult result = get();
+                    sizingHeatmapPanel.setResult(result);
+                    SizingGridResult.Metric metric = (SizingGridResult.Metric) sizingMetricCombo.getSelectedItem();
+                    int[] best = result.best(metric);
+                    String bestText = best == null ? "n/a"
+                            : String.format("%s %.2f, cap %.2f lots", rule.getParameterName(),
+                                    result.getSizeValues()[best[1]], result.getCapValues()[best[0]]);
+                    String stopNote = rule == SizingGridResult.Rule.FIXED_FRACTIONAL
+                            ? String.format(" &nbsp;|&nbsp; %d trades without a stop kept their recorded size",
+                                    result.getTradesWithoutStop())
+                            : "";
+                    sizingSummaryLabel.setText(String.format(
+                            "<html>%d combinations over %d trades in %d ms &nbsp;|&nbsp; Best %s: %s%s</html>",
+                            result.getCombinationCount(), result.getTradeCount(), result.getElapsedMillis(),
+                            metric, bestText, stopNote));
+                } catch (Exception e) {
+                    sizingSummaryLabel.setText("Simulation failed: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        };
+
+        worker.execute();
+    }
+
     private JScrollPane createTradeTable() {
         tableModel = new TradeTableModel();
         tradeTable = new JTable(tableModel);
@@ -558,12 +1384,12 @@ public class MainWindow extends JFrame {
                 if (row >= 0 && (column == 9 || column == 10)) {
                     Trade trade = tableModel.getTrades().get(row);
                     repository.save(trade);
+                    // The index is only read and written on the analytics thread; the EDT gets results
+                    TradeIndex index = tradeIndex;
+                    analyticsExecutor.execute(() -> index.update(trade));
                     updateFilters();
-
-                    // If account changed, update equity curve too
-                    if (column == 10) {
-                        applyFilters(); // This will update equity curve with new account data
-                    }
+                    // Queued behind the index update, so facet counts and views see the edit
+                    applyFilters();
                 }
             }
         });
@@ -601,7 +1427,7 @@ public class MainWindow extends JFrame {
         // Load suggestions
         List<String> strategies = strategyRepository.loadAll();
         // Add extra strategies from current trades
-        for (String s : equityCalculator.getUniqueStrategies(allTrades)) {
+        for (String s : repository.getDictionary().getStrategies().getCatalog()) {
             if (!strategies.contains(s))
                 strategies.add(s);
         }
@@ -611,7 +1437,7 @@ public class MainWindow extends JFrame {
             accounts.add(a.getName());
         }
         // Add extra accounts from trades
-        for (String a : equityCalculator.getUniqueAccounts(allTrades)) {
+        for (String a : repository.getDictionary().getAccounts().getCatalog()) {
             if (!accounts.contains(a))
                 accounts.add(a);
         }
@@ -621,7 +1447,6 @@ public class MainWindow extends JFrame {
 
         if (dialog.isTradeAdded()) {
             loadTrades();
-            updateStatistics();
         }
     }
 
@@ -639,7 +1464,6 @@ public class MainWindow extends JFrame {
         JButton refreshButton = new JButton("Refresh");
         refreshButton.addActionListener(e -> {
             loadTrades();
-            updateStatistics();
         });
         panel.add(refreshButton);
 
@@ -783,7 +1607,6 @@ public class MainWindow extends JFrame {
 
                             repository.saveAll(importedTrades);
                             loadTrades();
-                            updateStatistics();
 
                             JOptionPane.showMessageDialog(MainWindow.this,
                                     "Successfully imported " + importedTrades.size() + " trades.",
@@ -805,7 +1628,10 @@ public class MainWindow extends JFrame {
     }
 
     private void loadTrades() {
-        allTrades = repository.findAll();
+        allTrades = repository.findAllByCloseTime();
+        tradeIndex = new TradeIndex(allTrades, repository.getDictionary());
+        // Cached snapshots hold row ids of the old index; queued behind any computation still using it
+        analyticsExecutor.execute(analyticsCache::clear);
         // tableModel.setTrades(allTrades); // applyFilters does this
         updateFilters();
         applyFilters();
@@ -814,48 +1640,8 @@ public class MainWindow extends JFrame {
         updateCombinedEquityChart(); // Update analytics chart
     }
 
-    private void updateEquityCurve() {
-        // Use filteredTrades if available, otherwise use allTrades
-        List<Trade> tradesToDisplay = (filteredTrades != null) ? filteredTrades : allTrades;
-
-        if (tradesToDisplay == null || tradesToDisplay.isEmpty()) {
-            if (equityCurvePanel != null) {
-                equityCurvePanel.setEquityCurve(new ArrayList<>());
-            }
-            if (analyticsEquityCurvePanel != null) {
-                analyticsEquityCurvePanel.setEquityCurve(new ArrayList<>());
-            }
-            return;
-        }
-
-        String selectedAccount = (String) accountFilter.getSelectedItem();
-        double startingBalance = 0.0;
-
-        // If a specific account is selected, attempt to get its starting balance
-        if (selectedAccount != null && !"All Accounts".equals(selectedAccount)) {
-            Optional<Account> accOpt = accountRepository.findByName(selectedAccount);
-            if (accOpt.isPresent()) {
-                startingBalance = accOpt.get().getStartingBalance();
-            }
-        }
-
-        List<EquityPoint> equityCurve = equityCalculator.calculateEquityCurve(tradesToDisplay, startingBalance);
-
-        // Update both equity curve panels
-        if (equityCurvePanel != null) {
-            equityCurvePanel.setEquityCurve(equityCurve);
-        }
-        if (analyticsEquityCurvePanel != null) {
-            analyticsEquityCurvePanel.setEquityCurve(equityCurve);
-        }
-    }
-
-    private void updateStatistics() {
-        updateStatistics(repository.findAll());
-    }
-
-    private void updateStatistics(List<Trade> trades) {
-        TradeStatistics stats = analyzer.calculateStatistics(trades);
+    private void updateStatistics(AnalyticsSnapshot snapshot) {
+        TradeStatistics stats = snapshot.getStatistics();
 
         totalTradesLabel.setText("<html><b>Total Trades:</b><br/>" + stats.getTotalTrades() + "</html>");
         winRateLabel
@@ -869,6 +1655,19 @@ public class MainWindow extends JFrame {
                 String.format("%.2f", stats.getProfitFactor()) + "</html>");
 
         // Calculate account balance (starting balance + net profit)
+        double startingBalance = snapshot.getStartingBalance();
+
+        double currentBalance = startingBalance + stats.getNetProfit();
+        String balanceColor = currentBalance >= startingBalance ? "green" : "red";
+        accountBalanceLabel.setText("<html><b>Account Balance:</b><br/><font color='" + balanceColor + "'>$" +
+                String.format("%.2f", currentBalance) + "</font></html>");
+    }
+
+    /**
+     * Starting balance of the selected account, or the sum of all account
+     * starting balances when "All Accounts" is selected
+     */
+    private double getSelectedStartingBalance() {
         double startingBalance = 0.0;
         String selectedAccount = (String) accountFilter.getSelectedItem();
 
@@ -886,53 +1685,11 @@ public class MainWindow extends JFrame {
             }
         }
 
-        double currentBalance = startingBalance + stats.getNetProfit();
-        String balanceColor = currentBalance >= startingBalance ? "green" : "red";
-        accountBalanceLabel.setText("<html><b>Account Balance:</b><br/><font color='" + balanceColor + "'>$" +
-                String.format("%.2f", currentBalance) + "</font></html>");
-
-        // Update key metrics panel
-        updateKeyMetrics(trades);
-
-        // Update analytics metrics panel
-        updateAnalyticsKeyMetrics(trades);
-
-        // Update long/short profit chart
-        if (longShortProfitChartPanel != null) {
-            longShortProfitChartPanel.setTrades(trades);
-        }
-
-        // Update long/short trades percentage chart
-        if (longShortTradesChartPanel != null) {
-            longShortTradesChartPanel.setTrades(trades);
-        }
-
-        // Update P/L by day chart
-        if (pnlByDayChartPanel != null) {
-            pnlByDayChartPanel.setTrades(trades);
-        }
-
-        // Update entry distribution charts
-        if (entriesByHourChartPanel != null) {
-            entriesByHourChartPanel.setTrades(trades);
-        }
-        if (entriesByWeekdayChartPanel != null) {
-            entriesByWeekdayChartPanel.setTrades(trades);
-        }
-        if (entriesByMonthChartPanel != null) {
-            entriesByMonthChartPanel.setTrades(trades);
-        }
-
-        // Update P/L by hour and month charts
-        if (pnlByHourChartPanel != null) {
-            pnlByHourChartPanel.setTrades(trades);
-        }
-        if (pnlByMonthChartPanel != null) {
-            pnlByMonthChartPanel.setTrades(trades);
-        }
+        return startingBalance;
     }
 
-    private void updateKeyMetrics(List<Trade> trades) {
+    private void updateKeyMetrics(AnalyticsSnapshot snapshot) {
+        List<Trade> trades = snapshot.getTrades();
         if (metricsTradesLabel == null) {
             System.out.println("DEBUG: metricsTradesLabel is null, metrics panel not initialized yet");
             return;
@@ -954,7 +1711,7 @@ public class MainWindow extends JFrame {
             return;
         }
 
-        TradeStatistics stats = analyzer.calculateStatistics(trades);
+        TradeStatistics stats = snapshot.getStatistics();
 
         // Calculate long/short win rates
         long longTrades = 0;
@@ -1006,8 +1763,7 @@ public class MainWindow extends JFrame {
         double avgLoss = lossTradeCount > 0 ? totalLosses / lossTradeCount : 0.0;
 
         // Calculate drawdown
-        List<EquityPoint> equityCurve = equityCalculator.calculateEquityCurve(trades);
-        double maxDrawdown = calculateMaxDrawdown(equityCurve);
+        double maxDrawdown = snapshot.getOverallDrawdown().getMaxDrawdown();
 
         metricsTradesLabel.setText("Total Trades: " + stats.getTotalTrades());
         metricsWinRateLabel.setText(String.format("Win Rate: %.1f%%", stats.getWinRate() * 100));
@@ -1028,7 +1784,8 @@ public class MainWindow extends JFrame {
     /**
      * Update analytics key metrics panel (includes time-based metrics)
      */
-    private void updateAnalyticsKeyMetrics(List<Trade> trades) {
+    private void updateAnalyticsKeyMetrics(AnalyticsSnapshot snapshot) {
+        List<Trade> trades = snapshot.getTrades();
         if (analyticsMetricsLabels[0] == null || trades == null || trades.isEmpty()) {
             // Set all to zero/default
             for (int i = 0; i < analyticsMetricsLabels.length; i++) {
@@ -1085,8 +1842,7 @@ public class MainWindow extends JFrame {
             return;
         }
 
-        // Calculate statistics
-        TradeStatistics stats = analyzer.calculateStatistics(trades);
+        TradeStatistics stats = snapshot.getStatistics();
 
         int longTrades = 0, shortTrades = 0, longWins = 0, shortWins = 0;
         double totalProfitWins = 0.0, totalLosses = 0.0;
@@ -1169,6 +1925,27 @@ public class MainWindow extends JFrame {
                 formatDuration(lossHoldCount > 0 ? totalLossHoldTime / lossHoldCount : 0));
     }
 
+    /**
+     * Update risk-adjusted ratios in the analytics key metrics panel
+     */
+    private void updateRiskMetrics(RiskMetrics risk) {
+        if (analyticsMetricsLabels[15] == null) {
+            return;
+        }
+
+        analyticsMetricsLabels[15].setText("Sharpe Ratio: " + formatRatio(risk.getSharpeRatio(), "%.2f"));
+        analyticsMetricsLabels[16].setText("Sortino Ratio: " + formatRatio(risk.getSortinoRatio(), "%.2f"));
+        analyticsMetricsLabels[17].setText("Calmar Ratio: " + formatRatio(risk.getCalmarRatio(), "%.2f"));
+        analyticsMetricsLabels[18].setText("Ulcer Index: " + formatRatio(risk.getUlcerIndex(), "%.2f"));
+        analyticsMetricsLabels[19].setText("Ann. Volatility: " +
+                formatRatio(risk.getAnnualizedVolatility() * 100, "%.1f%%"));
+        analyticsMetricsLabels[20].setText("Ann. Return: " + formatRatio(risk.getAnnualizedReturn() * 100, "%.1f%%"));
+    }
+
+    private String formatRatio(double value, String format) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? "n/a" : String.format(format, value);
+    }
+
     /**
      * Format milliseconds duration to readable string (e.g., "2d 5h", "3h 30m",
      * "45m")
@@ -1190,31 +1967,10 @@ public class MainWindow extends JFrame {
         }
     }
 
-    private double calculateMaxDrawdown(List<EquityPoint> equityCurve) {
-        if (equityCurve == null || equityCurve.isEmpty())
-            return 0.0;
-
-        double maxDrawdown = 0.0;
-        double peak = equityCurve.get(0).getCumulativeProfit();
-
-        for (EquityPoint point : equityCurve) {
-            double current = point.getCumulativeProfit();
-            if (current > peak) {
-                peak = current;
-            }
-            double drawdown = peak - current;
-            if (drawdown > maxDrawdown) {
-                maxDrawdown = drawdown;
-            }
-        }
-
-        return maxDrawdown;
-    }
-
     private void showTradeDetails(Trade trade) {
         // Load strategies for dropdown
         List<String> savedStrategies = strategyRepository.loadAll();
-        List<String> tradeStrategies = equityCalculator.getUniqueStrategies(allTrades);
+        List<String> tradeStrategies = repository.getDictionary().getStrategies().getCatalog();
 
         // Combine both lists (avoiding duplicates)
         List<String> allStrategies = new ArrayList<String>(savedStrategies);
@@ -1230,7 +1986,6 @@ public class MainWindow extends JFrame {
         // Refresh if changes were saved or deleted
         if (dialog.isSaved() || dialog.isDeleted()) {
             loadTrades();
-            updateStatistics();
         }
     }
 
@@ -1244,7 +1999,6 @@ public class MainWindow extends JFrame {
         if (confirm == JOptionPane.YES_OPTION) {
             repository.deleteAll();
             loadTrades();
-            updateStatistics();
         }
     }
 
@@ -1266,6 +2020,7 @@ public class MainWindow extends JFrame {
         strategyFilter = new JComboBox<String>();
         strategyFilter.setPreferredSize(new Dimension(150, 25));
         strategyFilter.addActionListener(e -> applyFilters());
+        installFacetRenderer(strategyFilter, Facet.STRATEGY, FilterCriteria.ALL_STRATEGIES);
         panel.add(strategyFilter);
 
         panel.add(Box.createHorizontalStrut(20));
@@ -1276,6 +2031,7 @@ public class MainWindow extends JFrame {
         accountFilter = new JComboBox<String>();
         accountFilter.setPreferredSize(new Dimension(150, 25));
         accountFilter.addActionListener(e -> applyFilters());
+        installFacetRenderer(accountFilter, Facet.ACCOUNT, FilterCriteria.ALL_ACCOUNTS);
         panel.add(accountFilter);
 
         panel.add(Box.createHorizontalStrut(20));
@@ -1286,6 +2042,7 @@ public class MainWindow extends JFrame {
         symbolFilter = new JComboBox<String>();
         symbolFilter.setPreferredSize(new Dimension(120, 25));
         symbolFilter.addActionListener(e -> applyFilters());
+        installFacetRenderer(symbolFilter, Facet.SYMBOL, FilterCriteria.ALL_SYMBOLS);
         panel.add(symbolFilter);
 
         panel.add(Box.createHorizontalStrut(20));
@@ -1296,6 +2053,7 @@ public class MainWindow extends JFrame {
         magicFilter = new JComboBox<String>();
         magicFilter.setPreferredSize(new Dimension(100, 25));
         magicFilter.addActionListener(e -> applyFilters());
+        installFacetRenderer(magicFilter, Facet.MAGIC, FilterCriteria.ALL_MAGIC);
         panel.add(magicFilter);
 
         panel.add(Box.createHorizontalStrut(20));
@@ -1325,6 +2083,7 @@ public class MainWindow extends JFrame {
         typeFilter = new JComboBox<String>(new String[] { "All Types", "Long Only", "Short Only" });
         typeFilter.setPreferredSize(new Dimension(110, 25));
         typeFilter.addActionListener(e -> applyFilters());
+        installFacetRenderer(typeFilter, Facet.TYPE, FilterCriteria.ALL_TYPES);
         panel.add(typeFilter);
 
         JButton clearButton = new JButton("Clear Filters");
@@ -1334,6 +2093,92 @@ public class MainWindow extends JFrame {
         return panel;
     }
 
+    /**
+     * Show each value's trade count and net P&L in a filter dropdown's list
+     */
+    private void installFacetRenderer(JComboBox<String> combo, Facet facet, String allLabel) {
+        combo.setRenderer(new FacetCellRenderer(facet, allLabel));
+        // The counts make rows wider than the combo; let the open list grow to fit them
+        combo.addPopupMenuListener(new PopupMenuListener() {
+            @Override
+            public void popupMenuWillBecomeVisible(PopupMenuEvent e) {
+                SwingUtilities.invokeLater(() -> {
+                    Object child = combo.getAccessibleContext().getAccessibleChild(0);
+                    if (!(child instanceof BasicComboPopup) || !((BasicComboPopup) child).isVisible()) {
+                        return;
+                    }
+                    BasicComboPopup popup = (BasicComboPopup) child;
+                    JScrollPane scroller = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class,
+                            popup.getList());
+                    int width = popup.getList().getPreferredSize().width
+                            + scroller.getVerticalScrollBar().getPreferredSize().width
+                            + scroller.getInsets().left + scroller.getInsets().right;
+                    if (width > scroller.getWidth()) {
+                        Dimension size = new Dimension(width, scroller.getHeight());
+                        scroller.setPreferredSize(size);
+                        scroller.setMinimumSize(size);
+                        scroller.setMaximumSize(size);
+                        popup.pack();
+                    }
+                });
+            }
+
+            @Override
+            public void popupMenuWillBecomeInvisible(PopupMenuEvent e) {
+            }
+
+            @Override
+            public void popupMenuCanceled(PopupMenuEvent e) {
+            }
+        });
+    }
+
+    /**
+     * Filter dropdown cell showing what choosing the value would select, given the other filters
+     */
+    private class FacetCellRenderer extends DefaultListCellRenderer {
+        private final Facet facet;
+        private final String allLabel;
+
+        FacetCellRenderer(Facet facet, String allLabel) {
+            this.facet = facet;
+            this.allLabel = allLabel;
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value,
+                int index, boolean isSelected, boolean cellHasFocus) {
+
+            JLabel label = (JLabel) super.getListCellRendererComponent(
+                    list, value, index, isSelected, cellHasFocus);
+
+            // The closed combo shows the plain value
+            FacetCounts counts = currentSnapshot == null ? null : currentSnapshot.getFacetCounts();
+            if (index < 0 || counts == null || value == null) {
+                return label;
+            }
+
+            String text = value.toString();
+            FacetCounts.Count count;
+            if (text.equals(allLabel)) {
+                count = counts.getTotal(facet);
+            } else if (facet == Facet.TYPE) {
+                TradeType type = FilterCriteria.parseType(text);
+                count = type == null ? FacetCounts.Count.NONE : counts.get(facet, type.name());
+            } else {
+                count = counts.get(facet, text);
+            }
+
+            String name = text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+            if (count.getTrades() == 0 && !isSelected) {
+                name = "<span style='color: gray;'>" + name + "</span>";
+            }
+            label.setText(String.format("<html>%s&nbsp;&nbsp;<span style='color: gray;'>%,d &middot; %s</span></html>",
+                    name, count.getTrades(), formatMoney(count.getNetProfit())));
+            return label;
+        }
+    }
+
     /**
      * Update filter dropdowns with current data
      */
@@ -1358,7 +2203,7 @@ public class MainWindow extends JFrame {
         }
 
         // Add any other strategies found in trades
-        for (String strategy : equityCalculator.getUniqueStrategies(allTrades)) {
+        for (String strategy : repository.getDictionary().getStrategies().getCatalog()) {
             if (!addedStrategies.contains(strategy)) {
                 strategyFilter.addItem(strategy);
             }
@@ -1385,7 +2230,7 @@ public class MainWindow extends JFrame {
         }
 
         // Add any other accounts found in trades
-        for (String account : equityCalculator.getUniqueAccounts(allTrades)) {
+        for (String account : repository.getDictionary().getAccounts().getCatalog()) {
             if (!addedAccounts.contains(account)) {
                 accountFilter.addItem(account);
             }
@@ -1401,7 +2246,7 @@ public class MainWindow extends JFrame {
         String currentSymbol = (String) symbolFilter.getSelectedItem();
         symbolFilter.removeAllItems();
         symbolFilter.addItem("All Symbols");
-        for (String symbol : getUniqueSymbols(allTrades)) {
+        for (String symbol : repository.getDictionary().getSymbols().getCatalog()) {
             symbolFilter.addItem(symbol);
         }
         if (currentSymbol != null)
@@ -1411,8 +2256,8 @@ public class MainWindow extends JFrame {
         String currentMagic = (String) magicFilter.getSelectedItem();
         magicFilter.removeAllItems();
         magicFilter.addItem("All Magic");
-        for (String magic : getUniqueMagicNumbers(allTrades)) {
-            magicFilter.addItem(magic);
+        for (Long magic : repository.getDictionary().getMagicNumbers()) {
+            magicFilter.addItem(String.valueOf(magic));
         }
         if (currentMagic != null)
             magicFilter.setSelectedItem(currentMagic);
@@ -1421,141 +2266,207 @@ public class MainWindow extends JFrame {
     }
 
     /**
-     * Update the combined equity chart showing all strategies
+     * Update the combined equity chart showing all strategies and the portfolio.
+     * The curves are built on the analytics thread and the chart is given the result.
      */
     private void updateCombinedEquityChart() {
         if (combinedEquityChartPanel == null || allTrades == null) {
             return;
         }
 
-        // Get all unique strategies
-        List<String> strategies = equityCalculator.getUniqueStrategies(allTrades);
-
-        if (strategies.isEmpty()) {
-            combinedEquityChartPanel.setStrategyCurves(new HashMap<>());
-            return;
+        Map<String, Double> accountBalances = new HashMap<>();
+        for (Account account : accountRepository.loadAll()) {
+            accountBalances.put(account.getName(), account.getStartingBalance());
         }
-
-        // Calculate equity curve for each strategy
-        Map<String, List<EquityPoint>> strategyCurves = new HashMap<>();
-
-        for (String strategy : strategies) {
-            // Filter trades by strategy
-            List<Trade> strategyTrades = new ArrayList<>();
-            for (Trade trade : allTrades) {
-                if (strategy.equals(trade.getStrategy())) {
-                    strategyTrades.add(trade);
-                }
+        long generation = portfolioGeneration.incrementAndGet();
+        List<Trade> trades = allTrades;
+        analyticsExecutor.execute(() -> {
+            if (generation != portfolioGeneration.get()) {
+                return;
             }
-
-            // Get starting balance for the account if applicable
-            double startingBalance = 0.0;
-            if (!strategyTrades.isEmpty()) {
-                String account = strategyTrades.get(0).getAccount();
-                if (account != null && !account.isEmpty()) {
-                    Optional<com.tradingjournal.model.Account> accOpt = accountRepository.findByName(account);
-                    if (accOpt.isPresent()) {
-                        startingBalance = accOpt.get().getStartingBalance();
+            try {
+                PortfolioEquity portfolio = portfolioEngine.build(trades, accountBalances);
+                SwingUtilities.invokeLater(() -> {
+                    if (generation == portfolioGeneration.get()) {
+                        combinedEquityChartPanel.setPortfolioEquity(portfolio);
                     }
-                }
-            }
-
-            // Calculate equity curve
-            List<EquityPoint> curve = equityCalculator.calculateEquityCurve(strategyTrades, startingBalance);
-            if (!curve.isEmpty()) {
-                strategyCurves.put(strategy, curve);
+                });
+            } catch (RuntimeException e) {
+                System.err.println("Error building portfolio equity: " + e.getMessage());
+                e.printStackTrace();
             }
-        }
-
-        combinedEquityChartPanel.setStrategyCurves(strategyCurves);
+        });
     }
 
     /**
-     * Apply filters to trades and update UI
+     * Apply filters to trades and update UI. The analytics are computed on the
+     * analytics thread; a newer call supersedes any computation still running
+     * and only the latest result reaches the UI.
      */
     private void applyFilters() {
         if (allTrades == null || isUpdatingFilters)
             return;
 
-        String selectedStrategy = (String) strategyFilter.getSelectedItem();
-        String selectedAccount = (String) accountFilter.getSelectedItem();
-        String selectedSymbol = (String) symbolFilter.getSelectedItem();
-        String selectedMagic = (String) magicFilter.getSelectedItem();
-        String selectedTime = (String) timeFilter.getSelectedItem();
-        String selectedType = (String) typeFilter.getSelectedItem();
-
-        // Filter trades
-        this.filteredTrades = new ArrayList<Trade>(allTrades);
-
-        if (selectedStrategy != null && !selectedStrategy.equals("All Strategies")) {
-            List<Trade> temp = new ArrayList<Trade>();
-            for (Trade t : filteredTrades) {
-                if (selectedStrategy.equals(t.getStrategy())) {
-                    temp.add(t);
-                }
+        FilterCriteria criteria = new FilterCriteria(
+                (String) strategyFilter.getSelectedItem(),
+                (String) accountFilter.getSelectedItem(),
+                (String) symbolFilter.getSelectedItem(),
+                (String) magicFilter.getSelectedItem(),
+                (String) timeFilter.getSelectedItem(),
+                customStartDate, customEndDate,
+                (String) typeFilter.getSelectedItem(),
+                activeQuery != null ? activeQuery.getText() : null,
+                java.time.LocalDateTime.now());
+
+        Map<String, Double> accountBalances = new HashMap<>();
+        for (Account account : accountRepository.loadAll()) {
+            accountBalances.put(account.getName(), account.getStartingBalance());
+        }
+        AnalyticsRequest request = new AnalyticsRequest(analyticsGeneration.incrementAndGet(), criteria,
+                tradeIndex, activeQuery, getSelectedStartingBalance(), accountBalances,
+                repository.getVersion(), accountRepository.getVersion());
+
+        // A queued computation that has not started yet is dropped; a running one stops at its next stage
+        if (pendingAnalytics != null) {
+            pendingAnalytics.cancel(false);
+        }
+        pendingAnalytics = analyticsExecutor.submit(() -> {
+            try {
+                AnalyticsSnapshot snapshot = prepareSnapshot(request);
+                SwingUtilities.invokeLater(() -> {
+                    if (request.generation == analyticsGeneration.get()) {
+                        publishSnapshot(snapshot, request.index);
+                    }
+                });
+            } catch (CancellationException e) {
+                // Superseded by a newer filter selection
+            } catch (RuntimeException e) {
+                System.err.println("Error computing analytics: " + e.getMessage());
+                e.printStackTrace();
             }
-            filteredTrades = temp;
-        }
+        });
+    }
 
-        if (selectedAccount != null && !selectedAccount.equals("All Accounts")) {
-            List<Trade> temp = new ArrayList<Trade>();
-            for (Trade t : filteredTrades) {
-                if (selectedAccount.equals(t.getAccount())) {
-                    temp.add(t);
-                }
-            }
-            filteredTrades = temp;
+    /**
+     * Everything a background analytics computation reads, captured on the EDT
+     * so the computation never touches Swing components
+     */
+    private static final class AnalyticsRequest {
+        final long generation;
+        final FilterCriteria criteria;
+        final TradeIndex index;
+        final TradeQuery query;
+        final double startingBalance;
+        final Map<String, Double> accountBalances;
+        final long tradeVersion;
+        final long accountVersion;
+
+        AnalyticsRequest(long generation, FilterCriteria criteria, TradeIndex index, TradeQuery query,
+                double startingBalance, Map<String, Double> accountBalances, long tradeVersion, long accountVersion) {
+            this.generation = generation;
+            this.criteria = criteria;
+            this.index = index;
+            this.query = query;
+            this.startingBalance = startingBalance;
+            this.accountBalances = accountBalances;
+            this.tradeVersion = tradeVersion;
+            this.accountVersion = accountVersion;
         }
+    }
 
-        if (selectedSymbol != null && !selectedSymbol.equals("All Symbols")) {
-            List<Trade> temp = new ArrayList<Trade>();
-            for (Trade t : filteredTrades) {
-                if (selectedSymbol.equals(t.getSymbol())) {
-                    temp.add(t);
-                }
-            }
-            filteredTrades = temp;
+    /**
+     * Stop a background computation once a newer filter selection has been requested
+     */
+    private void checkCurrent(AnalyticsRequest request) {
+        if (request.generation != analyticsGeneration.get()) {
+            throw new CancellationException();
         }
+    }
 
-        if (selectedMagic != null && !selectedMagic.equals("All Magic")) {
-            List<Trade> temp = new ArrayList<Trade>();
-            for (Trade t : filteredTrades) {
-                if (selectedMagic.equals(String.valueOf(t.getMagicNumber()))) {
-                    temp.add(t);
-                }
-            }
-            filteredTrades = temp;
-        }
+    /**
+     * Snapshot for a request; the views it is published to prepare what else
+     * they need. Runs on the analytics thread.
+     */
+    private AnalyticsSnapshot prepareSnapshot(AnalyticsRequest request) {
+        // Reuse a recently viewed selection unless trades or accounts changed since
+        AnalyticsSnapshot snapshot = analyticsCache.get(request.criteria, request.tradeVersion,
+                request.accountVersion);
+        if (snapshot == null) {
+            snapshot = computeSnapshot(request);
+            analyticsCache.put(snapshot);
+        }
+        return snapshot;
+    }
 
-        if (selectedTime != null && !selectedTime.equals("All Time")) {
-            filteredTrades = filterByTimePeriod(filteredTrades, selectedTime);
-        }
+    /**
+     * Filter the trades and compute the results shown outside the tabs; the
+     * rest are left for the views that need them. Runs on the analytics
+     * thread and gives up between stages once superseded.
+     */
+    private AnalyticsSnapshot computeSnapshot(AnalyticsRequest request) {
+        FilterCriteria criteria = request.criteria;
+        TradeIndex index = request.index;
+
+        // Period and query hold for every dropdown; each dropdown's own filter is left out of its counts
+        BitSet base = index.selectPeriod(criteria);
+        if (request.query != null) {
+            base = request.query.filter(index.getColumns(), base);
+        }
+        FacetCounts facets = index.countFacets(criteria, base);
+
+        // The selection vector picks rows straight out of the load-time columns
+        BitSet selection = index.select(criteria);
+        selection.and(base);
+        int selected = selection.cardinality();
+        List<Trade> trades = new ArrayList<Trade>(selected);
+        double[] rMultiples = new double[selected];
+        double[] allRMultiples = index.getColumns().getRMultiples();
+        for (int row = selection.nextSetBit(0); row >= 0; row = selection.nextSetBit(row + 1)) {
+            rMultiples[trades.size()] = allRMultiples[row];
+            trades.add(index.getTrades().get(row));
+        }
+        checkCurrent(request);
 
-        if (selectedType != null && !selectedType.equals("All Types")) {
-            List<Trade> temp = new ArrayList<Trade>();
-            for (Trade t : filteredTrades) {
-                if (selectedType.equals("Long Only") && t.getType() == TradeType.BUY) {
-                    temp.add(t);
-                } else if (selectedType.equals("Short Only") && t.getType() == TradeType.SELL) {
-                    temp.add(t);
-                }
-            }
-            filteredTrades = temp;
-        }
+        TradeStatistics stats = analyzer.calculateStatistics(trades);
+        double startingBalance = request.startingBalance;
+        checkCurrent(request);
+
+        // The equity curve starts from the account balance only when a single account is selected
+        double curveBalance = criteria.getAccount() != null ? startingBalance : 0.0;
+        EquityCurve equityCurve = equityCalculator.calculateEquityCurve(trades, curveBalance);
+
+        return new AnalyticsSnapshot(criteria, trades, stats, equityCurve, startingBalance, rMultiples, facets,
+                selection,
+                () -> riskMetricsCalculator.calculate(trades, startingBalance),
+                () -> drawdownAnalyzer.analyze(equityCurve, startingBalance),
+                () -> drawdownAnalyzer.analyzeByGroup(trades, startingBalance, request.accountBalances),
+                () -> chartSeriesCalculator.calculate(trades),
+                () -> chartSeriesCalculator.calculateDaily(trades),
+                () -> rMultipleCalculator.analyze(trades, rMultiples));
+    }
 
-        // Update table
-        tableModel.setTrades(filteredTrades);
+    /**
+     * Push a snapshot to the table and statistics bar, and mark every other view dirty
+     *
+     * @param index  Index the snapshot was selected from, which resolves its row ids
+     */
+    private void publishSnapshot(AnalyticsSnapshot snapshot, TradeIndex index) {
+        currentSnapshot = snapshot;
+        snapshotIndex = index;
+        filteredTrades = snapshot.getTrades();
 
-        // Update all statistics with filtered data
-        updateStatistics(filteredTrades);
+        // Update table
+        showTableTrades();
+        if (activeQuery != null && queryStatusLabel != null) {
+            queryStatusLabel.setForeground(Color.DARK_GRAY);
+            queryStatusLabel.setText(String.format("%,d of %,d trades", filteredTrades.size(), allTrades.size()));
+        }
 
-        // Update equity curve
-        updateEquityCurve();
+        // Update the statistics bar above the tabs
+        updateStatistics(snapshot);
 
-        // Update calendar panel
-        if (calendarPanel != null) {
-            calendarPanel.setTrades(filteredTrades);
-        }
+        // Charts, metric panels and the calendar update as they come into view
+        snapshotConsumers.publish(snapshot);
     }
 
     /**
@@ -1580,110 +2491,160 @@ public class MainWindow extends JFrame {
         if (typeFilter != null && typeFilter.getItemCount() > 0) {
             typeFilter.setSelectedIndex(0);
         }
+        if (activeQuery != null) {
+            clearQuery();
+        }
     }
 
     /**
-     * Get unique symbols from trades
+     * Query bar above the trade table for expressions the filter combos can't express
      */
-    private List<String> getUniqueSymbols(List<Trade> trades) {
-        List<String> symbols = new ArrayList<String>();
-        for (Trade t : trades) {
-            String symbol = t.getSymbol();
-            if (symbol != null && !symbol.isEmpty() && !symbols.contains(symbol)) {
-                symbols.add(symbol);
-            }
-        }
-        java.util.Collections.sort(symbols);
-        return symbols;
+    private JPanel createQueryBar() {
+        JPanel panel = new JPanel(new BorderLayout(5, 0));
+        panel.setBorder(new EmptyBorder(0, 0, 5, 0));
+
+        panel.add(new JLabel("Query:"), BorderLayout.WEST);
+
+        queryField = new JTextField();
+        queryField.setToolTipText("<html>e.g. <tt>symbol in (EURUSD, GBPUSD) and net &lt; -100 and "
+                + "hour(open) between 8 and 12 and hold &gt; 2h</tt><br>"
+                + "Numbers: net, profit, commission, swap, size, open_price, close_price, sl, tp, r, magic, "
+                + "hold (30m, 2h, 1d)<br>"
+                + "Times: open, close (2024-01-15), hour(), weekday(), month(), year()<br>"
+                + "Text: symbol, strategy, account, comment, ticket, type (buy/sell) with =, !=, in, contains<br>"
+                + "Combine with and, or, not and parentheses; press Enter to apply</html>");
+        queryField.addActionListener(e -> applyQuery());
+        panel.add(queryField, BorderLayout.CENTER);
+
+        JPanel right = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        queryStatusLabel = new JLabel();
+        right.add(queryStatusLabel);
+        JButton applyButton = new JButton("Apply");
+        applyButton.addActionListener(e -> applyQuery());
+        right.add(applyButton);
+        JButton clearButton = new JButton("Clear");
+        clearButton.addActionListener(e -> clearQuery());
+        right.add(clearButton);
+        panel.add(right, BorderLayout.EAST);
+
+        return panel;
     }
 
     /**
-     * Get unique magic numbers from trades
+     * Search box that narrows the trade table to trades whose comment, strategy or symbol match as you type
      */
-    private List<String> getUniqueMagicNumbers(List<Trade> trades) {
-        List<String> magics = new ArrayList<String>();
-        for (Trade t : trades) {
-            String magic = String.valueOf(t.getMagicNumber());
-            if (!magics.contains(magic)) {
-                magics.add(magic);
+    private JPanel createSearchBar() {
+        JPanel panel = new JPanel(new BorderLayout(5, 0));
+        panel.setBorder(new EmptyBorder(0, 0, 5, 0));
+
+        panel.add(new JLabel("Search:"), BorderLayout.WEST);
+
+        searchField = new JTextField();
+        searchField.setToolTipText("<html>Words match comments, strategies and symbols by prefix, "
+                + "e.g. <tt>brea eur</tt><br>"
+                + "Quote words to match a phrase, e.g. <tt>\"stop hunt\"</tt></html>");
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                applySearch();
             }
-        }
-        java.util.Collections.sort(magics);
-        return magics;
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                applySearch();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                applySearch();
+            }
+        });
+        panel.add(searchField, BorderLayout.CENTER);
+
+        JPanel right = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        searchStatusLabel = new JLabel();
+        right.add(searchStatusLabel);
+        JButton clearButton = new JButton("Clear");
+        clearButton.addActionListener(e -> searchField.setText(""));
+        right.add(clearButton);
+        panel.add(right, BorderLayout.EAST);
+
+        return panel;
+    }
+
+    private void applySearch() {
+        TradeSearch search = TradeSearch.compile(searchField.getText());
+        activeSearch = search.isEmpty() ? null : search;
+        showTableTrades();
     }
 
     /**
-     * Filter trades by time period
+     * Show the filtered trades in the table, narrowed by the search box. The
+     * search reads the index columns, so it runs on the analytics thread and
+     * the table is filled with its result.
      */
-    private List<Trade> filterByTimePeriod(List<Trade> trades, String period) {
-        java.time.LocalDateTime now = java.time.LocalDateTime.now();
-        java.time.LocalDateTime cutoff = null;
-
-        switch (period) {
-            case "Today":
-                cutoff = now.toLocalDate().atStartOfDay();
-                break;
-            case "Last 7 Days":
-                cutoff = now.minusDays(7);
-                break;
-            case "Last 30 Days":
-                cutoff = now.minusDays(30);
-                break;
-            case "Last 90 Days":
-                cutoff = now.minusDays(90);
-                break;
-            case "This Month":
-                cutoff = now.withDayOfMonth(1).toLocalDate().atStartOfDay();
-                break;
-            case "Last Month":
-                java.time.LocalDateTime firstOfThisMonth = now.withDayOfMonth(1).toLocalDate().atStartOfDay();
-                cutoff = firstOfThisMonth.minusMonths(1);
-                java.time.LocalDateTime endOfLastMonth = firstOfThisMonth.minusSeconds(1);
-
-                List<Trade> lastMonthTrades = new ArrayList<Trade>();
-                for (Trade t : trades) {
-                    if (t.getCloseTime() != null &&
-                            !t.getCloseTime().isBefore(cutoff) &&
-                            !t.getCloseTime().isAfter(endOfLastMonth)) {
-                        lastMonthTrades.add(t);
-                    }
+    private void showTableTrades() {
+        long generation = searchGeneration.incrementAndGet();
+        if (activeSearch == null || currentSnapshot == null) {
+            tableModel.setTrades(filteredTrades != null ? filteredTrades : new ArrayList<Trade>());
+            searchStatusLabel.setText("");
+            return;
+        }
+
+        TradeSearch search = activeSearch;
+        AnalyticsSnapshot snapshot = currentSnapshot;
+        TradeIndex index = snapshotIndex;
+        analyticsExecutor.execute(() -> {
+            // Every keystroke queues a search; only the latest one runs
+            if (generation != searchGeneration.get()) {
+                return;
+            }
+            try {
+                // Row ids only mean something in the index the snapshot was selected from
+                BitSet rows = search.filter(index.getColumns(), snapshot.getRows());
+                List<Trade> source = index.getTrades();
+                List<Trade> matches = new ArrayList<Trade>(rows.cardinality());
+                for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                    matches.add(source.get(row));
                 }
-                return lastMonthTrades;
-            case "This Year":
-                cutoff = now.withDayOfYear(1).toLocalDate().atStartOfDay();
-                break;
-            case "Custom Range...":
-                if (customStartDate != null && customEndDate != null) {
-                    List<Trade> customTrades = new ArrayList<Trade>();
-                    java.time.LocalDateTime startDateTime = customStartDate.atStartOfDay();
-                    java.time.LocalDateTime endDateTime = customEndDate.atTime(23, 59, 59);
-
-                    for (Trade t : trades) {
-                        if (t.getCloseTime() != null &&
-                                !t.getCloseTime().isBefore(startDateTime) &&
-                                !t.getCloseTime().isAfter(endDateTime)) {
-                            customTrades.add(t);
-                        }
+                SwingUtilities.invokeLater(() -> {
+                    if (generation == searchGeneration.get()) {
+                        tableModel.setTrades(matches);
+                        searchStatusLabel.setText(String.format("%,d of %,d trades", matches.size(),
+                                snapshot.getTrades().size()));
                     }
-                    return customTrades;
-                }
-                return trades;
-            default:
-                return trades;
-        }
+                });
+            } catch (RuntimeException e) {
+                System.err.println("Error searching trades: " + e.getMessage());
+                e.printStackTrace();
+            }
+        });
+    }
 
-        if (cutoff == null) {
-            return trades;
+    /**
+     * Compile the query bar text and refilter; a syntax error leaves the current filter in place
+     */
+    private void applyQuery() {
+        String text = queryField.getText().trim();
+        if (text.isEmpty()) {
+            clearQuery();
+            return;
         }
-
-        List<Trade> filtered = new ArrayList<Trade>();
-        final java.time.LocalDateTime finalCutoff = cutoff;
-        for (Trade t : trades) {
-            if (t.getCloseTime() != null && !t.getCloseTime().isBefore(finalCutoff)) {
-                filtered.add(t);
-            }
+        try {
+            activeQuery = TradeQuery.compile(text);
+        } catch (IllegalArgumentException e) {
+            queryStatusLabel.setForeground(Color.RED);
+            queryStatusLabel.setText(e.getMessage());
+            return;
         }
-        return filtered;
+        applyFilters();
+    }
+
+    private void clearQuery() {
+        activeQuery = null;
+        queryField.setText("");
+        queryStatusLabel.setText("");
+        applyFilters();
     }
 
     /**
@@ -1711,7 +2672,7 @@ public class MainWindow extends JFrame {
         List<String> savedStrategies = strategyRepository.loadAll();
 
         // Also include strategies from existing trades
-        List<String> tradeStrategies = equityCalculator.getUniqueStrategies(allTrades);
+        List<String> tradeStrategies = repository.getDictionary().getStrategies().getCatalog();
 
         // Combine both lists (avoiding duplicates)
         List<String> allStrategies = new ArrayList<String>(savedStrategies);
@@ -1734,7 +2695,7 @@ public class MainWindow extends JFrame {
     private void setupStrategyColumnEditor() {
         // Load strategies for dropdown
         List<String> savedStrategies = strategyRepository.loadAll();
-        List<String> tradeStrategies = equityCalculator.getUniqueStrategies(allTrades);
+        List<String> tradeStrategies = repository.getDictionary().getStrategies().getCatalog();
 
         // Combine both lists (avoiding duplicates)
         List<String> allStrategies = new ArrayList<String>();
@@ -1775,7 +2736,7 @@ public class MainWindow extends JFrame {
         }
 
         // Include existing unique accounts from trades that might not be in repo yet
-        List<String> tradeAccounts = equityCalculator.getUniqueAccounts(allTrades);
+        List<String> tradeAccounts = repository.getDictionary().getAccounts().getCatalog();
         for (String acc : tradeAccounts) {
             if (!accountNames.contains(acc)) {
                 accountNames.add(acc);
@@ -1801,7 +2762,8 @@ public class MainWindow extends JFrame {
         // Refresh dropdowns and curve
         setupAccountColumnEditor();
         updateFilters();
-        updateEquityCurve();
+        applyFilters();
+        updateCombinedEquityChart();
     }
 
     /**
@@ -0,0 +1,149 @@
+package com.tradingjournal.ui;
+
+import com.tradingjournal.model.MonteCarloResult;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.text.DecimalFormat;
+
+/**
+ * Panel for displaying Monte Carlo equity percentiles as a fan chart
+ */
+public class MonteCarloFanChartPanel extends CachedChartPanel {
+
+    private MonteCarloResult result;
+    private static final DecimalFormat MONEY_FORMAT = new DecimalFormat("$#,##0");
+    private static final Color OUTER_BAND_COLOR = new Color(0, 120, 215, 50);
+    private static final Color INNER_BAND_COLOR = new Color(0, 120, 215, 100);
+    private static final Color MEDIAN_COLOR = new Color(0, 80, 160);
+    private static final Color LIMIT_COLOR = new Color(239, 68, 68); // Red
+    private static final int PADDING = 60;
+
+    public MonteCarloFanChartPanel() {
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(700, 300));
+    }
+
+    public void setResult(MonteCarloResult result) {
+        this.result = result;
+        chartChanged();
+    }
+
+    @Override
+    protected void paintChart(Graphics g) {
+
+        if (result == null || result.getRuns() == 0) {
+            g.setColor(Color.GRAY);
+            g.drawString("Run a simulation to display the fan chart", getWidth() / 2 - 110, getHeight() / 2);
+            return;
+        }
+
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int chartWidth = getWidth() - 2 * PADDING;
+        int chartHeight = getHeight() - 2 * PADDING;
+        int[] steps = result.getFanSteps();
+        double[][] bands = result.getFanBands();
+        double ruinLevel = result.getStartingBalance() - result.getLossLimit();
+
+        // Scale to the outer band plus the loss limit line
+        double minValue = ruinLevel;
+        double maxValue = result.getStartingBalance();
+        for (int j = 0; j < steps.length; j++) {
+            minValue = Math.min(minValue, bands[0][j]);
+            maxValue = Math.max(maxValue, bands[bands.length - 1][j]);
+        }
+        double range = maxValue - minValue;
+        if (range == 0)
+            range = 100;
+        minValue -= range * 0.05;
+        maxValue += range * 0.05;
+
+        // Draw axes
+        g2.setColor(Color.BLACK);
+        g2.setStroke(new BasicStroke(2));
+        g2.drawLine(PADDING, PADDING, PADDING, PADDING + chartHeight);
+        g2.drawLine(PADDING, PADDING + chartHeight, PADDING + chartWidth, PADDING + chartHeight);
+
+        // Draw Y-axis labels and grid lines
+        g2.setFont(ChartFonts.PLAIN_10);
+        g2.setStroke(new BasicStroke(1));
+        int numGridLines = 6;
+        for (int i = 0; i <= numGridLines; i++) {
+            double value = minValue + (maxValue - minValue) * i / numGridLines;
+            int y = PADDING + chartHeight - (i * chartHeight / numGridLines);
+            g2.setColor(new Color(230, 230, 230));
+            g2.drawLine(PADDING, y, PADDING + chartWidth, y);
+            g2.setColor(Color.BLACK);
+            g2.drawString(MONEY_FORMAT.format(value), 5, y + 4);
+        }
+
+        // Bands: 5-95 outer, 25-75 inner, then the median line
+        int last = result.getTradesPerRun();
+        g2.setColor(OUTER_BAND_COLOR);
+        g2.fill(band(steps, bands[0], bands[4], last, minValue, maxValue, chartWidth, chartHeight));
+        g2.setColor(INNER_BAND_COLOR);
+        g2.fill(band(steps, bands[1], bands[3], last, minValue, maxValue, chartWidth, chartHeight));
+
+        Path2D.Double median = new Path2D.Double();
+        for (int j = 0; j < steps.length; j++) {
+            double x = xFor(steps[j], last, chartWidth);
+            double y = yFor(bands[2][j], minValue, maxValue, chartHeight);
+            if (j == 0)
+                median.moveTo(x, y);
+            else
+                median.lineTo(x, y);
+        }
+        g2.setColor(MEDIAN_COLOR);
+        g2.setStroke(new BasicStroke(2.0f));
+        g2.draw(median);
+
+        // Loss limit line
+        int limitY = (int) yFor(ruinLevel, minValue, maxValue, chartHeight);
+        g2.setColor(LIMIT_COLOR);
+        g2.setStroke(new BasicStroke(1.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10.0f,
+                new float[] { 6.0f, 4.0f }, 0.0f));
+        g2.drawLine(PADDING, limitY, PADDING + chartWidth, limitY);
+        g2.setFont(ChartFonts.PLAIN_10);
+        g2.drawString("Loss limit", PADDING + chartWidth - 55, limitY - 4);
+
+        // Title and footer
+        g2.setColor(Color.BLACK);
+        g2.setFont(ChartFonts.BOLD_14);
+        String title = "Monte Carlo Equity (5/25/50/75/95 percentiles)";
+        FontMetrics fm = g2.getFontMetrics();
+        g2.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 25);
+
+        g2.setFont(ChartFonts.PLAIN_11);
+        g2.drawString(String.format("%,d runs x %,d trades in %d ms", result.getRuns(), last,
+                result.getElapsedMillis()), PADDING, getHeight() - 10);
+    }
+
+    private Path2D band(int[] steps, double[] lower, double[] upper, int last, double minValue, double maxValue,
+            int chartWidth, int chartHeight) {
+        Path2D.Double path = new Path2D.Double();
+        for (int j = 0; j < steps.length; j++) {
+            double x = xFor(steps[j], last, chartWidth);
+            double y = yFor(upper[j], minValue, maxValue, chartHeight);
+            if (j == 0)
+                path.moveTo(x, y);
+            else
+                path.lineTo(x, y);
+        }
+        for (int j = steps.length - 1; j >= 0; j--) {
+            path.lineTo(xFor(steps[j], last, chartWidth), yFor(lower[j], minValue, maxValue, chartHeight));
+        }
+        path.closePath();
+        return path;
+    }
+
+    private double xFor(int step, int last, int chartWidth) {
+        return PADDING + (last == 0 ? 0 : (double) step / last * chartWidth);
+    }
+
+    private double yFor(double value, double minValue, double maxValue, int chartHeight) {
+        return PADDING + chartHeight - (value - minValue) / (maxValue - minValue) * chartHeight;
+    }
+}
@@ -1,22 +1,20 @@
 package com.tradingjournal.ui;
 
-import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.ChartSeries;
+import com.tradingjournal.model.WeekHourMatrix;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.text.DecimalFormat;
 import java.time.DayOfWeek;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Panel for displaying P/L by day of week as a bar chart
  */
-public class PnLByDayChartPanel extends JPanel {
+public class PnLByDayChartPanel extends CachedChartPanel implements ChartSeriesView {
 
-    private Map<DayOfWeek, Double> pnlByDay = new HashMap<>();
+    private double[] pnlByDay = new double[WeekHourMatrix.DAYS];
     private static final DecimalFormat MONEY_FORMAT = new DecimalFormat("$#,##0");
     private static final Color PROFIT_COLOR = new Color(34, 197, 94); // Green
     private static final Color LOSS_COLOR = new Color(239, 68, 68); // Red
@@ -32,35 +30,19 @@ public class PnLByDayChartPanel extends JPanel {
     public PnLByDayChartPanel() {
         setBackground(Color.WHITE);
         setPreferredSize(new Dimension(700, 300));
-        initializeDays();
-    }
-
-    private void initializeDays() {
-        for (DayOfWeek day : DAYS) {
-            pnlByDay.put(day, 0.0);
-        }
     }
 
     /**
-     * Set trade data and calculate P/L by day of week
+     * Show the weekday-of-close P/L marginal of the weekday x hour matrix
      */
-    public void setTrades(List<Trade> trades) {
-        initializeDays();
-
-        if (trades != null) {
-            for (Trade trade : trades) {
-                DayOfWeek day = trade.getCloseTime().getDayOfWeek();
-                double currentPnL = pnlByDay.getOrDefault(day, 0.0);
-                pnlByDay.put(day, currentPnL + trade.getNetProfit());
-            }
-        }
-
-        repaint();
+    @Override
+    public void setSeries(ChartSeries series) {
+        pnlByDay = series.getPnlByDay();
+        chartChanged();
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    protected void paintChart(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
@@ -73,7 +55,7 @@ public class PnLByDayChartPanel extends JPanel {
         // Find max value for scaling
         double maxValue = 0;
         double minValue = 0;
-        for (double pnl : pnlByDay.values()) {
+        for (double pnl : pnlByDay) {
             if (pnl > maxValue)
                 maxValue = pnl;
             if (pnl < minValue)
@@ -96,7 +78,7 @@ public class PnLByDayChartPanel extends JPanel {
         g2.drawLine(chartX, zeroY, chartX + chartWidth, zeroY); // X-axis (zero line)
 
         // Draw Y-axis labels and grid lines
-        g2.setFont(new Font("Arial", Font.PLAIN, 10));
+        g2.setFont(ChartFonts.PLAIN_10);
         int numGridLines = 6;
         for (int i = 0; i <= numGridLines; i++) {
             double value = maxValue - (i * (maxValue - minValue) / numGridLines);
@@ -120,7 +102,7 @@ public class PnLByDayChartPanel extends JPanel {
         // Draw bars for each day
         for (int i = 0; i < DAYS.length; i++) {
             DayOfWeek day = DAYS[i];
-            double pnl = pnlByDay.get(day);
+            double pnl = pnlByDay[day.getValue() - 1];
 
             int barX = chartX + (i * spacing) + spacing / 2 - barWidth / 2;
             drawBar(g2, barX, zeroY, barWidth, pnl, maxValue, minValue, chartHeight, DAY_LABELS[i]);
@@ -128,7 +110,7 @@ public class PnLByDayChartPanel extends JPanel {
 
         // Draw title
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.BOLD, 16));
+        g2.setFont(ChartFonts.BOLD_16);
         String title = "Profits and Losses by Weekday";
         FontMetrics fm = g2.getFontMetrics();
         int titleWidth = fm.stringWidth(title);
@@ -140,7 +122,7 @@ public class PnLByDayChartPanel extends JPanel {
         if (value == 0) {
             // Draw day label even if no data
             g2.setColor(Color.BLACK);
-            g2.setFont(new Font("Arial", Font.PLAIN, 11));
+            g2.setFont(ChartFonts.PLAIN_11);
             FontMetrics fm = g2.getFontMetrics();
             int textWidth = fm.stringWidth(label);
             g2.drawString(label, x + (width - textWidth) / 2, zeroY + 20);
@@ -171,7 +153,7 @@ public class PnLByDayChartPanel extends JPanel {
         g2.draw(bar);
 
         // Draw value on bar
-        g2.setFont(new Font("Arial", Font.BOLD, 10));
+        g2.setFont(ChartFonts.BOLD_10);
         String valueText = MONEY_FORMAT.format(value);
         FontMetrics fm = g2.getFontMetrics();
         int textWidth = fm.stringWidth(valueText);
@@ -181,7 +163,7 @@ public class PnLByDayChartPanel extends JPanel {
         g2.drawString(valueText, textX, textY);
 
         // Draw day label below X-axis
-        g2.setFont(new Font("Arial", Font.PLAIN, 11));
+        g2.setFont(ChartFonts.PLAIN_11);
         fm = g2.getFontMetrics();
         textWidth = fm.stringWidth(label);
         textX = x + (width - textWidth) / 2;
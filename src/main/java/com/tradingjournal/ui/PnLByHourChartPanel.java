@@ -1,21 +1,19 @@
 package com.tradingjournal.ui;
 
-import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.ChartSeries;
+import com.tradingjournal.model.WeekHourMatrix;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.text.DecimalFormat;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Panel for displaying P/L by hour as a bar chart (similar to weekday chart)
  */
-public class PnLByHourChartPanel extends JPanel {
+public class PnLByHourChartPanel extends CachedChartPanel implements ChartSeriesView {
 
-    private Map<Integer, Double> pnlByHour = new HashMap<>();
+    private double[] pnlByHour = new double[WeekHourMatrix.HOURS];
     private static final DecimalFormat MONEY_FORMAT = new DecimalFormat("$#,##0");
     private static final Color PROFIT_COLOR = new Color(34, 197, 94); // Green
     private static final Color LOSS_COLOR = new Color(239, 68, 68); // Red
@@ -24,32 +22,19 @@ public class PnLByHourChartPanel extends JPanel {
     public PnLByHourChartPanel() {
         setBackground(Color.WHITE);
         setPreferredSize(new Dimension(700, 300));
-        initializeHours();
     }
 
-    private void initializeHours() {
-        for (int hour = 0; hour < 24; hour++) {
-            pnlByHour.put(hour, 0.0);
-        }
-    }
-
-    public void setTrades(List<Trade> trades) {
-        initializeHours();
-
-        if (trades != null) {
-            for (Trade trade : trades) {
-                int hour = trade.getCloseTime().getHour();
-                double currentPnL = pnlByHour.getOrDefault(hour, 0.0);
-                pnlByHour.put(hour, currentPnL + trade.getNetProfit());
-            }
-        }
-
-        repaint();
+    /**
+     * Show the hour-of-close P/L marginal of the weekday x hour matrix
+     */
+    @Override
+    public void setSeries(ChartSeries series) {
+        pnlByHour = series.getPnlByHour();
+        chartChanged();
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    protected void paintChart(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
@@ -61,7 +46,7 @@ public class PnLByHourChartPanel extends JPanel {
         // Find max value for scaling
         double maxValue = 0;
         double minValue = 0;
-        for (double pnl : pnlByHour.values()) {
+        for (double pnl : pnlByHour) {
             if (pnl > maxValue)
                 maxValue = pnl;
             if (pnl < minValue)
@@ -84,7 +69,7 @@ public class PnLByHourChartPanel extends JPanel {
         g2.drawLine(chartX, zeroY, chartX + chartWidth, zeroY); // X-axis (zero line)
 
         // Draw Y-axis labels and grid lines
-        g2.setFont(new Font("Arial", Font.PLAIN, 9));
+        g2.setFont(ChartFonts.PLAIN_9);
         int numGridLines = 6;
         for (int i = 0; i <= numGridLines; i++) {
             double value = maxValue - (i * (maxValue - minValue) / numGridLines);
@@ -104,7 +89,7 @@ public class PnLByHourChartPanel extends JPanel {
         // Draw bars
         int barWidth = chartWidth / 24;
         for (int hour = 0; hour < 24; hour++) {
-            double pnl = pnlByHour.get(hour);
+            double pnl = pnlByHour[hour];
 
             int barX = chartX + (hour * barWidth);
             drawBar(g2, barX, zeroY, barWidth - 2, pnl, maxValue, minValue, chartHeight, String.valueOf(hour));
@@ -112,7 +97,7 @@ public class PnLByHourChartPanel extends JPanel {
 
         // Draw ALL hour labels (0-23) on the X-axis - larger and more visible
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.PLAIN, 10));
+        g2.setFont(ChartFonts.PLAIN_10);
         FontMetrics fm = g2.getFontMetrics();
         for (int hour = 0; hour < 24; hour++) {
             int barX = chartX + (hour * barWidth);
@@ -124,7 +109,7 @@ public class PnLByHourChartPanel extends JPanel {
 
         // Title
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.BOLD, 14));
+        g2.setFont(ChartFonts.BOLD_14);
         String title = "Profits and losses by hours";
         fm = g2.getFontMetrics();
         g2.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 25);
@@ -162,7 +147,7 @@ public class PnLByHourChartPanel extends JPanel {
         g2.draw(bar);
 
         // Draw dollar value outside the bar (clearly visible)
-        g2.setFont(new Font("Arial", Font.BOLD, 11));
+        g2.setFont(ChartFonts.BOLD_11);
         String valueText = MONEY_FORMAT.format(value);
         FontMetrics fm = g2.getFontMetrics();
         int textWidth = fm.stringWidth(valueText);
@@ -1,6 +1,6 @@
 package com.tradingjournal.ui;
 
-import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.ChartSeries;
 
 import javax.swing.*;
 import java.awt.*;
@@ -8,13 +8,12 @@ import java.awt.geom.Rectangle2D;
 import java.text.DecimalFormat;
 import java.time.Month;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
  * Panel for displaying P/L by month as a bar chart (similar to weekday chart)
  */
-public class PnLByMonthChartPanel extends JPanel {
+public class PnLByMonthChartPanel extends CachedChartPanel implements ChartSeriesView {
 
     private Map<Month, Double> pnlByMonth = new HashMap<>();
     private static final DecimalFormat MONEY_FORMAT = new DecimalFormat("$#,##0");
@@ -40,23 +39,19 @@ public class PnLByMonthChartPanel extends JPanel {
         }
     }
 
-    public void setTrades(List<Trade> trades) {
-        initializeMonths();
-
-        if (trades != null) {
-            for (Trade trade : trades) {
-                Month month = trade.getCloseTime().getMonth();
-                double currentPnL = pnlByMonth.getOrDefault(month, 0.0);
-                pnlByMonth.put(month, currentPnL + trade.getNetProfit());
-            }
+    /**
+     * Show the net P/L per month of close
+     */
+    @Override
+    public void setSeries(ChartSeries series) {
+        for (Month month : MONTHS) {
+            pnlByMonth.put(month, series.getPnl(month));
         }
-
-        repaint();
+        chartChanged();
     }
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    protected void paintChart(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
@@ -91,7 +86,7 @@ public class PnLByMonthChartPanel extends JPanel {
         g2.drawLine(chartX, zeroY, chartX + chartWidth, zeroY); // X-axis (zero line)
 
         // Draw Y-axis labels and grid lines
-        g2.setFont(new Font("Arial", Font.PLAIN, 9));
+        g2.setFont(ChartFonts.PLAIN_9);
         int numGridLines = 6;
         for (int i = 0; i <= numGridLines; i++) {
             double value = maxValue - (i * (maxValue - minValue) / numGridLines);
@@ -123,7 +118,7 @@ public class PnLByMonthChartPanel extends JPanel {
 
         // Title
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.BOLD, 14));
+        g2.setFont(ChartFonts.BOLD_14);
         String title = "Profits and losses by months";
         FontMetrics fm = g2.getFontMetrics();
         g2.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 25);
@@ -134,7 +129,7 @@ public class PnLByMonthChartPanel extends JPanel {
         if (value == 0) {
             // Draw month label even if no data
             g2.setColor(Color.BLACK);
-            g2.setFont(new Font("Arial", Font.PLAIN, 9));
+            g2.setFont(ChartFonts.PLAIN_9);
             FontMetrics fm = g2.getFontMetrics();
             int textWidth = fm.stringWidth(label);
             g2.drawString(label, x + (width - textWidth) / 2, zeroY + 15);
@@ -165,7 +160,7 @@ public class PnLByMonthChartPanel extends JPanel {
         g2.draw(bar);
 
         // Draw value on bar
-        g2.setFont(new Font("Arial", Font.BOLD, 10));
+        g2.setFont(ChartFonts.BOLD_10);
         String valueText = MONEY_FORMAT.format(value);
         FontMetrics fm = g2.getFontMetrics();
         int textWidth = fm.stringWidth(valueText);
@@ -175,7 +170,7 @@ public class PnLByMonthChartPanel extends JPanel {
         g2.drawString(valueText, textX, textY);
 
         // Draw month label below X-axis
-        g2.setFont(new Font("Arial", Font.PLAIN, 9));
+        g2.setFont(ChartFonts.PLAIN_9);
         fm = g2.getFontMetrics();
         textWidth = fm.stringWidth(label);
         textX = x + (width - textWidth) / 2;
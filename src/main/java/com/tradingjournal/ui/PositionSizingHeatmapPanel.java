@@ -0,0 +1,160 @@
+package com.tradingjournal.ui;
+
+import com.tradingjournal.model.SizingGridResult;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+
+/**
+ * Heatmap of a position-sizing grid: sizing parameter across, lot cap down,
+ * shaded from red (worst) to green (best) for the selected metric. The best
+ * cell is outlined.
+ */
+public class PositionSizingHeatmapPanel extends CachedChartPanel {
+
+    private SizingGridResult result;
+    private SizingGridResult.Metric metric = SizingGridResult.Metric.RETURN_TO_DRAWDOWN;
+    private static final Color UNDEFINED_COLOR = new Color(220, 220, 220);
+    private static final int LEFT_PADDING = 70;
+    private static final int TOP_PADDING = 40;
+    private static final int BOTTOM_PADDING = 40;
+    private static final int RIGHT_PADDING = 20;
+    private static final int AXIS_TICKS = 5;
+
+    public PositionSizingHeatmapPanel() {
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(600, 400));
+        ToolTipManager.sharedInstance().registerComponent(this);
+    }
+
+    public void setResult(SizingGridResult result) {
+        this.result = result;
+        chartChanged();
+    }
+
+    public void setMetric(SizingGridResult.Metric metric) {
+        this.metric = metric;
+        chartChanged();
+    }
+
+    @Override
+    protected void paintChart(Graphics g) {
+
+        if (result == null || result.getCombinationCount() == 0) {
+            g.setColor(Color.GRAY);
+            g.drawString("Run the sizing grid to see results", getWidth() / 2 - 90, getHeight() / 2);
+            return;
+        }
+
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        double[][] values = result.getValues(metric);
+        int rows = values.length;
+        int cols = values[0].length;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double[] row : values) {
+            for (double value : row) {
+                if (!Double.isNaN(value)) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+        }
+
+        int plotWidth = getWidth() - LEFT_PADDING - RIGHT_PADDING;
+        int plotHeight = getHeight() - TOP_PADDING - BOTTOM_PADDING;
+
+        // Cells; row 0 (smallest cap) at the bottom
+        for (int row = 0; row < rows; row++) {
+            int y1 = TOP_PADDING + plotHeight - (row + 1) * plotHeight / rows;
+            int y2 = TOP_PADDING + plotHeight - row * plotHeight / rows;
+            for (int col = 0; col < cols; col++) {
+                int x1 = LEFT_PADDING + col * plotWidth / cols;
+                int x2 = LEFT_PADDING + (col + 1) * plotWidth / cols;
+                g2.setColor(colorFor(values[row][col], min, max));
+                g2.fillRect(x1, y1, x2 - x1, y2 - y1);
+            }
+        }
+
+        int[] best = result.best(metric);
+        if (best != null) {
+            int x1 = LEFT_PADDING + best[1] * plotWidth / cols;
+            int x2 = LEFT_PADDING + (best[1] + 1) * plotWidth / cols;
+            int y1 = TOP_PADDING + plotHeight - (best[0] + 1) * plotHeight / rows;
+            int y2 = TOP_PADDING + plotHeight - best[0] * plotHeight / rows;
+            g2.setColor(Color.BLACK);
+            g2.setStroke(new BasicStroke(2));
+            g2.drawRect(x1, y1, Math.max(2, x2 - x1), Math.max(2, y2 - y1));
+            g2.setStroke(new BasicStroke(1));
+        }
+
+        // Axis tick labels
+        g2.setColor(Color.BLACK);
+        g2.setFont(ChartFonts.PLAIN_10);
+        FontMetrics fm = g2.getFontMetrics();
+        double[] sizes = result.getSizeValues();
+        double[] caps = result.getCapValues();
+        for (int t = 0; t < AXIS_TICKS; t++) {
+            int col = (int) Math.round((double) t * (cols - 1) / (AXIS_TICKS - 1));
+            String label = String.format("%.2f", sizes[col]);
+            int x = LEFT_PADDING + col * plotWidth / cols + plotWidth / cols / 2;
+            g2.drawString(label, x - fm.stringWidth(label) / 2, TOP_PADDING + plotHeight + 14);
+
+            int row = (int) Math.round((double) t * (rows - 1) / (AXIS_TICKS - 1));
+            label = String.format("%.2f", caps[row]);
+            int y = TOP_PADDING + plotHeight - row * plotHeight / rows - plotHeight / rows / 2;
+            g2.drawString(label, LEFT_PADDING - fm.stringWidth(label) - 5, y + 4);
+        }
+        String xTitle = result.getRule().getParameterName();
+        g2.drawString(xTitle, LEFT_PADDING + (plotWidth - fm.stringWidth(xTitle)) / 2, getHeight() - 8);
+        g2.drawString("Lot cap", 5, TOP_PADDING - 8);
+
+        // Title
+        g2.setFont(ChartFonts.BOLD_14);
+        fm = g2.getFontMetrics();
+        String title = metric + " by " + result.getRule() + " Sizing";
+        g2.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 20);
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        if (result == null || result.getCombinationCount() == 0) {
+            return null;
+        }
+        int plotWidth = getWidth() - LEFT_PADDING - RIGHT_PADDING;
+        int plotHeight = getHeight() - TOP_PADDING - BOTTOM_PADDING;
+        int x = event.getX() - LEFT_PADDING;
+        int y = TOP_PADDING + plotHeight - event.getY();
+        if (x < 0 || y < 0 || x >= plotWidth || y >= plotHeight) {
+            return null;
+        }
+        int col = x * result.getSizeValues().length / plotWidth;
+        int row = y * result.getCapValues().length / plotHeight;
+
+        double finalEquity = result.getValues(SizingGridResult.Metric.FINAL_EQUITY)[row][col];
+        double drawdown = result.getValues(SizingGridResult.Metric.MAX_DRAWDOWN)[row][col];
+        double ratio = result.getValues(SizingGridResult.Metric.RETURN_TO_DRAWDOWN)[row][col];
+        return String.format("<html>%s %.2f, cap %.2f lots<br>Final equity: $%,.2f<br>Max drawdown: %s<br>"
+                + "Return / drawdown: %s</html>",
+                result.getRule().getParameterName(), result.getSizeValues()[col], result.getCapValues()[row],
+                finalEquity, Double.isNaN(drawdown) ? "n/a" : String.format("%.2f%%", drawdown),
+                Double.isNaN(ratio) ? "n/a" : String.format("%.2f", ratio));
+    }
+
+    private Color colorFor(double value, double min, double max) {
+        if (Double.isNaN(value)) {
+            return UNDEFINED_COLOR;
+        }
+        double t = max > min ? (value - min) / (max - min) : 0.5;
+        if (!metric.isHigherBetter()) {
+            t = 1.0 - t;
+        }
+        // Red through yellow to green
+        int red = (int) Math.round(t < 0.5 ? 220 : 220 - (t - 0.5) * 2 * 170);
+        int green = (int) Math.round(t < 0.5 ? 60 + t * 2 * 160 : 220 - (t - 0.5) * 2 * 40);
+        return new Color(red, green, 60);
+    }
+}
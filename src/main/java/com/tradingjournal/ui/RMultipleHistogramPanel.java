@@ -0,0 +1,165 @@
+package com.tradingjournal.ui;
+
+import com.tradingjournal.model.RMultipleReport;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Histogram of R-multiples with the expectancy marked, plus a summary line
+ * that states how many trades had no usable stop
+ */
+public class RMultipleHistogramPanel extends CachedChartPanel {
+
+    private RMultipleReport report;
+    private static final Color PROFIT_COLOR = new Color(34, 197, 94); // Green
+    private static final Color LOSS_COLOR = new Color(239, 68, 68); // Red
+    private static final Color EXPECTANCY_COLOR = new Color(50, 100, 200);
+    private static final int PADDING = 50;
+    private static final int TOP_PADDING = 65;
+
+    public RMultipleHistogramPanel() {
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(600, 320));
+        ToolTipManager.sharedInstance().registerComponent(this);
+    }
+
+    public void setReport(RMultipleReport report) {
+        this.report = report;
+        chartChanged();
+    }
+
+    @Override
+    protected void paintChart(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        g2.setColor(Color.BLACK);
+        g2.setFont(ChartFonts.BOLD_14);
+        FontMetrics fm = g2.getFontMetrics();
+        String title = "R-Multiple Distribution";
+        g2.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 22);
+
+        if (report == null || report.getTradeCount() == 0) {
+            g2.setColor(Color.GRAY);
+            g2.setFont(ChartFonts.PLAIN_12);
+            String message = report == null ? "No data to display"
+                    : "No closed trades with a stop loss (" + report.getWithoutRiskCount() + " without)";
+            fm = g2.getFontMetrics();
+            g2.drawString(message, (getWidth() - fm.stringWidth(message)) / 2, getHeight() / 2);
+            return;
+        }
+
+        g2.setFont(ChartFonts.PLAIN_11);
+        fm = g2.getFontMetrics();
+        String summary = String.format("Expectancy %+.2fR  |  Win rate %.1f%%  |  Avg win %sR  |  Avg loss %sR  |  "
+                + "Total %+.1fR  |  %d without stop", report.getExpectancy(), report.getWinRate() * 100,
+                formatR(report.getAverageWinR()), formatR(report.getAverageLossR()), report.getTotalR(),
+                report.getWithoutRiskCount());
+        g2.drawString(summary, (getWidth() - fm.stringWidth(summary)) / 2, 42);
+
+        int[] bins = report.getBinCounts();
+        int maxCount = 1;
+        for (int count : bins) {
+            maxCount = Math.max(maxCount, count);
+        }
+
+        int chartX = PADDING;
+        int chartY = TOP_PADDING;
+        int chartWidth = getWidth() - 2 * PADDING;
+        int chartHeight = getHeight() - TOP_PADDING - PADDING;
+        double barWidth = chartWidth / (double) bins.length;
+
+        // Grid and count labels
+        g2.setFont(ChartFonts.PLAIN_9);
+        fm = g2.getFontMetrics();
+        int numGridLines = 4;
+        for (int i = 0; i <= numGridLines; i++) {
+            int y = chartY + chartHeight - i * chartHeight / numGridLines;
+            g2.setColor(Color.LIGHT_GRAY);
+            g2.drawLine(chartX, y, chartX + chartWidth, y);
+            g2.setColor(Color.BLACK);
+            String label = String.valueOf(Math.round(maxCount * i / (double) numGridLines));
+            g2.drawString(label, chartX - fm.stringWidth(label) - 5, y + 3);
+        }
+
+        // Bars, colored by which side of zero the bin lies on
+        for (int i = 0; i < bins.length; i++) {
+            if (bins[i] == 0) {
+                continue;
+            }
+            double lower = binLower(i);
+            double height = bins[i] / (double) maxCount * chartHeight;
+            Rectangle2D bar = new Rectangle2D.Double(chartX + i * barWidth, chartY + chartHeight - height,
+                    Math.max(1.0, barWidth - 1), height);
+            g2.setColor(lower >= 0 ? PROFIT_COLOR : LOSS_COLOR);
+            g2.fill(bar);
+        }
+
+        // Axis with R labels at whole multiples
+        g2.setColor(Color.BLACK);
+        g2.setStroke(new BasicStroke(2));
+        g2.drawLine(chartX, chartY + chartHeight, chartX + chartWidth, chartY + chartHeight);
+        g2.setStroke(new BasicStroke(1));
+        int labelStep = Math.max(1, (int) Math.ceil(bins.length * report.getBinWidth() / 12));
+        for (int i = 0; i <= bins.length; i++) {
+            double edge = binLower(i);
+            if (Math.abs(edge - Math.rint(edge)) > 1e-9 || Math.rint(edge) % labelStep != 0) {
+                continue;
+            }
+            int x = (int) (chartX + i * barWidth);
+            String label = String.format("%dR", (long) Math.rint(edge));
+            g2.drawLine(x, chartY + chartHeight, x, chartY + chartHeight + 4);
+            g2.drawString(label, x - fm.stringWidth(label) / 2, chartY + chartHeight + 16);
+        }
+
+        // Expectancy marker
+        double expectancy = report.getExpectancy();
+        double span = bins.length * report.getBinWidth();
+        double position = (expectancy - report.getBinStart()) / span;
+        if (position >= 0 && position <= 1) {
+            int x = (int) (chartX + position * chartWidth);
+            g2.setColor(EXPECTANCY_COLOR);
+            g2.setStroke(new BasicStroke(2, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10,
+                    new float[] { 5, 4 }, 0));
+            g2.drawLine(x, chartY, x, chartY + chartHeight);
+            g2.setStroke(new BasicStroke(1));
+            g2.drawString(String.format("E = %+.2fR", expectancy), x + 4, chartY + 10);
+        }
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        if (report == null || report.getTradeCount() == 0) {
+            return null;
+        }
+        int[] bins = report.getBinCounts();
+        int chartWidth = getWidth() - 2 * PADDING;
+        int bin = (int) Math.floor((event.getX() - PADDING) / (chartWidth / (double) bins.length));
+        if (bin < 0 || bin >= bins.length) {
+            return null;
+        }
+        // The outer bins are open-ended since they also hold the clipped tails
+        String range;
+        if (bins.length == 1) {
+            range = "All";
+        } else if (bin == 0) {
+            range = String.format("Below %.1fR", binLower(1));
+        } else if (bin == bins.length - 1) {
+            range = String.format("%.1fR and above", binLower(bin));
+        } else {
+            range = String.format("%.1fR to %.1fR", binLower(bin), binLower(bin + 1));
+        }
+        return String.format("%s: %d trades", range, bins[bin]);
+    }
+
+    private double binLower(int bin) {
+        return report.getBinStart() + bin * report.getBinWidth();
+    }
+
+    private static String formatR(double value) {
+        return Double.isNaN(value) ? "n/a" : String.format("%+.2f", value);
+    }
+}
@@ -0,0 +1,154 @@
+package com.tradingjournal.ui;
+
+import com.tradingjournal.model.RollingMetrics;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.text.DecimalFormat;
+
+/**
+ * Panel for displaying a rolling-window metric as a line chart
+ */
+public class RollingMetricsChartPanel extends CachedChartPanel {
+
+    private RollingMetrics metrics;
+    private RollingMetrics.Metric metric = RollingMetrics.Metric.WIN_RATE;
+    private static final DecimalFormat VALUE_FORMAT = new DecimalFormat("#,##0.00");
+    private static final Color LINE_COLOR = new Color(150, 50, 200); // Purple
+    private static final Color REFERENCE_COLOR = new Color(200, 200, 200);
+    private static final int PADDING = 60;
+
+    public RollingMetricsChartPanel() {
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(600, 220));
+    }
+
+    public void setMetrics(RollingMetrics metrics) {
+        this.metrics = metrics;
+        chartChanged();
+    }
+
+    public void setMetric(RollingMetrics.Metric metric) {
+        this.metric = metric;
+        chartChanged();
+    }
+
+    @Override
+    protected void paintChart(Graphics g) {
+
+        if (metrics == null || metrics.size() == 0) {
+            g.setColor(Color.GRAY);
+            g.drawString("Not enough trades for the rolling window", getWidth() / 2 - 110, getHeight() / 2);
+            return;
+        }
+
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int chartWidth = getWidth() - 2 * PADDING;
+        int chartHeight = getHeight() - 2 * PADDING;
+        double[] series = metrics.getSeries(metric);
+        int[] tradeNumbers = metrics.getTradeNumbers();
+
+        // Find min and max over defined values
+        double minValue = Double.POSITIVE_INFINITY;
+        double maxValue = Double.NEGATIVE_INFINITY;
+        for (double v : series) {
+            if (!Double.isNaN(v)) {
+                minValue = Math.min(minValue, v);
+                maxValue = Math.max(maxValue, v);
+            }
+        }
+        if (minValue == Double.POSITIVE_INFINITY) {
+            g2.setColor(Color.GRAY);
+            g2.drawString("Metric undefined for every window", getWidth() / 2 - 90, getHeight() / 2);
+            return;
+        }
+
+        double reference = referenceValue();
+        minValue = Math.min(minValue, reference);
+        maxValue = Math.max(maxValue, reference);
+        double range = maxValue - minValue;
+        if (range == 0)
+            range = 1;
+        minValue -= range * 0.1;
+        maxValue += range * 0.1;
+
+        // Draw axes
+        g2.setColor(Color.BLACK);
+        g2.drawLine(PADDING, PADDING, PADDING, PADDING + chartHeight);
+        g2.drawLine(PADDING, PADDING + chartHeight, PADDING + chartWidth, PADDING + chartHeight);
+
+        // Draw Y-axis labels and grid lines
+        g2.setFont(ChartFonts.PLAIN_10);
+        for (int i = 0; i <= 4; i++) {
+            double value = minValue + (maxValue - minValue) * i / 4.0;
+            int y = PADDING + chartHeight - (i * chartHeight / 4);
+            g2.setColor(new Color(230, 230, 230));
+            g2.drawLine(PADDING, y, PADDING + chartWidth, y);
+            g2.setColor(Color.BLACK);
+            g2.drawString(VALUE_FORMAT.format(value), 5, y + 4);
+        }
+
+        // Reference line (50% win rate, break-even profit factor, zero otherwise)
+        int refY = (int) yFor(reference, minValue, maxValue, chartHeight);
+        g2.setColor(REFERENCE_COLOR);
+        g2.setStroke(new BasicStroke(1.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10.0f,
+                new float[] { 6.0f, 4.0f }, 0.0f));
+        g2.drawLine(PADDING, refY, PADDING + chartWidth, refY);
+
+        // Metric line, broken where the metric is undefined
+        int firstTrade = tradeNumbers[0];
+        int lastTrade = tradeNumbers[tradeNumbers.length - 1];
+        int span = Math.max(1, lastTrade - firstTrade);
+        Path2D.Double path = new Path2D.Double();
+        boolean penDown = false;
+        for (int i = 0; i < series.length; i++) {
+            if (Double.isNaN(series[i])) {
+                penDown = false;
+                continue;
+            }
+            double x = PADDING + (double) (tradeNumbers[i] - firstTrade) / span * chartWidth;
+            double y = yFor(series[i], minValue, maxValue, chartHeight);
+            if (penDown) {
+                path.lineTo(x, y);
+            } else {
+                path.moveTo(x, y);
+                penDown = true;
+            }
+        }
+        g2.setColor(LINE_COLOR);
+        g2.setStroke(new BasicStroke(1.5f));
+        g2.draw(path);
+
+        // Title and trade range
+        g2.setColor(Color.BLACK);
+        g2.setFont(ChartFonts.BOLD_14);
+        String title = "Rolling " + metric + " (" + metrics.getWindowType().toString().replace("N",
+                String.valueOf(metrics.getWindowSize())) + ")";
+        FontMetrics fm = g2.getFontMetrics();
+        g2.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 25);
+
+        g2.setFont(ChartFonts.PLAIN_11);
+        g2.drawString("Trade #" + firstTrade, PADDING, getHeight() - 10);
+        String lastLabel = "Trade #" + lastTrade;
+        g2.drawString(lastLabel, PADDING + chartWidth - g2.getFontMetrics().stringWidth(lastLabel),
+                getHeight() - 10);
+    }
+
+    private double referenceValue() {
+        switch (metric) {
+            case WIN_RATE:
+                return 50.0;
+            case PROFIT_FACTOR:
+                return 1.0;
+            default:
+                return 0.0;
+        }
+    }
+
+    private double yFor(double value, double minValue, double maxValue, int chartHeight) {
+        return PADDING + chartHeight - (value - minValue) / (maxValue - minValue) * chartHeight;
+    }
+}
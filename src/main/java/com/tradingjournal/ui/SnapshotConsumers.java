@@ -0,0 +1,207 @@
+package com.tradingjournal.ui;
+
+import com.tradingjournal.model.AnalyticsSnapshot;
+
+import javax.swing.JComponent;
+import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.HierarchyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The views that show the current analytics snapshot. Each view registers
+ * the component it draws into and is marked dirty when a new snapshot is
+ * published, but is only brought up to date while that component is on
+ * screen; a view on a hidden tab, or scrolled out of its scroll pane, stays
+ * dirty until it is shown again. A view's analytics work runs on the
+ * analytics thread and its Swing updates on the EDT, also when the view is
+ * prepared again because one of its own controls changed.
+ */
+public class SnapshotConsumers {
+
+    private final Executor executor;
+    private final List<View> views = new ArrayList<>();
+    private volatile AnalyticsSnapshot latest;
+    private boolean refreshQueued;
+
+    /**
+     * @param executor  Thread that prepares the views, shared with the snapshot computation
+     */
+    public SnapshotConsumers(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Register a view that only updates Swing components
+     */
+    public void register(JComponent area, Consumer<AnalyticsSnapshot> show) {
+        register(area, snapshot -> null, show);
+    }
+
+    /**
+     * Register a view
+     *
+     * @param area     Component whose visibility decides when the view is updated
+     * @param prepare  Called on the EDT; returns the analytics work to run first, or null
+     * @param show     Called on the EDT with the prepared snapshot
+     */
+    public void register(JComponent area, Function<AnalyticsSnapshot, Runnable> prepare,
+            Consumer<AnalyticsSnapshot> show) {
+        views.add(new View(area, prepare, show));
+        area.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+                scheduleRefresh();
+            }
+        });
+        area.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                scheduleRefresh();
+            }
+        });
+    }
+
+    /**
+     * Update views scrolled into sight within the scroll pane
+     */
+    public void watch(JScrollPane scrollPane) {
+        scrollPane.getViewport().addChangeListener(e -> scheduleRefresh());
+    }
+
+    /**
+     * Mark every view dirty and update the visible ones
+     */
+    public void publish(AnalyticsSnapshot snapshot) {
+        latest = snapshot;
+        refresh();
+    }
+
+    /**
+     * Prepare and show a view again after one of its controls changed, e.g. a
+     * new window size; a preparation still under way for it is dropped
+     */
+    public void invalidate(JComponent area) {
+        for (View view : views) {
+            if (view.area == area) {
+                view.shown = null;
+                view.pending = null;
+            }
+        }
+        refresh();
+    }
+
+    /**
+     * Coalesce the bursts of layout and scroll events into one refresh
+     */
+    private void scheduleRefresh() {
+        if (!refreshQueued) {
+            refreshQueued = true;
+            SwingUtilities.invokeLater(() -> {
+                refreshQueued = false;
+                refresh();
+            });
+        }
+    }
+
+    /**
+     * Prepare and show the dirty views that are visible now
+     */
+    private void refresh() {
+        AnalyticsSnapshot snapshot = latest;
+        if (snapshot == null) {
+            return;
+        }
+
+        List<Preparation> due = new ArrayList<>();
+        for (View view : views) {
+            if (view.shown != snapshot && (view.pending == null || view.pending.snapshot != snapshot)
+                    && view.isVisible()) {
+                Preparation preparation = new Preparation(view, snapshot, view.prepare.apply(snapshot));
+                view.pending = preparation;
+                due.add(preparation);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        executor.execute(() -> {
+            for (Preparation preparation : due) {
+                // A newer snapshot makes the rest of this work moot
+                if (latest != snapshot) {
+                    break;
+                }
+                // So does a newer preparation of the same view, after its controls changed
+                if (preparation.work == null || preparation.view.pending != preparation) {
+                    continue;
+                }
+                try {
+                    preparation.work.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Error preparing view: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+            SwingUtilities.invokeLater(() -> show(due, snapshot));
+        });
+    }
+
+    private void show(List<Preparation> due, AnalyticsSnapshot snapshot) {
+        for (Preparation preparation : due) {
+            View view = preparation.view;
+            if (view.pending != preparation) {
+                continue;
+            }
+            view.pending = null;
+            if (snapshot == latest) {
+                view.show.accept(snapshot);
+                view.shown = snapshot;
+            }
+        }
+    }
+
+    private static final class View {
+        final JComponent area;
+        final Function<AnalyticsSnapshot, Runnable> prepare;
+        final Consumer<AnalyticsSnapshot> show;
+        /** Snapshot on screen; the view is dirty while this is not the latest */
+        AnalyticsSnapshot shown;
+        /** Preparation under way for this view, if any; also read by the analytics thread */
+        volatile Preparation pending;
+
+        View(JComponent area, Function<AnalyticsSnapshot, Runnable> prepare, Consumer<AnalyticsSnapshot> show) {
+            this.area = area;
+            this.prepare = prepare;
+            this.show = show;
+        }
+
+        /**
+         * On a showing tab and at least partly inside every enclosing viewport
+         */
+        boolean isVisible() {
+            return area.isShowing() && !area.getVisibleRect().isEmpty();
+        }
+    }
+
+    /**
+     * One preparation of a view for a snapshot; only the view's latest one is shown
+     */
+    private static final class Preparation {
+        final View view;
+        final AnalyticsSnapshot snapshot;
+        /** Analytics work to run first, or null */
+        final Runnable work;
+
+        Preparation(View view, AnalyticsSnapshot snapshot, Runnable work) {
+            this.view = view;
+            this.snapshot = snapshot;
+            this.work = work;
+        }
+    }
+}
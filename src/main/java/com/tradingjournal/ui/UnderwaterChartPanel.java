@@ -0,0 +1,121 @@
+package com.tradingjournal.ui;
+
+import com.tradingjournal.model.DrawdownReport;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.text.DecimalFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Panel for displaying an underwater (distance below peak) curve over time
+ */
+public class UnderwaterChartPanel extends CachedChartPanel {
+
+    private DrawdownReport report;
+    private static final DecimalFormat MONEY_FORMAT = new DecimalFormat("$#,##0");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final Color AREA_COLOR = new Color(239, 68, 68, 90);
+    private static final Color LINE_COLOR = new Color(200, 40, 40);
+    private static final int PADDING = 60;
+
+    public UnderwaterChartPanel() {
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(600, 220));
+    }
+
+    public void setReport(DrawdownReport report) {
+        this.report = report;
+        chartChanged();
+    }
+
+    @Override
+    protected void paintChart(Graphics g) {
+
+        if (report == null || report.size() == 0) {
+            g.setColor(Color.GRAY);
+            g.drawString("No data to display", getWidth() / 2 - 50, getHeight() / 2);
+            return;
+        }
+
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int chartWidth = getWidth() - 2 * PADDING;
+        int chartHeight = getHeight() - 2 * PADDING;
+        long[] times = report.getEpochSeconds();
+        double[] underwater = report.getUnderwater();
+        int n = underwater.length;
+
+        double minValue = -report.getMaxDrawdown();
+        if (minValue == 0)
+            minValue = -100;
+        minValue *= 1.1;
+
+        long firstTime = times[0];
+        long span = Math.max(1, times[n - 1] - firstTime);
+
+        // Draw axes; zero is the top of the chart
+        g2.setColor(Color.BLACK);
+        g2.drawLine(PADDING, PADDING, PADDING, PADDING + chartHeight);
+        g2.drawLine(PADDING, PADDING, PADDING + chartWidth, PADDING);
+
+        // Draw Y-axis labels and grid lines
+        g2.setFont(ChartFonts.PLAIN_10);
+        for (int i = 0; i <= 4; i++) {
+            double value = minValue * i / 4.0;
+            int y = PADDING + i * chartHeight / 4;
+            g2.setColor(new Color(230, 230, 230));
+            if (i > 0)
+                g2.drawLine(PADDING, y, PADDING + chartWidth, y);
+            g2.setColor(Color.BLACK);
+            g2.drawString(MONEY_FORMAT.format(value), 5, y + 4);
+        }
+
+        // Underwater area: step down to each value and hold it until the next close
+        Path2D.Double area = new Path2D.Double();
+        area.moveTo(PADDING, PADDING);
+        double prevY = PADDING;
+        for (int i = 0; i < n; i++) {
+            double x = PADDING + (double) (times[i] - firstTime) / span * chartWidth;
+            double y = PADDING + underwater[i] / minValue * chartHeight;
+            area.lineTo(x, prevY);
+            area.lineTo(x, y);
+            prevY = y;
+        }
+        area.lineTo(PADDING + chartWidth, prevY);
+        area.lineTo(PADDING + chartWidth, PADDING);
+        area.closePath();
+
+        g2.setColor(AREA_COLOR);
+        g2.fill(area);
+        g2.setColor(LINE_COLOR);
+        g2.setStroke(new BasicStroke(1.0f));
+        g2.draw(area);
+
+        // Title and date range
+        g2.setColor(Color.BLACK);
+        g2.setFont(ChartFonts.BOLD_14);
+        String title = "Underwater Curve - " + report.getName();
+        FontMetrics fm = g2.getFontMetrics();
+        g2.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 25);
+
+        g2.setFont(ChartFonts.PLAIN_11);
+        g2.drawString(formatDate(firstTime), PADDING, getHeight() - 10);
+        String lastLabel = formatDate(times[n - 1]);
+        g2.drawString(lastLabel, PADDING + chartWidth - g2.getFontMetrics().stringWidth(lastLabel),
+                getHeight() - 10);
+        String percent = Double.isNaN(report.getMaxDrawdownPercent()) ? ""
+                : String.format(" (%.1f%%)", report.getMaxDrawdownPercent());
+        String summary = "Max DD " + MONEY_FORMAT.format(report.getMaxDrawdown()) + percent + ", "
+                + report.getEpisodes().size() + " episodes";
+        g2.drawString(summary, (getWidth() - g2.getFontMetrics().stringWidth(summary)) / 2, getHeight() - 10);
+    }
+
+    private String formatDate(long epochSeconds) {
+        return LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC).format(DATE_FORMATTER);
+    }
+}
@@ -0,0 +1,144 @@
+package com.tradingjournal.ui;
+
+import com.tradingjournal.model.ChartSeries;
+import com.tradingjournal.model.WeekHourMatrix;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.time.DayOfWeek;
+
+/**
+ * Heatmap of trade results by weekday (rows) and hour of close (columns).
+ * P&L is shaded red to green around zero; counts and win rates are shaded
+ * from white to blue.
+ */
+public class WeekHourHeatmapPanel extends CachedChartPanel implements ChartSeriesView {
+
+    private WeekHourMatrix matrix;
+    private WeekHourMatrix.Metric metric = WeekHourMatrix.Metric.TOTAL_PNL;
+    private static final Color EMPTY_COLOR = new Color(235, 235, 235);
+    private static final int LABEL_WIDTH = 45;
+    private static final int TOP_PADDING = 40;
+    private static final int BOTTOM_PADDING = 25;
+    private static final int RIGHT_PADDING = 15;
+    private static final String[] DAY_LABELS = { "Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun" };
+
+    public WeekHourHeatmapPanel() {
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(700, 260));
+        ToolTipManager.sharedInstance().registerComponent(this);
+    }
+
+    @Override
+    public void setSeries(ChartSeries series) {
+        this.matrix = series.getWeekHour();
+        chartChanged();
+    }
+
+    public void setMetric(WeekHourMatrix.Metric metric) {
+        this.metric = metric;
+        chartChanged();
+    }
+
+    @Override
+    protected void paintChart(Graphics g) {
+
+        if (matrix == null) {
+            g.setColor(Color.GRAY);
+            g.drawString("No data to display", getWidth() / 2 - 50, getHeight() / 2);
+            return;
+        }
+
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        // Scale: symmetric around zero for P&L, from zero for counts and rates
+        double maxAbs = 0;
+        for (DayOfWeek day : DayOfWeek.values()) {
+            for (int hour = 0; hour < WeekHourMatrix.HOURS; hour++) {
+                double value = matrix.getValue(metric, day, hour);
+                if (!Double.isNaN(value)) {
+                    maxAbs = Math.max(maxAbs, Math.abs(value));
+                }
+            }
+        }
+        if (metric == WeekHourMatrix.Metric.WIN_RATE) {
+            maxAbs = 1.0;
+        }
+
+        int plotWidth = getWidth() - LABEL_WIDTH - RIGHT_PADDING;
+        int plotHeight = getHeight() - TOP_PADDING - BOTTOM_PADDING;
+        for (DayOfWeek day : DayOfWeek.values()) {
+            int row = day.getValue() - 1;
+            int y1 = TOP_PADDING + row * plotHeight / WeekHourMatrix.DAYS;
+            int y2 = TOP_PADDING + (row + 1) * plotHeight / WeekHourMatrix.DAYS;
+            for (int hour = 0; hour < WeekHourMatrix.HOURS; hour++) {
+                int x1 = LABEL_WIDTH + hour * plotWidth / WeekHourMatrix.HOURS;
+                int x2 = LABEL_WIDTH + (hour + 1) * plotWidth / WeekHourMatrix.HOURS;
+                boolean empty = matrix.getTrades(day, hour) == 0;
+                g2.setColor(empty ? EMPTY_COLOR : colorFor(matrix.getValue(metric, day, hour), maxAbs));
+                g2.fillRect(x1, y1, x2 - x1 - 1, y2 - y1 - 1);
+            }
+        }
+
+        // Labels
+        g2.setColor(Color.BLACK);
+        g2.setFont(ChartFonts.PLAIN_10);
+        FontMetrics fm = g2.getFontMetrics();
+        for (int row = 0; row < WeekHourMatrix.DAYS; row++) {
+            int y = TOP_PADDING + row * plotHeight / WeekHourMatrix.DAYS + plotHeight / WeekHourMatrix.DAYS / 2;
+            g2.drawString(DAY_LABELS[row], LABEL_WIDTH - fm.stringWidth(DAY_LABELS[row]) - 6, y + 4);
+        }
+        for (int hour = 0; hour < WeekHourMatrix.HOURS; hour++) {
+            String label = String.valueOf(hour);
+            int x = LABEL_WIDTH + hour * plotWidth / WeekHourMatrix.HOURS + plotWidth / WeekHourMatrix.HOURS / 2;
+            g2.drawString(label, x - fm.stringWidth(label) / 2, TOP_PADDING + plotHeight + 15);
+        }
+
+        g2.setFont(ChartFonts.BOLD_14);
+        fm = g2.getFontMetrics();
+        String title = metric + " by Weekday and Hour of Close";
+        g2.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 25);
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        if (matrix == null) {
+            return null;
+        }
+        int plotWidth = getWidth() - LABEL_WIDTH - RIGHT_PADDING;
+        int plotHeight = getHeight() - TOP_PADDING - BOTTOM_PADDING;
+        int x = event.getX() - LABEL_WIDTH;
+        int y = event.getY() - TOP_PADDING;
+        if (x < 0 || y < 0 || x >= plotWidth || y >= plotHeight) {
+            return null;
+        }
+        int hour = x * WeekHourMatrix.HOURS / plotWidth;
+        DayOfWeek day = DayOfWeek.of(y * WeekHourMatrix.DAYS / plotHeight + 1);
+        int trades = matrix.getTrades(day, hour);
+        if (trades == 0) {
+            return String.format("%s %02d:00 - no trades closed", DAY_LABELS[day.getValue() - 1], hour);
+        }
+        return String.format("<html>%s %02d:00<br>Trades: %d (%.0f%% won)<br>Total P&L: $%,.2f<br>"
+                + "Average P&L: $%,.2f<br>Entries: %d</html>",
+                DAY_LABELS[day.getValue() - 1], hour, trades, 100.0 * matrix.getWins(day, hour) / trades,
+                matrix.getPnl(day, hour), matrix.getAveragePnl(day, hour), matrix.getEntries(day, hour));
+    }
+
+    private Color colorFor(double value, double maxAbs) {
+        if (Double.isNaN(value) || maxAbs == 0) {
+            return Color.WHITE;
+        }
+        double t = Math.min(1.0, Math.abs(value) / maxAbs);
+        int fade = (int) Math.round(255 * (1.0 - t));
+        switch (metric) {
+            case TOTAL_PNL:
+            case AVERAGE_PNL:
+                return value >= 0 ? new Color(fade, 255 - (int) Math.round(t * 90), fade)
+                        : new Color(255 - (int) Math.round(t * 30), fade, fade);
+            default:
+                return new Color(fade, fade, 255 - (int) Math.round(t * 60));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.tradingjournal.util;
+
+/**
+ * Running double sum with Neumaier (improved Kahan) compensation.
+ * Merging two partial sums keeps their compensation terms, so a fixed
+ * reduction tree always produces the same bits.
+ */
+public final class CompensatedSum {
+    private double sum;
+    private double compensation;
+
+    public void add(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+    }
+
+    /**
+     * Fold another partial sum into this one
+     */
+    public void merge(CompensatedSum other) {
+        add(other.sum);
+        compensation += other.compensation;
+    }
+
+    public void reset() {
+        sum = 0.0;
+        compensation = 0.0;
+    }
+
+    public double value() {
+        return sum + compensation;
+    }
+}
@@ -0,0 +1,91 @@
+package com.tradingjournal.util;
+
+/**
+ * Reduces a line series to what can show at a given pixel width. Points are
+ * bucketed by the pixel column they fall in and each column keeps only its
+ * lowest and highest point, in series order, plus the series' first and last
+ * point. A column's vertical extent is drawn exactly as with every point, so
+ * every peak and trough, and with them every drawdown, stays visible, with
+ * at most about two points per column.
+ */
+public final class CurveDownsampler {
+
+    private CurveDownsampler() {
+    }
+
+    /**
+     * Indices of the points to draw for a series spaced evenly across the columns
+     */
+    public static int[] minMax(double[] y, int columns) {
+        return minMax(null, 0, Math.max(0, y.length - 1), y, columns);
+    }
+
+    /**
+     * Indices of the points to draw for a series plotted against x
+     *
+     * @param x        Ascending x of each point, or null for the point index
+     * @param xMin     x at the left edge of the first column
+     * @param xMax     x at the right edge of the last column
+     * @param columns  Pixel columns the x range spans
+     */
+    public static int[] minMax(long[] x, long xMin, long xMax, double[] y, int columns) {
+        int n = y.length;
+        columns = Math.max(1, columns);
+        if (n <= 2 * columns + 2) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        double span = Math.max(1, xMax - xMin);
+        int[] kept = new int[2 * columns + 2];
+        int size = 0;
+        kept[size++] = 0;
+
+        int column = -1;
+        int low = -1;
+        int high = -1;
+        for (int i = 0; i < n; i++) {
+            long xi = x == null ? i : x[i];
+            int c = (int) Math.min(columns - 1, Math.max(0, (long) ((xi - xMin) / span * columns)));
+            if (c != column) {
+                size = flush(kept, size, low, high);
+                column = c;
+                low = i;
+                high = i;
+            } else if (y[i] < y[low]) {
+                low = i;
+            } else if (y[i] > y[high]) {
+                high = i;
+            }
+        }
+        size = flush(kept, size, low, high);
+        if (kept[size - 1] != n - 1) {
+            kept[size++] = n - 1;
+        }
+
+        int[] result = new int[size];
+        System.arraycopy(kept, 0, result, 0, size);
+        return result;
+    }
+
+    /**
+     * Append a column's low and high point in series order, skipping any already kept
+     */
+    private static int flush(int[] kept, int size, int low, int high) {
+        if (low < 0) {
+            return size;
+        }
+        int first = Math.min(low, high);
+        int second = Math.max(low, high);
+        if (first > kept[size - 1]) {
+            kept[size++] = first;
+        }
+        if (second > kept[size - 1]) {
+            kept[size++] = second;
+        }
+        return size;
+    }
+}
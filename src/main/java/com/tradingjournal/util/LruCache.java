@@ -0,0 +1,25 @@
+package com.tradingjournal.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small least-recently-used map; the eldest entry is evicted once the
+ * capacity is exceeded. Not thread-safe.
+ */
+public class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int capacity;
+
+    public LruCache(int capacity) {
+        super(16, 0.75f, true);
+        this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > capacity;
+    }
+}
@@ -0,0 +1,137 @@
+package com.tradingjournal.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Interned strings with stable int codes. Codes are dense, start at 0 and
+ * are never reused, so they can index arrays; {@link #NO_CODE} stands for
+ * null. Values referenced through {@link #acquire} are reference counted;
+ * a cataloged dictionary keeps the referenced values that are not blank in
+ * a sorted catalog. A searchable dictionary also indexes the words of every
+ * value as it gets its code. Safe to share between the EDT and the
+ * analytics thread.
+ */
+public class StringDictionary {
+
+    public static final int NO_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private int[] references = new int[16];
+    private final TreeSet<String> catalog;
+    private final TokenIndex tokens;
+
+    public StringDictionary() {
+        this(true, false);
+    }
+
+    /**
+     * @param cataloged   Keep the sorted catalog of referenced values
+     * @param searchable  Keep a {@link TokenIndex} over the values
+     */
+    public StringDictionary(boolean cataloged, boolean searchable) {
+        this.catalog = cataloged ? new TreeSet<String>() : null;
+        this.tokens = searchable ? new TokenIndex() : null;
+    }
+
+    /**
+     * Code of the value, assigning one if it is new; NO_CODE for null
+     */
+    public synchronized int encode(String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        int next = values.size();
+        values.add(value);
+        codes.put(value, next);
+        if (next == references.length) {
+            references = Arrays.copyOf(references, next * 2);
+        }
+        if (tokens != null) {
+            tokens.add(next, value);
+        }
+        return next;
+    }
+
+    /**
+     * Code of a known value without assigning one; NO_CODE if absent or null
+     */
+    public synchronized int code(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NO_CODE : code;
+    }
+
+    /**
+     * Value for a code, or null for NO_CODE
+     */
+    public synchronized String decode(int code) {
+        return code == NO_CODE ? null : values.get(code);
+    }
+
+    /**
+     * The shared instance equal to the value
+     */
+    public synchronized String intern(String value) {
+        return decode(encode(value));
+    }
+
+    /**
+     * Encode a value and count one more reference to it
+     */
+    public synchronized int acquire(String value) {
+        int code = encode(value);
+        if (code != NO_CODE && references[code]++ == 0 && catalog != null && !value.trim().isEmpty()) {
+            catalog.add(values.get(code));
+        }
+        return code;
+    }
+
+    /**
+     * Drop one reference; a value with none left leaves the catalog but keeps its code
+     */
+    public synchronized void release(int code) {
+        if (code != NO_CODE && references[code] > 0 && --references[code] == 0 && catalog != null) {
+            catalog.remove(values.get(code));
+        }
+    }
+
+    /**
+     * Number of codes assigned so far
+     */
+    public synchronized int size() {
+        return values.size();
+    }
+
+    /**
+     * Word index over every value ever coded, or null if not searchable
+     */
+    public TokenIndex getTokens() {
+        return tokens;
+    }
+
+    /**
+     * Referenced non-blank values in sorted order; empty if not cataloged
+     */
+    public synchronized List<String> getCatalog() {
+        return catalog == null ? new ArrayList<String>() : new ArrayList<>(catalog);
+    }
+
+    /**
+     * Forget all references; codes stay valid
+     */
+    public synchronized void clearReferences() {
+        Arrays.fill(references, 0);
+        if (catalog != null) {
+            catalog.clear();
+        }
+    }
+}
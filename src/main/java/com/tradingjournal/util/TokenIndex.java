@@ -0,0 +1,176 @@
+package com.tradingjournal.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Inverted index from lower-cased word tokens to the codes of the texts
+ * containing them. Tokens are runs of letters and digits. Codes added in
+ * increasing order, as {@link StringDictionary} assigns them or as rows are
+ * first indexed, append to the sorted posting lists; a code re-added after
+ * an edit is inserted in place. Tokens are also kept sorted, so a prefix is
+ * a contiguous range of the sorted map; adding and exact lookups go through
+ * the hash map. Thread-safe.
+ */
+public class TokenIndex {
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final TreeMap<String, Postings> sorted = new TreeMap<>();
+
+    /**
+     * Index the tokens of a newly coded text
+     */
+    public synchronized void add(int code, String text) {
+        for (String token : tokenize(text)) {
+            Postings list = postings.get(token);
+            if (list == null) {
+                list = new Postings();
+                postings.put(token, list);
+                sorted.put(token, list);
+            }
+            list.add(code);
+        }
+    }
+
+    /**
+     * Unindex a text's tokens for the code, e.g. before re-adding an edited text;
+     * tokens left without codes are dropped
+     */
+    public synchronized void remove(int code, String text) {
+        for (String token : tokenize(text)) {
+            Postings list = postings.get(token);
+            if (list != null && list.remove(code) && list.size == 0) {
+                postings.remove(token);
+                sorted.remove(token);
+            }
+        }
+    }
+
+    /**
+     * Codes of texts with a token starting with the prefix
+     */
+    public synchronized BitSet prefix(String prefix) {
+        BitSet codes = new BitSet();
+        String start = prefix.toLowerCase(Locale.ROOT);
+        for (Postings list : sorted.subMap(start, true, start + Character.MAX_VALUE, false).values()) {
+            list.addTo(codes);
+        }
+        return codes;
+    }
+
+    /**
+     * Codes of texts containing the token exactly
+     */
+    public synchronized BitSet exact(String token) {
+        BitSet codes = new BitSet();
+        Postings list = postings.get(token.toLowerCase(Locale.ROOT));
+        if (list != null) {
+            list.addTo(codes);
+        }
+        return codes;
+    }
+
+    /**
+     * Number of distinct tokens
+     */
+    public synchronized int size() {
+        return postings.size();
+    }
+
+    /**
+     * Lower-cased runs of letters and digits, in text order
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Whether the tokens contain the phrase as consecutive tokens
+     *
+     * @param prefixLast  Let the phrase's last token match as a prefix
+     */
+    public static boolean containsPhrase(List<String> tokens, List<String> phrase, boolean prefixLast) {
+        int last = phrase.size() - 1;
+        for (int i = 0; i + last < tokens.size(); i++) {
+            boolean match = true;
+            for (int j = 0; j <= last && match; j++) {
+                String token = tokens.get(i + j);
+                match = j == last && prefixLast ? token.startsWith(phrase.get(j)) : token.equals(phrase.get(j));
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sorted, duplicate-free codes of one token
+     */
+    private static final class Postings {
+        int[] codes = new int[4];
+        int size;
+
+        void add(int code) {
+            // A text repeating a token is listed once
+            if (size > 0 && codes[size - 1] >= code) {
+                insert(code);
+                return;
+            }
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+            codes[size++] = code;
+        }
+
+        private void insert(int code) {
+            int at = Arrays.binarySearch(codes, 0, size, code);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+            System.arraycopy(codes, at, codes, at + 1, size - at);
+            codes[at] = code;
+            size++;
+        }
+
+        boolean remove(int code) {
+            int at = Arrays.binarySearch(codes, 0, size, code);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(codes, at + 1, codes, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(codes[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.tradingjournal.bench;
+
+import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.TradeStatistics;
+import com.tradingjournal.model.TradeType;
+import com.tradingjournal.service.TradeAnalyzer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times {@link TradeAnalyzer} sequentially and on the fork/join pool across
+ * journal sizes and leaf sizes, and reports the size from which the pool is
+ * consistently faster: the value for
+ * {@code -Dtradingjournal.stats.parallelThreshold} on this machine. Run on
+ * the target machine with nothing else busy:
+ *
+ * <pre>
+ * java -Xmx2g -cp target/classes:target/test-classes com.tradingjournal.bench.StatisticsBenchmark [parallelism]
+ * </pre>
+ */
+public class StatisticsBenchmark {
+
+    private static final int[] SIZES = {
+            1_000, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000, 2_000_000
+    };
+    private static final int[] LEAF_SIZES = {256, 1024, 4096, 16384, 65536};
+    private static final int ROUNDS = 25;
+
+    /** Parallel must beat sequential by this factor to count as faster */
+    private static final double MARGIN = 0.9;
+
+    public static void main(String[] args) {
+        int parallelism = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<Trade> journal = generate(SIZES[SIZES.length - 1]);
+        System.out.printf("%d cores, pool parallelism %d, leaf size %d%n",
+                Runtime.getRuntime().availableProcessors(), parallelism, TradeAnalyzer.LEAF_SIZE);
+
+        TradeAnalyzer analyzer = new TradeAnalyzer(pool, Integer.MAX_VALUE);
+        System.out.printf("%12s %12s %12s %8s %10s%n", "trades", "seq ms", "fork/join ms", "ratio", "identical");
+        boolean[] faster = new boolean[SIZES.length];
+        for (int s = 0; s < SIZES.length; s++) {
+            List<Trade> trades = journal.subList(0, SIZES[s]);
+            double sequential = best(() -> analyzer.calculateStatisticsSequential(trades));
+            double parallel = best(() -> analyzer.calculateStatisticsParallel(trades));
+            boolean identical = same(analyzer.calculateStatisticsSequential(trades),
+                    analyzer.calculateStatisticsParallel(trades));
+            faster[s] = parallel < sequential * MARGIN;
+            System.out.printf("%12d %12.3f %12.3f %8.2f %10b%n",
+                    SIZES[s], sequential, parallel, parallel / sequential, identical);
+        }
+
+        int crossover = -1;
+        for (int s = SIZES.length - 1; s >= 0 && faster[s]; s--) {
+            crossover = SIZES[s];
+        }
+        if (crossover < 0) {
+            System.out.println("Fork/join is not faster at any size here; keep the threshold above the largest journal");
+        } else {
+            System.out.println("Suggested -Dtradingjournal.stats.parallelThreshold=" + crossover);
+        }
+
+        List<Trade> largest = journal;
+        System.out.printf("%n%12s %12s   (%d trades)%n", "leaf size", "fork/join ms", largest.size());
+        for (int leafSize : LEAF_SIZES) {
+            TradeAnalyzer leafAnalyzer = new TradeAnalyzer(pool, 0, leafSize);
+            System.out.printf("%12d %12.3f%n", leafSize, best(() -> leafAnalyzer.calculateStatisticsParallel(largest)));
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * Best of several rounds after a warm-up, in milliseconds
+     */
+    private static double best(Runnable run) {
+        for (int i = 0; i < 5; i++) {
+            run.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+    private static boolean same(TradeStatistics a, TradeStatistics b) {
+        return a.getTotalTrades() == b.getTotalTrades()
+                && Double.doubleToLongBits(a.getNetProfit()) == Double.doubleToLongBits(b.getNetProfit())
+                && Double.doubleToLongBits(a.getTotalProfit()) == Double.doubleToLongBits(b.getTotalProfit())
+                && Double.doubleToLongBits(a.getTotalLoss()) == Double.doubleToLongBits(b.getTotalLoss());
+    }
+
+    private static List<Trade> generate(int count) {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        List<Trade> trades = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Trade trade = new Trade("T" + i, start.plusMinutes(i), random.nextBoolean() ? TradeType.BUY : TradeType.SELL,
+                    "EURUSD", 0.1 * (1 + random.nextInt(10)), 1.1);
+            trade.setCloseTime(start.plusMinutes(i + 1 + random.nextInt(600)));
+            trade.setProfit(random.nextGaussian() * 120);
+            trade.setCommission(-0.7);
+            trades.add(trade);
+        }
+        return trades;
+    }
+}
@@ -0,0 +1,192 @@
+package com.tradingjournal.service;
+
+import com.tradingjournal.model.Trade;
+import com.tradingjournal.model.TradeType;
+import com.tradingjournal.repository.TradeDictionary;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks every compiled query against a plain predicate over the trades of a
+ * synthetic journal, row by row. The journal has open trades, blank and
+ * missing strategies and comments, and spans several years so the date rules
+ * are exercised. Run with {@code -Dtradingjournal.test.trades=1000000} to
+ * check (and time) a large journal.
+ */
+class TradeQueryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final String[] SYMBOLS = {"EURUSD", "GBPUSD", "XAUUSD", "US30"};
+    private static final String[] STRATEGIES = {"A", "B", "C", null, "D", " "};
+    private static final String[] COMMENTS = {"plain", "News spike fade", null, "tp hit", "spiked"};
+
+    private static List<Trade> trades;
+    private static TradeColumns columns;
+    private static BitSet all;
+
+    @BeforeAll
+    static void buildJournal() {
+        trades = generate(Integer.getInteger("tradingjournal.test.trades", 5000));
+        TradeDictionary dictionary = new TradeDictionary();
+        for (Trade trade : trades) {
+            dictionary.add(trade);
+        }
+        columns = new TradeIndex(trades, dictionary).getColumns();
+        all = new BitSet();
+        all.set(0, trades.size());
+    }
+
+    @Test
+    void numbersNamesAndText() {
+        assertMatches("symbol in (EURUSD, gbpusd) and net < -100 and hour(open) between 8 and 12 and hold > 2h",
+                t -> in(t.getSymbol(), "EURUSD", "GBPUSD") && t.getNetProfit() < -100
+                        && between(t.getOpenTime().getHour(), 8, 12) && holdSeconds(t) > 7200);
+        assertMatches("weekday(close) in (mon, fri) or (type = sell and r >= 1.5)",
+                t -> closed(t) && (t.getCloseTime().getDayOfWeek() == DayOfWeek.MONDAY
+                        || t.getCloseTime().getDayOfWeek() == DayOfWeek.FRIDAY)
+                        || t.getType() == TradeType.SELL && RMultipleCalculator.rMultiple(t) >= 1.5);
+        assertMatches("not strategy in (A, B) and comment contains 'SPIKE' and magic != 7",
+                t -> !in(t.getStrategy(), "A", "B") && contains(t.getComment(), "spike") && t.getMagicNumber() != 7);
+        assertMatches("comment = 'news spike fade' or comment not contains spike",
+                t -> "news spike fade".equalsIgnoreCase(t.getComment()) || !contains(t.getComment(), "spike"));
+        assertMatches("strategy != c and ticket in (T5, t17, T4321)",
+                t -> !"C".equals(t.getStrategy()) && in(t.getTicket(), "T5", "T17", "T4321"));
+        assertMatches("net between -50.5 and 2.5e1 or profit <= -.5 and size not between 0.3 and 1.5",
+                t -> between(t.getNetProfit(), -50.5, 25) || t.getProfit() <= -0.5 && !between(t.getSize(), 0.3, 1.5));
+        assertMatches("size in (0.1, 0.5, 2) and type = buy",
+                t -> in(t.getSize(), 0.1, 0.5, 2) && t.getType() == TradeType.BUY);
+    }
+
+    @Test
+    void dates() {
+        // A bare date covers its whole day
+        assertMatches("close = 2021-03-15 or close = 2021-03-16 and size >= 1",
+                t -> closed(t) && (t.getCloseTime().toLocalDate().equals(LocalDate.of(2021, 3, 15))
+                        || t.getCloseTime().toLocalDate().equals(LocalDate.of(2021, 3, 16)) && t.getSize() >= 1));
+        assertMatches("open between 2020-06-01 and 2020-06-30 and month(close) = jul",
+                t -> between(t.getOpenTime().toLocalDate(), LocalDate.of(2020, 6, 1), LocalDate.of(2020, 6, 30))
+                        && closed(t) && t.getCloseTime().getMonthValue() == 7);
+        assertMatches("close <= 2020-03-01 and close > 2020-02-20",
+                t -> closed(t) && t.getCloseTime().toLocalDate().isBefore(LocalDate.of(2020, 3, 2))
+                        && t.getCloseTime().toLocalDate().isAfter(LocalDate.of(2020, 2, 20)));
+        assertMatches("open >= 2020-02-10T12:30 and open < 2020-02-14T00:00",
+                t -> !t.getOpenTime().isBefore(LocalDateTime.of(2020, 2, 10, 12, 30))
+                        && t.getOpenTime().isBefore(LocalDateTime.of(2020, 2, 14, 0, 0)));
+        assertMatches("close != 2020-05-05 and year(open) = 2021 and weekday(open) = sunday",
+                t -> closed(t) && !t.getCloseTime().toLocalDate().equals(LocalDate.of(2020, 5, 5))
+                        && t.getOpenTime().getYear() == 2021 && t.getOpenTime().getDayOfWeek() == DayOfWeek.SUNDAY);
+        assertMatches("not close < 2021-04-01",
+                t -> !(closed(t) && t.getCloseTime().isBefore(LocalDateTime.of(2021, 4, 1, 0, 0))));
+    }
+
+    @Test
+    void durations() {
+        assertMatches("hold between 30m and 1.5h", t -> between(holdSeconds(t), 1800, 5400));
+        assertMatches("hold < 90s or hold >= 1d", t -> holdSeconds(t) < 90 || holdSeconds(t) >= 86400);
+        assertMatches("hold > 0.25w or hold <= 10min", t -> holdSeconds(t) > 0.25 * 604800 || holdSeconds(t) <= 600);
+    }
+
+    @Test
+    void malformedQueriesReportAPosition() {
+        String[] malformed = {
+                "net <", "foo > 3", "hold > 2", "hold > 2y", "symbol > 3", "net < 5 and", "open > 5",
+                "open > 2020-13-01", "close = 2020-02-30", "net > 1.2.3", "hour(sl) = 3", "symbol in (A, B",
+                "type = flat", "net !! 3", "comment contains", "symbol between A and B", "'unterminated", ""
+        };
+        for (String query : malformed) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> TradeQuery.compile(query), query);
+            assertTrue(e.getMessage().contains(" at position "), query + ": " + e.getMessage());
+        }
+    }
+
+    private static void assertMatches(String query, Predicate<Trade> predicate) {
+        BitSet expected = new BitSet();
+        for (int row = 0; row < trades.size(); row++) {
+            if (predicate.test(trades.get(row))) {
+                expected.set(row);
+            }
+        }
+        assertEquals(expected, TradeQuery.compile(query).filter(columns, all), query);
+    }
+
+    private static boolean closed(Trade trade) {
+        return trade.getCloseTime() != null;
+    }
+
+    private static double holdSeconds(Trade trade) {
+        return closed(trade) ? Duration.between(trade.getOpenTime(), trade.getCloseTime()).getSeconds() : Double.NaN;
+    }
+
+    private static boolean between(double value, double low, double high) {
+        return value >= low && value <= high;
+    }
+
+    private static boolean between(LocalDate value, LocalDate low, LocalDate high) {
+        return !value.isBefore(low) && !value.isAfter(high);
+    }
+
+    private static boolean in(double value, double... accepted) {
+        for (double a : accepted) {
+            if (value == a) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean in(String value, String... accepted) {
+        for (String a : accepted) {
+            if (a.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(String value, String text) {
+        return value != null && value.toLowerCase().contains(text.toLowerCase());
+    }
+
+    /**
+     * Trades about every six and a half hours from 2020, a tenth of them still open
+     */
+    private static List<Trade> generate(int count) {
+        Random random = new Random(5);
+        long spacing = Math.max(1, 5000L * 397 / count);
+        List<Trade> trades = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TradeType type = random.nextBoolean() ? TradeType.BUY : TradeType.SELL;
+            LocalDateTime open = START.plusMinutes(i * spacing);
+            Trade trade = new Trade("T" + i, open, type, SYMBOLS[random.nextInt(SYMBOLS.length)],
+                    0.1 * (1 + random.nextInt(20)), 1.1);
+            if (random.nextInt(10) != 0) {
+                trade.setCloseTime(open.plusMinutes(random.nextInt(3000)).plusSeconds(random.nextInt(60)));
+                trade.setClosePrice(1.1 + random.nextGaussian() * 0.002);
+                trade.setProfit((trade.getClosePrice() - 1.1) * (type == TradeType.BUY ? 1 : -1) * 1e5 * trade.getSize());
+            }
+            if (random.nextBoolean()) {
+                trade.setStopLoss(type == TradeType.BUY ? 1.098 : 1.102);
+            }
+            trade.setStrategy(STRATEGIES[random.nextInt(STRATEGIES.length)]);
+            trade.setMagicNumber(random.nextInt(300));
+            trade.setComment(COMMENTS[random.nextInt(COMMENTS.length)]);
+            trades.add(trade);
+        }
+        return trades;
+    }
+}
@@ -0,0 +1,194 @@
+package com.tradingjournal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the downsampled points against a brute-force bucketing: kept indices
+ * ascend, include the first and last point, and every pixel column keeps a
+ * point at its lowest and at its highest value.
+ */
+class CurveDownsamplerTest {
+
+    private static final int[] COLUMNS = {-3, 0, 1, 2, 7, 64, 333, 1000};
+
+    @Test
+    void indexSpacedRandomSeries() {
+        Random random = new Random(42);
+        for (int n : new int[] {0, 1, 2, 3, 5, 50, 1000, 20000}) {
+            double[] y = new double[n];
+            double value = 0;
+            for (int i = 0; i < n; i++) {
+                value += random.nextGaussian();
+                y[i] = value;
+            }
+            for (int columns : COLUMNS) {
+                checkIndexSpaced(y, columns, "random n=" + n);
+            }
+        }
+    }
+
+    @Test
+    void indexSpacedAdversarialSeries() {
+        for (double[] y : adversarial(5000)) {
+            for (int columns : COLUMNS) {
+                checkIndexSpaced(y, columns, "adversarial");
+            }
+        }
+    }
+
+    @Test
+    void timeSpacedRandomSeries() {
+        Random random = new Random(7);
+        for (int n : new int[] {0, 1, 4, 100, 5000}) {
+            long[] x = new long[n];
+            double[] y = new double[n];
+            long time = 1_000_000L;
+            for (int i = 0; i < n; i++) {
+                // Bursts of equal times and long gaps, as with trades closing together and weekends
+                time += random.nextInt(4) == 0 ? 0 : random.nextInt(3) == 0 ? 200_000 : random.nextInt(500);
+                x[i] = time;
+                y[i] = random.nextDouble() * 100 - 50;
+            }
+            long xMin = n > 0 ? x[0] : 0;
+            long xMax = n > 0 ? x[n - 1] : 0;
+            for (int columns : COLUMNS) {
+                checkTimeSpaced(x, xMin, xMax, y, columns, "random n=" + n);
+                // Range wider than the data, and narrower so points fall outside it
+                checkTimeSpaced(x, xMin - 50_000, xMax + 50_000, y, columns, "wide n=" + n);
+                checkTimeSpaced(x, xMin + (xMax - xMin) / 3, xMax - (xMax - xMin) / 3, y, columns,
+                        "narrow n=" + n);
+            }
+        }
+    }
+
+    @Test
+    void timeSpacedAdversarialSeries() {
+        int n = 4000;
+        long[] sameTime = new long[n];
+        long[] clusteredAtEnd = new long[n];
+        long[] evenlySpaced = new long[n];
+        for (int i = 0; i < n; i++) {
+            sameTime[i] = 500;
+            clusteredAtEnd[i] = i < n - 10 ? i : 1_000_000_000L + i;
+            evenlySpaced[i] = i * 60_000L;
+        }
+        for (double[] y : adversarial(n)) {
+            for (int columns : COLUMNS) {
+                checkTimeSpaced(sameTime, 500, 500, y, columns, "same time");
+                checkTimeSpaced(clusteredAtEnd, 0, clusteredAtEnd[n - 1], y, columns, "clustered");
+                checkTimeSpaced(evenlySpaced, 0, evenlySpaced[n - 1], y, columns, "even");
+            }
+        }
+    }
+
+    @Test
+    void nonPositiveColumnsActAsOneColumn() {
+        double[] y = adversarial(1000).get(0);
+        int[] one = CurveDownsampler.minMax(y, 1);
+        assertArrayEquals(one, CurveDownsampler.minMax(y, 0));
+        assertArrayEquals(one, CurveDownsampler.minMax(y, -5));
+        assertTrue(one.length <= 4, "one column keeps at most its first, last, low and high point");
+    }
+
+    private static void checkIndexSpaced(double[] y, int columns, String label) {
+        int[] kept = CurveDownsampler.minMax(y, columns);
+        long[] x = new long[y.length];
+        for (int i = 0; i < y.length; i++) {
+            x[i] = i;
+        }
+        check(kept, x, 0, Math.max(0, y.length - 1), y, columns, label + " columns=" + columns);
+    }
+
+    private static void checkTimeSpaced(long[] x, long xMin, long xMax, double[] y, int columns, String label) {
+        int[] kept = CurveDownsampler.minMax(x, xMin, xMax, y, columns);
+        check(kept, x, xMin, xMax, y, columns, label + " columns=" + columns);
+    }
+
+    private static void check(int[] kept, long[] x, long xMin, long xMax, double[] y, int columns, String label) {
+        int n = y.length;
+        if (n == 0) {
+            assertEquals(0, kept.length, label);
+            return;
+        }
+        assertEquals(0, kept[0], label + ": first point");
+        assertEquals(n - 1, kept[kept.length - 1], label + ": last point");
+        for (int k = 1; k < kept.length; k++) {
+            assertTrue(kept[k] > kept[k - 1], label + ": ascending at " + k);
+        }
+
+        int buckets = Math.max(1, columns);
+        double[] low = new double[buckets];
+        double[] high = new double[buckets];
+        boolean[] used = new boolean[buckets];
+        for (int i = 0; i < n; i++) {
+            int c = column(x[i], xMin, xMax, buckets);
+            if (!used[c]) {
+                used[c] = true;
+                low[c] = y[i];
+                high[c] = y[i];
+            } else {
+                low[c] = Math.min(low[c], y[i]);
+                high[c] = Math.max(high[c], y[i]);
+            }
+        }
+        boolean[] keptLow = new boolean[buckets];
+        boolean[] keptHigh = new boolean[buckets];
+        for (int i : kept) {
+            int c = column(x[i], xMin, xMax, buckets);
+            keptLow[c] |= y[i] == low[c];
+            keptHigh[c] |= y[i] == high[c];
+        }
+        for (int c = 0; c < buckets; c++) {
+            if (used[c]) {
+                assertTrue(keptLow[c], label + ": minimum of column " + c);
+                assertTrue(keptHigh[c], label + ": maximum of column " + c);
+            }
+        }
+    }
+
+    /**
+     * Pixel column of x, clamped to the chart
+     */
+    private static int column(long x, long xMin, long xMax, int columns) {
+        double span = Math.max(1, xMax - xMin);
+        long c = (long) Math.floor((x - xMin) / span * columns);
+        return (int) Math.min(columns - 1, Math.max(0, c));
+    }
+
+    /**
+     * Series that defeat naive sampling: flat, alternating spikes, lone spikes,
+     * monotone runs and a sawtooth
+     */
+    private static List<double[]> adversarial(int n) {
+        List<double[]> series = new ArrayList<>();
+        double[] alternating = new double[n];
+        double[] flat = new double[n];
+        double[] loneSpikes = new double[n];
+        double[] rising = new double[n];
+        double[] falling = new double[n];
+        double[] sawtooth = new double[n];
+        for (int i = 0; i < n; i++) {
+            alternating[i] = i % 2 == 0 ? 1e6 : -1e6;
+            flat[i] = 3.5;
+            loneSpikes[i] = i == n / 2 ? -1e9 : i == n / 3 ? 1e9 : 0;
+            rising[i] = i;
+            falling[i] = -i;
+            sawtooth[i] = i % 37;
+        }
+        series.add(alternating);
+        series.add(flat);
+        series.add(loneSpikes);
+        series.add(rising);
+        series.add(falling);
+        series.add(sawtooth);
+        return series;
+    }
+}